@@ -1,17 +1,12 @@
 package com.demoproject.accounts.audit;
 
-import org.springframework.data.domain.AuditorAware;
+import com.demoproject.common.audit.ConstantAuditorAware;
 import org.springframework.stereotype.Component;
 
-import java.util.Optional;
-
 @Component("auditAwareImpl")
-public class AuditAwareImpl implements AuditorAware<String> {
+public class AuditAwareImpl extends ConstantAuditorAware {
 
-    /**
-     */
-    @Override
-    public Optional<String> getCurrentAuditor() {
-        return Optional.of("ACCOUNTS_MS");
+    public AuditAwareImpl() {
+        super("ACCOUNTS_MS");
     }
 }
@@ -8,6 +8,8 @@ public class AccountsConstants {
 
     public static final String  SAVINGS = "Savings";
     public static final String  ADDRESS = "123 Main Street, New York";
+    public static final String  CUSTOMER_DELETED_DESTINATION = "customer-deleted";
+    public static final String  CUSTOMERS_CACHE = "customers";
     public static final String  STATUS_201 = "201";
     public static final String  MESSAGE_201 = "Account created successfully";
     public static final String  STATUS_200 = "200";
@@ -3,10 +3,17 @@ package com.demoproject.accounts.controller;
 import com.demoproject.accounts.constants.AccountsConstants;
 import com.demoproject.accounts.dto.AccountsContactInfoDto;
 import com.demoproject.accounts.dto.CustomerDto;
-import com.demoproject.accounts.dto.ErrorResponseDto;
-import com.demoproject.accounts.dto.ResponseDto;
+import com.demoproject.accounts.dto.CustomerFilterDto;
+import com.demoproject.accounts.dto.ImportResultDto;
 import com.demoproject.accounts.entity.Customer;
 import com.demoproject.accounts.service.IAccountsService;
+import com.demoproject.accounts.service.ICustomerImportService;
+import com.demoproject.common.dto.ErrorResponseDto;
+import com.demoproject.common.dto.KeysetPageDto;
+import com.demoproject.common.dto.ResponseDto;
+import com.demoproject.common.export.ExportFormat;
+import com.demoproject.common.validation.DigitString;
+import com.demoproject.common.web.PreSerializedResponses;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import io.github.resilience4j.retry.annotation.Retry;
 import io.swagger.v3.oas.annotations.Operation;
@@ -15,6 +22,8 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
@@ -23,12 +32,16 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
 @Tag(
         name = "CRUD REST APIs for Accounts in DigiBank",
         description = "CRUD REST APIs in DigiBank to CREATE, UPDATE, FETCH AND DELETE account details"
@@ -40,19 +53,31 @@ public class AccountsController {
 
     private static final Logger logger = LoggerFactory.getLogger(AccountsController.class);
 
+    // written as pre-serialized bytes, see PreSerializedResponses
+    private static final ResponseDto CREATED =
+            new ResponseDto(AccountsConstants.STATUS_201, AccountsConstants.MESSAGE_201);
+    private static final ResponseDto PROCESSED =
+            new ResponseDto(AccountsConstants.STATUS_200, AccountsConstants.MESSAGE_200);
+    private static final ResponseDto FAILED =
+            new ResponseDto(AccountsConstants.STATUS_500, AccountsConstants.MESSAGE_500);
+
     private final IAccountsService accountsService;
+    private final ICustomerImportService customerImportService;
+    private final AccountsContactInfoDto accountsContactInfoDto;
 
     @Autowired
-    public AccountsController(IAccountsService accountsService) {
+    public AccountsController(IAccountsService accountsService, ICustomerImportService customerImportService,
+                              AccountsContactInfoDto accountsContactInfoDto,
+                              PreSerializedResponses preSerializedResponses) {
         this.accountsService = accountsService;
+        this.customerImportService = customerImportService;
+        this.accountsContactInfoDto = accountsContactInfoDto;
+        preSerializedResponses.register(CREATED, PROCESSED, FAILED, accountsContactInfoDto);
     }
 
     @Autowired
     private Environment environment;
 
-    @Autowired
-    private AccountsContactInfoDto accountsContactInfoDto;
-
     @Value("${build.version}")
     private String buildVersion;
 
@@ -99,7 +124,7 @@ public class AccountsController {
         accountsService.createAccount(customerDto);
         return ResponseEntity
                 .status(HttpStatus.CREATED)
-                .body(new ResponseDto(AccountsConstants.STATUS_201, AccountsConstants.MESSAGE_201));
+                .body(CREATED);
     }
 
     @Operation(
@@ -122,10 +147,10 @@ public class AccountsController {
     )
     @GetMapping("/fetch")
     public ResponseEntity<CustomerDto> fetchAccount(@RequestParam
-                                                        @Pattern(regexp = "(^$|[0-9]{10})", message = "Mobile number must be 10 digits")
+                                                        @DigitString(length = 10, message = "Mobile number must be 10 digits")
                                                         String mobileNumber) {
         CustomerDto customerDto = accountsService.fetchAccount(mobileNumber);
-        return ResponseEntity.status(HttpStatus.OK).body(customerDto);
+        return ResponseEntity.status(HttpStatus.OK).eTag(customerDto.getEntityTag()).body(customerDto);
     }
 
     @Operation(
@@ -156,12 +181,12 @@ public class AccountsController {
         if (isUpdated) {
             return ResponseEntity
                     .status(HttpStatus.OK)
-                    .body(new ResponseDto(AccountsConstants.STATUS_200, AccountsConstants.MESSAGE_200));
+                    .body(PROCESSED);
         }
 
         return ResponseEntity
                 .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(new ResponseDto(AccountsConstants.STATUS_500, AccountsConstants.MESSAGE_500));
+                .body(FAILED);
     }
 
     @Operation(
@@ -188,18 +213,107 @@ public class AccountsController {
     )
     @DeleteMapping("/delete")
     public ResponseEntity<ResponseDto> deleteAccount(@RequestParam
-                                                         @Pattern(regexp = "(^$|[0-9]{10})", message = "Mobile number must be 10 digits")
+                                                         @DigitString(length = 10, message = "Mobile number must be 10 digits")
                                                          String mobileNumber) {
        boolean isDeleted = accountsService.deleteAccount(mobileNumber);
         if(isDeleted) {
             return ResponseEntity
                     .status(HttpStatus.OK)
-                    .body(new ResponseDto(AccountsConstants.STATUS_200, AccountsConstants.MESSAGE_200));
+                    .body(PROCESSED);
         }
 
         return ResponseEntity
                 .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(new ResponseDto(AccountsConstants.STATUS_500, AccountsConstants.MESSAGE_500));
+                .body(FAILED);
+    }
+
+    @Operation(
+            summary = "List Customer & Account Details REST API",
+            description = "REST API to list Customers & Accounts page by page, filtered by creation date"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    }
+    )
+    @GetMapping("/list")
+    public ResponseEntity<KeysetPageDto<CustomerDto>> listAccounts(@Valid CustomerFilterDto filter) {
+        KeysetPageDto<CustomerDto> page = accountsService.listAccounts(filter);
+        return ResponseEntity.status(HttpStatus.OK).body(page);
+    }
+
+    @Operation(
+            summary = "Export Customer & Account Details REST API",
+            description = "REST API to stream all Customer &  Account details as NDJSON or CSV, one row per line"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    }
+    )
+    // produces */* so that validation errors can still be rendered as JSON
+    @GetMapping(value = "/export", produces = MediaType.ALL_VALUE)
+    public void exportAccounts(@RequestParam(defaultValue = "ndjson")
+                               @Pattern(regexp = "(ndjson|csv)", message = "Format must be ndjson or csv")
+                               String format,
+                               HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"customers." + exportFormat.getExtension() + "\"");
+        accountsService.exportAccounts(exportFormat, response.getOutputStream());
+    }
+
+    @Operation(
+            summary = "Import Customer & Account Details REST API",
+            description = "REST API to create Customers & Accounts in bulk from an NDJSON or CSV upload"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK, rejected rows are listed in the response"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "HTTP Status Bad Request, the CSV header is missing a required column",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    }
+    )
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<ImportResultDto> importAccounts(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                          HttpServletRequest request) throws IOException {
+        ImportResultDto importResultDto = customerImportService.importCustomers(
+                ExportFormat.of(contentType), request.getInputStream());
+        return ResponseEntity.status(HttpStatus.OK).body(importResultDto);
     }
 
     @Operation(
@@ -1,15 +1,17 @@
 package com.demoproject.accounts.controller;
 
 import com.demoproject.accounts.dto.CustomerDetailsDto;
-import com.demoproject.accounts.dto.ErrorResponseDto;
+import com.demoproject.accounts.dto.CustomerViewRebuildDto;
+import com.demoproject.accounts.service.ICustomerDetailsViewService;
 import com.demoproject.accounts.service.ICustomerService;
+import com.demoproject.common.dto.ErrorResponseDto;
+import com.demoproject.common.validation.DigitString;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.validation.constraints.Pattern;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
@@ -18,9 +20,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+
 @Tag(
         name = "REST API for Customers in Digi-Bank",
-        description = "REST APIs in Digi-Bank to FETCH customer details"
+        description = "REST APIs in Digi-Bank to FETCH customer details and REBUILD the customer details view"
 )
 @RestController
 @RequestMapping(path="/api", produces = {MediaType.APPLICATION_JSON_VALUE})
@@ -29,9 +33,12 @@ public class CustomerController {
 
     private static final Logger logger = LoggerFactory.getLogger(CustomerController.class);
     private final ICustomerService iCustomerService;
+    private final ICustomerDetailsViewService iCustomerDetailsViewService;
 
-    public CustomerController(ICustomerService iCustomerService) {
+    public CustomerController(ICustomerService iCustomerService,
+                              ICustomerDetailsViewService iCustomerDetailsViewService) {
         this.iCustomerService = iCustomerService;
+        this.iCustomerDetailsViewService = iCustomerDetailsViewService;
     }
 
     @Operation(
@@ -55,12 +62,40 @@ public class CustomerController {
     @GetMapping("/fetchCustomerDetails")
     public ResponseEntity<CustomerDetailsDto> fetchCustomerDetails(@RequestHeader("digibank-correlation-id") String correlationId ,
                                                                    @RequestParam
-                                                                   @Pattern(regexp="(^$|[0-9]{10})",message = "Mobile number must be 10 digits")
+                                                                   @DigitString(length = 10, message = "Mobile number must be 10 digits")
                                                                    String mobileNumber){
         logger.debug("digiBank-correlation-id found: {} ", correlationId);
         CustomerDetailsDto customerDetailsDto = iCustomerService.fetchCustomerDetails(mobileNumber, correlationId);
-        return ResponseEntity.status(HttpStatus.OK).body(customerDetailsDto);
+        // polled by the mobile app: Spring answers a poll whose If-None-Match still matches with 304, before the body
+        // is serialized
+        return ResponseEntity.status(HttpStatus.OK).eTag(customerDetailsDto.getEntityTag()).body(customerDetailsDto);
+
+    }
 
+    @Operation(
+            summary = "Rebuild Customer Details View REST API",
+            description = "REST API to rebuild the local customer details view from the cards and loans snapshots"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    }
+    )
+    @PostMapping("/customer-view/rebuild")
+    public ResponseEntity<CustomerViewRebuildDto> rebuildCustomerView(
+            @RequestHeader("digibank-correlation-id") String correlationId) throws IOException {
+        logger.debug("digiBank-correlation-id found: {} ", correlationId);
+        CustomerViewRebuildDto customerViewRebuildDto = iCustomerDetailsViewService.rebuild(correlationId);
+        return ResponseEntity.status(HttpStatus.OK).body(customerViewRebuildDto);
     }
 
 }
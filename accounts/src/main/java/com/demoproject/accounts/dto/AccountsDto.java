@@ -1,8 +1,8 @@
 package com.demoproject.accounts.dto;
 
+import com.demoproject.common.validation.DigitString;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotEmpty;
-import jakarta.validation.constraints.Pattern;
 import lombok.Data;
 
 @Data
@@ -13,7 +13,7 @@ import lombok.Data;
 public class AccountsDto {
 
     @NotEmpty(message = "AccountNumber can not be a null or empty")
-    @Pattern(regexp="(^$|[0-9]{10})",message = "AccountNumber must be 10 digits")
+    @DigitString(length = 10, message = "AccountNumber must be 10 digits")
     @Schema(
             description = "Account Number of Eazy Bank account", example = "3454433243"
     )
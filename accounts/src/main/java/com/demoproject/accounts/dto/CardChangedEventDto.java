@@ -0,0 +1,31 @@
+package com.demoproject.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Published by cards through its outbox and streamed by its /api/snapshot, folded into customer_details_view
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardChangedEventDto {
+
+    private Long cardId;
+
+    // with cardId orders the events of a mobile number, older or repeated events are ignored
+    private Long version;
+
+    private boolean deleted;
+
+    private String mobileNumber;
+
+    private String cardNumber;
+
+    private String cardType;
+
+    private int totalLimit;
+
+    private int amountUsed;
+
+    private int availableAmount;
+}
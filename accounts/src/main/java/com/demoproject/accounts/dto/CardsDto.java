@@ -1,8 +1,8 @@
 package com.demoproject.accounts.dto;
 
+import com.demoproject.common.validation.DigitString;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotEmpty;
-import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.Data;
@@ -13,14 +13,14 @@ import lombok.Data;
 @Data
 public class CardsDto {
     @NotEmpty(message = "Mobile Number can not be a null or empty")
-    @Pattern(regexp="(^$|[0-9]{10})",message = "Mobile Number must be 10 digits")
+    @DigitString(length = 10, message = "Mobile Number must be 10 digits")
     @Schema(
             description = "Mobile Number of Customer", example = "4354437687"
     )
     private String mobileNumber;
 
     @NotEmpty(message = "Card Number can not be a null or empty")
-    @Pattern(regexp="(^$|[0-9]{12})",message = "CardNumber must be 12 digits")
+    @DigitString(length = 12, message = "CardNumber must be 12 digits")
     @Schema(
             description = "Card Number of the customer", example = "100646930341"
     )
@@ -49,4 +49,10 @@ public class CardsDto {
             description = "Total available amount against a card", example = "90000"
     )
     private int availableAmount;
+
+    @Schema(
+            description = "Version of the card when it was read; an update carrying an older version is rejected " +
+                    "with 409 Conflict", example = "3"
+    )
+    private Long version;
 }
@@ -1,9 +1,10 @@
 package com.demoproject.accounts.dto;
 
+import com.demoproject.common.validation.DigitString;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotEmpty;
-import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 
@@ -30,7 +31,7 @@ public class CustomerDetailsDto {
     @Schema(
             description = "Mobile Number of the customer", example = "9345432123"
     )
-    @Pattern(regexp = "(^$|[0-9]{10})", message = "Mobile number must be 10 digits")
+    @DigitString(length = 10, message = "Mobile number must be 10 digits")
     private String mobileNumber;
 
     @Schema(
@@ -48,4 +49,7 @@ public class CustomerDetailsDto {
     )
     private CardsDto cardsDto;
 
+    // weak ETag of the fetch response (EntityTag), sent as a header and never as part of the body
+    @JsonIgnore
+    private String entityTag;
 }
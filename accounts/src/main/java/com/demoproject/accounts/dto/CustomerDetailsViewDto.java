@@ -0,0 +1,23 @@
+package com.demoproject.accounts.dto;
+
+import lombok.Data;
+
+/*The customer_details_view row of a customer, as fetchCustomerDetails reads it. A side counts once a card or loan
+event, or a rebuild, has reached it and an event of its source has arrived since the last rebuild; any other side
+is fetched from its service instead.*/
+@Data
+public class CustomerDetailsViewDto {
+
+    // null when the customer has no card
+    private CardsDto cardsDto;
+
+    private boolean cardsSynced;
+
+    // null when the customer has no loan
+    private LoansDto loansDto;
+
+    private boolean loansSynced;
+
+    // weak ETag of the row (EntityTag)
+    private String entityTag;
+}
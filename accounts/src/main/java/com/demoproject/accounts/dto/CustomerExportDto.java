@@ -0,0 +1,46 @@
+package com.demoproject.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(
+        name = "CustomerExport",
+        description = "Schema of one exported row, customer and account flattened"
+)
+public class CustomerExportDto {
+
+    @Schema(
+            description = "Name of the customer", example = "Moazzam Mahmood"
+    )
+    private String name;
+
+    @Schema(
+            description = "Email address of the customer", example = "xyz@gmail.com"
+    )
+    private String email;
+
+    @Schema(
+            description = "Mobile Number of the customer", example = "9345432123"
+    )
+    private String mobileNumber;
+
+    @Schema(
+            description = "Account Number of Eazy Bank account", example = "3454433243"
+    )
+    private long accountNumber;
+
+    @Schema(
+            description = "Account type of Eazy Bank account", example = "Savings"
+    )
+    private String accountType;
+
+    @Schema(
+            description = "Eazy Bank branch address", example = "123 NewYork"
+    )
+    private String branchAddress;
+}
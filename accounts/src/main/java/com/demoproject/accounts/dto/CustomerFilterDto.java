@@ -0,0 +1,41 @@
+package com.demoproject.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+@Data
+@Schema(
+        name = "CustomerFilter",
+        description = "Schema to hold the filters and cursor of a customer list request"
+)
+public class CustomerFilterDto {
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    @Schema(
+            description = "Customers created on or after this date", example = "2025-01-01"
+    )
+    private LocalDate createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    @Schema(
+            description = "Customers created on or before this date", example = "2025-12-31"
+    )
+    private LocalDate createdTo;
+
+    @Schema(
+            description = "nextCursor of the previous page, omit for the first page", example = "1050"
+    )
+    private Long after;
+
+    @Min(value = 1, message = "Page size should be at least 1")
+    @Max(value = 500, message = "Page size should be at most 500")
+    @Schema(
+            description = "Number of customers per page", example = "50"
+    )
+    private int size = 50;
+}
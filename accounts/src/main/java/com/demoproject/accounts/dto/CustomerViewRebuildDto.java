@@ -0,0 +1,32 @@
+package com.demoproject.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+@Data
+@Schema(
+        name = "CustomerViewRebuild",
+        description = "Schema to hold the outcome of a customer details view rebuild"
+)
+public class CustomerViewRebuildDto {
+
+    @Schema(
+            description = "Number of customers that had no row in the view yet", example = "12"
+    )
+    private long customersAdded;
+
+    @Schema(
+            description = "Number of cards read from the cards snapshot", example = "40210"
+    )
+    private long cards;
+
+    @Schema(
+            description = "Number of loans read from the loans snapshot", example = "38774"
+    )
+    private long loans;
+
+    @Schema(
+            description = "Number of cards and loans removed because they no longer exist", example = "3"
+    )
+    private long removed;
+}
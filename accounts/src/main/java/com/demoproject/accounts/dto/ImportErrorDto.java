@@ -0,0 +1,31 @@
+package com.demoproject.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(
+        name = "ImportError",
+        description = "Schema to hold why one row of an import was rejected"
+)
+public class ImportErrorDto {
+
+    @Schema(
+            description = "Line number of the row in the uploaded file, the CSV header is line 1", example = "42"
+    )
+    private long row;
+
+    @Schema(
+            description = "Mobile Number of the rejected row, if it could be read", example = "9345432123"
+    )
+    private String mobileNumber;
+
+    @Schema(
+            description = "Reason the row was rejected", example = "Mobile number must be 10 digits"
+    )
+    private String errorMessage;
+}
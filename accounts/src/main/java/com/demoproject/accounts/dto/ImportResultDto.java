@@ -0,0 +1,30 @@
+package com.demoproject.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Schema(
+        name = "ImportResult",
+        description = "Schema to hold the outcome of a bulk customer import"
+)
+public class ImportResultDto {
+
+    @Schema(
+            description = "Number of customers and accounts created", example = "99998"
+    )
+    private long imported;
+
+    @Schema(
+            description = "Number of rows rejected", example = "2"
+    )
+    private long failed;
+
+    @Schema(
+            description = "Rejected rows, capped at the first digibank.import.max-reported-errors"
+    )
+    private List<ImportErrorDto> errors = new ArrayList<>();
+}
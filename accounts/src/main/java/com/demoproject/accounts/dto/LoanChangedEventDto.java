@@ -0,0 +1,31 @@
+package com.demoproject.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Published by loans through its outbox and streamed by its /api/snapshot, folded into customer_details_view
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanChangedEventDto {
+
+    private Long loanId;
+
+    // with loanId orders the events of a mobile number, older or repeated events are ignored
+    private Long version;
+
+    private boolean deleted;
+
+    private String mobileNumber;
+
+    private String loanNumber;
+
+    private String loanType;
+
+    private int totalLoan;
+
+    private int amountPaid;
+
+    private int outstandingAmount;
+}
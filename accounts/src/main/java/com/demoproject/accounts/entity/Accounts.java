@@ -1,17 +1,31 @@
 package com.demoproject.accounts.entity;
 
+import com.demoproject.common.entity.BaseEntity;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "accounts")
 @Getter@Setter@ToString@NoArgsConstructor@AllArgsConstructor
 public class Accounts extends BaseEntity {
     @Column(name = "customer_id")
     private long customerId;
 
+    /*Pooled sequence like Customer's, so an import batch inserts its accounts as one JDBC batch. Random numbers
+    could repeat inside a batch and fail it as a whole.*/
     @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accounts_seq")
+    @SequenceGenerator(name = "accounts_seq", sequenceName = "accounts_seq", initialValue = 1000000000,
+            allocationSize = 50)
     @Column(name = "account_number")
     private long accountNumber;
 
@@ -1,14 +1,26 @@
 package com.demoproject.accounts.entity;
 
+import com.demoproject.common.entity.BaseEntity;
+import com.demoproject.common.entity.MobileNumberConverter;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "customer")
+@NaturalIdCache(region = "customer-natural-id")
 @Getter@Setter@ToString@AllArgsConstructor@NoArgsConstructor
 public class Customer extends BaseEntity {
 
+    /*IDENTITY makes Hibernate execute every INSERT immediately to read the generated key, which disables JDBC
+    insert batching. A pooled sequence hands out 50 ids per round trip and lets inserts be batched.*/
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_seq")
+    @SequenceGenerator(name = "customer_seq", sequenceName = "customer_seq", allocationSize = 50)
     @Column(name="customer_id")
     private long customerId;
 
@@ -16,6 +28,9 @@ public class Customer extends BaseEntity {
 
     private String email;
 
+    // mutable natural id: updateAccount may change it, Hibernate then moves the natural-id cache entry
+    @NaturalId(mutable = true)
+    @Convert(converter = MobileNumberConverter.class)
     private String mobileNumber;
 
 
@@ -1,11 +1,10 @@
 package com.demoproject.accounts.exception;
 
-import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.annotation.ResponseStatus;
-import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import com.demoproject.common.exception.ResourceAlreadyExistsException;
 
-@ResponseStatus(value = BAD_REQUEST)
-public class CustomerAlreadyExistsException extends RuntimeException {
+public class CustomerAlreadyExistsException extends ResourceAlreadyExistsException {
+
+    private static final long serialVersionUID = 1L;
 
     public CustomerAlreadyExistsException(String message) {
         super(message);
@@ -1,79 +1,26 @@
 package com.demoproject.accounts.exception;
 
-import com.demoproject.accounts.dto.ErrorResponseDto;
-import org.springframework.http.HttpHeaders;
+import com.demoproject.common.dto.ErrorResponseDto;
+import com.demoproject.common.exception.CommonExceptionHandler;
+import com.demoproject.common.metrics.ErrorMetrics;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
-import org.springframework.validation.FieldError;
-import org.springframework.validation.ObjectError;
-import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
-import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
-
-import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 
+/*Not found, already exists, optimistic locking conflicts, validation errors and the rest are mapped by
+CommonExceptionHandler. Handlers for exceptions only this service throws go here.*/
 @ControllerAdvice
-public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
-
-    @ExceptionHandler(CustomerAlreadyExistsException.class)
-    public ResponseEntity<ErrorResponseDto> handleCustomerAlreadyExistException(CustomerAlreadyExistsException ex,
-                                                                   WebRequest webRequest) {
-
-        ErrorResponseDto errorResponseDto = new ErrorResponseDto(
-                webRequest.getDescription(false),
-                HttpStatus.BAD_REQUEST,
-                ex.getMessage(),
-                LocalDateTime.now()
-        );
-
-        return new ResponseEntity<>(errorResponseDto, HttpStatus.BAD_REQUEST);
+public class GlobalExceptionHandler extends CommonExceptionHandler {
 
+    public GlobalExceptionHandler(ErrorMetrics errorMetrics) {
+        super(errorMetrics);
     }
 
-    @ExceptionHandler(ResourceNotFoundException.class)
-    public ResponseEntity<ErrorResponseDto> handleResourceNotFoundException(ResourceNotFoundException ex,
-                                                                                WebRequest webRequest) {
-
-        ErrorResponseDto errorResponseDto = new ErrorResponseDto(
-                webRequest.getDescription(false),
-                HttpStatus.NOT_FOUND,
-                ex.getMessage(),
-                LocalDateTime.now()
-        );
-
-        return new ResponseEntity<>(errorResponseDto, HttpStatus.NOT_FOUND);
-
-    }
-
-    @ExceptionHandler(Exception.class)
-    public ResponseEntity<ErrorResponseDto> handleGlobalException(Exception ex, WebRequest webRequest) {
-        ErrorResponseDto errorResponseDto = new ErrorResponseDto(
-          webRequest.getDescription(false),
-          HttpStatus.INTERNAL_SERVER_ERROR,
-          ex.getMessage(),
-          LocalDateTime.now()
-        );
-
-        return new ResponseEntity<>(errorResponseDto, HttpStatus.INTERNAL_SERVER_ERROR);
-    }
-
-    @Override
-    protected ResponseEntity<Object> handleMethodArgumentNotValid
-            (MethodArgumentNotValidException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
-        Map<String, String> validationErrors = new HashMap<>();
-        List<ObjectError> validationErrorList = ex.getBindingResult().getAllErrors();
-
-        validationErrorList.forEach((error) -> {
-            String fieldName = ((FieldError) error).getField();
-            String validationMsg = error.getDefaultMessage();
-            validationErrors.put(fieldName, validationMsg);
-        });
-        return new ResponseEntity<>(validationErrors, HttpStatus.BAD_REQUEST);
+    @ExceptionHandler(InvalidImportFileException.class)
+    public ResponseEntity<ErrorResponseDto> handleInvalidImportFileException(InvalidImportFileException ex,
+                                                                             WebRequest webRequest) {
+        return errorResponse(ex, webRequest, HttpStatus.BAD_REQUEST, ex.getMessage());
     }
 }
@@ -0,0 +1,16 @@
+package com.demoproject.accounts.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/*An upload that cannot be imported at all, such as a CSV header without one of the required columns. Rows that are
+bad on their own are reported in the ImportResultDto instead.*/
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class InvalidImportFileException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidImportFileException(String message) {
+        super(message);
+    }
+}
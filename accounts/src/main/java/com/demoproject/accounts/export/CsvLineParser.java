@@ -0,0 +1,49 @@
+package com.demoproject.accounts.export;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*Splits one CSV line as written by ExportWriter (RFC 4180 quoting). Quoted values spanning several lines are not
+supported, bulk files are read line by line so that a bad row can be reported and skipped on its own.*/
+public final class CsvLineParser {
+
+    private CsvLineParser() {
+        // restrict instantiation
+    }
+
+    /**
+     * @param line - One CSV line without the line terminator
+     * @return the values of the line
+     * @throws IllegalArgumentException when a quoted value is not closed
+     */
+    public static String[] parse(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted value");
+        }
+        values.add(value.toString());
+        return values.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,37 @@
+package com.demoproject.accounts.functions;
+
+import com.demoproject.accounts.dto.CardChangedEventDto;
+import com.demoproject.accounts.dto.LoanChangedEventDto;
+import com.demoproject.accounts.service.ICustomerDetailsViewService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Consumer;
+
+/*Keeps customer_details_view current. Bound by spring-cloud-stream to card-changed and loan-changed
+(cardChanged-in-0, loanChanged-in-0 in spring.cloud.stream.bindings); plain beans while the binder is off.*/
+@Configuration
+public class AccountsFunctions {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountsFunctions.class);
+
+    @Bean
+    public Consumer<CardChangedEventDto> cardChanged(ICustomerDetailsViewService iCustomerDetailsViewService) {
+        return event -> {
+            iCustomerDetailsViewService.applyCardChange(event);
+            logger.debug("Applied card {} version {} of {} to the customer details view",
+                    event.getCardId(), event.getVersion(), event.getMobileNumber());
+        };
+    }
+
+    @Bean
+    public Consumer<LoanChangedEventDto> loanChanged(ICustomerDetailsViewService iCustomerDetailsViewService) {
+        return event -> {
+            iCustomerDetailsViewService.applyLoanChange(event);
+            logger.debug("Applied loan {} version {} of {} to the customer details view",
+                    event.getLoanId(), event.getVersion(), event.getMobileNumber());
+        };
+    }
+}
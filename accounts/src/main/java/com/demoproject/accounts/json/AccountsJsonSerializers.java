@@ -0,0 +1,188 @@
+package com.demoproject.accounts.json;
+
+import com.demoproject.accounts.dto.AccountsDto;
+import com.demoproject.accounts.dto.CardsDto;
+import com.demoproject.accounts.dto.CustomerDetailsDto;
+import com.demoproject.accounts.dto.LoansDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/*Hand-written serializers for fetchCustomerDetails, the hottest response of the service, and the DTOs it nests.
+They write the same properties in the same order as Jackson's bean serializer, nulls included, but with field names
+encoded once and without per-property lookups; nested DTOs are written directly instead of through the provider.
+A field added to one of these DTOs has to be added here as well.*/
+@JsonComponent
+public class AccountsJsonSerializers {
+
+    public static class CustomerDetailsDtoSerializer extends StdSerializer<CustomerDetailsDto> {
+
+        private static final long serialVersionUID = 1L;
+
+        private static final SerializedString NAME = new SerializedString("name");
+        private static final SerializedString EMAIL = new SerializedString("email");
+        private static final SerializedString MOBILE_NUMBER = new SerializedString("mobileNumber");
+        private static final SerializedString ACCOUNTS_DTO = new SerializedString("accountsDto");
+        private static final SerializedString LOANS_DTO = new SerializedString("loansDto");
+        private static final SerializedString CARDS_DTO = new SerializedString("cardsDto");
+
+        public CustomerDetailsDtoSerializer() {
+            super(CustomerDetailsDto.class);
+        }
+
+        @Override
+        public void serialize(CustomerDetailsDto value, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(NAME);
+            gen.writeString(value.getName());
+            gen.writeFieldName(EMAIL);
+            gen.writeString(value.getEmail());
+            gen.writeFieldName(MOBILE_NUMBER);
+            gen.writeString(value.getMobileNumber());
+            gen.writeFieldName(ACCOUNTS_DTO);
+            if (value.getAccountsDto() == null) {
+                gen.writeNull();
+            } else {
+                AccountsDtoSerializer.write(value.getAccountsDto(), gen);
+            }
+            gen.writeFieldName(LOANS_DTO);
+            if (value.getLoansDto() == null) {
+                gen.writeNull();
+            } else {
+                LoansDtoSerializer.write(value.getLoansDto(), gen);
+            }
+            gen.writeFieldName(CARDS_DTO);
+            if (value.getCardsDto() == null) {
+                gen.writeNull();
+            } else {
+                CardsDtoSerializer.write(value.getCardsDto(), gen);
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    public static class AccountsDtoSerializer extends StdSerializer<AccountsDto> {
+
+        private static final long serialVersionUID = 1L;
+
+        private static final SerializedString ACCOUNT_NUMBER = new SerializedString("accountNumber");
+        private static final SerializedString ACCOUNT_TYPE = new SerializedString("accountType");
+        private static final SerializedString BRANCH_ADDRESS = new SerializedString("branchAddress");
+
+        public AccountsDtoSerializer() {
+            super(AccountsDto.class);
+        }
+
+        @Override
+        public void serialize(AccountsDto value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            write(value, gen);
+        }
+
+        static void write(AccountsDto value, JsonGenerator gen) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(ACCOUNT_NUMBER);
+            gen.writeNumber(value.getAccountNumber());
+            gen.writeFieldName(ACCOUNT_TYPE);
+            gen.writeString(value.getAccountType());
+            gen.writeFieldName(BRANCH_ADDRESS);
+            gen.writeString(value.getBranchAddress());
+            gen.writeEndObject();
+        }
+    }
+
+    public static class CardsDtoSerializer extends StdSerializer<CardsDto> {
+
+        private static final long serialVersionUID = 1L;
+
+        private static final SerializedString MOBILE_NUMBER = new SerializedString("mobileNumber");
+        private static final SerializedString CARD_NUMBER = new SerializedString("cardNumber");
+        private static final SerializedString CARD_TYPE = new SerializedString("cardType");
+        private static final SerializedString TOTAL_LIMIT = new SerializedString("totalLimit");
+        private static final SerializedString AMOUNT_USED = new SerializedString("amountUsed");
+        private static final SerializedString AVAILABLE_AMOUNT = new SerializedString("availableAmount");
+        private static final SerializedString VERSION = new SerializedString("version");
+
+        public CardsDtoSerializer() {
+            super(CardsDto.class);
+        }
+
+        @Override
+        public void serialize(CardsDto value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            write(value, gen);
+        }
+
+        static void write(CardsDto value, JsonGenerator gen) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(MOBILE_NUMBER);
+            gen.writeString(value.getMobileNumber());
+            gen.writeFieldName(CARD_NUMBER);
+            gen.writeString(value.getCardNumber());
+            gen.writeFieldName(CARD_TYPE);
+            gen.writeString(value.getCardType());
+            gen.writeFieldName(TOTAL_LIMIT);
+            gen.writeNumber(value.getTotalLimit());
+            gen.writeFieldName(AMOUNT_USED);
+            gen.writeNumber(value.getAmountUsed());
+            gen.writeFieldName(AVAILABLE_AMOUNT);
+            gen.writeNumber(value.getAvailableAmount());
+            gen.writeFieldName(VERSION);
+            writeNumber(value.getVersion(), gen);
+            gen.writeEndObject();
+        }
+    }
+
+    public static class LoansDtoSerializer extends StdSerializer<LoansDto> {
+
+        private static final long serialVersionUID = 1L;
+
+        private static final SerializedString MOBILE_NUMBER = new SerializedString("mobileNumber");
+        private static final SerializedString LOAN_NUMBER = new SerializedString("loanNumber");
+        private static final SerializedString LOAN_TYPE = new SerializedString("loanType");
+        private static final SerializedString TOTAL_LOAN = new SerializedString("totalLoan");
+        private static final SerializedString AMOUNT_PAID = new SerializedString("amountPaid");
+        private static final SerializedString OUTSTANDING_AMOUNT = new SerializedString("outstandingAmount");
+        private static final SerializedString VERSION = new SerializedString("version");
+
+        public LoansDtoSerializer() {
+            super(LoansDto.class);
+        }
+
+        @Override
+        public void serialize(LoansDto value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            write(value, gen);
+        }
+
+        static void write(LoansDto value, JsonGenerator gen) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(MOBILE_NUMBER);
+            gen.writeString(value.getMobileNumber());
+            gen.writeFieldName(LOAN_NUMBER);
+            gen.writeString(value.getLoanNumber());
+            gen.writeFieldName(LOAN_TYPE);
+            gen.writeString(value.getLoanType());
+            gen.writeFieldName(TOTAL_LOAN);
+            gen.writeNumber(value.getTotalLoan());
+            gen.writeFieldName(AMOUNT_PAID);
+            gen.writeNumber(value.getAmountPaid());
+            gen.writeFieldName(OUTSTANDING_AMOUNT);
+            gen.writeNumber(value.getOutstandingAmount());
+            gen.writeFieldName(VERSION);
+            writeNumber(value.getVersion(), gen);
+            gen.writeEndObject();
+        }
+    }
+
+    // a null wrapper is written as null, like Jackson's own NumberSerializer, instead of failing on unboxing
+    private static void writeNumber(Long value, JsonGenerator gen) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.longValue());
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.demoproject.accounts.mapper;
 
 import com.demoproject.accounts.dto.CustomerDetailsDto;
 import com.demoproject.accounts.dto.CustomerDto;
+import com.demoproject.accounts.dto.CustomerExportDto;
 import com.demoproject.accounts.entity.Customer;
 
 public class CustomerMapper {
@@ -20,6 +21,22 @@ public class CustomerMapper {
         return customerDetailsDto;
     }
 
+    public static CustomerDetailsDto mapToCustomerDetailsDto(CustomerDto customerDto, CustomerDetailsDto customerDetailsDto) {
+        customerDetailsDto.setName(customerDto.getName());
+        customerDetailsDto.setEmail(customerDto.getEmail());
+        customerDetailsDto.setMobileNumber(customerDto.getMobileNumber());
+        customerDetailsDto.setAccountsDto(customerDto.getAccountsDto());
+        return customerDetailsDto;
+    }
+
+    public static final String[] EXPORT_CSV_HEADER =
+            {"name", "email", "mobileNumber", "accountNumber", "accountType", "branchAddress"};
+
+    public static Object[] mapToCsvColumns(CustomerExportDto customerExportDto) {
+        return new Object[]{customerExportDto.getName(), customerExportDto.getEmail(), customerExportDto.getMobileNumber(),
+                customerExportDto.getAccountNumber(), customerExportDto.getAccountType(), customerExportDto.getBranchAddress()};
+    }
+
     public static Customer mapToCustomer(CustomerDto customerDto, Customer customer) {
         customer.setName(customerDto.getName());
         customer.setEmail(customerDto.getEmail());
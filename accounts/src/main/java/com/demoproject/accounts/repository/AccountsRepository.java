@@ -1,18 +1,27 @@
 package com.demoproject.accounts.repository;
 
 import com.demoproject.accounts.entity.Accounts;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AccountsRepository extends JpaRepository<Accounts,Long> {
 
+    // query cache keeps the account number, the account itself comes from the entity cache
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Accounts> findByCustomerId(long customerId);
 
+    List<Accounts> findByCustomerIdIn(Collection<Long> customerIds);
+
     @Transactional
     @Modifying(clearAutomatically = true)
     void deleteByCustomerId(long customerId);
@@ -0,0 +1,317 @@
+package com.demoproject.accounts.repository;
+
+import com.demoproject.accounts.dto.CardChangedEventDto;
+import com.demoproject.accounts.dto.CardsDto;
+import com.demoproject.accounts.dto.CustomerDetailsViewDto;
+import com.demoproject.accounts.dto.LoanChangedEventDto;
+import com.demoproject.accounts.dto.LoansDto;
+import com.demoproject.common.web.EntityTag;
+import lombok.AllArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/*Plain JDBC over customer_details_view. Rows are created with the customer (or by a rebuild), and by the first card
+or loan event of a mobile number that has none yet, e.g. a card issued before the account was opened; creating the
+customer keeps such a row. Each side only counts once it was synced and events of its source are known to arrive
+(customer_view_source), a missing row or side means "not projected yet" and never "no card" or "no loan".
+An event is applied when its (id, version) is not older than what the row holds, which makes redelivery and
+replaying a snapshot over newer events harmless. Ids come from pooled sequences and only grow, so a card issued
+after a deletion wins over the tombstone of the old one.
+The statements are plain UPDATE and INSERT ... SELECT ... WHERE NOT EXISTS, which H2 and MySQL both run; MERGE and
+ON DUPLICATE KEY UPDATE are each only understood by one of them. An upsert is the guarded update first and, for the
+rows it did not find, an insert that skips an existing row followed by the update once more.*/
+@Repository
+@AllArgsConstructor
+public class CustomerDetailsViewRepository {
+
+    public static final String CARDS_SOURCE = "cards";
+
+    public static final String LOANS_SOURCE = "loans";
+
+    // 1 while an event of the source was applied since the last rebuild started, see customer_view_source
+    private static final String DELIVERED =
+            "select count(*) from customer_view_source s " +
+            "where s.delivered_at >= coalesce(s.rebuilt_at, s.delivered_at) and s.source = ";
+
+    private static final String SELECT_VIEW =
+            "select card_number, card_type, total_limit, amount_used, available_amount, " +
+            "loan_number, loan_type, total_loan, amount_paid, outstanding_amount, " +
+            "card_id, card_version, loan_id, loan_version, updated_at, card_synced_at, loan_synced_at, " +
+            "(" + DELIVERED + "'cards'), (" + DELIVERED + "'loans') " +
+            "from customer_details_view where mobile_number = ?";
+
+    private static final String COUNT_VIEW =
+            "select count(*) from customer_details_view where mobile_number = ?";
+
+    // keeps a row that an event created before the customer
+    private static final String INSERT_EMPTY =
+            "insert into customer_details_view (mobile_number, updated_at) select ?, ? from dual " +
+            "where not exists (select 1 from customer_details_view where mobile_number = ?)";
+
+    // customer.mobile_number is a BIGINT, the view keys on the 10-digit string
+    private static final String INSERT_MISSING_CUSTOMERS =
+            "insert into customer_details_view (mobile_number, updated_at) " +
+            "select lpad(c.mobile_number, 10, '0'), ? from customer c where not exists " +
+            "(select 1 from customer_details_view v where v.mobile_number = lpad(c.mobile_number, 10, '0'))";
+
+    private static final String DELETE_VIEW =
+            "delete from customer_details_view where mobile_number = ?";
+
+    private static final String CHANGE_MOBILE_NUMBER =
+            "update customer_details_view set mobile_number = ?, updated_at = ? where mobile_number = ?";
+
+    // the first ten parameters are the same in the update and the insert, see setCard
+    private static final String UPDATE_CARD =
+            "update customer_details_view set card_id = ?, card_version = ?, card_number = ?, card_type = ?, " +
+            "total_limit = ?, amount_used = ?, available_amount = ?, card_synced_at = ?, updated_at = ? " +
+            "where mobile_number = ? and (card_id is null or card_id < ? or (card_id = ? and card_version <= ?))";
+
+    private static final String INSERT_CARD =
+            "insert into customer_details_view (card_id, card_version, card_number, card_type, total_limit, " +
+            "amount_used, available_amount, card_synced_at, updated_at, mobile_number) " +
+            "select ?, ?, ?, ?, ?, ?, ?, ?, ?, ? from dual " +
+            "where not exists (select 1 from customer_details_view where mobile_number = ?)";
+
+    private static final String UPDATE_LOAN =
+            "update customer_details_view set loan_id = ?, loan_version = ?, loan_number = ?, loan_type = ?, " +
+            "total_loan = ?, amount_paid = ?, outstanding_amount = ?, loan_synced_at = ?, updated_at = ? " +
+            "where mobile_number = ? and (loan_id is null or loan_id < ? or (loan_id = ? and loan_version <= ?))";
+
+    private static final String INSERT_LOAN =
+            "insert into customer_details_view (loan_id, loan_version, loan_number, loan_type, total_loan, " +
+            "amount_paid, outstanding_amount, loan_synced_at, updated_at, mobile_number) " +
+            "select ?, ?, ?, ?, ?, ?, ?, ?, ?, ? from dual " +
+            "where not exists (select 1 from customer_details_view where mobile_number = ?)";
+
+    private static final String MARK_REBUILT =
+            "update customer_view_source set rebuilt_at = ? where source = ?";
+
+    // writes once per rebuild, a no-op for every later event
+    private static final String MARK_DELIVERED =
+            "update customer_view_source set delivered_at = ? " +
+            "where source = ? and (delivered_at is null or delivered_at < rebuilt_at)";
+
+    // After a rebuild: cards neither in the snapshot nor touched by an event since the rebuild started are gone
+    private static final String CLEAR_UNSYNCED_CARDS =
+            "update customer_details_view set card_number = null, card_type = null, total_limit = null, " +
+            "amount_used = null, available_amount = null, updated_at = ? " +
+            "where card_number is not null and (card_synced_at is null or card_synced_at < ?)";
+
+    private static final String CLEAR_UNSYNCED_LOANS =
+            "update customer_details_view set loan_number = null, loan_type = null, total_loan = null, " +
+            "amount_paid = null, outstanding_amount = null, updated_at = ? " +
+            "where loan_number is not null and (loan_synced_at is null or loan_synced_at < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param mobileNumber - Mobile Number of the Customer
+     * @return the row of the customer with its card and loan (null when the customer has none or the side was never
+     * synced) and the entity tag of the row, empty when the customer has no row in the view
+     */
+    public Optional<CustomerDetailsViewDto> findByMobileNumber(String mobileNumber) {
+        List<CustomerDetailsViewDto> rows = jdbcTemplate.query(SELECT_VIEW, (rs, rowNum) -> {
+            CustomerDetailsViewDto view = new CustomerDetailsViewDto();
+            view.setCardsSynced(rs.getTimestamp(16) != null && rs.getInt(18) > 0);
+            view.setLoansSynced(rs.getTimestamp(17) != null && rs.getInt(19) > 0);
+            if (rs.getString(1) != null) {
+                CardsDto cardsDto = new CardsDto();
+                cardsDto.setMobileNumber(mobileNumber);
+                cardsDto.setCardNumber(rs.getString(1));
+                cardsDto.setCardType(rs.getString(2));
+                cardsDto.setTotalLimit(rs.getInt(3));
+                cardsDto.setAmountUsed(rs.getInt(4));
+                cardsDto.setAvailableAmount(rs.getInt(5));
+                cardsDto.setVersion(rs.getObject(12, Long.class));
+                view.setCardsDto(cardsDto);
+            }
+            if (rs.getString(6) != null) {
+                LoansDto loansDto = new LoansDto();
+                loansDto.setMobileNumber(mobileNumber);
+                loansDto.setLoanNumber(rs.getString(6));
+                loansDto.setLoanType(rs.getString(7));
+                loansDto.setTotalLoan(rs.getInt(8));
+                loansDto.setAmountPaid(rs.getInt(9));
+                loansDto.setOutstandingAmount(rs.getInt(10));
+                loansDto.setVersion(rs.getObject(14, Long.class));
+                view.setLoansDto(loansDto);
+            }
+            // updated_at also moves when a rebuild clears a card or loan without touching ids and versions
+            view.setEntityTag(new EntityTag()
+                    .add(rs.getObject(11, Long.class)).add(rs.getObject(12, Long.class))
+                    .add(rs.getObject(13, Long.class)).add(rs.getObject(14, Long.class))
+                    .add(rs.getTimestamp(15).toLocalDateTime())
+                    .toString());
+            return view;
+        }, mobileNumber);
+        return rows.stream().findFirst();
+    }
+
+    public void insertEmpty(String mobileNumber, LocalDateTime updatedAt) {
+        jdbcTemplate.update(INSERT_EMPTY, mobileNumber, Timestamp.valueOf(updatedAt), mobileNumber);
+    }
+
+    public void insertEmpty(List<String> mobileNumbers, LocalDateTime updatedAt) {
+        Timestamp updatedAtTimestamp = Timestamp.valueOf(updatedAt);
+        jdbcTemplate.batchUpdate(INSERT_EMPTY, mobileNumbers, mobileNumbers.size(),
+                (ps, mobileNumber) -> {
+                    ps.setString(1, mobileNumber);
+                    ps.setTimestamp(2, updatedAtTimestamp);
+                    ps.setString(3, mobileNumber);
+                });
+    }
+
+    /**
+     * @return number of customers that got an empty row
+     */
+    public int insertMissingCustomers(LocalDateTime updatedAt) {
+        return jdbcTemplate.update(INSERT_MISSING_CUSTOMERS, Timestamp.valueOf(updatedAt));
+    }
+
+    public void deleteByMobileNumber(String mobileNumber) {
+        jdbcTemplate.update(DELETE_VIEW, mobileNumber);
+    }
+
+    /**
+     * @param mobileNumber - Mobile Number the customer had
+     * @param newMobileNumber - Mobile Number the customer has now
+     */
+    public void changeMobileNumber(String mobileNumber, String newMobileNumber, LocalDateTime updatedAt) {
+        // a card or loan event for the new number may have created its row before the customer moved to it
+        Integer existing = jdbcTemplate.queryForObject(COUNT_VIEW, Integer.class, newMobileNumber);
+        if (existing != null && existing > 0) {
+            deleteByMobileNumber(mobileNumber);
+        } else if (jdbcTemplate.update(CHANGE_MOBILE_NUMBER, newMobileNumber, Timestamp.valueOf(updatedAt),
+                mobileNumber) == 0) {
+            insertEmpty(newMobileNumber, updatedAt);
+        }
+    }
+
+    /**
+     * @param events - Card changes, a deleted card clears the card columns
+     * @param syncedAt - When the changes were received
+     */
+    public void applyCards(List<CardChangedEventDto> events, LocalDateTime syncedAt) {
+        Timestamp syncedAtTimestamp = Timestamp.valueOf(syncedAt);
+        upsert(events, UPDATE_CARD, (ps, event) -> {
+            setCard(ps, event, syncedAtTimestamp);
+            ps.setLong(11, event.getCardId());
+            ps.setLong(12, event.getCardId());
+            ps.setLong(13, event.getVersion());
+        }, INSERT_CARD, (ps, event) -> {
+            setCard(ps, event, syncedAtTimestamp);
+            ps.setString(11, event.getMobileNumber());
+        });
+    }
+
+    /**
+     * @param events - Loan changes, a deleted loan clears the loan columns
+     * @param syncedAt - When the changes were received
+     */
+    public void applyLoans(List<LoanChangedEventDto> events, LocalDateTime syncedAt) {
+        Timestamp syncedAtTimestamp = Timestamp.valueOf(syncedAt);
+        upsert(events, UPDATE_LOAN, (ps, event) -> {
+            setLoan(ps, event, syncedAtTimestamp);
+            ps.setLong(11, event.getLoanId());
+            ps.setLong(12, event.getLoanId());
+            ps.setLong(13, event.getVersion());
+        }, INSERT_LOAN, (ps, event) -> {
+            setLoan(ps, event, syncedAtTimestamp);
+            ps.setString(11, event.getMobileNumber());
+        });
+    }
+
+    /**
+     * @param source - CARDS_SOURCE or LOANS_SOURCE
+     * @param rebuiltAt - When the rebuild started, the source is not served from the view until an event follows
+     */
+    public void markRebuilt(String source, LocalDateTime rebuiltAt) {
+        jdbcTemplate.update(MARK_REBUILT, Timestamp.valueOf(rebuiltAt), source);
+    }
+
+    /**
+     * @param source - CARDS_SOURCE or LOANS_SOURCE
+     * @param deliveredAt - When an event of the source was applied
+     */
+    public void markDelivered(String source, LocalDateTime deliveredAt) {
+        jdbcTemplate.update(MARK_DELIVERED, Timestamp.valueOf(deliveredAt), source);
+    }
+
+    /**
+     * @return number of cards removed from the view
+     */
+    public int clearCardsNotSyncedSince(LocalDateTime since, LocalDateTime updatedAt) {
+        return jdbcTemplate.update(CLEAR_UNSYNCED_CARDS, Timestamp.valueOf(updatedAt), Timestamp.valueOf(since));
+    }
+
+    /**
+     * @return number of loans removed from the view
+     */
+    public int clearLoansNotSyncedSince(LocalDateTime since, LocalDateTime updatedAt) {
+        return jdbcTemplate.update(CLEAR_UNSYNCED_LOANS, Timestamp.valueOf(updatedAt), Timestamp.valueOf(since));
+    }
+
+    /*A count below 1 is either "no row" or a driver that reports SUCCESS_NO_INFO for batches; both take the insert,
+    which does nothing when the row exists. The update after an insert that did nothing covers a row created in
+    between, by another consumer or by an earlier event of the same batch, and is a no-op for a stale event.*/
+    private <T> void upsert(List<T> events, String update, ParameterizedPreparedStatementSetter<T> updateSetter,
+                            String insert, ParameterizedPreparedStatementSetter<T> insertSetter) {
+        if (events.isEmpty()) {
+            return;
+        }
+        int[][] updated = jdbcTemplate.batchUpdate(update, events, events.size(), updateSetter);
+        for (int i = 0; i < events.size(); i++) {
+            if (updated[0][i] > 0) {
+                continue;
+            }
+            T event = events.get(i);
+            int inserted;
+            try {
+                inserted = jdbcTemplate.update(insert, ps -> insertSetter.setValues(ps, event));
+            } catch (DuplicateKeyException ex) {
+                inserted = 0;
+            }
+            if (inserted == 0) {
+                jdbcTemplate.update(update, ps -> updateSetter.setValues(ps, event));
+            }
+        }
+    }
+
+    private static void setCard(PreparedStatement ps, CardChangedEventDto event, Timestamp syncedAt)
+            throws SQLException {
+        ps.setLong(1, event.getCardId());
+        ps.setLong(2, event.getVersion());
+        ps.setString(3, event.isDeleted() ? null : event.getCardNumber());
+        ps.setString(4, event.isDeleted() ? null : event.getCardType());
+        ps.setObject(5, event.isDeleted() ? null : event.getTotalLimit(), Types.INTEGER);
+        ps.setObject(6, event.isDeleted() ? null : event.getAmountUsed(), Types.INTEGER);
+        ps.setObject(7, event.isDeleted() ? null : event.getAvailableAmount(), Types.INTEGER);
+        ps.setTimestamp(8, syncedAt);
+        ps.setTimestamp(9, syncedAt);
+        ps.setString(10, event.getMobileNumber());
+    }
+
+    private static void setLoan(PreparedStatement ps, LoanChangedEventDto event, Timestamp syncedAt)
+            throws SQLException {
+        ps.setLong(1, event.getLoanId());
+        ps.setLong(2, event.getVersion());
+        ps.setString(3, event.isDeleted() ? null : event.getLoanNumber());
+        ps.setString(4, event.isDeleted() ? null : event.getLoanType());
+        ps.setObject(5, event.isDeleted() ? null : event.getTotalLoan(), Types.INTEGER);
+        ps.setObject(6, event.isDeleted() ? null : event.getAmountPaid(), Types.INTEGER);
+        ps.setObject(7, event.isDeleted() ? null : event.getOutstandingAmount(), Types.INTEGER);
+        ps.setTimestamp(8, syncedAt);
+        ps.setTimestamp(9, syncedAt);
+        ps.setString(10, event.getMobileNumber());
+    }
+}
@@ -0,0 +1,10 @@
+package com.demoproject.accounts.repository;
+
+import com.demoproject.accounts.entity.Customer;
+
+import java.util.Optional;
+
+public interface CustomerNaturalIdRepository {
+
+    Optional<Customer> findByMobileNumber(String mobileNumber);
+}
@@ -0,0 +1,24 @@
+package com.demoproject.accounts.repository;
+
+import com.demoproject.accounts.entity.Customer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/*Replaces the derived findByMobileNumber query. Loading by natural id resolves mobile number -> customer id from the
+natural-id cache and the customer from the entity cache, so a cached customer is found without touching the
+database; only a miss runs the select (on the unique mobile_number index).*/
+@Transactional(readOnly = true)
+public class CustomerNaturalIdRepositoryImpl implements CustomerNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Customer> findByMobileNumber(String mobileNumber) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(Customer.class).loadOptional(mobileNumber);
+    }
+}
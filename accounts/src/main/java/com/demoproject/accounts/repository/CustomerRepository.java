@@ -1,14 +1,37 @@
 package com.demoproject.accounts.repository;
 
+import com.demoproject.accounts.dto.CustomerExportDto;
 import com.demoproject.accounts.entity.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer,Long> {
+public interface CustomerRepository extends JpaRepository<Customer,Long>, JpaSpecificationExecutor<Customer>,
+        CustomerNaturalIdRepository {
 
-    //derived named method
-    Optional<Customer> findByMobileNumber(String mobileNumber);
+    // One round trip per import batch instead of one findByMobileNumber per row
+    @Query("select c.mobileNumber from Customer c where c.mobileNumber in :mobileNumbers")
+    List<String> findExistingMobileNumbers(@Param("mobileNumbers") Collection<String> mobileNumbers);
+
+    /*Forward-only cursor for /api/export: the constructor expression yields plain DTOs, so the persistence context
+    stays empty however many rows go by, and the fetch size bounds what the driver buffers. The caller must consume
+    the stream inside a transaction and close it. On MySQL the fetch size only applies with useCursorFetch=true.*/
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.demoproject.accounts.dto.CustomerExportDto(c.name, c.email, c.mobileNumber, " +
+            "a.accountNumber, a.accountType, a.branchAddress) " +
+            "from Customer c join Accounts a on a.customerId = c.customerId order by c.customerId")
+    Stream<CustomerExportDto> streamAllForExport();
 }
@@ -0,0 +1,36 @@
+package com.demoproject.accounts.repository;
+
+import com.demoproject.accounts.dto.CustomerFilterDto;
+import com.demoproject.accounts.entity.Customer;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class CustomerSpecifications {
+
+    private CustomerSpecifications() {
+        // restrict instantiation
+    }
+
+    /**
+     * @param filter - Filters of a list request, null filters are left out of the where clause
+     * @return the conjunction of the given filters
+     */
+    public static Specification<Customer> matching(CustomerFilterDto filter) {
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getCreatedFrom() != null) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.<LocalDateTime>get("createdAt"),
+                        filter.getCreatedFrom().atStartOfDay()));
+            }
+            if (filter.getCreatedTo() != null) {
+                predicates.add(criteriaBuilder.lessThan(root.<LocalDateTime>get("createdAt"),
+                        filter.getCreatedTo().plusDays(1).atStartOfDay()));
+            }
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
@@ -3,20 +3,47 @@ package com.demoproject.accounts.service;
 import com.demoproject.accounts.constants.AccountsConstants;
 import com.demoproject.accounts.dto.AccountsDto;
 import com.demoproject.accounts.dto.CustomerDto;
+import com.demoproject.accounts.dto.CustomerExportDto;
+import com.demoproject.accounts.dto.CustomerFilterDto;
 import com.demoproject.accounts.entity.Accounts;
 import com.demoproject.accounts.entity.Customer;
 import com.demoproject.accounts.exception.CustomerAlreadyExistsException;
-import com.demoproject.accounts.exception.ResourceNotFoundException;
 import com.demoproject.accounts.mapper.AccountsMapper;
 import com.demoproject.accounts.mapper.CustomerMapper;
 import com.demoproject.accounts.repository.AccountsRepository;
+import com.demoproject.accounts.repository.CustomerDetailsViewRepository;
 import com.demoproject.accounts.repository.CustomerRepository;
+import com.demoproject.accounts.repository.CustomerSpecifications;
+import com.demoproject.common.cache.CacheInvalidator;
+import com.demoproject.common.datasource.ReplicationLagGuard;
+import com.demoproject.common.dto.CustomerDeletedEventDto;
+import com.demoproject.common.dto.KeysetPageDto;
+import com.demoproject.common.event.OutboxPublisher;
+import com.demoproject.common.exception.ResourceNotFoundException;
+import com.demoproject.common.export.ExportFormat;
+import com.demoproject.common.export.ExportWriter;
+import com.demoproject.common.index.MobileNumberIndex;
+import com.demoproject.common.web.EntityTag;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor
@@ -24,27 +51,53 @@ public class AccountsServiceImpl implements IAccountsService {
 
     private final AccountsRepository accountsRepository;
     private final CustomerRepository customerRepository;
+    private final ReplicationLagGuard replicationLagGuard;
+    private final ObjectMapper objectMapper;
+    private final OutboxPublisher outboxPublisher;
+    private final CustomerDetailsViewRepository customerDetailsViewRepository;
+    private final CacheInvalidator cacheInvalidator;
+    private final MobileNumberIndex mobileNumberIndex;
 
     /**
      * @param customerDto - CustomerDto Object
      */
     @Override
+    @Transactional
     public void createAccount(CustomerDto customerDto) {
 
         Customer customer = CustomerMapper.mapToCustomer(customerDto, new Customer());
-        Optional<Customer>  optionalCustomer = customerRepository.findByMobileNumber(customerDto.getMobileNumber());
-        if (optionalCustomer.isPresent()) {
-            throw new CustomerAlreadyExistsException("Customer already exists with provided mobile number "
-                    + customerDto.getMobileNumber());
+        // new numbers, most of onboarding, are answered by the index without a lookup
+        if (mobileNumberIndex.mightExist(customerDto.getMobileNumber())) {
+            Optional<Customer>  optionalCustomer = customerRepository.findByMobileNumber(customerDto.getMobileNumber());
+            if (optionalCustomer.isPresent()) {
+                throw new CustomerAlreadyExistsException("Customer already exists with provided mobile number "
+                        + customerDto.getMobileNumber());
+            }
         }
 //        customer.setCreatedAt(LocalDateTime.now());
 //        customer.setCreatedBy("Admin");
-        Customer savedCustomer = customerRepository.save(customer);
+        Customer savedCustomer;
+        try {
+            savedCustomer = customerRepository.saveAndFlush(customer);
+        } catch (DataIntegrityViolationException ex) {
+            // registered on another replica before its index update reached this one
+            throw new CustomerAlreadyExistsException("Customer already exists with provided mobile number "
+                    + customerDto.getMobileNumber());
+        }
+        mobileNumberIndex.add(customerDto.getMobileNumber());
         accountsRepository.save(createNewAccount(savedCustomer));
+        // a new customer has no card and no loan yet, the row is filled in by the cards and loans events
+        customerDetailsViewRepository.insertEmpty(customerDto.getMobileNumber(), LocalDateTime.now());
+        replicationLagGuard.recordWrite(customerDto.getMobileNumber());
     }
 
+    /*readOnly makes Spring's HibernateJpaDialect switch the session to FlushMode.MANUAL and default read-only,
+    so the loaded entities are neither snapshotted nor dirty-checked before the transaction ends*/
     @Override
+    @Cacheable(cacheNames = AccountsConstants.CUSTOMERS_CACHE, key = "#mobileNumber")
+    @Transactional(readOnly = true)
     public CustomerDto fetchAccount(String mobileNumber) {
+       replicationLagGuard.pinToPrimaryIfRecentlyWritten(mobileNumber);
        Customer customer = customerRepository.findByMobileNumber(mobileNumber).orElseThrow(
                () -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber)
        );
@@ -55,10 +108,12 @@ public class AccountsServiceImpl implements IAccountsService {
 
        CustomerDto customerDto = CustomerMapper.mapToCustomerDto(customer, new CustomerDto());
        customerDto.setAccountsDto(AccountsMapper.mapToAccountsDto(accounts,new AccountsDto()));
+       customerDto.setEntityTag(EntityTag.of(customer, accounts));
         return customerDto;
     }
 
     @Override
+    @Transactional
     public boolean updateAccount(CustomerDto customerDto) {
         boolean isUpdated = false;
         AccountsDto accountsDto = customerDto.getAccountsDto();
@@ -74,14 +129,45 @@ public class AccountsServiceImpl implements IAccountsService {
             Customer customer = customerRepository.findById(customerId).orElseThrow(
                     () -> new ResourceNotFoundException("Customer", "CustomerID", customerId.toString())
             );
+            // cached under the old and, if it changes, the new mobile number
+            cacheInvalidator.invalidateAfterCommit(AccountsConstants.CUSTOMERS_CACHE, customer.getMobileNumber());
+            cacheInvalidator.invalidateAfterCommit(AccountsConstants.CUSTOMERS_CACHE, customerDto.getMobileNumber());
+            cacheInvalidator.evictEntityAfterCommit(Accounts.class, accounts.getAccountNumber());
+            cacheInvalidator.evictEntityAfterCommit(Customer.class, customerId);
+            String mobileNumber = customer.getMobileNumber();
+            boolean mobileNumberChanged = !mobileNumber.equals(customerDto.getMobileNumber());
+            if (mobileNumberChanged) {
+                // the same check as on create, the number must not belong to another customer
+                if (mobileNumberIndex.mightExist(customerDto.getMobileNumber())
+                        && customerRepository.findByMobileNumber(customerDto.getMobileNumber()).isPresent()) {
+                    throw new CustomerAlreadyExistsException("Customer already exists with provided mobile number "
+                            + customerDto.getMobileNumber());
+                }
+                // other replicas would still resolve the old number to this customer
+                cacheInvalidator.evictNaturalIdsAfterCommit(Customer.class);
+            }
             CustomerMapper.mapToCustomer(customerDto,customer);
-            customerRepository.save(customer);
+            try {
+                customerRepository.saveAndFlush(customer);
+            } catch (DataIntegrityViolationException ex) {
+                // taken on another replica before its index update reached this one
+                throw new CustomerAlreadyExistsException("Customer already exists with provided mobile number "
+                        + customerDto.getMobileNumber());
+            }
+            if (mobileNumberChanged) {
+                mobileNumberIndex.add(customerDto.getMobileNumber());
+                // in this transaction, a committed number change must not leave the customer details under the old one
+                customerDetailsViewRepository.changeMobileNumber(mobileNumber, customerDto.getMobileNumber(),
+                        LocalDateTime.now());
+            }
+            replicationLagGuard.recordWrite(customerDto.getMobileNumber());
             isUpdated = true;
         }
         return isUpdated;
     }
 
     @Override
+    @Transactional
     public boolean deleteAccount(String mobileNumber) {
         Customer customer = customerRepository.findByMobileNumber(mobileNumber).orElseThrow(
                 () -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber)
@@ -91,20 +177,73 @@ public class AccountsServiceImpl implements IAccountsService {
 //                () -> new ResourceNotFoundException("Accounts", "customerId", customer.getCustomerId()+"")
 //        );
 
+        accountsRepository.findByCustomerId(customer.getCustomerId()).ifPresent(accounts ->
+                cacheInvalidator.evictEntityAfterCommit(Accounts.class, accounts.getAccountNumber()));
         accountsRepository.deleteByCustomerId(customer.getCustomerId());
         customerRepository.deleteById(customer.getCustomerId());
+        customerDetailsViewRepository.deleteByMobileNumber(mobileNumber);
+        cacheInvalidator.invalidateAfterCommit(AccountsConstants.CUSTOMERS_CACHE, mobileNumber);
+        // a customer created later with the same mobile number must not resolve to this one anywhere
+        cacheInvalidator.evictEntityAfterCommit(Customer.class, customer.getCustomerId());
+        cacheInvalidator.evictNaturalIdsAfterCommit(Customer.class);
+        cacheInvalidator.evictQueriesAfterCommit();
+        // cards and loans delete their rows when they consume the event, no synchronous fan-out
+        outboxPublisher.append(AccountsConstants.CUSTOMER_DELETED_DESTINATION, mobileNumber,
+                new CustomerDeletedEventDto(mobileNumber, LocalDateTime.now()));
+        replicationLagGuard.recordWrite(mobileNumber);
         return true;
     }
 
+    /*Keyset scrolling on customer_id, no OFFSET: every page is "customer_id > :after order by customer_id limit size + 1".
+    The accounts of the page are loaded with one IN query rather than one query per customer.*/
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPageDto<CustomerDto> listAccounts(CustomerFilterDto filter) {
+        ScrollPosition position = filter.getAfter() == null
+                ? ScrollPosition.keyset()
+                : ScrollPosition.forward(Map.of("customerId", filter.getAfter()));
+        Window<Customer> window = customerRepository.findBy(CustomerSpecifications.matching(filter),
+                query -> query.sortBy(Sort.by("customerId")).limit(filter.getSize()).scroll(position));
+        List<Long> customerIds = window.stream().map(Customer::getCustomerId).toList();
+        Map<Long, Accounts> accountsByCustomerId = accountsRepository.findByCustomerIdIn(customerIds).stream()
+                .collect(Collectors.toMap(Accounts::getCustomerId, Function.identity()));
+        List<CustomerDto> items = window.stream().map(customer -> {
+            CustomerDto customerDto = CustomerMapper.mapToCustomerDto(customer, new CustomerDto());
+            Accounts accounts = accountsByCustomerId.get(customer.getCustomerId());
+            if (accounts != null) {
+                customerDto.setAccountsDto(AccountsMapper.mapToAccountsDto(accounts, new AccountsDto()));
+            }
+            return customerDto;
+        }).toList();
+        Long nextCursor = window.hasNext() ? customerIds.get(customerIds.size() - 1) : null;
+        return new KeysetPageDto<>(items, nextCursor);
+    }
+
+    /**
+     * @param exportFormat - NDJSON or CSV
+     * @param outputStream - Stream the rows are written to, left open
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAccounts(ExportFormat exportFormat, OutputStream outputStream) throws IOException {
+        try (Stream<CustomerExportDto> rows = customerRepository.streamAllForExport();
+             ExportWriter<CustomerExportDto> writer = ExportWriter.open(exportFormat, outputStream,
+                     objectMapper.writerFor(CustomerExportDto.class),
+                     CustomerMapper.EXPORT_CSV_HEADER, CustomerMapper::mapToCsvColumns)) {
+            Iterator<CustomerExportDto> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+            }
+        }
+    }
+
     /**
      * @param customer - Customer Object
-     * @return the new account details
+     * @return the new account details, its account number is assigned from accounts_seq when it is persisted
      */
-    private Accounts createNewAccount(Customer customer) {
+    static Accounts createNewAccount(Customer customer) {
         Accounts newAccount = new Accounts();
         newAccount.setCustomerId(customer.getCustomerId());
-        long randomAccNumber = 1000000000L + new Random().nextInt(900000000);
-        newAccount.setAccountNumber(randomAccNumber);
         newAccount.setAccountType(AccountsConstants.SAVINGS);
         newAccount.setBranchAddress(AccountsConstants.ADDRESS);
         return newAccount;
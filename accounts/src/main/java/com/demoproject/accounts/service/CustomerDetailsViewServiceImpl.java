@@ -0,0 +1,149 @@
+package com.demoproject.accounts.service;
+
+import com.demoproject.accounts.dto.CardChangedEventDto;
+import com.demoproject.accounts.dto.CustomerDetailsViewDto;
+import com.demoproject.accounts.dto.CustomerViewRebuildDto;
+import com.demoproject.accounts.dto.LoanChangedEventDto;
+import com.demoproject.accounts.repository.CustomerDetailsViewRepository;
+import com.demoproject.accounts.service.client.CardsFeignClient;
+import com.demoproject.accounts.service.client.LoansFeignClient;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/*customer_details_view is fed by the card-changed and loan-changed events, so the customer details read stays
+local. A rebuild streams the /api/snapshot of cards and loans through the same guarded updates as the events,
+in batches of one transaction each, and then clears every card or loan that neither the snapshot nor an event
+has confirmed since the rebuild started. A snapshot says nothing about later changes reaching this service, so after
+a rebuild a side is only served from the view again once an event of its source has been applied; until then
+fetchCustomerDetails reads it from cards or loans.*/
+@Service
+public class CustomerDetailsViewServiceImpl implements ICustomerDetailsViewService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerDetailsViewServiceImpl.class);
+
+    private final CustomerDetailsViewRepository customerDetailsViewRepository;
+    private final CardsFeignClient cardsFeignClient;
+    private final LoansFeignClient loansFeignClient;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final int batchSize;
+
+    public CustomerDetailsViewServiceImpl(CustomerDetailsViewRepository customerDetailsViewRepository,
+                                          CardsFeignClient cardsFeignClient,
+                                          LoansFeignClient loansFeignClient,
+                                          TransactionTemplate transactionTemplate,
+                                          ObjectMapper objectMapper,
+                                          @Value("${digibank.customer-view.rebuild-batch-size:500}") int batchSize) {
+        this.customerDetailsViewRepository = customerDetailsViewRepository;
+        this.cardsFeignClient = cardsFeignClient;
+        this.loansFeignClient = loansFeignClient;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @param mobileNumber - Input Mobile Number
+     * @return the projected card and loan, empty when the customer is not in the view yet
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<CustomerDetailsViewDto> fetchCardsAndLoans(String mobileNumber) {
+        return customerDetailsViewRepository.findByMobileNumber(mobileNumber);
+    }
+
+    @Override
+    @Transactional
+    public void applyCardChange(CardChangedEventDto event) {
+        LocalDateTime now = LocalDateTime.now();
+        customerDetailsViewRepository.applyCards(List.of(event), now);
+        customerDetailsViewRepository.markDelivered(CustomerDetailsViewRepository.CARDS_SOURCE, now);
+    }
+
+    @Override
+    @Transactional
+    public void applyLoanChange(LoanChangedEventDto event) {
+        LocalDateTime now = LocalDateTime.now();
+        customerDetailsViewRepository.applyLoans(List.of(event), now);
+        customerDetailsViewRepository.markDelivered(CustomerDetailsViewRepository.LOANS_SOURCE, now);
+    }
+
+    /**
+     * @param correlationId - Correlation id passed on to the snapshot calls
+     * @return what the rebuild added, read and removed
+     */
+    @Override
+    public CustomerViewRebuildDto rebuild(String correlationId) throws IOException {
+        if (!rebuildLock.tryLock()) {
+            throw new IllegalStateException("A customer details view rebuild is already running");
+        }
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            CustomerViewRebuildDto result = new CustomerViewRebuildDto();
+            result.setCustomersAdded(transactionTemplate.execute(status -> {
+                customerDetailsViewRepository.markRebuilt(CustomerDetailsViewRepository.CARDS_SOURCE, startedAt);
+                customerDetailsViewRepository.markRebuilt(CustomerDetailsViewRepository.LOANS_SOURCE, startedAt);
+                return customerDetailsViewRepository.insertMissingCustomers(startedAt);
+            }));
+            result.setCards(applySnapshot("cards", cardsFeignClient.fetchSnapshot(correlationId),
+                    CardChangedEventDto.class, customerDetailsViewRepository::applyCards));
+            result.setLoans(applySnapshot("loans", loansFeignClient.fetchSnapshot(correlationId),
+                    LoanChangedEventDto.class, customerDetailsViewRepository::applyLoans));
+            result.setRemoved(transactionTemplate.execute(status ->
+                    customerDetailsViewRepository.clearCardsNotSyncedSince(startedAt, LocalDateTime.now())
+                            + customerDetailsViewRepository.clearLoansNotSyncedSince(startedAt, LocalDateTime.now())));
+            logger.info("Customer details view rebuilt: {}", result);
+            return result;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private <T> long applySnapshot(String source, Response response, Class<T> eventType,
+                                   BiConsumer<List<T>, LocalDateTime> apply) throws IOException {
+        if (response == null) {
+            throw new IllegalStateException("The " + source + " snapshot is unavailable");
+        }
+        try (response) {
+            if (response.status() != 200 || response.body() == null) {
+                throw new IllegalStateException("The " + source + " snapshot failed with HTTP status " + response.status());
+            }
+            long read = 0;
+            List<T> batch = new ArrayList<>(batchSize);
+            try (MappingIterator<T> events = objectMapper.readerFor(eventType).readValues(response.body().asInputStream())) {
+                while (events.hasNextValue()) {
+                    batch.add(events.nextValue());
+                    read++;
+                    if (batch.size() == batchSize) {
+                        applyBatch(batch, apply);
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                applyBatch(batch, apply);
+            }
+            return read;
+        }
+    }
+
+    private <T> void applyBatch(List<T> batch, BiConsumer<List<T>, LocalDateTime> apply) {
+        transactionTemplate.executeWithoutResult(status -> apply.accept(batch, LocalDateTime.now()));
+        batch.clear();
+    }
+}
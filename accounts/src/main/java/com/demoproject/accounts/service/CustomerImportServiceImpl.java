@@ -0,0 +1,237 @@
+package com.demoproject.accounts.service;
+
+import com.demoproject.accounts.dto.CustomerDto;
+import com.demoproject.accounts.dto.ImportErrorDto;
+import com.demoproject.accounts.dto.ImportResultDto;
+import com.demoproject.accounts.entity.Customer;
+import com.demoproject.accounts.exception.InvalidImportFileException;
+import com.demoproject.accounts.export.CsvLineParser;
+import com.demoproject.accounts.mapper.CustomerMapper;
+import com.demoproject.accounts.repository.CustomerDetailsViewRepository;
+import com.demoproject.accounts.repository.CustomerRepository;
+import com.demoproject.common.datasource.ReplicationLagGuard;
+import com.demoproject.common.export.ExportFormat;
+import com.demoproject.common.index.MobileNumberIndex;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/*Bulk onboarding. The upload is read one line at a time and every line is parsed and validated on its own, so a
+bad row is reported and skipped instead of failing the file. Valid rows are collected into batches of batch-size;
+each batch is one transaction in which the customers and their accounts are persisted with Hibernate JDBC batching
+(pooled sequence ids, hibernate.jdbc.batch_size) and the persistence context is cleared afterwards, so memory
+stays at one batch however large the file is. A batch that fails is retried one row per transaction, so only
+the rows that fail on their own are rejected, and the import carries on with the next batch. A CSV header without
+one of the CSV_COLUMNS rejects the whole file with a 400 before any row is read.*/
+@Service
+public class CustomerImportServiceImpl implements ICustomerImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerImportServiceImpl.class);
+
+    private static final String[] CSV_COLUMNS = {"name", "email", "mobileNumber"};
+
+    private final CustomerRepository customerRepository;
+    private final CustomerDetailsViewRepository customerDetailsViewRepository;
+    private final ReplicationLagGuard replicationLagGuard;
+    private final MobileNumberIndex mobileNumberIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ObjectReader customerReader;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public CustomerImportServiceImpl(CustomerRepository customerRepository,
+                                     CustomerDetailsViewRepository customerDetailsViewRepository,
+                                     ReplicationLagGuard replicationLagGuard,
+                                     MobileNumberIndex mobileNumberIndex,
+                                     TransactionTemplate transactionTemplate,
+                                     EntityManager entityManager,
+                                     Validator validator,
+                                     ObjectMapper objectMapper,
+                                     @Value("${digibank.import.batch-size:500}") int batchSize,
+                                     @Value("${digibank.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.customerRepository = customerRepository;
+        this.customerDetailsViewRepository = customerDetailsViewRepository;
+        this.replicationLagGuard = replicationLagGuard;
+        this.mobileNumberIndex = mobileNumberIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.customerReader = objectMapper.readerFor(CustomerDto.class);
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * @param importFormat - NDJSON or CSV
+     * @param inputStream - Uploaded file, read incrementally line by line
+     * @return number of customers created and the rows that were rejected
+     */
+    @Override
+    public ImportResultDto importCustomers(ExportFormat importFormat, InputStream inputStream) throws IOException {
+        ImportResultDto result = new ImportResultDto();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        List<CustomerDto> batch = new ArrayList<>(batchSize);
+        List<Long> batchRows = new ArrayList<>(batchSize);
+        int[] csvIndexes = null;
+        long row = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            row++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (importFormat == ExportFormat.CSV && csvIndexes == null) {
+                csvIndexes = csvIndexes(CsvLineParser.parse(line));
+                continue;
+            }
+            CustomerDto customerDto;
+            try {
+                customerDto = importFormat == ExportFormat.CSV
+                        ? fromCsv(line, csvIndexes) : customerReader.readValue(line);
+            } catch (JsonProcessingException ex) {
+                reject(result, row, null, "Malformed row: " + ex.getOriginalMessage());
+                continue;
+            } catch (IllegalArgumentException ex) {
+                reject(result, row, null, "Malformed row: " + ex.getMessage());
+                continue;
+            }
+            Set<ConstraintViolation<CustomerDto>> violations = validator.validate(customerDto);
+            if (!violations.isEmpty()) {
+                reject(result, row, customerDto.getMobileNumber(), violations.stream()
+                        .map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; ")));
+                continue;
+            }
+            batch.add(customerDto);
+            batchRows.add(row);
+            if (batch.size() == batchSize) {
+                writeBatch(batch, batchRows, result);
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch, batchRows, result);
+        }
+        logger.info("Customer import finished, {} imported, {} rejected", result.getImported(), result.getFailed());
+        return result;
+    }
+
+    private void writeBatch(List<CustomerDto> batch, List<Long> batchRows, ImportResultDto result) {
+        try {
+            persist(batch, batchRows, result);
+        } catch (DataAccessException | PersistenceException ex) {
+            // one bad row fails the whole batch; each row gets its own transaction so only the bad ones are rejected
+            logger.warn("Import batch of {} customers failed, retrying row by row: {}", batch.size(),
+                    NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    persist(List.of(batch.get(i)), List.of(batchRows.get(i)), result);
+                } catch (DataAccessException | PersistenceException rowEx) {
+                    reject(result, batchRows.get(i), batch.get(i).getMobileNumber(),
+                            "Insert failed: " + NestedExceptionUtils.getMostSpecificCause(rowEx).getMessage());
+                }
+            }
+        } finally {
+            batch.clear();
+            batchRows.clear();
+        }
+    }
+
+    private void persist(List<CustomerDto> batch, List<Long> batchRows, ImportResultDto result) {
+        List<ImportErrorDto> duplicates = transactionTemplate.execute(status -> persistBatch(batch, batchRows));
+        result.setImported(result.getImported() + batch.size() - duplicates.size());
+        for (ImportErrorDto duplicate : duplicates) {
+            reject(result, duplicate.getRow(), duplicate.getMobileNumber(), duplicate.getErrorMessage());
+        }
+    }
+
+    private List<ImportErrorDto> persistBatch(List<CustomerDto> batch, List<Long> batchRows) {
+        // only numbers the index cannot rule out are looked up, a batch of new customers costs no query at all
+        List<String> mobileNumbers = batch.stream().map(CustomerDto::getMobileNumber)
+                .filter(mobileNumberIndex::mightExist).toList();
+        Set<String> taken = mobileNumbers.isEmpty()
+                ? new HashSet<>() : new HashSet<>(customerRepository.findExistingMobileNumbers(mobileNumbers));
+        List<ImportErrorDto> duplicates = new ArrayList<>();
+        List<Customer> customers = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            CustomerDto customerDto = batch.get(i);
+            if (!taken.add(customerDto.getMobileNumber())) {
+                duplicates.add(new ImportErrorDto(batchRows.get(i), customerDto.getMobileNumber(),
+                        "Customer already exists with provided mobile number " + customerDto.getMobileNumber()));
+                continue;
+            }
+            Customer customer = CustomerMapper.mapToCustomer(customerDto, new Customer());
+            entityManager.persist(customer);
+            customers.add(customer);
+        }
+        // customer ids are assigned by persist() from the pooled sequence, so the accounts can follow without a flush
+        for (Customer customer : customers) {
+            entityManager.persist(AccountsServiceImpl.createNewAccount(customer));
+            replicationLagGuard.recordWrite(customer.getMobileNumber());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        for (Customer customer : customers) {
+            mobileNumberIndex.add(customer.getMobileNumber());
+        }
+        customerDetailsViewRepository.insertEmpty(
+                customers.stream().map(Customer::getMobileNumber).toList(), LocalDateTime.now());
+        return duplicates;
+    }
+
+    private void reject(ImportResultDto result, long row, String mobileNumber, String errorMessage) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new ImportErrorDto(row, mobileNumber, errorMessage));
+        }
+    }
+
+    private static int[] csvIndexes(String[] header) {
+        List<String> columns = Arrays.asList(header);
+        int[] indexes = new int[CSV_COLUMNS.length];
+        for (int i = 0; i < CSV_COLUMNS.length; i++) {
+            indexes[i] = columns.indexOf(CSV_COLUMNS[i]);
+            if (indexes[i] < 0) {
+                throw new InvalidImportFileException("CSV header is missing the " + CSV_COLUMNS[i] + " column");
+            }
+        }
+        return indexes;
+    }
+
+    private static CustomerDto fromCsv(String line, int[] csvIndexes) {
+        String[] values = CsvLineParser.parse(line);
+        CustomerDto customerDto = new CustomerDto();
+        customerDto.setName(value(values, csvIndexes[0]));
+        customerDto.setEmail(value(values, csvIndexes[1]));
+        customerDto.setMobileNumber(value(values, csvIndexes[2]));
+        return customerDto;
+    }
+
+    private static String value(String[] values, int index) {
+        return index < values.length ? values[index] : null;
+    }
+}
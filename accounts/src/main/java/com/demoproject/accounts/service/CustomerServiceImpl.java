@@ -1,31 +1,29 @@
 package com.demoproject.accounts.service;
 
-import com.demoproject.accounts.dto.AccountsDto;
 import com.demoproject.accounts.dto.CardsDto;
 import com.demoproject.accounts.dto.CustomerDetailsDto;
+import com.demoproject.accounts.dto.CustomerDetailsViewDto;
+import com.demoproject.accounts.dto.CustomerDto;
 import com.demoproject.accounts.dto.LoansDto;
-import com.demoproject.accounts.entity.Accounts;
-import com.demoproject.accounts.entity.Customer;
-import com.demoproject.accounts.exception.ResourceNotFoundException;
-import com.demoproject.accounts.mapper.AccountsMapper;
 import com.demoproject.accounts.mapper.CustomerMapper;
-import com.demoproject.accounts.repository.AccountsRepository;
-import com.demoproject.accounts.repository.CustomerRepository;
 import com.demoproject.accounts.service.client.CardsFeignClient;
 import com.demoproject.accounts.service.client.LoansFeignClient;
+import com.demoproject.common.web.EntityTag;
 import lombok.AllArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+
 
 @Service
 @AllArgsConstructor
 public class CustomerServiceImpl implements ICustomerService {
 
-    private AccountsRepository accountsRepository;
-    private CustomerRepository customerRepository;
+    private IAccountsService iAccountsService;
     private CardsFeignClient cardsFeignClient;
     private LoansFeignClient loansFeignClient;
+    private ICustomerDetailsViewService iCustomerDetailsViewService;
 
 
     /**
@@ -34,25 +32,38 @@ public class CustomerServiceImpl implements ICustomerService {
      */
     @Override
     public CustomerDetailsDto fetchCustomerDetails(String mobileNumber, String correlationId) {
-        Customer customer = customerRepository.findByMobileNumber(mobileNumber).orElseThrow(
-                () -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber)
-        );
-        Accounts accounts = accountsRepository.findByCustomerId(customer.getCustomerId()).orElseThrow(
-                () -> new ResourceNotFoundException("Account", "customerId", customer.getCustomerId() + "")
-        );
-
-        CustomerDetailsDto customerDetailsDto = CustomerMapper.mapToCustomerDetailsDto(customer, new CustomerDetailsDto());
-        customerDetailsDto.setAccountsDto(AccountsMapper.mapToAccountsDto(accounts, new AccountsDto()));
-
-        ResponseEntity<LoansDto> loansDtoResponseEntity = loansFeignClient.fetchLoanDetails(correlationId,mobileNumber);
-        if(loansDtoResponseEntity != null) {
-            customerDetailsDto.setLoansDto(loansDtoResponseEntity.getBody());
+        // Not transactional on purpose: customer & account are read in the read-only transaction of fetchAccount and
+        // card & loan in the one of fetchCardsAndLoans, so no JDBC connection is held during the Feign fallback below.
+        CustomerDto customerDto = iAccountsService.fetchAccount(mobileNumber);
+        CustomerDetailsDto customerDetailsDto = CustomerMapper.mapToCustomerDetailsDto(customerDto, new CustomerDetailsDto());
+
+        // a side the view cannot vouch for (no row, never synced, or no event since a rebuild) comes from its service
+        Optional<CustomerDetailsViewDto> projected = iCustomerDetailsViewService.fetchCardsAndLoans(mobileNumber);
+        ResponseEntity<LoansDto> loansDtoResponseEntity = null;
+        if (projected.isPresent() && projected.get().isLoansSynced()) {
+            customerDetailsDto.setLoansDto(projected.get().getLoansDto());
+        } else {
+            loansDtoResponseEntity = loansFeignClient.fetchLoanDetails(correlationId, mobileNumber);
+            if (loansDtoResponseEntity != null) {
+                customerDetailsDto.setLoansDto(loansDtoResponseEntity.getBody());
+            }
         }
 
-        ResponseEntity<CardsDto> cardsDtoResponseEntity = cardsFeignClient.fetchCardDetails(correlationId,mobileNumber);
-        if(cardsDtoResponseEntity != null) {
-            customerDetailsDto.setCardsDto(cardsDtoResponseEntity.getBody());
+        ResponseEntity<CardsDto> cardsDtoResponseEntity = null;
+        if (projected.isPresent() && projected.get().isCardsSynced()) {
+            customerDetailsDto.setCardsDto(projected.get().getCardsDto());
+        } else {
+            cardsDtoResponseEntity = cardsFeignClient.fetchCardDetails(correlationId, mobileNumber);
+            if (cardsDtoResponseEntity != null) {
+                customerDetailsDto.setCardsDto(cardsDtoResponseEntity.getBody());
+            }
         }
+        // cards and loans tag their fetch responses the same way, a fallback without a body has no tag
+        customerDetailsDto.setEntityTag(new EntityTag().add(customerDto.getEntityTag())
+                .add(projected.map(CustomerDetailsViewDto::getEntityTag).orElse(null))
+                .add(loansDtoResponseEntity != null ? loansDtoResponseEntity.getHeaders().getETag() : null)
+                .add(cardsDtoResponseEntity != null ? cardsDtoResponseEntity.getHeaders().getETag() : null)
+                .toString());
         return customerDetailsDto;
     }
 }
@@ -1,6 +1,11 @@
 package com.demoproject.accounts.service;
 
 import com.demoproject.accounts.dto.*;
+import com.demoproject.common.dto.KeysetPageDto;
+import com.demoproject.common.export.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
 
 public interface IAccountsService {
 
@@ -14,4 +19,19 @@ public interface IAccountsService {
     boolean updateAccount(CustomerDto customerDto);
 
     boolean deleteAccount(String mobileNumber);
+
+    /**
+     *
+     * @param filter - Filters, cursor and page size
+     * @return one page of customers with their accounts in ascending customer id order and the cursor of the next page
+     */
+    KeysetPageDto<CustomerDto> listAccounts(CustomerFilterDto filter);
+
+    /**
+     *
+     * @param exportFormat - NDJSON or CSV
+     * @param outputStream - Stream the rows are written to, left open
+     * Streams all customers and accounts, one row at a time
+     */
+    void exportAccounts(ExportFormat exportFormat, OutputStream outputStream) throws IOException;
 }
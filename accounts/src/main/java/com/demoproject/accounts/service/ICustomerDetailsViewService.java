@@ -0,0 +1,40 @@
+package com.demoproject.accounts.service;
+
+import com.demoproject.accounts.dto.CardChangedEventDto;
+import com.demoproject.accounts.dto.CustomerDetailsViewDto;
+import com.demoproject.accounts.dto.CustomerViewRebuildDto;
+import com.demoproject.accounts.dto.LoanChangedEventDto;
+
+import java.io.IOException;
+import java.util.Optional;
+
+public interface ICustomerDetailsViewService {
+
+    /**
+     *
+     * @param mobileNumber - Input Mobile Number
+     * @return the projected card and loan, each with whether it was synced yet, empty when the customer is not in the
+     * view yet
+     */
+    Optional<CustomerDetailsViewDto> fetchCardsAndLoans(String mobileNumber);
+
+    /**
+     *
+     * @param event - card-changed event published by cards
+     */
+    void applyCardChange(CardChangedEventDto event);
+
+    /**
+     *
+     * @param event - loan-changed event published by loans
+     */
+    void applyLoanChange(LoanChangedEventDto event);
+
+    /**
+     *
+     * @param correlationId - Correlation id passed on to the snapshot calls
+     * @return what the rebuild added, read and removed
+     * Re-reads the full cards and loans snapshots into the view while events keep being applied
+     */
+    CustomerViewRebuildDto rebuild(String correlationId) throws IOException;
+}
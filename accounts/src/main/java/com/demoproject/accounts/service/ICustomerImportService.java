@@ -0,0 +1,18 @@
+package com.demoproject.accounts.service;
+
+import com.demoproject.accounts.dto.ImportResultDto;
+import com.demoproject.common.export.ExportFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ICustomerImportService {
+
+    /**
+     *
+     * @param importFormat - NDJSON or CSV
+     * @param inputStream - Uploaded file, read incrementally line by line
+     * @return number of customers created and the rows that were rejected
+     */
+    ImportResultDto importCustomers(ExportFormat importFormat, InputStream inputStream) throws IOException;
+}
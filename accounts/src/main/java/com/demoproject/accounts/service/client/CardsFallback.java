@@ -1,6 +1,7 @@
 package com.demoproject.accounts.service.client;
 
 import com.demoproject.accounts.dto.CardsDto;
+import feign.Response;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
@@ -15,4 +16,9 @@ public class CardsFallback implements CardsFeignClient {
     public ResponseEntity<CardsDto> fetchCardDetails(String correlationId, String mobileNumber) {
         return null;
     }
+
+    @Override
+    public Response fetchSnapshot(String correlationId) {
+        return null;
+    }
 }
@@ -1,6 +1,7 @@
 package com.demoproject.accounts.service.client;
 
 import com.demoproject.accounts.dto.CardsDto;
+import feign.Response;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,4 +14,8 @@ public interface CardsFeignClient {
     @GetMapping(value = "/api/fetch", consumes = "application/json")
     public ResponseEntity<CardsDto> fetchCardDetails(@RequestHeader("digibank-correlation-id") String correlationId,
                                                      @RequestParam String mobileNumber);
+
+    // NDJSON card-changed events; the caller reads the body as a stream and must close the Response
+    @GetMapping(value = "/api/snapshot", consumes = "application/json")
+    public Response fetchSnapshot(@RequestHeader("digibank-correlation-id") String correlationId);
 }
@@ -1,6 +1,7 @@
 package com.demoproject.accounts.service.client;
 
 import com.demoproject.accounts.dto.LoansDto;
+import feign.Response;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,4 +13,8 @@ public interface LoansFeignClient {
     @GetMapping(value = "/api/fetch", consumes = "application/json")
     public ResponseEntity<LoansDto> fetchLoanDetails(   @RequestHeader("digibank-correlation-id") String correlationId,
                                                         @RequestParam String mobileNumber);
+
+    // NDJSON loan-changed events, streamed; close the Response when done
+    @GetMapping(value = "/api/snapshot", consumes = "application/json")
+    public Response fetchSnapshot(@RequestHeader("digibank-correlation-id") String correlationId);
 }
@@ -1,21 +1,122 @@
+CREATE SEQUENCE IF NOT EXISTS `customer_seq` START WITH 1 INCREMENT BY 50;
+-- account numbers stay 10 digits, the first one handed out is 1000000000
+CREATE SEQUENCE IF NOT EXISTS `accounts_seq` START WITH 1000000000 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS `customer` (
-    `customer_id` int AUTO_INCREMENT PRIMARY KEY,
+    `customer_id` int PRIMARY KEY,
     `name` varchar(100) NOT NULL,
     `email` varchar(100) NOT NULL,
-    `mobile_number` varchar(20) NOT NULL,
-    `created_at` date NOT NULL,
+    `mobile_number` bigint NOT NULL,
+    `created_at` timestamp NOT NULL,
     `created_by` varchar(20) NOT NULL,
-    `updated_at` date DEFAULT NULL,
-    `updated_by` varchar(20) DEFAULT NULL
+    `updated_at` timestamp DEFAULT NULL,
+    `updated_by` varchar(20) DEFAULT NULL,
+    `version` bigint NOT NULL DEFAULT 0
     );
 
+-- Moves the sequence past the ids already in the table (numbered by AUTO_INCREMENT before the sequence), plus
+-- one allocation of 50 so Hibernate's pooled optimizer starts above them; never back below a block handed out
+ALTER SEQUENCE `customer_seq` RESTART WITH GREATEST(
+    (SELECT COALESCE(MAX(`customer_id`), 0) + 50 FROM `customer`), NEXT VALUE FOR `customer_seq`);
+
+-- created_at/updated_at were DATE columns that dropped the time of day; a no-op once they are TIMESTAMP
+ALTER TABLE `customer` ALTER COLUMN `created_at` SET DATA TYPE timestamp;
+ALTER TABLE `customer` ALTER COLUMN `updated_at` SET DATA TYPE timestamp;
+
+-- mobile_number is stored as BIGINT (see DigitsConverter); converts a customer table created with the earlier
+-- varchar column and is a no-op afterwards. customer_details_view keeps the 10-digit string as its key
+ALTER TABLE `customer` ALTER COLUMN `mobile_number` SET DATA TYPE bigint;
+
+-- mobile_number is the customer's natural id, every lookup that misses the natural-id cache lands here
+CREATE UNIQUE INDEX IF NOT EXISTS `ux_customer_mobile_number` ON `customer` (`mobile_number`);
+CREATE INDEX IF NOT EXISTS `idx_customer_created_at` ON `customer` (`created_at`, `customer_id`);
+
 CREATE TABLE IF NOT EXISTS `accounts` (
     `customer_id` int NOT NULL,
-    `account_number` int AUTO_INCREMENT PRIMARY KEY,
+    `account_number` int PRIMARY KEY,
     `account_type` varchar(100) NOT NULL,
     `branch_address` varchar(200) NOT NULL,
-    `created_at` date NOT NULL,
+    `created_at` timestamp NOT NULL,
     `created_by` varchar(20) NOT NULL,
-    `updated_at` date DEFAULT NULL,
-    `updated_by` varchar(20) DEFAULT NULL
-    );
\ No newline at end of file
+    `updated_at` timestamp DEFAULT NULL,
+    `updated_by` varchar(20) DEFAULT NULL,
+    `version` bigint NOT NULL DEFAULT 0
+    );
+
+-- created_at/updated_at were DATE columns that dropped the time of day; a no-op once they are TIMESTAMP
+ALTER TABLE `accounts` ALTER COLUMN `created_at` SET DATA TYPE timestamp;
+ALTER TABLE `accounts` ALTER COLUMN `updated_at` SET DATA TYPE timestamp;
+
+CREATE INDEX IF NOT EXISTS `idx_accounts_customer_id` ON `accounts` (`customer_id`);
+
+-- Account numbers used to be random, the sequence continues above the highest one (see customer_seq)
+ALTER SEQUENCE `accounts_seq` RESTART WITH GREATEST(
+    (SELECT COALESCE(MAX(`account_number`), 999999999) + 50 FROM `accounts`), NEXT VALUE FOR `accounts_seq`);
+
+CREATE TABLE IF NOT EXISTS `outbox_event` (
+    `event_id` bigint NOT NULL AUTO_INCREMENT,
+    `destination` varchar(100) NOT NULL,
+    `event_key` varchar(100) NOT NULL,
+    `payload` varchar(2000) NOT NULL,
+    `created_at` timestamp NOT NULL,
+    `published_at` timestamp DEFAULT NULL,
+    PRIMARY KEY (`event_id`)
+    );
+
+CREATE INDEX IF NOT EXISTS `idx_outbox_event_published_at` ON `outbox_event` (`published_at`, `event_id`);
+
+-- Local projection of the cards and loans of each customer, kept up to date from card-changed and loan-changed
+-- events so that /api/fetchCustomerDetails needs no call to the cards and loans services.
+-- A row exists for every customer known to the view; card_number / loan_number are null when the customer has none.
+CREATE TABLE IF NOT EXISTS `customer_details_view` (
+    `mobile_number` varchar(20) NOT NULL,
+    `card_id` bigint DEFAULT NULL,
+    `card_version` bigint DEFAULT NULL,
+    `card_number` varchar(100) DEFAULT NULL,
+    `card_type` varchar(100) DEFAULT NULL,
+    `total_limit` int DEFAULT NULL,
+    `amount_used` int DEFAULT NULL,
+    `available_amount` int DEFAULT NULL,
+    `card_synced_at` timestamp DEFAULT NULL,
+    `loan_id` bigint DEFAULT NULL,
+    `loan_version` bigint DEFAULT NULL,
+    `loan_number` varchar(100) DEFAULT NULL,
+    `loan_type` varchar(100) DEFAULT NULL,
+    `total_loan` int DEFAULT NULL,
+    `amount_paid` int DEFAULT NULL,
+    `outstanding_amount` int DEFAULT NULL,
+    `loan_synced_at` timestamp DEFAULT NULL,
+    `updated_at` timestamp NOT NULL,
+    PRIMARY KEY (`mobile_number`)
+    );
+
+-- One row per event source of customer_details_view. rebuilt_at is when the last rebuild started, delivered_at when an
+-- event of the source was last applied after it. A side of the view is only served while delivered_at is not older than
+-- rebuilt_at, i.e. once events have been seen to arrive since the snapshot; until then it comes from its service.
+CREATE TABLE IF NOT EXISTS `customer_view_source` (
+    `source` varchar(20) NOT NULL,
+    `rebuilt_at` timestamp DEFAULT NULL,
+    `delivered_at` timestamp DEFAULT NULL,
+    PRIMARY KEY (`source`)
+    );
+
+INSERT INTO `customer_view_source` (`source`) SELECT 'cards' FROM dual
+    WHERE NOT EXISTS (SELECT 1 FROM `customer_view_source` WHERE `source` = 'cards');
+INSERT INTO `customer_view_source` (`source`) SELECT 'loans' FROM dual
+    WHERE NOT EXISTS (SELECT 1 FROM `customer_view_source` WHERE `source` = 'loans');
+
+-- Append-only audit trail (see AuditLog). Rows are only ever inserted; reads are per entity, newest first
+CREATE TABLE IF NOT EXISTS `audit_log` (
+    `audit_id` bigint NOT NULL AUTO_INCREMENT,
+    `entity_type` varchar(50) NOT NULL,
+    `entity_id` varchar(50) NOT NULL,
+    `action` varchar(10) NOT NULL,
+    `actor` varchar(20) DEFAULT NULL,
+    `correlation_id` varchar(100) DEFAULT NULL,
+    `occurred_at` timestamp NOT NULL,
+    `before_state` varchar(4000) DEFAULT NULL,
+    `after_state` varchar(4000) DEFAULT NULL,
+    PRIMARY KEY (`audit_id`)
+    );
+
+CREATE INDEX IF NOT EXISTS `idx_audit_log_entity` ON `audit_log` (`entity_type`, `entity_id`, `audit_id`);
@@ -0,0 +1,73 @@
+package com.demoproject.accounts.export;
+
+import com.demoproject.common.export.ExportFormat;
+import com.demoproject.common.export.ExportWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvLineParserTests {
+
+	private static final String[] HEADER = {"name", "email", "mobileNumber"};
+
+	@Test
+	void parsesPlainValues() {
+		assertThat(CsvLineParser.parse("Jane,jane@example.com,9876543210"))
+				.containsExactly("Jane", "jane@example.com", "9876543210");
+	}
+
+	@Test
+	void keepsEmptyValues() {
+		assertThat(CsvLineParser.parse(",,")).containsExactly("", "", "");
+	}
+
+	@Test
+	void unquotesSeparatorsAndDoubledQuotes() {
+		assertThat(CsvLineParser.parse("\"Doe, Jane\",\"say \"\"hi\"\"\",1"))
+				.containsExactly("Doe, Jane", "say \"hi\"", "1");
+	}
+
+	@Test
+	void rejectsAnUnterminatedQuotedValue() {
+		assertThatThrownBy(() -> CsvLineParser.parse("\"Doe, Jane,1"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void readsBackWhatExportWriterWrites() throws IOException {
+		List<String[]> rows = List.of(
+				new String[] {"Jane", "jane@example.com", "9876543210"},
+				new String[] {"Doe, \"JD\" Jane", "", "9876543211"});
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ExportWriter<String[]> writer = ExportWriter.open(ExportFormat.CSV, out, null, HEADER, row -> row)) {
+			for (String[] row : rows) {
+				writer.write(row);
+			}
+		}
+
+		String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+
+		assertThat(lines).hasSize(3);
+		assertThat(CsvLineParser.parse(lines[0])).containsExactly(HEADER);
+		assertThat(CsvLineParser.parse(lines[1])).containsExactly(rows.get(0));
+		assertThat(CsvLineParser.parse(lines[2])).containsExactly(rows.get(1));
+	}
+
+	@Test
+	void writesNullAsAnEmptyValue() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ExportWriter<Object[]> writer = ExportWriter.open(ExportFormat.CSV, out, null, HEADER, row -> row)) {
+			writer.write(new Object[] {"Jane", null, 9876543210L});
+		}
+
+		String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+
+		assertThat(CsvLineParser.parse(lines[1])).containsExactly("Jane", "", "9876543210");
+	}
+}
@@ -0,0 +1,55 @@
+package com.demoproject.accounts.json;
+
+import com.demoproject.accounts.dto.AccountsDto;
+import com.demoproject.accounts.dto.CardsDto;
+import com.demoproject.accounts.dto.CustomerDetailsDto;
+import com.demoproject.accounts.dto.LoansDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountsJsonSerializersTests {
+
+	private final ObjectMapper beanMapper = new ObjectMapper();
+
+	private final ObjectMapper handWrittenMapper = new ObjectMapper().registerModule(new SimpleModule()
+			.addSerializer(new AccountsJsonSerializers.CustomerDetailsDtoSerializer())
+			.addSerializer(new AccountsJsonSerializers.AccountsDtoSerializer())
+			.addSerializer(new AccountsJsonSerializers.CardsDtoSerializer())
+			.addSerializer(new AccountsJsonSerializers.LoansDtoSerializer()));
+
+	@Test
+	void writesNullsLikeTheBeanSerializer() throws Exception {
+		CustomerDetailsDto customerDetailsDto = new CustomerDetailsDto();
+		customerDetailsDto.setAccountsDto(new AccountsDto());
+		customerDetailsDto.setCardsDto(new CardsDto());
+		customerDetailsDto.setLoansDto(new LoansDto());
+
+		assertThat(handWrittenMapper.writeValueAsString(customerDetailsDto))
+				.isEqualTo(beanMapper.writeValueAsString(customerDetailsDto));
+	}
+
+	@Test
+	void writesMissingNestedDtosAsNull() throws Exception {
+		CustomerDetailsDto customerDetailsDto = new CustomerDetailsDto();
+
+		assertThat(handWrittenMapper.writeValueAsString(customerDetailsDto))
+				.isEqualTo(beanMapper.writeValueAsString(customerDetailsDto));
+	}
+
+	@Test
+	void writesAFilledCardLikeTheBeanSerializer() throws Exception {
+		CardsDto cardsDto = new CardsDto();
+		cardsDto.setMobileNumber("4354437687");
+		cardsDto.setCardNumber("100646930341");
+		cardsDto.setCardType("Credit Card");
+		cardsDto.setTotalLimit(100000);
+		cardsDto.setAmountUsed(1000);
+		cardsDto.setAvailableAmount(99000);
+		cardsDto.setVersion(3L);
+
+		assertThat(handWrittenMapper.writeValueAsString(cardsDto)).isEqualTo(beanMapper.writeValueAsString(cardsDto));
+	}
+}
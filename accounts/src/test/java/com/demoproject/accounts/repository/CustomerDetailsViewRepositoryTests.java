@@ -0,0 +1,257 @@
+package com.demoproject.accounts.repository;
+
+import com.demoproject.accounts.dto.CardChangedEventDto;
+import com.demoproject.accounts.dto.CustomerDetailsViewDto;
+import com.demoproject.accounts.dto.LoanChangedEventDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JdbcTest
+@Import(CustomerDetailsViewRepository.class)
+class CustomerDetailsViewRepositoryTests {
+
+	private static final String MOBILE_NUMBER = "4354437687";
+
+	@Autowired
+	private CustomerDetailsViewRepository customerDetailsViewRepository;
+
+	@BeforeEach
+	void insertEmptyRow() {
+		customerDetailsViewRepository.insertEmpty(MOBILE_NUMBER, LocalDateTime.now());
+	}
+
+	@Test
+	void rowNeverSyncedHasNeitherSideSynced() {
+		CustomerDetailsViewDto details = customerDetailsViewRepository.findByMobileNumber(MOBILE_NUMBER).orElseThrow();
+
+		assertThat(details.isCardsSynced()).isFalse();
+		assertThat(details.isLoansSynced()).isFalse();
+	}
+
+	@Test
+	void customerWithoutARowIsNotProjected() {
+		assertThat(customerDetailsViewRepository.findByMobileNumber("9999999999")).isEmpty();
+	}
+
+	@Test
+	void cardEventFillsTheRow() {
+		applyCard(5L, 0L, false, 100);
+
+		CustomerDetailsViewDto details = customerDetailsViewRepository.findByMobileNumber(MOBILE_NUMBER).orElseThrow();
+
+		assertThat(details.getCardsDto().getCardNumber()).isEqualTo("100646930341");
+		assertThat(details.getCardsDto().getAvailableAmount()).isEqualTo(100);
+		assertThat(details.getCardsDto().getVersion()).isEqualTo(0L);
+		assertThat(details.isCardsSynced()).isTrue();
+		assertThat(details.getLoansDto()).isNull();
+		assertThat(details.isLoansSynced()).isFalse();
+	}
+
+	@Test
+	void olderVersionOfTheSameCardIsIgnored() {
+		applyCard(5L, 2L, false, 200);
+		applyCard(5L, 1L, false, 100);
+
+		CustomerDetailsViewDto details = customerDetailsViewRepository.findByMobileNumber(MOBILE_NUMBER).orElseThrow();
+
+		assertThat(details.getCardsDto().getAvailableAmount()).isEqualTo(200);
+		assertThat(details.getCardsDto().getVersion()).isEqualTo(2L);
+	}
+
+	@Test
+	void redeliveredEventIsAppliedAgainWithoutChange() {
+		applyCard(5L, 2L, false, 200);
+		applyCard(5L, 2L, false, 200);
+
+		CustomerDetailsViewDto details = customerDetailsViewRepository.findByMobileNumber(MOBILE_NUMBER).orElseThrow();
+
+		assertThat(details.getCardsDto().getAvailableAmount()).isEqualTo(200);
+		assertThat(details.getCardsDto().getVersion()).isEqualTo(2L);
+	}
+
+	@Test
+	void newerVersionOfTheSameCardIsApplied() {
+		applyCard(5L, 1L, false, 100);
+		applyCard(5L, 2L, false, 200);
+
+		CustomerDetailsViewDto details = customerDetailsViewRepository.findByMobileNumber(MOBILE_NUMBER).orElseThrow();
+
+		assertThat(details.getCardsDto().getAvailableAmount()).isEqualTo(200);
+	}
+
+	@Test
+	void cardWithALowerIdIsIgnoredWhateverItsVersion() {
+		applyCard(7L, 0L, false, 700);
+		applyCard(5L, 9L, false, 500);
+
+		CustomerDetailsViewDto details = customerDetailsViewRepository.findByMobileNumber(MOBILE_NUMBER).orElseThrow();
+
+		assertThat(details.getCardsDto().getAvailableAmount()).isEqualTo(700);
+	}
+
+	@Test
+	void cardIssuedAfterADeletionWinsOverTheTombstone() {
+		applyCard(5L, 3L, true, 0);
+		applyCard(7L, 0L, false, 700);
+
+		CustomerDetailsViewDto details = customerDetailsViewRepository.findByMobileNumber(MOBILE_NUMBER).orElseThrow();
+
+		assertThat(details.getCardsDto().getAvailableAmount()).isEqualTo(700);
+	}
+
+	@Test
+	void deletionClearsTheCardButKeepsTheRowSynced() {
+		applyCard(5L, 0L, false, 100);
+		applyCard(5L, 1L, true, 0);
+
+		CustomerDetailsViewDto details = customerDetailsViewRepository.findByMobileNumber(MOBILE_NUMBER).orElseThrow();
+
+		assertThat(details.getCardsDto()).isNull();
+		assertThat(details.isCardsSynced()).isTrue();
+	}
+
+	@Test
+	void olderVersionOfTheSameLoanIsIgnored() {
+		applyLoan(3L, 4L, 4000);
+		applyLoan(3L, 3L, 3000);
+
+		CustomerDetailsViewDto details = customerDetailsViewRepository.findByMobileNumber(MOBILE_NUMBER).orElseThrow();
+
+		assertThat(details.getLoansDto().getOutstandingAmount()).isEqualTo(4000);
+		assertThat(details.getLoansDto().getVersion()).isEqualTo(4L);
+	}
+
+	@Test
+	void eventForACustomerWithoutARowCreatesIt() {
+		LoanChangedEventDto event = new LoanChangedEventDto(3L, 0L, false, "9999999999", "548732457654",
+				"Home Loan", 10000, 0, 10000);
+
+		customerDetailsViewRepository.applyLoans(List.of(event), LocalDateTime.now());
+		customerDetailsViewRepository.markDelivered(CustomerDetailsViewRepository.LOANS_SOURCE, LocalDateTime.now());
+
+		CustomerDetailsViewDto details = customerDetailsViewRepository.findByMobileNumber("9999999999").orElseThrow();
+		assertThat(details.getLoansDto().getOutstandingAmount()).isEqualTo(10000);
+		assertThat(details.isLoansSynced()).isTrue();
+		assertThat(details.isCardsSynced()).isFalse();
+	}
+
+	@Test
+	void creatingTheCustomerKeepsARowAnEventCreated() {
+		LoanChangedEventDto event = new LoanChangedEventDto(3L, 0L, false, "9999999999", "548732457654",
+				"Home Loan", 10000, 0, 10000);
+		customerDetailsViewRepository.applyLoans(List.of(event), LocalDateTime.now());
+
+		customerDetailsViewRepository.insertEmpty("9999999999", LocalDateTime.now());
+
+		assertThat(customerDetailsViewRepository.findByMobileNumber("9999999999").orElseThrow().getLoansDto())
+				.isNotNull();
+	}
+
+	@Test
+	void batchWithTwoEventsForANewRowKeepsTheNewerOne() {
+		LoanChangedEventDto newer = new LoanChangedEventDto(3L, 1L, false, "9999999999", "548732457654",
+				"Home Loan", 10000, 1000, 9000);
+		LoanChangedEventDto older = new LoanChangedEventDto(3L, 0L, false, "9999999999", "548732457654",
+				"Home Loan", 10000, 0, 10000);
+
+		customerDetailsViewRepository.applyLoans(List.of(newer, older), LocalDateTime.now());
+
+		CustomerDetailsViewDto details = customerDetailsViewRepository.findByMobileNumber("9999999999").orElseThrow();
+		assertThat(details.getLoansDto().getOutstandingAmount()).isEqualTo(9000);
+		assertThat(details.getLoansDto().getVersion()).isEqualTo(1L);
+	}
+
+	@Test
+	void changingTheMobileNumberMovesTheRow() {
+		applyCard(5L, 0L, false, 100);
+
+		customerDetailsViewRepository.changeMobileNumber(MOBILE_NUMBER, "9999999999", LocalDateTime.now());
+
+		assertThat(customerDetailsViewRepository.findByMobileNumber(MOBILE_NUMBER)).isEmpty();
+		assertThat(customerDetailsViewRepository.findByMobileNumber("9999999999").orElseThrow()
+				.getCardsDto().getAvailableAmount()).isEqualTo(100);
+	}
+
+	@Test
+	void changingTheMobileNumberKeepsARowAnEventCreatedForTheNewNumber() {
+		applyCard(5L, 0L, false, 100);
+		LoanChangedEventDto event = new LoanChangedEventDto(3L, 0L, false, "9999999999", "548732457654",
+				"Home Loan", 10000, 0, 10000);
+		customerDetailsViewRepository.applyLoans(List.of(event), LocalDateTime.now());
+
+		customerDetailsViewRepository.changeMobileNumber(MOBILE_NUMBER, "9999999999", LocalDateTime.now());
+
+		assertThat(customerDetailsViewRepository.findByMobileNumber(MOBILE_NUMBER)).isEmpty();
+		assertThat(customerDetailsViewRepository.findByMobileNumber("9999999999").orElseThrow().getLoansDto())
+				.isNotNull();
+	}
+
+	@Test
+	void movingACardClearsItFromThePreviousNumberAndShowsItUnderTheNewOne() {
+		applyCard(5L, 0L, false, 100);
+		customerDetailsViewRepository.insertEmpty("9999999999", LocalDateTime.now());
+
+		// what cards publishes for the move: a tombstone under the number the card left, the card under the new one
+		CardChangedEventDto removed = new CardChangedEventDto(5L, 1L, true, MOBILE_NUMBER, "100646930341",
+				"Credit Card", 1000, 900, 100);
+		CardChangedEventDto moved = new CardChangedEventDto(5L, 1L, false, "9999999999", "100646930341",
+				"Credit Card", 1000, 900, 100);
+		customerDetailsViewRepository.applyCards(List.of(removed, moved), LocalDateTime.now());
+		customerDetailsViewRepository.markDelivered(CustomerDetailsViewRepository.CARDS_SOURCE, LocalDateTime.now());
+
+		CustomerDetailsViewDto previous = customerDetailsViewRepository.findByMobileNumber(MOBILE_NUMBER).orElseThrow();
+		assertThat(previous.getCardsDto()).isNull();
+		assertThat(previous.isCardsSynced()).isTrue();
+		CustomerDetailsViewDto current = customerDetailsViewRepository.findByMobileNumber("9999999999").orElseThrow();
+		assertThat(current.getCardsDto().getCardNumber()).isEqualTo("100646930341");
+		assertThat(current.getCardsDto().getVersion()).isEqualTo(1L);
+	}
+
+	@Test
+	void rebuiltSideIsNotServedUntilAnEventArrivesAfterTheRebuild() {
+		applyCard(5L, 0L, false, 100);
+
+		customerDetailsViewRepository.markRebuilt(CustomerDetailsViewRepository.CARDS_SOURCE, LocalDateTime.now());
+
+		CustomerDetailsViewDto rebuilt = customerDetailsViewRepository.findByMobileNumber(MOBILE_NUMBER).orElseThrow();
+		assertThat(rebuilt.isCardsSynced()).isFalse();
+		assertThat(rebuilt.getCardsDto()).isNotNull();
+
+		applyCard(5L, 1L, false, 90);
+
+		assertThat(customerDetailsViewRepository.findByMobileNumber(MOBILE_NUMBER).orElseThrow().isCardsSynced())
+				.isTrue();
+	}
+
+	@Test
+	void entityTagChangesWithTheCardVersion() {
+		applyCard(5L, 0L, false, 100);
+		String before = customerDetailsViewRepository.findByMobileNumber(MOBILE_NUMBER).orElseThrow().getEntityTag();
+		applyCard(5L, 1L, false, 90);
+		String after = customerDetailsViewRepository.findByMobileNumber(MOBILE_NUMBER).orElseThrow().getEntityTag();
+
+		assertThat(after).isNotEqualTo(before);
+	}
+
+	private void applyCard(long cardId, long version, boolean deleted, int availableAmount) {
+		CardChangedEventDto event = new CardChangedEventDto(cardId, version, deleted, MOBILE_NUMBER, "100646930341",
+				"Credit Card", 1000, 1000 - availableAmount, availableAmount);
+		customerDetailsViewRepository.applyCards(List.of(event), LocalDateTime.now());
+		customerDetailsViewRepository.markDelivered(CustomerDetailsViewRepository.CARDS_SOURCE, LocalDateTime.now());
+	}
+
+	private void applyLoan(long loanId, long version, int outstandingAmount) {
+		LoanChangedEventDto event = new LoanChangedEventDto(loanId, version, false, MOBILE_NUMBER, "548732457654",
+				"Home Loan", 10000, 10000 - outstandingAmount, outstandingAmount);
+		customerDetailsViewRepository.applyLoans(List.of(event), LocalDateTime.now());
+		customerDetailsViewRepository.markDelivered(CustomerDetailsViewRepository.LOANS_SOURCE, LocalDateTime.now());
+	}
+}
@@ -0,0 +1,143 @@
+package com.demoproject.benchmarks;
+
+import com.demoproject.common.entity.DigitsConverter;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/*Mobile numbers in a BIGINT column (DigitsConverter) against the varchar(15) column they replaced: a lookup by
+mobile number through an index on each, binding and reading the 10-digit string the way the entities see it.
+Index size is not something JMH measures; the tables stay behind after a run for the database's own statistics,
+see README.md.*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DigitColumnBenchmark {
+
+    private static final int WIDTH = 10;
+    private static final int LOOKUP_KEYS = 1024;
+
+    @Param({"jdbc:h2:mem:digit-column-benchmark;DB_CLOSE_DELAY=-1"})
+    private String jdbcUrl;
+
+    @Param({"sa"})
+    private String username;
+
+    @Param({""})
+    private String password;
+
+    @Param({"100000"})
+    private int rows;
+
+    private HikariDataSource dataSource;
+    private Connection connection;
+    private PreparedStatement selectVarchar;
+    private PreparedStatement selectBigint;
+    private final String[] mobileNumbers = new String[LOOKUP_KEYS];
+    private int next;
+
+    @Setup
+    public void createTables() throws SQLException {
+        if (rows < LOOKUP_KEYS) {
+            throw new IllegalArgumentException("rows must be at least " + LOOKUP_KEYS);
+        }
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(jdbcUrl);
+        config.setUsername(username);
+        config.setPassword(password);
+        dataSource = new HikariDataSource(config);
+        connection = dataSource.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS digits_varchar");
+            statement.execute("DROP TABLE IF EXISTS digits_bigint");
+            statement.execute(
+                    "CREATE TABLE digits_varchar (id bigint PRIMARY KEY, mobile_number varchar(15) NOT NULL)");
+            statement.execute("CREATE TABLE digits_bigint (id bigint PRIMARY KEY, mobile_number bigint NOT NULL)");
+            statement.execute("CREATE INDEX digits_varchar_mobile ON digits_varchar (mobile_number)");
+            statement.execute("CREATE INDEX digits_bigint_mobile ON digits_bigint (mobile_number)");
+        }
+
+        SplittableRandom random = new SplittableRandom(42);
+        connection.setAutoCommit(false);
+        try (PreparedStatement insertVarchar = connection.prepareStatement(
+                "INSERT INTO digits_varchar (id, mobile_number) VALUES (?, ?)");
+             PreparedStatement insertBigint = connection.prepareStatement(
+                     "INSERT INTO digits_bigint (id, mobile_number) VALUES (?, ?)")) {
+            for (int i = 0; i < rows; i++) {
+                // leading zeros included, they have to survive the BIGINT round trip
+                long mobileNumber = random.nextLong(10_000_000_000L);
+                String digits = DigitsConverter.format(mobileNumber, WIDTH);
+                insertVarchar.setLong(1, i);
+                insertVarchar.setString(2, digits);
+                insertVarchar.addBatch();
+                insertBigint.setLong(1, i);
+                insertBigint.setLong(2, mobileNumber);
+                insertBigint.addBatch();
+                if (i < LOOKUP_KEYS) {
+                    mobileNumbers[i] = digits;
+                }
+                if (i % 1000 == 999) {
+                    insertVarchar.executeBatch();
+                    insertBigint.executeBatch();
+                }
+            }
+            insertVarchar.executeBatch();
+            insertBigint.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+
+        selectVarchar = connection.prepareStatement("SELECT mobile_number FROM digits_varchar WHERE mobile_number = ?");
+        selectBigint = connection.prepareStatement("SELECT mobile_number FROM digits_bigint WHERE mobile_number = ?");
+    }
+
+    @TearDown
+    public void close() throws SQLException {
+        // the tables stay behind for the index size, the next run drops them
+        connection.close();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public String varcharLookup() throws SQLException {
+        selectVarchar.setString(1, nextMobileNumber());
+        try (ResultSet resultSet = selectVarchar.executeQuery()) {
+            return resultSet.next() ? resultSet.getString(1) : null;
+        }
+    }
+
+    @Benchmark
+    public String bigintLookup() throws SQLException {
+        selectBigint.setLong(1, DigitsConverter.parse(nextMobileNumber()));
+        try (ResultSet resultSet = selectBigint.executeQuery()) {
+            return resultSet.next() ? DigitsConverter.format(resultSet.getLong(1), WIDTH) : null;
+        }
+    }
+
+    private String nextMobileNumber() {
+        next = (next + 1) & (LOOKUP_KEYS - 1);
+        return mobileNumbers[next];
+    }
+}
@@ -0,0 +1,106 @@
+package com.demoproject.benchmarks;
+
+import com.demoproject.accounts.dto.LoansDto;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/*Per-request bean validation of a LoansDto body as @Valid runs it: the DTO with @DigitString on its mobile and loan
+numbers against the same DTO with the @Pattern(regexp = "(^$|[0-9]{n})") constraints it had before, through the
+same Hibernate Validator. The other constraints are identical, so the difference is the digit checks.*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DigitStringValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private LoansDto digitStringLoans;
+    private PatternLoansDto patternLoans;
+
+    @Setup
+    public void buildValidator() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        digitStringLoans = new LoansDto();
+        digitStringLoans.setMobileNumber("4354437687");
+        digitStringLoans.setLoanNumber("548732457654");
+        digitStringLoans.setLoanType("Home Loan");
+        digitStringLoans.setTotalLoan(100000);
+        digitStringLoans.setAmountPaid(1000);
+        digitStringLoans.setOutstandingAmount(99000);
+        patternLoans = new PatternLoansDto("4354437687", "548732457654", "Home Loan", 100000, 1000, 99000);
+    }
+
+    @TearDown
+    public void closeValidator() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<LoansDto>> digitString() {
+        return validator.validate(digitStringLoans);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<PatternLoansDto>> pattern() {
+        return validator.validate(patternLoans);
+    }
+
+    // LoansDto of accounts with the constraints it had before @DigitString
+    public static class PatternLoansDto {
+
+        @NotEmpty(message = "Mobile Number can not be a null or empty")
+        @Pattern(regexp = "(^$|[0-9]{10})", message = "Mobile Number must be 10 digits")
+        private final String mobileNumber;
+
+        @NotEmpty(message = "Loan Number can not be a null or empty")
+        @Pattern(regexp = "(^$|[0-9]{12})", message = "LoanNumber must be 12 digits")
+        private final String loanNumber;
+
+        @NotEmpty(message = "LoanType can not be a null or empty")
+        private final String loanType;
+
+        @Positive(message = "Total loan amount should be greater than zero")
+        private final int totalLoan;
+
+        @PositiveOrZero(message = "Total loan amount paid should be equal or greater than zero")
+        private final int amountPaid;
+
+        @PositiveOrZero(message = "Total outstanding amount should be equal or greater than zero")
+        private final int outstandingAmount;
+
+        PatternLoansDto(String mobileNumber, String loanNumber, String loanType, int totalLoan, int amountPaid,
+                        int outstandingAmount) {
+            this.mobileNumber = mobileNumber;
+            this.loanNumber = loanNumber;
+            this.loanType = loanType;
+            this.totalLoan = totalLoan;
+            this.amountPaid = amountPaid;
+            this.outstandingAmount = outstandingAmount;
+        }
+    }
+}
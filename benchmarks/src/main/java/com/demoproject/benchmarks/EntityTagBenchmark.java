@@ -0,0 +1,109 @@
+package com.demoproject.benchmarks;
+
+import com.demoproject.accounts.dto.AccountsDto;
+import com.demoproject.accounts.dto.CardsDto;
+import com.demoproject.accounts.dto.CustomerDetailsDto;
+import com.demoproject.accounts.dto.LoansDto;
+import com.demoproject.accounts.entity.Accounts;
+import com.demoproject.accounts.entity.Customer;
+import com.demoproject.common.web.EntityTag;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.DigestUtils;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/*Server cost of answering a fetchCustomerDetails poll whose data has not changed. With EntityTag the tag is built
+from the versions and timestamps the service has loaded anyway, and a matching If-None-Match gets its 304 without
+the body being serialized. A shallow ETag, as ShallowEtagHeaderFilter computes it, needs the serialized body and
+its MD5 on every request, 304 or not. The loads from the database are the same either way and left out.*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityTagBenchmark {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 15, 10, 30, 12, 345_000_000);
+
+    private ObjectMapper objectMapper;
+    private Customer customer;
+    private Accounts accounts;
+    private CustomerDetailsDto customerDetails;
+
+    @Setup
+    public void loadCustomer() {
+        objectMapper = new Jackson2ObjectMapperBuilder().build();
+
+        customer = new Customer();
+        customer.setCustomerId(1);
+        customer.setName("Moazzam Mahmood");
+        customer.setEmail("moazzam@example.com");
+        customer.setMobileNumber("4354437687");
+        customer.setCreatedAt(CREATED_AT);
+        customer.setVersion(2L);
+        accounts = new Accounts();
+        accounts.setCustomerId(1);
+        accounts.setAccountNumber(1000000050L);
+        accounts.setAccountType("Savings");
+        accounts.setBranchAddress("123 Main Street, New York");
+        accounts.setCreatedAt(CREATED_AT);
+        accounts.setUpdatedAt(CREATED_AT.plusDays(3));
+        accounts.setVersion(1L);
+
+        AccountsDto accountsDto = new AccountsDto();
+        accountsDto.setAccountNumber(accounts.getAccountNumber());
+        accountsDto.setAccountType(accounts.getAccountType());
+        accountsDto.setBranchAddress(accounts.getBranchAddress());
+        CardsDto cardsDto = new CardsDto();
+        cardsDto.setMobileNumber("4354437687");
+        cardsDto.setCardNumber("100646930341");
+        cardsDto.setCardType("Credit Card");
+        cardsDto.setTotalLimit(100000);
+        cardsDto.setAmountUsed(1000);
+        cardsDto.setAvailableAmount(99000);
+        cardsDto.setVersion(3L);
+        LoansDto loansDto = new LoansDto();
+        loansDto.setMobileNumber("4354437687");
+        loansDto.setLoanNumber("548732457654");
+        loansDto.setLoanType("Home Loan");
+        loansDto.setTotalLoan(100000);
+        loansDto.setAmountPaid(1000);
+        loansDto.setOutstandingAmount(99000);
+        loansDto.setVersion(3L);
+        customerDetails = new CustomerDetailsDto();
+        customerDetails.setName(customer.getName());
+        customerDetails.setEmail(customer.getEmail());
+        customerDetails.setMobileNumber(customer.getMobileNumber());
+        customerDetails.setAccountsDto(accountsDto);
+        customerDetails.setCardsDto(cardsDto);
+        customerDetails.setLoansDto(loansDto);
+    }
+
+    @Benchmark
+    public String entityTag() {
+        // as CustomerServiceImpl combines the customer's tag with the one of its customer_details_view row
+        String customerTag = EntityTag.of(customer, accounts);
+        String viewTag = new EntityTag().add(7L).add(3L).add(11L).add(3L).add(CREATED_AT.plusDays(5)).toString();
+        return new EntityTag().add(customerTag).add(viewTag).toString();
+    }
+
+    @Benchmark
+    public String shallowEtag() throws JsonProcessingException {
+        byte[] body = objectMapper.writeValueAsBytes(customerDetails);
+        return "\"0" + DigestUtils.md5DigestAsHex(body) + "\"";
+    }
+}
@@ -0,0 +1,142 @@
+package com.demoproject.benchmarks;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/*Pool settings of the *-prod.yml profiles: one short transaction per operation (borrow, switch off auto-commit if
+the pool hands it out on, query, commit, give back) from more threads than connections, for the pool sizes of the
+prod profiles and with the pool's auto-commit on (Hikari default) or off (prod, with provider_disables_autocommit).
+The in-memory H2 default measures the pool and driver overhead only; pass -p jdbcUrl=... -p username=...
+-p password=... to put a real database and its network round trips behind it.
+
+holdMillis keeps the connection that long after the query, standing in for the statements and round trips of a
+real request, so the 32 threads queue for the pool the way requests do under load. Next to the throughput, every
+iteration prints the mean time a request waited in getConnection() (hikaricp.connections.acquire, the timer the
+services export) against the mean time of the whole request, and the share of the request spent waiting.*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(32)
+public class HikariPoolBenchmark {
+
+    @Param({"jdbc:h2:mem:hikari-benchmark;DB_CLOSE_DELAY=-1"})
+    private String jdbcUrl;
+
+    @Param({"sa"})
+    private String username;
+
+    @Param({""})
+    private String password;
+
+    @Param({"10", "15", "20"})
+    private int maximumPoolSize;
+
+    @Param({"true", "false"})
+    private boolean autoCommit;
+
+    @Param({"0", "2"})
+    private int holdMillis;
+
+    private HikariDataSource dataSource;
+    private Timer acquireTimer;
+    private Timer requestTimer;
+    private long acquireCount;
+    private double acquireNanos;
+    private long requestCount;
+    private double requestNanos;
+
+    @Setup
+    public void openPool() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(jdbcUrl);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(maximumPoolSize);
+        config.setMinimumIdle(maximumPoolSize);
+        config.setConnectionTimeout(3000);
+        config.setAutoCommit(autoCommit);
+        config.setPoolName("benchmark");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        dataSource = new HikariDataSource(config);
+        acquireTimer = registry.get("hikaricp.connections.acquire").timer();
+        requestTimer = registry.timer("benchmark.request");
+    }
+
+    @Setup(Level.Iteration)
+    public void markIteration() {
+        acquireCount = acquireTimer.count();
+        acquireNanos = acquireTimer.totalTime(TimeUnit.NANOSECONDS);
+        requestCount = requestTimer.count();
+        requestNanos = requestTimer.totalTime(TimeUnit.NANOSECONDS);
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportAcquireShare() {
+        double acquireMean = (acquireTimer.totalTime(TimeUnit.NANOSECONDS) - acquireNanos)
+                / Math.max(1, acquireTimer.count() - acquireCount) / 1000;
+        double requestMean = (requestTimer.totalTime(TimeUnit.NANOSECONDS) - requestNanos)
+                / Math.max(1, requestTimer.count() - requestCount) / 1000;
+        System.out.printf("acquire %.1f us of request %.1f us (%.0f%%)%n", acquireMean, requestMean,
+                requestMean > 0 ? 100 * acquireMean / requestMean : 0);
+    }
+
+    @TearDown
+    public void closePool() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public int shortTransaction() throws SQLException, InterruptedException {
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            // what Hibernate does per transaction unless it is told that connections arrive with auto-commit off
+            boolean restoreAutoCommit = connection.getAutoCommit();
+            if (restoreAutoCommit) {
+                connection.setAutoCommit(false);
+            }
+            int value;
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("select 1")) {
+                resultSet.next();
+                value = resultSet.getInt(1);
+            }
+            if (holdMillis > 0) {
+                Thread.sleep(holdMillis);
+            }
+            connection.commit();
+            if (restoreAutoCommit) {
+                connection.setAutoCommit(true);
+            }
+            return value;
+        } finally {
+            requestTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.demoproject.benchmarks;
+
+import com.demoproject.accounts.dto.AccountsDto;
+import com.demoproject.accounts.dto.CardsDto;
+import com.demoproject.accounts.dto.CustomerDetailsDto;
+import com.demoproject.accounts.dto.LoansDto;
+import com.demoproject.accounts.json.AccountsJsonSerializers;
+import com.demoproject.common.config.SerializationAutoConfiguration;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/*JSON encode and decode of the DTOs behind fetchCustomerDetails, with the ObjectMapper Spring Boot builds as it was
+(default), with SerializationAutoConfiguration's Blackbird module and feature tuning (blackbird), and with the
+hand-written serializers of AccountsJsonSerializers on top (serializers), which is what the accounts service runs.
+The serializers only write, decoding is the same for the last two.*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"default", "blackbird", "serializers"})
+    private String mapper;
+
+    @Param({"customerDetails", "accounts", "cards", "loans"})
+    private String dto;
+
+    private ObjectMapper objectMapper;
+    private Object value;
+    private byte[] json;
+
+    @Setup
+    public void buildMapper() throws JsonProcessingException {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        if (!mapper.equals("default")) {
+            SerializationAutoConfiguration configuration = new SerializationAutoConfiguration();
+            builder.modulesToInstall(configuration.blackbirdModule());
+            configuration.serializationTuning().customize(builder);
+        }
+        if (mapper.equals("serializers")) {
+            // what JsonComponentModule registers for the @JsonComponent
+            SimpleModule serializers = new SimpleModule();
+            serializers.addSerializer(new AccountsJsonSerializers.CustomerDetailsDtoSerializer());
+            serializers.addSerializer(new AccountsJsonSerializers.AccountsDtoSerializer());
+            serializers.addSerializer(new AccountsJsonSerializers.CardsDtoSerializer());
+            serializers.addSerializer(new AccountsJsonSerializers.LoansDtoSerializer());
+            builder.modulesToInstall(serializers);
+        }
+        objectMapper = builder.build();
+
+        value = switch (dto) {
+            case "customerDetails" -> customerDetails();
+            case "accounts" -> accounts();
+            case "cards" -> cards();
+            case "loans" -> loans();
+            default -> throw new IllegalArgumentException("Unknown DTO: " + dto);
+        };
+        json = objectMapper.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public byte[] encode() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        return objectMapper.readValue(json, value.getClass());
+    }
+
+    private static CustomerDetailsDto customerDetails() {
+        CustomerDetailsDto customerDetails = new CustomerDetailsDto();
+        customerDetails.setName("Moazzam Mahmood");
+        customerDetails.setEmail("moazzam@example.com");
+        customerDetails.setMobileNumber("4354437687");
+        customerDetails.setAccountsDto(accounts());
+        customerDetails.setCardsDto(cards());
+        customerDetails.setLoansDto(loans());
+        return customerDetails;
+    }
+
+    private static AccountsDto accounts() {
+        AccountsDto accounts = new AccountsDto();
+        accounts.setAccountNumber(1000000050L);
+        accounts.setAccountType("Savings");
+        accounts.setBranchAddress("123 Main Street, New York");
+        return accounts;
+    }
+
+    private static CardsDto cards() {
+        CardsDto cards = new CardsDto();
+        cards.setMobileNumber("4354437687");
+        cards.setCardNumber("100646930341");
+        cards.setCardType("Credit Card");
+        cards.setTotalLimit(100000);
+        cards.setAmountUsed(1000);
+        cards.setAvailableAmount(99000);
+        cards.setVersion(3L);
+        return cards;
+    }
+
+    private static LoansDto loans() {
+        LoansDto loans = new LoansDto();
+        loans.setMobileNumber("4354437687");
+        loans.setLoanNumber("548732457654");
+        loans.setLoanType("Home Loan");
+        loans.setTotalLoan(100000);
+        loans.setAmountPaid(1000);
+        loans.setOutstandingAmount(99000);
+        loans.setVersion(3L);
+        return loans;
+    }
+}
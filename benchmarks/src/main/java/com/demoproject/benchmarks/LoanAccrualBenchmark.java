@@ -0,0 +1,102 @@
+package com.demoproject.benchmarks;
+
+import com.demoproject.loans.accrual.Amortization;
+import com.demoproject.loans.accrual.LoanChunk;
+import com.demoproject.loans.entity.Loans;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/*The compute step of the nightly accrual on one page of loans: LoanChunk.accrue over parallel primitive columns,
+as the batch runs it, against the same arithmetic over a page of Loans entities with their LocalDate and
+LocalDateTime fields, as a JPA-based batch would. Database reads and writes are left out, they are the same
+JDBC batch either way.*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoanAccrualBenchmark {
+
+    private static final LocalDate RUN_DATE = LocalDate.of(2025, 6, 30);
+
+    // digibank.accrual.chunk-size
+    @Param({"1000"})
+    private int loans;
+
+    private LoanChunk chunk;
+    private List<Loans> entities;
+
+    @Setup(Level.Iteration)
+    public void loadPage() {
+        SplittableRandom random = new SplittableRandom(42);
+        chunk = new LoanChunk(loans);
+        entities = new ArrayList<>(loans);
+        for (int i = 0; i < loans; i++) {
+            int outstanding = 10_000 + random.nextInt(90_000);
+            int rateBps = 500 + random.nextInt(1000);
+            int termMonths = 12 * (1 + random.nextInt(30));
+            LocalDate created = RUN_DATE.minusDays(1 + random.nextInt(3000));
+            LocalDate lastAccrual = random.nextInt(10) == 0 ? null : RUN_DATE.minusDays(1);
+
+            chunk.loanIds[i] = i + 1;
+            chunk.outstandingAmounts[i] = outstanding;
+            chunk.interestRatesBps[i] = rateBps;
+            chunk.termMonths[i] = termMonths;
+            chunk.createdEpochDays[i] = created.toEpochDay();
+            chunk.lastAccrualEpochDays[i] = lastAccrual == null ? LoanChunk.NEVER_ACCRUED : lastAccrual.toEpochDay();
+
+            Loans entity = new Loans();
+            entity.setLoanId(i + 1L);
+            entity.setOutstandingAmount(outstanding);
+            entity.setInterestRateBps(rateBps);
+            entity.setTermMonths(termMonths);
+            entity.setCreatedAt(created.atStartOfDay());
+            entity.setLastAccrualDate(lastAccrual);
+            entities.add(entity);
+        }
+        chunk.size = loans;
+    }
+
+    @Benchmark
+    public LoanChunk primitiveColumns() {
+        chunk.accrue(RUN_DATE.toEpochDay());
+        return chunk;
+    }
+
+    @Benchmark
+    public List<Loans> entities() {
+        for (Loans loan : entities) {
+            LocalDateTime createdAt = loan.getCreatedAt();
+            LocalDate accruedUpTo = loan.getLastAccrualDate() != null
+                    ? loan.getLastAccrualDate() : createdAt.toLocalDate();
+            long days = Math.max(0, ChronoUnit.DAYS.between(accruedUpTo, RUN_DATE));
+            loan.setAccruedInterestCents(loan.getAccruedInterestCents()
+                    + Amortization.dailyInterestCents(loan.getOutstandingAmount(), loan.getInterestRateBps(), days));
+            long elapsedMonths = ChronoUnit.MONTHS.between(createdAt.toLocalDate(), RUN_DATE);
+            int remainingMonths = (int) Math.max(1, loan.getTermMonths() - Math.max(0, elapsedMonths));
+            loan.setMonthlyInstallment(Amortization.monthlyInstallment(loan.getOutstandingAmount(),
+                    loan.getInterestRateBps(), remainingMonths));
+            loan.setLastAccrualDate(RUN_DATE);
+        }
+        return entities;
+    }
+}
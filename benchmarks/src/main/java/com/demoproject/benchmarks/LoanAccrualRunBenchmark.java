@@ -0,0 +1,156 @@
+package com.demoproject.benchmarks;
+
+import com.demoproject.common.cache.CacheInvalidator;
+import com.demoproject.common.cache.InMemoryInvalidationBus;
+import com.demoproject.loans.accrual.LoanAccrualEngine;
+import com.demoproject.loans.entity.Loans;
+import com.demoproject.loans.repository.LoanAccrualRepository;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/*The nightly accrual end to end: LoanAccrualEngine.accrue over the whole loans table, streamed in keyset pages of
+chunk-size loans, each page read into a LoanChunk and written back as one JDBC batch in its own transaction, through
+JpaTransactionManager like the service. Every invocation accrues one day further, so every loan is read and written
+each time. Parallelism 0 is the engine's default: the cores, capped at maximumPoolSize minus the pool headroom.
+The in-memory H2 default leaves out the network round trips of a real database; pass -p jdbcUrl=... -p username=...
+-p password=... -p loans=10000000 for a run at production scale (the loans table is dropped and recreated); 10M loans
+do not fit an in-memory H2 in -Xmx3g, -p jdbcUrl=jdbc:h2:file:/tmp/accrual-benchmark runs them on H2 without a server.*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(value = 3, jvmArgsAppend = "-Xmx3g")
+public class LoanAccrualRunBenchmark {
+
+    private static final String INSERT_LOAN =
+            "insert into loans (loan_id, mobile_number, loan_number, loan_type, total_loan, amount_paid, " +
+            "outstanding_amount, interest_rate_bps, term_months, accrued_interest_cents, monthly_installment, " +
+            "created_at, created_by, version) values (?, ?, ?, 'Home Loan', ?, 0, ?, ?, ?, 0, 0, ?, 'SEED', 0)";
+
+    private static final int INSERT_BATCH = 10_000;
+
+    @Param({"jdbc:h2:mem:accrual-benchmark;DB_CLOSE_DELAY=-1"})
+    private String jdbcUrl;
+
+    @Param({"sa"})
+    private String username;
+
+    @Param({""})
+    private String password;
+
+    @Param({"100000", "1000000"})
+    private int loans;
+
+    // digibank.accrual.parallelism
+    @Param({"0"})
+    private int parallelism;
+
+    // spring.datasource.hikari.maximum-pool-size
+    @Param({"10"})
+    private int maximumPoolSize;
+
+    private HikariDataSource dataSource;
+    private EntityManagerFactory entityManagerFactory;
+    private LoanAccrualEngine engine;
+    private LocalDate runDate;
+
+    @Setup
+    public void seedLoans() throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(jdbcUrl);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(maximumPoolSize);
+        dataSource = new HikariDataSource(config);
+
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan(Loans.class.getPackageName());
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of(AvailableSettings.HBM2DDL_AUTO, "create-drop",
+                AvailableSettings.PHYSICAL_NAMING_STRATEGY, CamelCaseToUnderscoresNamingStrategy.class.getName()));
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+
+        runDate = LocalDate.of(2025, 6, 30);
+        insertLoans();
+
+        CacheInvalidator cacheInvalidator = new CacheInvalidator(new InMemoryInvalidationBus(),
+                new ConcurrentMapCacheManager(), entityManagerFactory);
+        engine = new LoanAccrualEngine(new LoanAccrualRepository(new JdbcTemplate(dataSource), 1000),
+                new TransactionTemplate(new JpaTransactionManager(entityManagerFactory)),
+                cacheInvalidator, dataSource, parallelism, 2, 1000, 8);
+    }
+
+    private void insertLoans() throws SQLException {
+        SplittableRandom random = new SplittableRandom(42);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement insert = connection.prepareStatement(INSERT_LOAN)) {
+            connection.setAutoCommit(false);
+            for (int i = 1; i <= loans; i++) {
+                int totalLoan = 10_000 + random.nextInt(90_000);
+                insert.setLong(1, i);
+                insert.setLong(2, 4_000_000_000L + i);
+                insert.setLong(3, 100_000_000_000L + i);
+                insert.setInt(4, totalLoan);
+                insert.setInt(5, totalLoan);
+                insert.setInt(6, 500 + random.nextInt(1000));
+                insert.setInt(7, 12 * (1 + random.nextInt(30)));
+                insert.setTimestamp(8, Timestamp.valueOf(runDate.minusDays(1 + random.nextInt(3000)).atStartOfDay()));
+                insert.addBatch();
+                if (i % INSERT_BATCH == 0 || i == loans) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+    }
+
+    @TearDown
+    public void close() {
+        engine.shutdown();
+        entityManagerFactory.close();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public long accrue() {
+        runDate = runDate.plusDays(1);
+        long accrued = engine.accrue(runDate);
+        if (accrued != loans) {
+            throw new IllegalStateException("Accrued " + accrued + " of " + loans + " loans");
+        }
+        return accrued;
+    }
+}
@@ -0,0 +1,154 @@
+package com.demoproject.benchmarks;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.demoproject.common.logging.CorrelationIdMdcFilter;
+import com.demoproject.common.logging.RateLimitingTurboFilter;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+
+import java.io.OutputStream;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/*Cost of a log line to the thread that writes it, for the logging setups of the services: the synchronous console
+pattern they had before, the JSON encoder on its own, the JSON encoder behind the bounded AsyncAppender of
+logback-spring.xml, and the same with RateLimitingTurboFilter sampling the logger. Output goes to a discarding
+stream so the console is not what is measured. Once the async queue is full further events are dropped
+(neverBlock), that is the setup's behaviour under load and part of what this measures; -prof gc shows what each
+event allocates.*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class LoggingBenchmark {
+
+    // Spring Boot's console pattern, without the Spring-only converters
+    private static final String CONSOLE_PATTERN =
+            "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%t] %-40.40logger{39} : %m%n";
+
+    @Param({"pattern", "json", "asyncJson", "asyncJsonSampled"})
+    private String setup;
+
+    // digibank.logging.queue-size and digibank.logging.max-events-per-second
+    @Param({"8192"})
+    private int queueSize;
+
+    @Param({"100"})
+    private int maxEventsPerSecond;
+
+    private LoggerContext context;
+    private Logger logger;
+
+    @Setup
+    public void configure() {
+        context = new LoggerContext();
+        context.setMDCAdapter(MDC.getMDCAdapter());
+        context.start();
+
+        Appender<ILoggingEvent> appender = switch (setup) {
+            case "pattern" -> outputStreamAppender(patternEncoder());
+            case "json" -> outputStreamAppender(jsonEncoder());
+            case "asyncJson", "asyncJsonSampled" -> asyncAppender(outputStreamAppender(jsonEncoder()));
+            default -> throw new IllegalArgumentException("Unknown setup: " + setup);
+        };
+        if (setup.equals("asyncJsonSampled")) {
+            RateLimitingTurboFilter filter = new RateLimitingTurboFilter();
+            filter.setContext(context);
+            filter.setLoggers("com.demoproject");
+            filter.setMaxEventsPerSecond(maxEventsPerSecond);
+            filter.start();
+            context.addTurboFilter(filter);
+        }
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+        logger = context.getLogger("com.demoproject.loans.controller.LoansController");
+    }
+
+    @TearDown
+    public void stop() {
+        context.stop();
+    }
+
+    @State(Scope.Thread)
+    public static class Request {
+
+        private final String correlationId = UUID.randomUUID().toString();
+        private long loanNumber = 100_000_000_000L;
+
+        @Setup
+        public void putCorrelationId() {
+            MDC.put(CorrelationIdMdcFilter.MDC_KEY, correlationId);
+        }
+
+        @TearDown
+        public void removeCorrelationId() {
+            MDC.remove(CorrelationIdMdcFilter.MDC_KEY);
+        }
+    }
+
+    @Benchmark
+    public void logLine(Request request) {
+        logger.info("Fetched loan {} for mobile number {}", request.loanNumber++, "4354437687");
+    }
+
+    private Encoder<ILoggingEvent> patternEncoder() {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(CONSOLE_PATTERN);
+        encoder.start();
+        return encoder;
+    }
+
+    private Encoder<ILoggingEvent> jsonEncoder() {
+        LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(context);
+        encoder.setIncludeCallerData(false);
+        encoder.start();
+        return encoder;
+    }
+
+    private Appender<ILoggingEvent> outputStreamAppender(Encoder<ILoggingEvent> encoder) {
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        return appender;
+    }
+
+    private Appender<ILoggingEvent> asyncAppender(Appender<ILoggingEvent> delegate) {
+        AsyncAppender appender = new AsyncAppender();
+        appender.setContext(context);
+        appender.setQueueSize(queueSize);
+        appender.setNeverBlock(true);
+        appender.setIncludeCallerData(false);
+        appender.addAppender(delegate);
+        appender.start();
+        return appender;
+    }
+}
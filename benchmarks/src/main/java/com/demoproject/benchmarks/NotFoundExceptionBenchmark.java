@@ -0,0 +1,62 @@
+package com.demoproject.benchmarks;
+
+import com.demoproject.common.exception.ResourceNotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.CompilerControl;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/*The not-found path of a lookup: the stackless ResourceNotFoundException against the same exception with its
+stack trace filled in, as it was before, thrown under stackDepth frames and caught at the top like the
+@ExceptionHandler does. Filling in the trace costs in proportion to the depth; a request served through Tomcat,
+the Spring filter chain, the dispatcher and the service proxies is well over a hundred frames deep.*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotFoundExceptionBenchmark {
+
+    @Param({"20", "150"})
+    private int stackDepth;
+
+    @Benchmark
+    public String stackless() {
+        return lookupUnder(stackDepth,
+                mobileNumber -> new ResourceNotFoundException("Loan", "mobileNumber", mobileNumber));
+    }
+
+    @Benchmark
+    public String withStackTrace() {
+        return lookupUnder(stackDepth, mobileNumber -> new RuntimeException(
+                "Loan not found with the given input data mobileNumber: " + mobileNumber));
+    }
+
+    private static String lookupUnder(int depth, Function<String, RuntimeException> notFound) {
+        try {
+            return descend(depth, notFound);
+        } catch (RuntimeException ex) {
+            return ex.getMessage();
+        }
+    }
+
+    // kept out of line so every level is a real frame on the stack
+    @CompilerControl(CompilerControl.Mode.DONT_INLINE)
+    private static String descend(int depth, Function<String, RuntimeException> notFound) {
+        if (depth == 0) {
+            throw notFound.apply("4354437687");
+        }
+        return descend(depth - 1, notFound);
+    }
+}
@@ -0,0 +1,110 @@
+package com.demoproject.benchmarks;
+
+import com.demoproject.benchmarks.entity.BenchmarkAccount;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*Read-only transactions on the fetch paths of the services: the same JPA query loading rows entities in a
+@Transactional(readOnly = true) and in a read-write transaction, through JpaTransactionManager like the services.
+Read-only puts the session into FlushMode.MANUAL and default read-only, so the entities are neither snapshotted on
+load nor dirty-checked on commit; the difference grows with the number of entities loaded.*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionModeBenchmark {
+
+    private static final String SELECT_ACCOUNTS = "select a from BenchmarkAccount a order by a.accountNumber";
+
+    @Param({"jdbc:h2:mem:transaction-benchmark;DB_CLOSE_DELAY=-1"})
+    private String jdbcUrl;
+
+    @Param({"1", "50", "500"})
+    private int rows;
+
+    private HikariDataSource dataSource;
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate readWriteTransaction;
+
+    @Setup
+    public void createAccounts() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(jdbcUrl);
+        config.setUsername("sa");
+        dataSource = new HikariDataSource(config);
+
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan(BenchmarkAccount.class.getPackageName());
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of(AvailableSettings.HBM2DDL_AUTO, "create-drop"));
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+
+        readWriteTransaction.executeWithoutResult(status -> {
+            for (int i = 0; i < rows; i++) {
+                BenchmarkAccount account = new BenchmarkAccount();
+                account.setAccountNumber(1000000000L + i);
+                account.setCustomerId(i);
+                account.setAccountType("Savings");
+                account.setBranchAddress("123 Main Street, New York");
+                account.setCreatedAt(LocalDateTime.now());
+                entityManager.persist(account);
+            }
+        });
+    }
+
+    @TearDown
+    public void close() {
+        entityManagerFactory.close();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public int readOnly() {
+        return readOnlyTransaction.execute(status -> loadAccounts());
+    }
+
+    @Benchmark
+    public int readWrite() {
+        return readWriteTransaction.execute(status -> loadAccounts());
+    }
+
+    private int loadAccounts() {
+        return entityManager.createQuery(SELECT_ACCOUNTS, BenchmarkAccount.class).getResultList().size();
+    }
+}
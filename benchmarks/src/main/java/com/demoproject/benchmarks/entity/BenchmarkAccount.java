@@ -0,0 +1,46 @@
+package com.demoproject.benchmarks.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Version;
+
+import java.time.LocalDateTime;
+
+// Row shaped like accounts.accounts, loaded by TransactionModeBenchmark
+@Entity
+public class BenchmarkAccount {
+
+    @Id
+    private long accountNumber;
+
+    private long customerId;
+
+    private String accountType;
+
+    private String branchAddress;
+
+    private LocalDateTime createdAt;
+
+    @Version
+    private Long version;
+
+    public void setAccountNumber(long accountNumber) {
+        this.accountNumber = accountNumber;
+    }
+
+    public void setCustomerId(long customerId) {
+        this.customerId = customerId;
+    }
+
+    public void setAccountType(String accountType) {
+        this.accountType = accountType;
+    }
+
+    public void setBranchAddress(String branchAddress) {
+        this.branchAddress = branchAddress;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -8,13 +8,20 @@ public class CardsConstants {
 
     public static final String  CREDIT_CARD = "Credit Card";
     public static final int  NEW_CARD_LIMIT = 1_00_000;
+    public static final String  CARD_CHANGED_DESTINATION = "card-changed";
+    public static final String  CARDS_CACHE = "cards";
     public static final String  STATUS_201 = "201";
     public static final String  MESSAGE_201 = "Card created successfully";
+    public static final String  STATUS_202 = "202";
+    public static final String  MESSAGE_202 = "Transaction accepted";
     public static final String  STATUS_200 = "200";
     public static final String  MESSAGE_200 = "Request processed successfully";
     public static final String  STATUS_417 = "417";
     public static final String  MESSAGE_417_UPDATE= "Update operation failed. Please try again or contact Dev team";
     public static final String  MESSAGE_417_DELETE= "Delete operation failed. Please try again or contact Dev team";
+    public static final String  MESSAGE_417_CHARGE= "Charge declined. Amount exceeds the available amount of the card";
+    public static final String  STATUS_503 = "503";
+    public static final String  MESSAGE_503 = "Transaction ledger is full. Please retry shortly";
     // public static final String  STATUS_500 = "500";
     // public static final String  MESSAGE_500 = "An error occurred. Please try again or contact Dev team";
 }
@@ -0,0 +1,82 @@
+package com.demoproject.cards.controller;
+
+import com.demoproject.cards.constants.CardsConstants;
+import com.demoproject.cards.dto.CardTransactionDto;
+import com.demoproject.cards.dto.CardsErrorResponseDto;
+import com.demoproject.cards.service.ICardTransactionService;
+import com.demoproject.common.dto.ResponseDto;
+import com.demoproject.common.web.PreSerializedResponses;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(
+        name = "REST APIs for Card transactions in DigiBank",
+        description = "REST APIs in DigiBank to record card charges"
+)
+@RestController
+@RequestMapping(path = "/api", produces = {MediaType.APPLICATION_JSON_VALUE})
+@Validated
+public class CardTransactionController {
+
+    // written as pre-serialized bytes, see PreSerializedResponses
+    private static final ResponseDto ACCEPTED = new ResponseDto(CardsConstants.STATUS_202, CardsConstants.MESSAGE_202);
+    private static final ResponseDto UNAVAILABLE =
+            new ResponseDto(CardsConstants.STATUS_503, CardsConstants.MESSAGE_503);
+
+    private final ICardTransactionService iCardTransactionService;
+
+    public CardTransactionController(ICardTransactionService iCardTransactionService,
+                                     PreSerializedResponses preSerializedResponses) {
+        this.iCardTransactionService = iCardTransactionService;
+        preSerializedResponses.register(ACCEPTED, UNAVAILABLE);
+    }
+
+    @Operation(
+            summary = "Record Card Transaction REST API",
+            description = "REST API to record a charge against a card. The charge is buffered and written to the " +
+                    "ledger and the card balance asynchronously"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "HTTP Status ACCEPTED"
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "HTTP Status Service Unavailable"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = CardsErrorResponseDto.class)
+                    )
+            )
+    })
+    @PostMapping("/transactions")
+    public ResponseEntity<ResponseDto> recordTransaction(@Valid @RequestBody CardTransactionDto cardTransactionDto) {
+        boolean isAccepted = iCardTransactionService.recordTransaction(cardTransactionDto);
+        if(isAccepted) {
+            return ResponseEntity
+                    .status(HttpStatus.ACCEPTED)
+                    .body(ACCEPTED);
+        }else{
+            return ResponseEntity
+                    .status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(UNAVAILABLE);
+        }
+    }
+}
@@ -3,28 +3,39 @@ package com.demoproject.cards.controller;
 import com.demoproject.cards.constants.CardsConstants;
 import com.demoproject.cards.dto.CardsContactInfoDto;
 import com.demoproject.cards.dto.CardsDto;
-import com.demoproject.cards.dto.ErrorResponseDto;
-import com.demoproject.cards.dto.ResponseDto;
+import com.demoproject.cards.dto.CardsErrorResponseDto;
+import com.demoproject.cards.dto.CardsFilterDto;
 import com.demoproject.cards.service.ICardsService;
+import com.demoproject.common.dto.KeysetPageDto;
+import com.demoproject.common.dto.ResponseDto;
+import com.demoproject.common.export.ExportFormat;
+import com.demoproject.common.validation.DigitString;
+import com.demoproject.common.web.PreSerializedResponses;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
 @RestController
 @RequestMapping(path = "/api", produces = {MediaType.APPLICATION_JSON_VALUE})
 //@AllArgsConstructor
@@ -32,11 +43,27 @@ import org.springframework.web.bind.annotation.*;
 public class CardsController {
 
     private static final Logger logger = LoggerFactory.getLogger(CardsController.class);
+
+    // written as pre-serialized bytes, see PreSerializedResponses
+    private static final ResponseDto CREATED = new ResponseDto(CardsConstants.STATUS_201, CardsConstants.MESSAGE_201);
+    private static final ResponseDto PROCESSED = new ResponseDto(CardsConstants.STATUS_200, CardsConstants.MESSAGE_200);
+    private static final ResponseDto UPDATE_FAILED =
+            new ResponseDto(CardsConstants.STATUS_417, CardsConstants.MESSAGE_417_UPDATE);
+    private static final ResponseDto CHARGE_DECLINED =
+            new ResponseDto(CardsConstants.STATUS_417, CardsConstants.MESSAGE_417_CHARGE);
+    private static final ResponseDto DELETE_FAILED =
+            new ResponseDto(CardsConstants.STATUS_417, CardsConstants.MESSAGE_417_DELETE);
+
     private final ICardsService iCardsService;
+    private final CardsContactInfoDto cardsContactInfoDto;
 
     @Autowired
-    public CardsController(ICardsService iCardsService) {
+    public CardsController(ICardsService iCardsService, CardsContactInfoDto cardsContactInfoDto,
+                           PreSerializedResponses preSerializedResponses) {
         this.iCardsService = iCardsService;
+        this.cardsContactInfoDto = cardsContactInfoDto;
+        preSerializedResponses.register(CREATED, PROCESSED, UPDATE_FAILED, CHARGE_DECLINED, DELETE_FAILED,
+                cardsContactInfoDto);
     }
 
     @Value("${build.version}")
@@ -45,9 +72,6 @@ public class CardsController {
     @Autowired
     private Environment environment;
 
-    @Autowired
-    private CardsContactInfoDto cardsContactInfoDto;
-
     @Operation(
             summary = "Create Card REST API",
             description = "REST API to create new Card inside EazyBank"
@@ -61,19 +85,19 @@ public class CardsController {
                     responseCode = "500",
                     description = "HTTP Status Internal Server Error",
                     content = @Content(
-                            schema = @Schema(implementation = ErrorResponseDto.class)
+                            schema = @Schema(implementation = CardsErrorResponseDto.class)
                     )
             )
     }
     )
     @PostMapping("/create")
     public ResponseEntity<ResponseDto> createCard(@Valid @RequestParam
-                                                  @Pattern(regexp="(^$|[0-9]{10})",message = "Mobile number must be 10 digits")
+                                                  @DigitString(length = 10, message = "Mobile number must be 10 digits")
                                                   String mobileNumber) {
         iCardsService.createCard(mobileNumber);
         return ResponseEntity
                 .status(HttpStatus.CREATED)
-                .body(new ResponseDto(CardsConstants.STATUS_201, CardsConstants.MESSAGE_201));
+                .body(CREATED);
     }
 
     @Operation(
@@ -89,18 +113,18 @@ public class CardsController {
                     responseCode = "500",
                     description = "HTTP Status Internal Server Error",
                     content = @Content(
-                            schema = @Schema(implementation = ErrorResponseDto.class)
+                            schema = @Schema(implementation = CardsErrorResponseDto.class)
                     )
             )
     })
     @GetMapping("/fetch")
     public ResponseEntity<CardsDto> fetchCardDetails(@RequestHeader("digibank-correlation-id") String correlationId,
                                                      @RequestParam
-                                                     @Pattern(regexp="(^$|[0-9]{10})",message = "Mobile number must be 10 digits")
+                                                     @DigitString(length = 10, message = "Mobile number must be 10 digits")
                                                      String mobileNumber) {
         logger.debug("digiBank-correlation-id found: {} ", correlationId);
         CardsDto cardsDto = iCardsService.fetchCard(mobileNumber);
-        return ResponseEntity.status(HttpStatus.OK).body(cardsDto);
+        return ResponseEntity.status(HttpStatus.OK).eTag(cardsDto.getEntityTag()).body(cardsDto);
     }
 
     @Operation(
@@ -120,7 +144,7 @@ public class CardsController {
                     responseCode = "500",
                     description = "HTTP Status Internal Server Error",
                     content = @Content(
-                            schema = @Schema(implementation = ErrorResponseDto.class)
+                            schema = @Schema(implementation = CardsErrorResponseDto.class)
                     )
             )
     })
@@ -130,11 +154,51 @@ public class CardsController {
         if(isUpdated) {
             return ResponseEntity
                     .status(HttpStatus.OK)
-                    .body(new ResponseDto(CardsConstants.STATUS_200, CardsConstants.MESSAGE_200));
+                    .body(PROCESSED);
         }else{
             return ResponseEntity
                     .status(HttpStatus.EXPECTATION_FAILED)
-                    .body(new ResponseDto(CardsConstants.STATUS_417, CardsConstants.MESSAGE_417_UPDATE));
+                    .body(UPDATE_FAILED);
+        }
+    }
+
+    @Operation(
+            summary = "Charge Card REST API",
+            description = "REST API to charge an amount to a card as one versioned balance update"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "417",
+                    description = "Expectation Failed"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = CardsErrorResponseDto.class)
+                    )
+            )
+    })
+    @PostMapping("/charge")
+    public ResponseEntity<ResponseDto> chargeCard(@RequestParam
+                                                  @DigitString(length = 12, message = "Card number must be 12 digits")
+                                                  String cardNumber,
+                                                  @RequestParam
+                                                  @Positive(message = "Amount should be greater than zero")
+                                                  int amount) {
+        boolean isCharged = iCardsService.chargeCard(cardNumber, amount);
+        if(isCharged) {
+            return ResponseEntity
+                    .status(HttpStatus.OK)
+                    .body(PROCESSED);
+        }else{
+            return ResponseEntity
+                    .status(HttpStatus.EXPECTATION_FAILED)
+                    .body(CHARGE_DECLINED);
         }
     }
 
@@ -155,26 +219,107 @@ public class CardsController {
                     responseCode = "500",
                     description = "HTTP Status Internal Server Error",
                     content = @Content(
-                            schema = @Schema(implementation = ErrorResponseDto.class)
+                            schema = @Schema(implementation = CardsErrorResponseDto.class)
                     )
             )
     })
     @DeleteMapping("/delete")
     public ResponseEntity<ResponseDto> deleteCardDetails(@RequestParam
-                                                         @Pattern(regexp="(^$|[0-9]{10})",message = "Mobile number must be 10 digits")
+                                                         @DigitString(length = 10, message = "Mobile number must be 10 digits")
                                                          String mobileNumber) {
         boolean isDeleted = iCardsService.deleteCard(mobileNumber);
         if(isDeleted) {
             return ResponseEntity
                     .status(HttpStatus.OK)
-                    .body(new ResponseDto(CardsConstants.STATUS_200, CardsConstants.MESSAGE_200));
+                    .body(PROCESSED);
         }else{
             return ResponseEntity
                     .status(HttpStatus.EXPECTATION_FAILED)
-                    .body(new ResponseDto(CardsConstants.STATUS_417, CardsConstants.MESSAGE_417_DELETE));
+                    .body(DELETE_FAILED);
         }
     }
 
+    @Operation(
+            summary = "List Card Details REST API",
+            description = "REST API to list Cards page by page, filtered by card type and issue date"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = CardsErrorResponseDto.class)
+                    )
+            )
+    }
+    )
+    @GetMapping("/list")
+    public ResponseEntity<KeysetPageDto<CardsDto>> listCards(@Valid CardsFilterDto filter) {
+        KeysetPageDto<CardsDto> page = iCardsService.listCards(filter);
+        return ResponseEntity.status(HttpStatus.OK).body(page);
+    }
+
+    @Operation(
+            summary = "Export Card Details REST API",
+            description = "REST API to stream all Card details as NDJSON or CSV, one row per line"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = CardsErrorResponseDto.class)
+                    )
+            )
+    }
+    )
+    @GetMapping(value = "/export", produces = MediaType.ALL_VALUE)
+    public void exportCards(@RequestParam(defaultValue = "ndjson")
+                            @Pattern(regexp = "(ndjson|csv)", message = "Format must be ndjson or csv")
+                            String format,
+                            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"cards." + exportFormat.getExtension() + "\"");
+        iCardsService.exportCards(exportFormat, response.getOutputStream());
+    }
+
+    @Operation(
+            summary = "Snapshot Card Details REST API",
+            description = "REST API to stream all Cards as NDJSON card-changed events, used by accounts to " +
+                    "rebuild its customer details view"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = CardsErrorResponseDto.class)
+                    )
+            )
+    }
+    )
+    @GetMapping(value = "/snapshot", produces = MediaType.ALL_VALUE)
+    public void snapshotCards(HttpServletResponse response) throws IOException {
+        response.setContentType(ExportFormat.NDJSON.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        iCardsService.snapshotCards(response.getOutputStream());
+    }
+
     @Operation(
             summary = "Get Java version",
             description = "Get Java versions details that is installed into cards microservice"
@@ -188,7 +333,7 @@ public class CardsController {
                     responseCode = "500",
                     description = "HTTP Status Internal Server Error",
                     content = @Content(
-                            schema = @Schema(implementation = ErrorResponseDto.class)
+                            schema = @Schema(implementation = CardsErrorResponseDto.class)
                     )
             )
     }
@@ -213,7 +358,7 @@ public class CardsController {
                     responseCode = "500",
                     description = "Internal Server Error",
                     content = @Content(
-                            schema = @Schema(implementation = ErrorResponseDto.class)
+                            schema = @Schema(implementation = CardsErrorResponseDto.class)
                     )
             )
     })
@@ -237,7 +382,7 @@ public class CardsController {
                     responseCode = "500",
                     description = "HTTP Status Internal Server Error",
                     content = @Content(
-                            schema = @Schema(implementation = ErrorResponseDto.class)
+                            schema = @Schema(implementation = CardsErrorResponseDto.class)
                     )
             )
     }
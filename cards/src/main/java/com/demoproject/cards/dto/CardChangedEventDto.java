@@ -0,0 +1,39 @@
+package com.demoproject.cards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*Published through the outbox whenever a card is created, updated, charged or deleted, and streamed by
+/api/snapshot. Carries the full card so that accounts can keep customer_details_view without calling back;
+cardId and version order the events of a mobile number, a re-issued card gets a higher cardId. A card moved to
+another mobile number is also published as deleted under the number it left.*/
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardChangedEventDto {
+
+    private Long cardId;
+
+    private Long version;
+
+    private boolean deleted;
+
+    private String mobileNumber;
+
+    private String cardNumber;
+
+    private String cardType;
+
+    private int totalLimit;
+
+    private int amountUsed;
+
+    private int availableAmount;
+
+    // Snapshot rows, see CardsRepository.streamAllForSnapshot
+    public CardChangedEventDto(Long cardId, Long version, String mobileNumber, String cardNumber, String cardType,
+                               int totalLimit, int amountUsed, int availableAmount) {
+        this(cardId, version, false, mobileNumber, cardNumber, cardType, totalLimit, amountUsed, availableAmount);
+    }
+}
@@ -0,0 +1,27 @@
+package com.demoproject.cards.dto;
+
+import com.demoproject.common.validation.DigitString;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Schema(name = "CardTransaction",
+        description = "Schema to hold a card charge"
+)
+@Data
+public class CardTransactionDto {
+
+    @NotEmpty(message = "Card Number can not be a null or empty")
+    @DigitString(length = 12, message = "CardNumber must be 12 digits")
+    @Schema(
+            description = "Card Number to be charged", example = "100646930341"
+    )
+    private String cardNumber;
+
+    @Positive(message = "Transaction amount should be greater than zero")
+    @Schema(
+            description = "Amount charged to the card", example = "250"
+    )
+    private int amount;
+}
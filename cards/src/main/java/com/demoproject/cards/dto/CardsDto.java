@@ -1,26 +1,31 @@
 package com.demoproject.cards.dto;
 
+import com.demoproject.common.validation.DigitString;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotEmpty;
-import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Schema(name = "Cards",
         description = "Schema to hold Card information"
 )
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class CardsDto {
     @NotEmpty(message = "Mobile Number can not be a null or empty")
-    @Pattern(regexp="(^$|[0-9]{10})",message = "Mobile Number must be 10 digits")
+    @DigitString(length = 10, message = "Mobile Number must be 10 digits")
     @Schema(
             description = "Mobile Number of Customer", example = "4354437687"
     )
     private String mobileNumber;
 
     @NotEmpty(message = "Card Number can not be a null or empty")
-    @Pattern(regexp="(^$|[0-9]{12})",message = "CardNumber must be 12 digits")
+    @DigitString(length = 12, message = "CardNumber must be 12 digits")
     @Schema(
             description = "Card Number of the customer", example = "100646930341"
     )
@@ -49,4 +54,20 @@ public class CardsDto {
             description = "Total available amount against a card", example = "90000"
     )
     private int availableAmount;
+
+    @Schema(
+            description = "Version of the card when it was read; an update carrying an older version is rejected " +
+                    "with 409 Conflict", example = "3"
+    )
+    private Long version;
+
+    // weak ETag of the fetch response (EntityTag), sent as a header and never as part of the body
+    @JsonIgnore
+    private String entityTag;
+
+    // Export rows, see CardsRepository.streamAllForExport
+    public CardsDto(String mobileNumber, String cardNumber, String cardType, int totalLimit, int amountUsed,
+                    int availableAmount) {
+        this(mobileNumber, cardNumber, cardType, totalLimit, amountUsed, availableAmount, null, null);
+    }
 }
@@ -0,0 +1,29 @@
+package com.demoproject.cards.dto;
+
+import com.demoproject.common.dto.ErrorResponseDto;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+
+/*The shared error body under the field names cards has always sent: errorTime instead of errorTimestamp*/
+@Schema(
+        name = "ErrorResponse",
+        description = "Schema to hold error response information"
+)
+public class CardsErrorResponseDto extends ErrorResponseDto {
+
+    public CardsErrorResponseDto(String apiPath, HttpStatus errorCode, String errorMessage, LocalDateTime errorTime) {
+        super(apiPath, errorCode, errorMessage, errorTime);
+    }
+
+    @Override
+    @JsonProperty("errorTime")
+    @Schema(
+            description = "Time representing when the error happened"
+    )
+    public LocalDateTime getErrorTimestamp() {
+        return super.getErrorTimestamp();
+    }
+}
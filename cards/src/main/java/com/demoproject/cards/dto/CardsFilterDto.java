@@ -0,0 +1,46 @@
+package com.demoproject.cards.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+@Data
+@Schema(
+        name = "CardsFilter",
+        description = "Schema to hold the filters and cursor of a card list request"
+)
+public class CardsFilterDto {
+
+    @Schema(
+            description = "Type of the card", example = "Credit Card"
+    )
+    private String cardType;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    @Schema(
+            description = "Cards issued on or after this date", example = "2025-01-01"
+    )
+    private LocalDate createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    @Schema(
+            description = "Cards issued on or before this date", example = "2025-12-31"
+    )
+    private LocalDate createdTo;
+
+    @Schema(
+            description = "nextCursor of the previous page, omit for the first page", example = "1050"
+    )
+    private Long after;
+
+    @Min(value = 1, message = "Page size should be at least 1")
+    @Max(value = 500, message = "Page size should be at most 500")
+    @Schema(
+            description = "Number of cards per page", example = "50"
+    )
+    private int size = 50;
+}
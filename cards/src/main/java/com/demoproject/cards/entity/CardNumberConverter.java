@@ -0,0 +1,18 @@
+package com.demoproject.cards.entity;
+
+import com.demoproject.common.entity.DigitsConverter;
+import jakarta.persistence.Converter;
+
+@Converter
+public class CardNumberConverter extends DigitsConverter {
+
+    public static final int WIDTH = 12;
+
+    public CardNumberConverter() {
+        super(WIDTH);
+    }
+
+    public static String format(long cardNumber) {
+        return format(cardNumber, WIDTH);
+    }
+}
@@ -1,12 +1,24 @@
 package com.demoproject.cards.entity;
 
+import com.demoproject.common.entity.BaseEntity;
+import com.demoproject.common.entity.MobileNumberConverter;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "cards")
+@NaturalIdCache(region = "cards-natural-id")
 @Getter
 @Setter
 @ToString
@@ -14,12 +26,18 @@ import lombok.*;
 @NoArgsConstructor
 public class Cards extends BaseEntity{
 
+    // pooled sequence instead of IDENTITY so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cards_seq")
+    @SequenceGenerator(name = "cards_seq", sequenceName = "cards_seq", allocationSize = 50)
     private Long cardId;
 
+    @Convert(converter = MobileNumberConverter.class)
     private String mobileNumber;
 
+    // natural id: findByCardNumber resolves the id from the natural-id cache and the card from the entity cache
+    @NaturalId
+    @Convert(converter = CardNumberConverter.class)
     private String cardNumber;
 
     private String cardType;
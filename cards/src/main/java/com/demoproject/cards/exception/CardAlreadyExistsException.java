@@ -1,10 +1,10 @@
 package com.demoproject.cards.exception;
 
-import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.annotation.ResponseStatus;
+import com.demoproject.common.exception.ResourceAlreadyExistsException;
 
-@ResponseStatus(value = HttpStatus.BAD_REQUEST)
-public class CardAlreadyExistsException extends RuntimeException {
+public class CardAlreadyExistsException extends ResourceAlreadyExistsException {
+
+    private static final long serialVersionUID = 1L;
 
     public CardAlreadyExistsException(String message) {
         super(message);
@@ -1,12 +1,12 @@
 package com.demoproject.cards.exception;
 
-import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.annotation.ResponseStatus;
+/*Keeps the not-found message cards has always sent, with the value quoted. Still a common ResourceNotFoundException, so
+CommonExceptionHandler maps it to a 404 and it stays stackless.*/
+public class ResourceNotFoundException extends com.demoproject.common.exception.ResourceNotFoundException {
 
-@ResponseStatus(value = HttpStatus.NOT_FOUND)
-public class ResourceNotFoundException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
 
-    public ResourceNotFoundException(String resourceName, String fieldName, String fieldValue){
-        super(String.format("%s not found with the given input data %s : '%s'", resourceName, fieldName, fieldValue));
+    public ResourceNotFoundException(String resourceName, String fieldName, String fieldValue) {
+        super(resourceName + " not found with the given input data " + fieldName + " : '" + fieldValue + "'");
     }
 }
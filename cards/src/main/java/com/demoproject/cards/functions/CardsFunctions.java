@@ -0,0 +1,26 @@
+package com.demoproject.cards.functions;
+
+import com.demoproject.cards.service.ICardsService;
+import com.demoproject.common.dto.CustomerDeletedEventDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Consumer;
+
+/*Spring Cloud Function beans. With spring-cloud-stream on the classpath they are bound to the destinations in
+spring.cloud.stream.bindings (customerDeleted-in-0 -> customer-deleted); without it they are plain beans.*/
+@Configuration
+public class CardsFunctions {
+
+    private static final Logger logger = LoggerFactory.getLogger(CardsFunctions.class);
+
+    @Bean
+    public Consumer<CustomerDeletedEventDto> customerDeleted(ICardsService iCardsService) {
+        return event -> {
+            int deleted = iCardsService.deleteCardsOfCustomer(event.getMobileNumber(), event.getDeletedAt());
+            logger.debug("Deleted {} cards of deleted customer {}", deleted, event.getMobileNumber());
+        };
+    }
+}
@@ -0,0 +1,67 @@
+package com.demoproject.cards.json;
+
+import com.demoproject.cards.dto.CardsDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/*Hand-written serializer for CardsDto, the body of fetchCardDetails and the card listing. It writes the same
+properties in the same order as Jackson's bean serializer, nulls included, but with field names encoded once and
+without per-property lookups. A field added to CardsDto has to be added here as well.*/
+@JsonComponent
+public class CardsJsonSerializers {
+
+    public static class CardsDtoSerializer extends StdSerializer<CardsDto> {
+
+        private static final long serialVersionUID = 1L;
+
+        private static final SerializedString MOBILE_NUMBER = new SerializedString("mobileNumber");
+        private static final SerializedString CARD_NUMBER = new SerializedString("cardNumber");
+        private static final SerializedString CARD_TYPE = new SerializedString("cardType");
+        private static final SerializedString TOTAL_LIMIT = new SerializedString("totalLimit");
+        private static final SerializedString AMOUNT_USED = new SerializedString("amountUsed");
+        private static final SerializedString AVAILABLE_AMOUNT = new SerializedString("availableAmount");
+        private static final SerializedString VERSION = new SerializedString("version");
+
+        public CardsDtoSerializer() {
+            super(CardsDto.class);
+        }
+
+        @Override
+        public void serialize(CardsDto value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            write(value, gen);
+        }
+
+        private static void write(CardsDto value, JsonGenerator gen) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(MOBILE_NUMBER);
+            gen.writeString(value.getMobileNumber());
+            gen.writeFieldName(CARD_NUMBER);
+            gen.writeString(value.getCardNumber());
+            gen.writeFieldName(CARD_TYPE);
+            gen.writeString(value.getCardType());
+            gen.writeFieldName(TOTAL_LIMIT);
+            gen.writeNumber(value.getTotalLimit());
+            gen.writeFieldName(AMOUNT_USED);
+            gen.writeNumber(value.getAmountUsed());
+            gen.writeFieldName(AVAILABLE_AMOUNT);
+            gen.writeNumber(value.getAvailableAmount());
+            gen.writeFieldName(VERSION);
+            writeNumber(value.getVersion(), gen);
+            gen.writeEndObject();
+        }
+    }
+
+    // a null wrapper is written as null, like Jackson's own NumberSerializer, instead of failing on unboxing
+    private static void writeNumber(Long value, JsonGenerator gen) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.longValue());
+        }
+    }
+}
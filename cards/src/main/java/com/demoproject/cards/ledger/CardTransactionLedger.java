@@ -0,0 +1,278 @@
+package com.demoproject.cards.ledger;
+
+import com.demoproject.cards.constants.CardsConstants;
+import com.demoproject.cards.dto.CardChangedEventDto;
+import com.demoproject.cards.entity.Cards;
+import com.demoproject.cards.repository.CardTransactionRepository;
+import com.demoproject.common.cache.CacheInvalidator;
+import com.demoproject.common.event.OutboxPublisher;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*Write-behind ledger for card charges. A charge is only appended to an in-memory stripe, and a scheduled
+flush writes the buffered charges to card_transactions in JDBC batches and rolls the per-card totals into
+cards.amount_used/available_amount in the same transaction, once per card per batch instead of once per swipe.
+The rollup never overdraws a card: when a card's total does not fit, its charges are applied one by one in arrival
+order and those that do not fit are declined into card_transactions_rejected. A driver that answers the rollup batch
+with SUCCESS_NO_INFO (e.g. MySQL with rewriteBatchedStatements) does not say which cards it updated, so that
+transaction is rolled back and the ledger applies every charge on its own from then on.
+Charges accepted but not yet flushed are lost if the instance dies. A flush that fails because the database is
+unavailable keeps its batch and retries for as long as it takes (the stripes fill up and reject new charges); any
+other failure is retried max-attempts times, then the batch is written in halves down to single charges, and a
+charge that still fails is dead-lettered into card_transactions_rejected.*/
+@Component
+public class CardTransactionLedger {
+
+    private static final Logger logger = LoggerFactory.getLogger(CardTransactionLedger.class);
+
+    private static final String DECLINED = "Declined: unknown card or not enough available amount";
+
+    private final LedgerStripe[] stripes;
+    private final LedgerBatch batch;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final CardTransactionRepository cardTransactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditorAware<String> auditorAware;
+    private final OutboxPublisher outboxPublisher;
+    private final CacheInvalidator cacheInvalidator;
+    private final int maxAttempts;
+    private int nextStripe;
+    private int failedAttempts;
+    private boolean rollupCountsReported = true;
+    // batch.size as of the last fill or clear, for readers outside the flush lock
+    private volatile int batchPending;
+
+    public CardTransactionLedger(CardTransactionRepository cardTransactionRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 AuditorAware<String> auditorAware,
+                                 OutboxPublisher outboxPublisher,
+                                 CacheInvalidator cacheInvalidator,
+                                 @Value("${digibank.ledger.stripes:16}") int stripes,
+                                 @Value("${digibank.ledger.stripe-capacity:8192}") int stripeCapacity,
+                                 @Value("${digibank.ledger.batch-size:1000}") int batchSize,
+                                 @Value("${digibank.ledger.max-attempts:3}") int maxAttempts) {
+        this.cardTransactionRepository = cardTransactionRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.auditorAware = auditorAware;
+        this.outboxPublisher = outboxPublisher;
+        this.cacheInvalidator = cacheInvalidator;
+        this.stripes = new LedgerStripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new LedgerStripe(stripeCapacity);
+        }
+        this.batch = new LedgerBatch(batchSize);
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * @param cardNumber - 12 digit card number
+     * @param amount - Amount charged
+     * @return false when the stripe of the card is full and the charge was rejected
+     */
+    public boolean append(long cardNumber, int amount) {
+        return stripeFor(cardNumber).offer(cardNumber, amount, System.currentTimeMillis());
+    }
+
+    /**
+     * @return number of charges accepted but not yet written
+     */
+    public int pending() {
+        int pending = batchPending;
+        for (LedgerStripe stripe : stripes) {
+            pending += stripe.size();
+        }
+        return pending;
+    }
+
+    @Scheduled(fixedDelayString = "${digibank.ledger.flush-interval-ms:200}")
+    public void flush() {
+        if (flushLock.tryLock()) {
+            try {
+                drain();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushLock.lock();
+        try {
+            drain();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            if (batch.isEmpty()) {
+                fillBatch();
+                batchPending = batch.size;
+            }
+            if (batch.isEmpty() || !writeBatch()) {
+                return;
+            }
+            batch.clear();
+            batchPending = 0;
+        }
+    }
+
+    /**
+     * @return false when the batch has to be kept and retried on the next run
+     */
+    private boolean writeBatch() {
+        try {
+            write(0, batch.size);
+            failedAttempts = 0;
+            return true;
+        } catch (RuntimeException ex) {
+            if (isDatabaseUnavailable(ex)) {
+                logger.error("Flushing {} card transactions failed, retrying on the next run", batch.size, ex);
+                return false;
+            }
+            failedAttempts++;
+            if (failedAttempts < maxAttempts) {
+                logger.error("Flushing {} card transactions failed (attempt {} of {}), retrying on the next run",
+                        batch.size, failedAttempts, maxAttempts, ex);
+                return false;
+            }
+            logger.error("Flushing {} card transactions failed {} times, writing them in parts",
+                    batch.size, failedAttempts, ex);
+            failedAttempts = 0;
+            writeSplit(0, batch.size);
+            return true;
+        }
+    }
+
+    // halves the range until the failing charges are isolated and dead-lettered
+    private void writeSplit(int from, int to) {
+        try {
+            write(from, to);
+        } catch (RuntimeException ex) {
+            if (to - from == 1) {
+                deadLetter(from, ex);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            writeSplit(from, mid);
+            writeSplit(mid, to);
+        }
+    }
+
+    private void fillBatch() {
+        for (int i = 0; i < stripes.length && batch.remaining() > 0; i++) {
+            stripes[nextStripe].drainTo(batch);
+            nextStripe = (nextStripe + 1) % stripes.length;
+        }
+    }
+
+    // writes the charges from..to-1 of the batch in one transaction
+    private void write(int from, int to) {
+        batch.rollup(from, to);
+        String updatedBy = auditorAware.getCurrentAuditor().orElse(null);
+        LocalDateTime now = LocalDateTime.now();
+        if (rollupCountsReported && !Boolean.TRUE.equals(transactionTemplate.execute(
+                status -> applyCharges(from, to, true, now, updatedBy, status)))) {
+            logger.warn("The JDBC driver does not report update counts for batches, "
+                    + "card charges are applied one by one from now on");
+            rollupCountsReported = false;
+        }
+        if (!rollupCountsReported) {
+            transactionTemplate.execute(status -> applyCharges(from, to, false, now, updatedBy, status));
+        }
+        if (batch.declinedSize > 0) {
+            logger.warn("Declined {} card transactions for unknown cards or without enough available amount",
+                    batch.declinedSize);
+        }
+    }
+
+    /**
+     * @return false when the rollup counts were not reported and the transaction was marked for rollback
+     */
+    private boolean applyCharges(int from, int to, boolean rollup, LocalDateTime now, String updatedBy,
+                                 TransactionStatus status) {
+        int[] rolledUp = rollup
+                ? cardTransactionRepository.rollupCards(
+                        batch.rollupCardNumbers, batch.rollupAmounts, batch.rollupSize, now, updatedBy)
+                : new int[batch.rollupSize];
+        for (int i = 0; i < batch.rollupSize; i++) {
+            if (rolledUp[i] == Statement.SUCCESS_NO_INFO) {
+                // applying its charges one by one as well would charge a card the rollup did update twice
+                status.setRollbackOnly();
+                return false;
+            }
+        }
+        for (int i = from; i < to; i++) {
+            int card = batch.rollupIndexes[i];
+            // the card's total did not fit: its charges go one by one, in the order they came in
+            boolean applied = rolledUp[card] > 0 || cardTransactionRepository.chargeCard(
+                    batch.cardNumbers[i], batch.amounts[i], now, updatedBy);
+            if (applied) {
+                batch.rollupChanged[card] = true;
+                batch.accept(i);
+            } else {
+                batch.decline(i);
+            }
+        }
+        cardTransactionRepository.insertTransactions(
+                batch.cardNumbers, batch.amounts, batch.createdAt, batch.accepted, batch.acceptedSize);
+        if (batch.declinedSize > 0) {
+            cardTransactionRepository.insertRejected(batch.cardNumbers, batch.amounts, batch.createdAt,
+                    batch.declined, batch.declinedSize, now, DECLINED);
+        }
+        // one card-changed event and one cache invalidation per changed card, not per charge
+        batch.retainChanged();
+        List<CardChangedEventDto> changedCards =
+                cardTransactionRepository.findCardEvents(batch.rollupCardNumbers, batch.rollupSize);
+        outboxPublisher.appendAll(CardsConstants.CARD_CHANGED_DESTINATION, changedCards,
+                CardChangedEventDto::getMobileNumber);
+        for (CardChangedEventDto changedCard : changedCards) {
+            cacheInvalidator.invalidateAfterCommit(CardsConstants.CARDS_CACHE, changedCard.getMobileNumber());
+            // written with plain JDBC, Hibernate does not know these cached cards are stale
+            cacheInvalidator.evictEntityAfterCommit(Cards.class, changedCard.getCardId());
+        }
+        return true;
+    }
+
+    private void deadLetter(int charge, RuntimeException cause) {
+        logger.error("Dead-lettering the charge of {} on card {}", batch.amounts[charge], batch.cardNumbers[charge],
+                cause);
+        String reason = StringUtils.truncate("Failed: " + cause, 500);
+        try {
+            transactionTemplate.executeWithoutResult(status -> cardTransactionRepository.insertRejected(
+                    batch.cardNumbers, batch.amounts, batch.createdAt, new int[]{charge}, 1,
+                    LocalDateTime.now(), reason));
+        } catch (RuntimeException ex) {
+            logger.error("Could not dead-letter the charge of {} on card {} made at {}, it is lost",
+                    batch.amounts[charge], batch.cardNumbers[charge], batch.createdAt[charge], ex);
+        }
+    }
+
+    // an outage rather than a problem with the charges: retrying in parts would only dead-letter all of them
+    private static boolean isDatabaseUnavailable(RuntimeException ex) {
+        return ex instanceof TransientDataAccessException || ex instanceof DataAccessResourceFailureException
+                || ex instanceof CannotCreateTransactionException;
+    }
+
+    private LedgerStripe stripeFor(long cardNumber) {
+        return stripes[Math.floorMod(Long.hashCode(cardNumber), stripes.length)];
+    }
+}
@@ -0,0 +1,125 @@
+package com.demoproject.cards.ledger;
+
+import java.util.Arrays;
+
+/*Reusable flush buffer, only touched by the single flushing thread. Besides the raw charges it sums
+them per card (open addressing on the card number) so the cards rollup is one UPDATE per card per batch.
+Charges are addressed by index, so a range of the batch can be rolled up and written on its own.*/
+class LedgerBatch {
+
+    private static final long EMPTY = -1L;
+
+    final long[] cardNumbers;
+    final int[] amounts;
+    final long[] createdAt;
+    int size;
+
+    // per card of the rolled up range; sums are longs, a card charged often enough would overflow an int
+    final long[] rollupCardNumbers;
+    final long[] rollupAmounts;
+    final boolean[] rollupChanged;
+    int rollupSize;
+
+    // per charge: index of its card in the rollup arrays
+    final int[] rollupIndexes;
+
+    // indexes of the charges of the range that were applied and of those that were declined
+    final int[] accepted;
+    int acceptedSize;
+    final int[] declined;
+    int declinedSize;
+
+    private final long[] slotCardNumbers;
+    private final int[] slotIndexes;
+
+    LedgerBatch(int capacity) {
+        this.cardNumbers = new long[capacity];
+        this.amounts = new int[capacity];
+        this.createdAt = new long[capacity];
+        this.rollupCardNumbers = new long[capacity];
+        this.rollupAmounts = new long[capacity];
+        this.rollupChanged = new boolean[capacity];
+        this.rollupIndexes = new int[capacity];
+        this.accepted = new int[capacity];
+        this.declined = new int[capacity];
+        this.slotCardNumbers = new long[Integer.highestOneBit(capacity) << 2];
+        this.slotIndexes = new int[slotCardNumbers.length];
+    }
+
+    void add(long cardNumber, int amount, long epochMillis) {
+        cardNumbers[size] = cardNumber;
+        amounts[size] = amount;
+        createdAt[size] = epochMillis;
+        size++;
+    }
+
+    int remaining() {
+        return cardNumbers.length - size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+        rollupSize = 0;
+        acceptedSize = 0;
+        declinedSize = 0;
+    }
+
+    /**
+     * Sums the amounts of the charges from..to-1 per card into rollupCardNumbers/rollupAmounts and resets the
+     * accepted and declined charges
+     * @param from - First charge of the range
+     * @param to - End of the range, exclusive
+     */
+    void rollup(int from, int to) {
+        Arrays.fill(slotCardNumbers, EMPTY);
+        int mask = slotCardNumbers.length - 1;
+        rollupSize = 0;
+        acceptedSize = 0;
+        declinedSize = 0;
+        for (int i = from; i < to; i++) {
+            long cardNumber = cardNumbers[i];
+            int slot = Long.hashCode(cardNumber * 0x9E3779B97F4A7C15L) & mask;
+            while (slotCardNumbers[slot] != EMPTY && slotCardNumbers[slot] != cardNumber) {
+                slot = (slot + 1) & mask;
+            }
+            if (slotCardNumbers[slot] == EMPTY) {
+                slotCardNumbers[slot] = cardNumber;
+                slotIndexes[slot] = rollupSize;
+                rollupCardNumbers[rollupSize] = cardNumber;
+                rollupAmounts[rollupSize] = 0;
+                rollupChanged[rollupSize] = false;
+                rollupSize++;
+            }
+            rollupIndexes[i] = slotIndexes[slot];
+            rollupAmounts[slotIndexes[slot]] += amounts[i];
+        }
+    }
+
+    void accept(int charge) {
+        accepted[acceptedSize++] = charge;
+    }
+
+    void decline(int charge) {
+        declined[declinedSize++] = charge;
+    }
+
+    /**
+     * Drops the cards without an applied charge (rollupChanged false) from the rollup
+     */
+    void retainChanged() {
+        int retained = 0;
+        for (int i = 0; i < rollupSize; i++) {
+            if (rollupChanged[i]) {
+                rollupCardNumbers[retained] = rollupCardNumbers[i];
+                rollupAmounts[retained] = rollupAmounts[i];
+                rollupChanged[retained] = true;
+                retained++;
+            }
+        }
+        rollupSize = retained;
+    }
+}
@@ -0,0 +1,69 @@
+package com.demoproject.cards.ledger;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/*Fixed size ring buffer of pending charges kept in parallel primitive arrays, so appending a charge
+allocates nothing. Cards hash to a stripe, which keeps the charges of one card in arrival order
+while charges of different cards contend on different locks.*/
+class LedgerStripe {
+
+    private final long[] cardNumbers;
+    private final int[] amounts;
+    private final long[] createdAt;
+    private final ReentrantLock lock = new ReentrantLock();
+    private int head;
+    private int size;
+
+    LedgerStripe(int capacity) {
+        this.cardNumbers = new long[capacity];
+        this.amounts = new int[capacity];
+        this.createdAt = new long[capacity];
+    }
+
+    /**
+     * @return false when the stripe is full and the charge was not buffered
+     */
+    boolean offer(long cardNumber, int amount, long epochMillis) {
+        lock.lock();
+        try {
+            if (size == cardNumbers.length) {
+                return false;
+            }
+            int tail = (head + size) % cardNumbers.length;
+            cardNumbers[tail] = cardNumber;
+            amounts[tail] = amount;
+            createdAt[tail] = epochMillis;
+            size++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of charges moved into the batch
+     */
+    int drainTo(LedgerBatch batch) {
+        lock.lock();
+        try {
+            int drained = Math.min(size, batch.remaining());
+            for (int i = 0; i < drained; i++) {
+                batch.add(cardNumbers[head], amounts[head], createdAt[head]);
+                head = (head + 1) % cardNumbers.length;
+            }
+            size -= drained;
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
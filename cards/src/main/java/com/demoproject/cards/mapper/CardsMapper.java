@@ -1,10 +1,19 @@
 package com.demoproject.cards.mapper;
 
+import com.demoproject.cards.dto.CardChangedEventDto;
 import com.demoproject.cards.dto.CardsDto;
 import com.demoproject.cards.entity.Cards;
 
 public class CardsMapper {
 
+    public static final String[] EXPORT_CSV_HEADER =
+            {"mobileNumber", "cardNumber", "cardType", "totalLimit", "amountUsed", "availableAmount"};
+
+    public static Object[] mapToCsvColumns(CardsDto cardsDto) {
+        return new Object[]{cardsDto.getMobileNumber(), cardsDto.getCardNumber(), cardsDto.getCardType(),
+                cardsDto.getTotalLimit(), cardsDto.getAmountUsed(), cardsDto.getAvailableAmount()};
+    }
+
     public static CardsDto mapToCardsDto(Cards cards, CardsDto cardsDto) {
         cardsDto.setCardNumber(cards.getCardNumber());
         cardsDto.setCardType(cards.getCardType());
@@ -12,6 +21,7 @@ public class CardsMapper {
         cardsDto.setTotalLimit(cards.getTotalLimit());
         cardsDto.setAvailableAmount(cards.getAvailableAmount());
         cardsDto.setAmountUsed(cards.getAmountUsed());
+        cardsDto.setVersion(cards.getVersion());
         return cardsDto;
     }
 
@@ -24,4 +34,16 @@ public class CardsMapper {
         cards.setAmountUsed(cardsDto.getAmountUsed());
         return cards;
     }
+
+    /**
+     * @param cards - Card as of the end of the change, version already incremented by the flush
+     * @param deleted - true when the card is being deleted
+     */
+    public static CardChangedEventDto mapToCardChangedEventDto(Cards cards, boolean deleted) {
+        // a delete does not flush a new version, so the tombstone takes the next one
+        long version = deleted ? cards.getVersion() + 1 : cards.getVersion();
+        return new CardChangedEventDto(cards.getCardId(), version, deleted, cards.getMobileNumber(),
+                cards.getCardNumber(), cards.getCardType(), cards.getTotalLimit(), cards.getAmountUsed(),
+                cards.getAvailableAmount());
+    }
 }
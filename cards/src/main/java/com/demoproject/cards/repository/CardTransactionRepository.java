@@ -0,0 +1,143 @@
+package com.demoproject.cards.repository;
+
+import com.demoproject.cards.dto.CardChangedEventDto;
+import com.demoproject.cards.entity.CardNumberConverter;
+import com.demoproject.common.entity.MobileNumberConverter;
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/*Plain JDBC on purpose: the ledger writes thousands of rows per second, so the rows go out as JDBC batches
+without creating managed entities. Input is the primitive columns of the ledger buffers; card numbers are BIGINT
+columns, so they are bound as the longs the ledger already holds.*/
+@Repository
+@AllArgsConstructor
+public class CardTransactionRepository {
+
+    // Charges for unknown card numbers select no row and are therefore not inserted
+    private static final String INSERT_TRANSACTION =
+            "insert into card_transactions (card_id, card_number, amount, created_at) " +
+            "select card_id, card_number, ?, ? from cards where card_number = ?";
+
+    // Never overdraws: a card without enough available amount, like an unknown one, matches no row
+    private static final String ROLLUP_CARD =
+            "update cards set amount_used = amount_used + ?, available_amount = available_amount - ?, " +
+            "version = version + 1, updated_at = ?, updated_by = ? where card_number = ? and available_amount >= ?";
+
+    private static final String INSERT_REJECTED =
+            "insert into card_transactions_rejected (card_number, amount, created_at, rejected_at, reason) " +
+            "values (?, ?, ?, ?, ?)";
+
+    private static final String SELECT_CARDS =
+            "select card_id, version, mobile_number, card_number, card_type, total_limit, amount_used, available_amount " +
+            "from cards where card_number in (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param charges - Indexes into cardNumbers, amounts and createdAt of the charges to insert
+     * @param count - Number of charges
+     * @return number of rows inserted per charge, 0 when the card number does not exist
+     */
+    public int[] insertTransactions(long[] cardNumbers, int[] amounts, long[] createdAt, int[] charges, int count) {
+        return jdbcTemplate.batchUpdate(INSERT_TRANSACTION, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                int charge = charges[i];
+                ps.setInt(1, amounts[charge]);
+                ps.setTimestamp(2, new Timestamp(createdAt[charge]));
+                ps.setLong(3, cardNumbers[charge]);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return count;
+            }
+        });
+    }
+
+    /**
+     * @param amounts - Summed charges per card
+     * @return rows updated per card, 0 when the card does not exist or its available amount does not cover the sum
+     */
+    public int[] rollupCards(long[] cardNumbers, long[] amounts, int size, LocalDateTime updatedAt, String updatedBy) {
+        Timestamp updatedAtTimestamp = Timestamp.valueOf(updatedAt);
+        return jdbcTemplate.batchUpdate(ROLLUP_CARD, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, amounts[i]);
+                ps.setLong(2, amounts[i]);
+                ps.setTimestamp(3, updatedAtTimestamp);
+                ps.setString(4, updatedBy);
+                ps.setLong(5, cardNumbers[i]);
+                ps.setLong(6, amounts[i]);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return size;
+            }
+        });
+    }
+
+    /**
+     * @return false when the card does not exist or its available amount does not cover the charge
+     */
+    public boolean chargeCard(long cardNumber, int amount, LocalDateTime updatedAt, String updatedBy) {
+        return jdbcTemplate.update(ROLLUP_CARD, amount, amount, Timestamp.valueOf(updatedAt), updatedBy,
+                cardNumber, amount) > 0;
+    }
+
+    /**
+     * @param charges - Indexes into cardNumbers, amounts and createdAt of the rejected charges
+     * @param count - Number of charges
+     * @param reason - Why the charges were not applied
+     */
+    public void insertRejected(long[] cardNumbers, int[] amounts, long[] createdAt, int[] charges, int count,
+                               LocalDateTime rejectedAt, String reason) {
+        Timestamp rejectedAtTimestamp = Timestamp.valueOf(rejectedAt);
+        jdbcTemplate.batchUpdate(INSERT_REJECTED, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                int charge = charges[i];
+                ps.setLong(1, cardNumbers[charge]);
+                ps.setInt(2, amounts[charge]);
+                ps.setTimestamp(3, new Timestamp(createdAt[charge]));
+                ps.setTimestamp(4, rejectedAtTimestamp);
+                ps.setString(5, reason);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return count;
+            }
+        });
+    }
+
+    /**
+     * @return the rolled up cards as card-changed events, read inside the rollup transaction so they carry the
+     * balances and versions the rollup just wrote
+     */
+    public List<CardChangedEventDto> findCardEvents(long[] cardNumbers, int size) {
+        if (size == 0) {
+            return List.of();
+        }
+        Object[] args = new Object[size];
+        for (int i = 0; i < size; i++) {
+            args[i] = cardNumbers[i];
+        }
+        String placeholders = String.join(", ", Collections.nCopies(size, "?"));
+        return jdbcTemplate.query(String.format(SELECT_CARDS, placeholders), (rs, rowNum) -> new CardChangedEventDto(
+                rs.getLong(1), rs.getLong(2), MobileNumberConverter.format(rs.getLong(3)),
+                CardNumberConverter.format(rs.getLong(4)), rs.getString(5),
+                rs.getInt(6), rs.getInt(7), rs.getInt(8)), args);
+    }
+}
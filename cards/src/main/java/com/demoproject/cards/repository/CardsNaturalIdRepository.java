@@ -0,0 +1,10 @@
+package com.demoproject.cards.repository;
+
+import com.demoproject.cards.entity.Cards;
+
+import java.util.Optional;
+
+public interface CardsNaturalIdRepository {
+
+    Optional<Cards> findByCardNumber(String cardNumber);
+}
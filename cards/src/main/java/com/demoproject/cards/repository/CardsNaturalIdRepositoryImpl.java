@@ -0,0 +1,23 @@
+package com.demoproject.cards.repository;
+
+import com.demoproject.cards.entity.Cards;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/*A derived findByCardNumber is a query on every call. Loading by natural id goes card number -> id through the
+natural-id cache and id -> card through the entity cache, so a cached card costs no round trip at all.*/
+@Transactional(readOnly = true)
+public class CardsNaturalIdRepositoryImpl implements CardsNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Cards> findByCardNumber(String cardNumber) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(Cards.class).loadOptional(cardNumber);
+    }
+}
@@ -1,16 +1,57 @@
 package com.demoproject.cards.repository;
 
+import com.demoproject.cards.dto.CardChangedEventDto;
+import com.demoproject.cards.dto.CardsDto;
 import com.demoproject.cards.entity.Cards;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 
+import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface CardsRepository extends JpaRepository<Cards, Long> {
+public interface CardsRepository extends JpaRepository<Cards, Long>, JpaSpecificationExecutor<Cards>,
+        CardsNaturalIdRepository {
 
+    // query cache holds the id, the card itself comes from the entity cache
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Cards> findByMobileNumber(String mobileNumber);
 
-    Optional<Cards> findByCardNumber(String cardNumber);
+    // Idempotent: redelivered events find nothing left to delete, rows created after deletedAt are kept
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Cards c where c.mobileNumber = :mobileNumber and c.createdAt <= :deletedAt")
+    int deleteByMobileNumberCreatedUpTo(@Param("mobileNumber") String mobileNumber,
+                                        @Param("deletedAt") LocalDateTime deletedAt);
+
+    /*Cursor behind /api/export. Rows come back as CardsDto, not entities, so nothing piles up in the
+    persistence context; consume it inside a transaction and close it*/
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.demoproject.cards.dto.CardsDto(c.mobileNumber, c.cardNumber, c.cardType, " +
+            "c.totalLimit, c.amountUsed, c.availableAmount) " +
+            "from Cards c order by c.cardId")
+    Stream<CardsDto> streamAllForExport();
+
+    // Cursor behind /api/snapshot, same shape as the card-changed events so accounts applies both the same way
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.demoproject.cards.dto.CardChangedEventDto(c.cardId, c.version, c.mobileNumber, " +
+            "c.cardNumber, c.cardType, c.totalLimit, c.amountUsed, c.availableAmount) " +
+            "from Cards c order by c.cardId")
+    Stream<CardChangedEventDto> streamAllForSnapshot();
 }
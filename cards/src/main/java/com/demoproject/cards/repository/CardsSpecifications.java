@@ -0,0 +1,39 @@
+package com.demoproject.cards.repository;
+
+import com.demoproject.cards.dto.CardsFilterDto;
+import com.demoproject.cards.entity.Cards;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class CardsSpecifications {
+
+    private CardsSpecifications() {
+        // restrict instantiation
+    }
+
+    /**
+     * @param filter - Filters of a list request, null filters are left out of the where clause
+     * @return the conjunction of the given filters
+     */
+    public static Specification<Cards> matching(CardsFilterDto filter) {
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getCardType() != null) {
+                predicates.add(criteriaBuilder.equal(root.get("cardType"), filter.getCardType()));
+            }
+            if (filter.getCreatedFrom() != null) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.<LocalDateTime>get("createdAt"),
+                        filter.getCreatedFrom().atStartOfDay()));
+            }
+            if (filter.getCreatedTo() != null) {
+                predicates.add(criteriaBuilder.lessThan(root.<LocalDateTime>get("createdAt"),
+                        filter.getCreatedTo().plusDays(1).atStartOfDay()));
+            }
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
@@ -0,0 +1,13 @@
+package com.demoproject.cards.service;
+
+import com.demoproject.cards.dto.CardTransactionDto;
+
+public interface ICardTransactionService {
+
+    /**
+     *
+     * @param cardTransactionDto - CardTransactionDto Object
+     * @return boolean indicating if the charge was accepted into the ledger or rejected because it is full
+     */
+    boolean recordTransaction(CardTransactionDto cardTransactionDto);
+}
@@ -1,6 +1,13 @@
 package com.demoproject.cards.service;
 
 import com.demoproject.cards.dto.CardsDto;
+import com.demoproject.cards.dto.CardsFilterDto;
+import com.demoproject.common.dto.KeysetPageDto;
+import com.demoproject.common.export.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 
 public interface ICardsService {
     /**
@@ -29,4 +36,42 @@ public interface ICardsService {
      * @return boolean indicating if the delete of card details is successful or not
      */
     boolean deleteCard(String mobileNumber);
+
+    /**
+     *
+     * @param cardNumber - Input Card Number
+     * @param amount - Amount to be charged
+     * @return boolean indicating if the charge was applied, false when it exceeds the available amount
+     */
+    boolean chargeCard(String cardNumber, int amount);
+
+    /**
+     *
+     * @param mobileNumber - Mobile Number of the deleted Customer
+     * @param deletedAt - When the customer was deleted
+     * @return number of cards deleted, 0 when the event was already applied
+     */
+    int deleteCardsOfCustomer(String mobileNumber, LocalDateTime deletedAt);
+
+    /**
+     *
+     * @param filter - Filters, cursor and page size
+     * @return one page of cards in ascending id order and the cursor of the next page
+     */
+    KeysetPageDto<CardsDto> listCards(CardsFilterDto filter);
+
+    /**
+     *
+     * @param exportFormat - NDJSON or CSV
+     * @param outputStream - Stream the rows are written to, left open
+     * Streams all cards, one row at a time
+     */
+    void exportCards(ExportFormat exportFormat, OutputStream outputStream) throws IOException;
+
+    /**
+     *
+     * @param outputStream - Stream the cards are written to as NDJSON card-changed events, left open
+     * Snapshot of all cards in the shape of the card-changed events, used to rebuild consumer projections
+     */
+    void snapshotCards(OutputStream outputStream) throws IOException;
 }
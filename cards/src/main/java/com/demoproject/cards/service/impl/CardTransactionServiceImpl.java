@@ -0,0 +1,24 @@
+package com.demoproject.cards.service.impl;
+
+import com.demoproject.cards.dto.CardTransactionDto;
+import com.demoproject.cards.ledger.CardTransactionLedger;
+import com.demoproject.cards.service.ICardTransactionService;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@AllArgsConstructor
+public class CardTransactionServiceImpl implements ICardTransactionService {
+
+    private CardTransactionLedger cardTransactionLedger;
+
+    /**
+     * @param cardTransactionDto - CardTransactionDto Object
+     * @return boolean indicating if the charge was accepted into the ledger or rejected because it is full
+     */
+    @Override
+    public boolean recordTransaction(CardTransactionDto cardTransactionDto) {
+        return cardTransactionLedger.append(Long.parseLong(cardTransactionDto.getCardNumber()),
+                cardTransactionDto.getAmount());
+    }
+}
@@ -1,35 +1,85 @@
 package com.demoproject.cards.service.impl;
 
 import com.demoproject.cards.constants.CardsConstants;
+import com.demoproject.cards.dto.CardChangedEventDto;
 import com.demoproject.cards.dto.CardsDto;
+import com.demoproject.cards.dto.CardsFilterDto;
 import com.demoproject.cards.entity.Cards;
 import com.demoproject.cards.exception.CardAlreadyExistsException;
 import com.demoproject.cards.exception.ResourceNotFoundException;
 import com.demoproject.cards.mapper.CardsMapper;
 import com.demoproject.cards.repository.CardsRepository;
+import com.demoproject.cards.repository.CardsSpecifications;
 import com.demoproject.cards.service.ICardsService;
+import com.demoproject.common.audit.AuditAction;
+import com.demoproject.common.audit.AuditLog;
+import com.demoproject.common.cache.CacheInvalidator;
+import com.demoproject.common.datasource.ReplicationLagGuard;
+import com.demoproject.common.dto.KeysetPageDto;
+import com.demoproject.common.event.OutboxPublisher;
+import com.demoproject.common.export.ExportFormat;
+import com.demoproject.common.export.ExportWriter;
+import com.demoproject.common.index.MobileNumberIndex;
+import com.demoproject.common.web.EntityTag;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor
 public class CardsServiceImpl implements ICardsService {
 
     private CardsRepository cardsRepository;
+    private ReplicationLagGuard replicationLagGuard;
+    private ObjectMapper objectMapper;
+    private OutboxPublisher outboxPublisher;
+    private CacheInvalidator cacheInvalidator;
+    private MobileNumberIndex mobileNumberIndex;
+    private AuditLog auditLog;
 
     /**
      * @param mobileNumber - Mobile Number of the Customer
      */
     @Override
+    @Transactional
     public void createCard(String mobileNumber) {
-        Optional<Cards> optionalCards= cardsRepository.findByMobileNumber(mobileNumber);
-        if(optionalCards.isPresent()){
+        // most numbers asking for a card have none, the index answers those without a query
+        if (mobileNumberIndex.mightExist(mobileNumber)) {
+            Optional<Cards> optionalCards= cardsRepository.findByMobileNumber(mobileNumber);
+            if(optionalCards.isPresent()){
+                throw new CardAlreadyExistsException("Card already registered with given mobileNumber "+mobileNumber);
+            }
+        }
+        Cards savedCard;
+        try {
+            savedCard = cardsRepository.saveAndFlush(createNewCard(mobileNumber));
+        } catch (DataIntegrityViolationException ex) {
+            // registered on another replica that this one's index has not heard of yet
             throw new CardAlreadyExistsException("Card already registered with given mobileNumber "+mobileNumber);
         }
-        cardsRepository.save(createNewCard(mobileNumber));
+        mobileNumberIndex.add(mobileNumber);
+        publishCardChanged(savedCard, false);
+        // other replicas may hold a cached empty findByMobileNumber result for this number
+        cacheInvalidator.evictQueriesAfterCommit();
+        replicationLagGuard.recordWrite(mobileNumber);
     }
 
     /**
@@ -53,11 +103,16 @@ public class CardsServiceImpl implements ICardsService {
      * @return Card Details based on a given mobileNumber
      */
     @Override
+    @Cacheable(cacheNames = CardsConstants.CARDS_CACHE, key = "#mobileNumber")
+    @Transactional(readOnly = true)
     public CardsDto fetchCard(String mobileNumber) {
+        replicationLagGuard.pinToPrimaryIfRecentlyWritten(mobileNumber);
         Cards cards = cardsRepository.findByMobileNumber(mobileNumber).orElseThrow(
                 () -> new ResourceNotFoundException("Card", "mobileNumber", mobileNumber)
         );
-        return CardsMapper.mapToCardsDto(cards, new CardsDto());
+        CardsDto cardsDto = CardsMapper.mapToCardsDto(cards, new CardsDto());
+        cardsDto.setEntityTag(EntityTag.of(cards));
+        return cardsDto;
     }
 
     /**
@@ -65,11 +120,45 @@ public class CardsServiceImpl implements ICardsService {
      * @return boolean indicating if the update of card details is successful or not
      */
     @Override
+    @Transactional
     public boolean updateCard(CardsDto cardsDto) {
         Cards cards = cardsRepository.findByCardNumber(cardsDto.getCardNumber()).orElseThrow(
                 () -> new ResourceNotFoundException("Card", "CardNumber", cardsDto.getCardNumber()));
+        /*Hibernate checks the version it loaded, not the one of the client: a client that read the card before
+        a concurrent change would otherwise overwrite it. Without a version the update stays unconditional.*/
+        if (cardsDto.getVersion() != null && !cardsDto.getVersion().equals(cards.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Cards.class, cards.getCardId());
+        }
+        String previousMobileNumber = cards.getMobileNumber();
+        boolean mobileNumberChanged = !previousMobileNumber.equals(cardsDto.getMobileNumber());
+        // a mobile number holds at most one card, the same check as on create
+        if (mobileNumberChanged && mobileNumberIndex.mightExist(cardsDto.getMobileNumber())
+                && cardsRepository.findByMobileNumber(cardsDto.getMobileNumber()).isPresent()) {
+            throw new CardAlreadyExistsException("Card already registered with given mobileNumber "
+                    + cardsDto.getMobileNumber());
+        }
+        // the update may move the card to another mobile number, both cached entries are stale
+        cacheInvalidator.invalidateAfterCommit(CardsConstants.CARDS_CACHE, cards.getMobileNumber());
+        cacheInvalidator.invalidateAfterCommit(CardsConstants.CARDS_CACHE, cardsDto.getMobileNumber());
         CardsMapper.mapToCards(cardsDto, cards);
-        cardsRepository.save(cards);
+        // flushed here so that the event carries the version the update produces
+        Cards savedCard;
+        try {
+            savedCard = cardsRepository.saveAndFlush(cards);
+        } catch (DataIntegrityViolationException ex) {
+            // the number got a card on another replica that this one's index has not heard of yet
+            throw new CardAlreadyExistsException("Card already registered with given mobileNumber "
+                    + cardsDto.getMobileNumber());
+        }
+        if (mobileNumberChanged) {
+            mobileNumberIndex.add(cardsDto.getMobileNumber());
+            // the card left the previous number, whose customer details would otherwise keep showing it
+            publishCardRemoved(savedCard, previousMobileNumber);
+        }
+        publishCardChanged(savedCard, false);
+        cacheInvalidator.evictEntityAfterCommit(Cards.class, savedCard.getCardId());
+        cacheInvalidator.evictQueriesAfterCommit();
+        replicationLagGuard.recordWrite(cardsDto.getMobileNumber());
         return true;
     }
 
@@ -78,11 +167,144 @@ public class CardsServiceImpl implements ICardsService {
      * @return boolean indicating if the delete of card details is successful or not
      */
     @Override
+    @Transactional
     public boolean deleteCard(String mobileNumber) {
         Cards cards = cardsRepository.findByMobileNumber(mobileNumber).orElseThrow(
                 () -> new ResourceNotFoundException("Card", "mobileNumber", mobileNumber)
         );
         cardsRepository.deleteById(cards.getCardId());
+        publishCardChanged(cards, true);
+        cacheInvalidator.invalidateAfterCommit(CardsConstants.CARDS_CACHE, mobileNumber);
+        cacheInvalidator.evictEntityAfterCommit(Cards.class, cards.getCardId());
+        cacheInvalidator.evictNaturalIdsAfterCommit(Cards.class);
+        cacheInvalidator.evictQueriesAfterCommit();
+        replicationLagGuard.recordWrite(mobileNumber);
         return true;
     }
+
+    /**
+     * @param mobileNumber - Mobile Number of the deleted Customer
+     * @param deletedAt - When the customer was deleted
+     * @return number of cards deleted, 0 when the event was already applied
+     */
+    @Override
+    @Transactional
+    public int deleteCardsOfCustomer(String mobileNumber, LocalDateTime deletedAt) {
+        // the bulk delete raises no Hibernate events, the card is read first so that the audit log gets its state
+        Optional<Cards> optionalCards = cardsRepository.findByMobileNumber(mobileNumber);
+        // no card-changed event: accounts drops the customer's customer_details_view row when it deletes the customer
+        int deleted = cardsRepository.deleteByMobileNumberCreatedUpTo(mobileNumber, deletedAt);
+        if (deleted > 0) {
+            optionalCards.ifPresent(cards -> auditLog.recordAfterCommit(Cards.class.getSimpleName(),
+                    cards.getCardId(), AuditAction.DELETE, auditState(cards), null));
+            cacheInvalidator.invalidateAfterCommit(CardsConstants.CARDS_CACHE, mobileNumber);
+            cacheInvalidator.evictEntityRegionAfterCommit(Cards.class);
+            cacheInvalidator.evictNaturalIdsAfterCommit(Cards.class);
+            cacheInvalidator.evictQueriesAfterCommit();
+            replicationLagGuard.recordWrite(mobileNumber);
+        }
+        return deleted;
+    }
+
+    /**
+     * @param filter - Filters, cursor and page size
+     * @return one page of cards in ascending id order and the cursor of the next page
+     */
+    /*Keyset scrolling: Spring Data turns the position into "card_id > :after order by card_id limit size + 1",
+    so the thousandth page costs the same as the first; there is no OFFSET and no count query*/
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPageDto<CardsDto> listCards(CardsFilterDto filter) {
+        ScrollPosition position = filter.getAfter() == null
+                ? ScrollPosition.keyset()
+                : ScrollPosition.forward(Map.of("cardId", filter.getAfter()));
+        Window<Cards> window = cardsRepository.findBy(CardsSpecifications.matching(filter),
+                query -> query.sortBy(Sort.by("cardId")).limit(filter.getSize()).scroll(position));
+        List<CardsDto> items = window.stream().map(cards -> CardsMapper.mapToCardsDto(cards, new CardsDto())).toList();
+        Long nextCursor = window.hasNext() ? window.getContent().get(window.size() - 1).getCardId() : null;
+        return new KeysetPageDto<>(items, nextCursor);
+    }
+
+    /**
+     * @param exportFormat - NDJSON or CSV
+     * @param outputStream - Stream the rows are written to, left open
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportCards(ExportFormat exportFormat, OutputStream outputStream) throws IOException {
+        try (Stream<CardsDto> rows = cardsRepository.streamAllForExport();
+             ExportWriter<CardsDto> writer = ExportWriter.open(exportFormat, outputStream,
+                     objectMapper.writerFor(CardsDto.class), CardsMapper.EXPORT_CSV_HEADER, CardsMapper::mapToCsvColumns)) {
+            Iterator<CardsDto> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+            }
+        }
+    }
+
+    /**
+     * @param cardNumber - Input Card Number
+     * @param amount - Amount to be charged
+     * @return boolean indicating if the charge was applied, false when it exceeds the available amount
+     */
+    @Override
+    @Transactional
+    public boolean chargeCard(String cardNumber, int amount) {
+        Cards cards = cardsRepository.findByCardNumber(cardNumber).orElseThrow(
+                () -> new ResourceNotFoundException("Card", "CardNumber", cardNumber));
+        if (cards.getAvailableAmount() < amount) {
+            return false;
+        }
+        /*A versioned update of this one card instead of a bulk UPDATE: Hibernate empties the whole cards and
+        cards-natural-id regions on every bulk statement, this only replaces the charged card's entry. A charge
+        racing another write of the card fails its version check and is answered with a 409.*/
+        cards.setAmountUsed(cards.getAmountUsed() + amount);
+        cards.setAvailableAmount(cards.getAvailableAmount() - amount);
+        // flushed here so that the event carries the version the charge produces
+        Cards savedCard = cardsRepository.saveAndFlush(cards);
+        publishCardChanged(savedCard, false);
+        cacheInvalidator.invalidateAfterCommit(CardsConstants.CARDS_CACHE, savedCard.getMobileNumber());
+        cacheInvalidator.evictEntityAfterCommit(Cards.class, savedCard.getCardId());
+        return true;
+    }
+
+    /**
+     * @param outputStream - Stream the cards are written to as NDJSON card-changed events, left open
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void snapshotCards(OutputStream outputStream) throws IOException {
+        try (Stream<CardChangedEventDto> rows = cardsRepository.streamAllForSnapshot();
+             ExportWriter<CardChangedEventDto> writer = ExportWriter.open(ExportFormat.NDJSON, outputStream,
+                     objectMapper.writerFor(CardChangedEventDto.class), null, null)) {
+            Iterator<CardChangedEventDto> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+            }
+        }
+    }
+
+    private static Map<String, Object> auditState(Cards cards) {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("mobileNumber", cards.getMobileNumber());
+        state.put("cardNumber", cards.getCardNumber());
+        state.put("cardType", cards.getCardType());
+        state.put("totalLimit", cards.getTotalLimit());
+        state.put("amountUsed", cards.getAmountUsed());
+        state.put("availableAmount", cards.getAvailableAmount());
+        state.put("version", cards.getVersion());
+        return state;
+    }
+
+    private void publishCardChanged(Cards cards, boolean deleted) {
+        outboxPublisher.append(CardsConstants.CARD_CHANGED_DESTINATION, cards.getMobileNumber(),
+                CardsMapper.mapToCardChangedEventDto(cards, deleted));
+    }
+
+    // a tombstone of the card keyed by a mobile number it no longer belongs to, same id and version as its move
+    private void publishCardRemoved(Cards cards, String mobileNumber) {
+        CardChangedEventDto removed = CardsMapper.mapToCardChangedEventDto(cards, true);
+        removed.setMobileNumber(mobileNumber);
+        outboxPublisher.append(CardsConstants.CARD_CHANGED_DESTINATION, mobileNumber, removed);
+    }
 }
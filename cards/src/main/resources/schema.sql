@@ -1,14 +1,94 @@
+CREATE SEQUENCE IF NOT EXISTS `cards_seq` START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS `cards` (
-    `card_id` int NOT NULL AUTO_INCREMENT,
-    `mobile_number` varchar(15) NOT NULL,
-    `card_number` varchar(100) NOT NULL,
+    `card_id` int NOT NULL,
+    `mobile_number` bigint NOT NULL,
+    `card_number` bigint NOT NULL,
     `card_type` varchar(100) NOT NULL,
     `total_limit` int NOT NULL,
     `amount_used` int NOT NULL,
     `available_amount` int NOT NULL,
-    `created_at` date NOT NULL,
+    `created_at` timestamp NOT NULL,
     `created_by` varchar(20) NOT NULL,
-    `updated_at` date DEFAULT NULL,
+    `updated_at` timestamp DEFAULT NULL,
     `updated_by` varchar(20) DEFAULT NULL,
+    `version` bigint NOT NULL DEFAULT 0,
     PRIMARY KEY (`card_id`)
-    );
\ No newline at end of file
+    );
+
+-- Moves the sequence past the ids already in the table (numbered by AUTO_INCREMENT before the sequence), plus
+-- one allocation of 50 so Hibernate's pooled optimizer starts above them; never back below a block handed out
+ALTER SEQUENCE `cards_seq` RESTART WITH GREATEST(
+    (SELECT COALESCE(MAX(`card_id`), 0) + 50 FROM `cards`), NEXT VALUE FOR `cards_seq`);
+
+-- created_at/updated_at were DATE columns that dropped the time of day; a no-op once they are TIMESTAMP
+ALTER TABLE `cards` ALTER COLUMN `created_at` SET DATA TYPE timestamp;
+ALTER TABLE `cards` ALTER COLUMN `updated_at` SET DATA TYPE timestamp;
+
+-- Mobile and card numbers are stored as BIGINT (see DigitsConverter). Brings tables created with the earlier
+-- varchar columns over; a no-op on a table that already has them as BIGINT
+ALTER TABLE `cards` ALTER COLUMN `mobile_number` SET DATA TYPE bigint;
+ALTER TABLE `cards` ALTER COLUMN `card_number` SET DATA TYPE bigint;
+
+-- card_number is the natural id, looked up on every charge and update that misses the natural-id cache
+CREATE UNIQUE INDEX IF NOT EXISTS `ux_cards_card_number` ON `cards` (`card_number`);
+-- one card per mobile number; also what stops a create on a replica whose mobile number index is behind
+CREATE UNIQUE INDEX IF NOT EXISTS `ux_cards_mobile_number` ON `cards` (`mobile_number`);
+
+-- Keyset list filters. With an equality filter the trailing card_id gives the page order straight from the index,
+-- range filters use it to narrow the scan
+CREATE INDEX IF NOT EXISTS `idx_cards_card_type` ON `cards` (`card_type`, `card_id`);
+CREATE INDEX IF NOT EXISTS `idx_cards_created_at` ON `cards` (`created_at`, `card_id`);
+
+CREATE TABLE IF NOT EXISTS `card_transactions` (
+    `transaction_id` bigint NOT NULL AUTO_INCREMENT,
+    `card_id` int NOT NULL,
+    `card_number` bigint NOT NULL,
+    `amount` int NOT NULL,
+    `created_at` timestamp NOT NULL,
+    PRIMARY KEY (`transaction_id`)
+    );
+
+ALTER TABLE `card_transactions` ALTER COLUMN `card_number` SET DATA TYPE bigint;
+
+CREATE INDEX IF NOT EXISTS `idx_card_transactions_card_id` ON `card_transactions` (`card_id`, `created_at`);
+
+-- Ledger charges that were not applied: declined (unknown card, not enough available amount) or dead-lettered
+-- after the flush kept failing on them (see CardTransactionLedger)
+CREATE TABLE IF NOT EXISTS `card_transactions_rejected` (
+    `rejected_id` bigint NOT NULL AUTO_INCREMENT,
+    `card_number` bigint NOT NULL,
+    `amount` int NOT NULL,
+    `created_at` timestamp NOT NULL,
+    `rejected_at` timestamp NOT NULL,
+    `reason` varchar(500) NOT NULL,
+    PRIMARY KEY (`rejected_id`)
+    );
+
+CREATE TABLE IF NOT EXISTS `outbox_event` (
+    `event_id` bigint NOT NULL AUTO_INCREMENT,
+    `destination` varchar(100) NOT NULL,
+    `event_key` varchar(100) NOT NULL,
+    `payload` varchar(2000) NOT NULL,
+    `created_at` timestamp NOT NULL,
+    `published_at` timestamp DEFAULT NULL,
+    PRIMARY KEY (`event_id`)
+    );
+
+CREATE INDEX IF NOT EXISTS `idx_outbox_event_published_at` ON `outbox_event` (`published_at`, `event_id`);
+
+-- Append-only audit trail (see AuditLog). Rows are only ever inserted; reads are per entity, newest first
+CREATE TABLE IF NOT EXISTS `audit_log` (
+    `audit_id` bigint NOT NULL AUTO_INCREMENT,
+    `entity_type` varchar(50) NOT NULL,
+    `entity_id` varchar(50) NOT NULL,
+    `action` varchar(10) NOT NULL,
+    `actor` varchar(20) DEFAULT NULL,
+    `correlation_id` varchar(100) DEFAULT NULL,
+    `occurred_at` timestamp NOT NULL,
+    `before_state` varchar(4000) DEFAULT NULL,
+    `after_state` varchar(4000) DEFAULT NULL,
+    PRIMARY KEY (`audit_id`)
+    );
+
+CREATE INDEX IF NOT EXISTS `idx_audit_log_entity` ON `audit_log` (`entity_type`, `entity_id`, `audit_id`);
@@ -0,0 +1,73 @@
+package com.demoproject.cards.functions;
+
+import com.demoproject.cards.service.ICardsService;
+import com.demoproject.cards.service.impl.CardsServiceImpl;
+import com.demoproject.common.dto.CustomerDeletedEventDto;
+import com.demoproject.common.event.InMemoryEventBroker;
+import com.demoproject.common.event.InMemoryFunctionBindings;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class CardsFunctionsTests {
+
+	private static final String CUSTOMER_DELETED = "customer-deleted";
+
+	private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+	private final RecordingCardsService cardsService = new RecordingCardsService();
+
+	// the bindings of application.yml, on the in-memory broker instead of RabbitMQ
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+			.withPropertyValues("spring.cloud.function.definition=customerDeleted",
+					"spring.cloud.stream.bindings.customerDeleted-in-0.destination=" + CUSTOMER_DELETED)
+			.withUserConfiguration(CardsFunctions.class)
+			.withBean(ICardsService.class, () -> cardsService)
+			.withBean(ObjectMapper.class, () -> objectMapper)
+			.withBean(InMemoryEventBroker.class)
+			.withBean(InMemoryFunctionBindings.class);
+
+	@Test
+	void customerDeletedEventReachesTheCardsConsumer() {
+		CustomerDeletedEventDto event = new CustomerDeletedEventDto("4354437687", LocalDateTime.of(2024, 5, 1, 10, 0));
+
+		contextRunner.run(context -> {
+			context.getBean(InMemoryEventBroker.class)
+					.publish(CUSTOMER_DELETED, event.getMobileNumber(), objectMapper.writeValueAsString(event));
+
+			assertThat(cardsService.deletedCustomers).containsExactly(event);
+		});
+	}
+
+	@Test
+	void unreadablePayloadIsRefusedSoTheRelayRetriesIt() {
+		contextRunner.run(context -> {
+			InMemoryEventBroker broker = context.getBean(InMemoryEventBroker.class);
+
+			assertThatIllegalArgumentException().isThrownBy(() -> broker.publish(CUSTOMER_DELETED, "4354437687", "{"));
+			assertThat(cardsService.deletedCustomers).isEmpty();
+		});
+	}
+
+	private static class RecordingCardsService extends CardsServiceImpl {
+
+		private final List<CustomerDeletedEventDto> deletedCustomers = new ArrayList<>();
+
+		RecordingCardsService() {
+			super(null, null, null, null, null, null, null);
+		}
+
+		@Override
+		public int deleteCardsOfCustomer(String mobileNumber, LocalDateTime deletedAt) {
+			deletedCustomers.add(new CustomerDeletedEventDto(mobileNumber, deletedAt));
+			return 1;
+		}
+	}
+}
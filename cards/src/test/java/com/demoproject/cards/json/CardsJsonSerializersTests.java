@@ -0,0 +1,23 @@
+package com.demoproject.cards.json;
+
+import com.demoproject.cards.dto.CardsDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CardsJsonSerializersTests {
+
+	private final ObjectMapper beanMapper = new ObjectMapper();
+
+	private final ObjectMapper handWrittenMapper = new ObjectMapper().registerModule(new SimpleModule()
+			.addSerializer(new CardsJsonSerializers.CardsDtoSerializer()));
+
+	@Test
+	void writesNullsLikeTheBeanSerializer() throws Exception {
+		CardsDto cardsDto = new CardsDto();
+
+		assertThat(handWrittenMapper.writeValueAsString(cardsDto)).isEqualTo(beanMapper.writeValueAsString(cardsDto));
+	}
+}
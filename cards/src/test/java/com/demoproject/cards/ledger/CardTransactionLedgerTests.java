@@ -0,0 +1,165 @@
+package com.demoproject.cards.ledger;
+
+import com.demoproject.cards.dto.CardChangedEventDto;
+import com.demoproject.cards.repository.CardTransactionRepository;
+import com.demoproject.common.event.OutboxPublisher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CardTransactionLedgerTests {
+
+	private static final long CARD = 100000000001L;
+
+	private static final long OTHER_CARD = 100000000002L;
+
+	private final RecordingRepository repository = new RecordingRepository();
+
+	private final RecordingTransactionManager transactionManager = new RecordingTransactionManager();
+
+	// no card events are returned, so the cache invalidator is never reached
+	private final CardTransactionLedger ledger = new CardTransactionLedger(repository,
+			new TransactionTemplate(transactionManager), () -> Optional.of("TEST"),
+			new OutboxPublisher(null, new ObjectMapper()), null, 1, 16, 16, 3);
+
+	@Test
+	void rolledUpCardsAreNotChargedAgain() {
+		repository.rollupCount = 1;
+		ledger.append(CARD, 10);
+		ledger.append(CARD, 5);
+
+		ledger.flush();
+
+		assertThat(repository.rollups).isEqualTo(1);
+		assertThat(repository.charges).isEmpty();
+		assertThat(repository.inserted).isEqualTo(2);
+	}
+
+	@Test
+	void cardWhoseTotalDidNotFitIsChargedOneByOne() {
+		repository.rollupCount = 0;
+		ledger.append(CARD, 10);
+		ledger.append(CARD, 5);
+
+		ledger.flush();
+
+		assertThat(repository.charges).containsExactly(10, 5);
+		assertThat(repository.inserted).isEqualTo(2);
+	}
+
+	@Test
+	void rollupWithoutUpdateCountsIsRolledBackAndEveryChargeAppliedOnItsOwn() {
+		repository.rollupCount = Statement.SUCCESS_NO_INFO;
+		ledger.append(CARD, 10);
+		ledger.append(OTHER_CARD, 20);
+
+		ledger.flush();
+
+		assertThat(transactionManager.rolledBack).isEqualTo(1);
+		assertThat(repository.charges).containsExactly(10, 20);
+		assertThat(repository.inserted).isEqualTo(2);
+
+		ledger.append(CARD, 5);
+		ledger.flush();
+
+		assertThat(repository.rollups).isEqualTo(1);
+		assertThat(repository.charges).containsExactly(10, 20, 5);
+	}
+
+	@Test
+	void batchKeptForARetryIsStillPending() {
+		repository.failure = new DataAccessResourceFailureException("database down");
+		ledger.append(CARD, 10);
+		ledger.append(OTHER_CARD, 20);
+
+		ledger.flush();
+
+		assertThat(ledger.pending()).isEqualTo(2);
+
+		repository.failure = null;
+		repository.rollupCount = 1;
+		ledger.flush();
+
+		assertThat(ledger.pending()).isZero();
+		assertThat(repository.inserted).isEqualTo(2);
+	}
+
+	private static class RecordingRepository extends CardTransactionRepository {
+
+		private RuntimeException failure;
+		private int rollupCount;
+		private int rollups;
+		private final List<Integer> charges = new ArrayList<>();
+		private int inserted;
+
+		RecordingRepository() {
+			super(null);
+		}
+
+		@Override
+		public int[] rollupCards(long[] cardNumbers, long[] amounts, int size, LocalDateTime updatedAt,
+								 String updatedBy) {
+			if (failure != null) {
+				throw failure;
+			}
+			rollups++;
+			int[] counts = new int[size];
+			Arrays.fill(counts, rollupCount);
+			return counts;
+		}
+
+		@Override
+		public boolean chargeCard(long cardNumber, int amount, LocalDateTime updatedAt, String updatedBy) {
+			charges.add(amount);
+			return true;
+		}
+
+		@Override
+		public int[] insertTransactions(long[] cardNumbers, int[] amounts, long[] createdAt, int[] charges,
+										int count) {
+			inserted += count;
+			return new int[count];
+		}
+
+		@Override
+		public List<CardChangedEventDto> findCardEvents(long[] cardNumbers, int size) {
+			return List.of();
+		}
+	}
+
+	private static class RecordingTransactionManager implements PlatformTransactionManager {
+
+		private int rolledBack;
+
+		@Override
+		public TransactionStatus getTransaction(TransactionDefinition definition) {
+			return new SimpleTransactionStatus();
+		}
+
+		@Override
+		public void commit(TransactionStatus status) {
+			if (status.isRollbackOnly()) {
+				rolledBack++;
+			}
+		}
+
+		@Override
+		public void rollback(TransactionStatus status) {
+			rolledBack++;
+		}
+	}
+}
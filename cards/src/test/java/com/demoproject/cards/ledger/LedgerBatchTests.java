@@ -0,0 +1,109 @@
+package com.demoproject.cards.ledger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LedgerBatchTests {
+
+	@Test
+	void rollupSumsTheChargesPerCardInFirstSeenOrder() {
+		LedgerBatch batch = new LedgerBatch(8);
+		batch.add(100000000001L, 10, 1L);
+		batch.add(100000000002L, 20, 2L);
+		batch.add(100000000001L, 5, 3L);
+
+		batch.rollup(0, batch.size);
+
+		assertThat(batch.rollupSize).isEqualTo(2);
+		assertThat(batch.rollupCardNumbers[0]).isEqualTo(100000000001L);
+		assertThat(batch.rollupAmounts[0]).isEqualTo(15L);
+		assertThat(batch.rollupCardNumbers[1]).isEqualTo(100000000002L);
+		assertThat(batch.rollupAmounts[1]).isEqualTo(20L);
+		assertThat(batch.rollupIndexes[0]).isEqualTo(0);
+		assertThat(batch.rollupIndexes[1]).isEqualTo(1);
+		assertThat(batch.rollupIndexes[2]).isEqualTo(0);
+	}
+
+	@Test
+	void rollupOfARangeOnlySumsThatRange() {
+		LedgerBatch batch = new LedgerBatch(8);
+		batch.add(100000000001L, 10, 1L);
+		batch.add(100000000002L, 20, 2L);
+		batch.add(100000000001L, 5, 3L);
+
+		batch.rollup(1, 3);
+
+		assertThat(batch.rollupSize).isEqualTo(2);
+		assertThat(batch.rollupCardNumbers[0]).isEqualTo(100000000002L);
+		assertThat(batch.rollupAmounts[0]).isEqualTo(20L);
+		assertThat(batch.rollupCardNumbers[1]).isEqualTo(100000000001L);
+		assertThat(batch.rollupAmounts[1]).isEqualTo(5L);
+	}
+
+	@Test
+	void rollupDoesNotOverflowWhereAnIntWould() {
+		LedgerBatch batch = new LedgerBatch(4);
+		batch.add(100000000001L, Integer.MAX_VALUE, 1L);
+		batch.add(100000000001L, Integer.MAX_VALUE, 2L);
+		batch.add(100000000001L, Integer.MAX_VALUE, 3L);
+
+		batch.rollup(0, batch.size);
+
+		assertThat(batch.rollupSize).isEqualTo(1);
+		assertThat(batch.rollupAmounts[0]).isEqualTo(3L * Integer.MAX_VALUE);
+	}
+
+	@Test
+	void rollupKeepsCardsApartThatCollideInTheSlots() {
+		LedgerBatch batch = new LedgerBatch(1024);
+		for (int i = 0; i < 1024; i++) {
+			batch.add(100000000000L + i % 300, 1, i);
+		}
+
+		batch.rollup(0, batch.size);
+
+		assertThat(batch.rollupSize).isEqualTo(300);
+		long total = 0;
+		for (int i = 0; i < batch.rollupSize; i++) {
+			total += batch.rollupAmounts[i];
+		}
+		assertThat(total).isEqualTo(1024L);
+	}
+
+	@Test
+	void retainChangedDropsCardsWithoutAnAppliedCharge() {
+		LedgerBatch batch = new LedgerBatch(8);
+		batch.add(100000000001L, 10, 1L);
+		batch.add(100000000002L, 20, 2L);
+		batch.add(100000000003L, 30, 3L);
+		batch.rollup(0, batch.size);
+		batch.rollupChanged[0] = true;
+		batch.rollupChanged[2] = true;
+
+		batch.retainChanged();
+
+		assertThat(batch.rollupSize).isEqualTo(2);
+		assertThat(batch.rollupCardNumbers[0]).isEqualTo(100000000001L);
+		assertThat(batch.rollupCardNumbers[1]).isEqualTo(100000000003L);
+		assertThat(batch.rollupAmounts[1]).isEqualTo(30L);
+	}
+
+	@Test
+	void clearResetsTheChargesAndTheRollup() {
+		LedgerBatch batch = new LedgerBatch(2);
+		batch.add(100000000001L, 10, 1L);
+		batch.add(100000000001L, 10, 2L);
+		batch.rollup(0, batch.size);
+		batch.accept(0);
+		batch.decline(1);
+
+		batch.clear();
+
+		assertThat(batch.isEmpty()).isTrue();
+		assertThat(batch.remaining()).isEqualTo(2);
+		assertThat(batch.rollupSize).isZero();
+		assertThat(batch.acceptedSize).isZero();
+		assertThat(batch.declinedSize).isZero();
+	}
+}
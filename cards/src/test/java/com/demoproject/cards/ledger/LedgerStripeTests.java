@@ -0,0 +1,55 @@
+package com.demoproject.cards.ledger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LedgerStripeTests {
+
+	@Test
+	void offerRejectsChargesOnceTheStripeIsFull() {
+		LedgerStripe stripe = new LedgerStripe(2);
+
+		assertThat(stripe.offer(100000000001L, 10, 1L)).isTrue();
+		assertThat(stripe.offer(100000000001L, 20, 2L)).isTrue();
+		assertThat(stripe.offer(100000000001L, 30, 3L)).isFalse();
+		assertThat(stripe.size()).isEqualTo(2);
+	}
+
+	@Test
+	void drainToMovesChargesInArrivalOrderUpToTheRoomInTheBatch() {
+		LedgerStripe stripe = new LedgerStripe(4);
+		stripe.offer(100000000001L, 10, 1L);
+		stripe.offer(100000000002L, 20, 2L);
+		stripe.offer(100000000003L, 30, 3L);
+		LedgerBatch batch = new LedgerBatch(2);
+
+		assertThat(stripe.drainTo(batch)).isEqualTo(2);
+
+		assertThat(batch.size).isEqualTo(2);
+		assertThat(batch.cardNumbers[0]).isEqualTo(100000000001L);
+		assertThat(batch.amounts[1]).isEqualTo(20);
+		assertThat(batch.createdAt[1]).isEqualTo(2L);
+		assertThat(stripe.size()).isEqualTo(1);
+	}
+
+	@Test
+	void offerAndDrainWrapAroundTheRing() {
+		LedgerStripe stripe = new LedgerStripe(2);
+		LedgerBatch batch = new LedgerBatch(4);
+		stripe.offer(100000000001L, 10, 1L);
+		stripe.offer(100000000002L, 20, 2L);
+		stripe.drainTo(batch);
+		batch.clear();
+
+		stripe.offer(100000000003L, 30, 3L);
+		stripe.offer(100000000004L, 40, 4L);
+		assertThat(stripe.offer(100000000005L, 50, 5L)).isFalse();
+		stripe.drainTo(batch);
+
+		assertThat(batch.size).isEqualTo(2);
+		assertThat(batch.cardNumbers[0]).isEqualTo(100000000003L);
+		assertThat(batch.cardNumbers[1]).isEqualTo(100000000004L);
+		assertThat(stripe.size()).isZero();
+	}
+}
@@ -0,0 +1,93 @@
+package com.demoproject.cards.repository;
+
+import com.demoproject.cards.audit.AuditAwareImpl;
+import com.demoproject.cards.dto.CardChangedEventDto;
+import com.demoproject.cards.dto.CardsDto;
+import com.demoproject.cards.entity.Cards;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+		"spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@Import(AuditAwareImpl.class)
+class CardsRepositoryTests {
+
+	private static final String CARD_NUMBER = "100646930341";
+
+	@Autowired
+	private CardsRepository cardsRepository;
+
+	private long initialVersion;
+
+	@BeforeEach
+	void saveCard() {
+		Cards cards = new Cards();
+		cards.setMobileNumber("4354437687");
+		cards.setCardNumber(CARD_NUMBER);
+		cards.setCardType("Credit Card");
+		cards.setTotalLimit(1000);
+		cards.setAmountUsed(0);
+		cards.setAvailableAmount(1000);
+		initialVersion = cardsRepository.saveAndFlush(cards).getVersion();
+	}
+
+	@Test
+	void customerDeletedEventIsAppliedOnlyOnce() {
+		LocalDateTime deletedAt = LocalDateTime.now();
+
+		assertThat(cardsRepository.deleteByMobileNumberCreatedUpTo("4354437687", deletedAt)).isEqualTo(1);
+		// redelivered by the outbox relay
+		assertThat(cardsRepository.deleteByMobileNumberCreatedUpTo("4354437687", deletedAt)).isZero();
+	}
+
+	@Test
+	void customerDeletedEventKeepsACardCreatedAfterTheDeletion() {
+		int deleted = cardsRepository.deleteByMobileNumberCreatedUpTo("4354437687", LocalDateTime.now().minusMinutes(1));
+
+		assertThat(deleted).isZero();
+		assertThat(cardsRepository.findByCardNumber(CARD_NUMBER)).isPresent();
+	}
+
+	@Test
+	void streamAllForExportProjectsEveryCard() {
+		List<CardsDto> rows;
+		try (Stream<CardsDto> stream = cardsRepository.streamAllForExport()) {
+			rows = stream.toList();
+		}
+
+		assertThat(rows).hasSize(1);
+		CardsDto row = rows.get(0);
+		assertThat(row.getMobileNumber()).isEqualTo("4354437687");
+		assertThat(row.getCardNumber()).isEqualTo(CARD_NUMBER);
+		assertThat(row.getCardType()).isEqualTo("Credit Card");
+		assertThat(row.getTotalLimit()).isEqualTo(1000);
+		assertThat(row.getAmountUsed()).isZero();
+		assertThat(row.getAvailableAmount()).isEqualTo(1000);
+	}
+
+	@Test
+	void streamAllForSnapshotProjectsEveryCardAsAnEvent() {
+		List<CardChangedEventDto> rows;
+		try (Stream<CardChangedEventDto> stream = cardsRepository.streamAllForSnapshot()) {
+			rows = stream.toList();
+		}
+
+		assertThat(rows).hasSize(1);
+		CardChangedEventDto row = rows.get(0);
+		assertThat(row.getVersion()).isEqualTo(initialVersion);
+		assertThat(row.isDeleted()).isFalse();
+		assertThat(row.getCardNumber()).isEqualTo(CARD_NUMBER);
+		assertThat(row.getAvailableAmount()).isEqualTo(1000);
+	}
+}
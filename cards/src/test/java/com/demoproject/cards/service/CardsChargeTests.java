@@ -0,0 +1,169 @@
+package com.demoproject.cards.service;
+
+import com.demoproject.cards.audit.AuditAwareImpl;
+import com.demoproject.cards.dto.CardChangedEventDto;
+import com.demoproject.cards.entity.Cards;
+import com.demoproject.cards.exception.ResourceNotFoundException;
+import com.demoproject.cards.repository.CardsRepository;
+import com.demoproject.cards.service.impl.CardsServiceImpl;
+import com.demoproject.common.cache.CacheInvalidator;
+import com.demoproject.common.cache.InMemoryInvalidationBus;
+import com.demoproject.common.event.OutboxPublisher;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+// Commits for real: the second-level cache only holds what committed
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=create"
+})
+@Import(AuditAwareImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CardsChargeTests {
+
+	private static final String CARD_NUMBER = "100646930341";
+	private static final String OTHER_CARD_NUMBER = "100646930342";
+
+	@Autowired
+	private CardsRepository cardsRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private final RecordingOutboxPublisher outboxPublisher = new RecordingOutboxPublisher();
+
+	private TransactionTemplate transaction;
+
+	private CardsServiceImpl cardsService;
+
+	private long initialVersion;
+
+	@BeforeEach
+	void saveCards() {
+		transaction = new TransactionTemplate(transactionManager);
+		CacheInvalidator cacheInvalidator = new CacheInvalidator(new InMemoryInvalidationBus(),
+				new ConcurrentMapCacheManager(), entityManagerFactory);
+		cardsService = new CardsServiceImpl(cardsRepository, null, null, outboxPublisher, cacheInvalidator, null, null);
+		initialVersion = transaction.execute(status -> {
+			cardsRepository.save(card(OTHER_CARD_NUMBER, "4354437688"));
+			return cardsRepository.save(card(CARD_NUMBER, "4354437687")).getVersion();
+		});
+	}
+
+	@AfterEach
+	void deleteCards() {
+		transaction.executeWithoutResult(status -> cardsRepository.deleteAll());
+	}
+
+	@Test
+	void chargeMovesTheBalanceAndBumpsTheVersion() {
+		assertThat(charge(CARD_NUMBER, 300)).isTrue();
+
+		Cards cards = find(CARD_NUMBER);
+		assertThat(cards.getAmountUsed()).isEqualTo(300);
+		assertThat(cards.getAvailableAmount()).isEqualTo(700);
+		assertThat(cards.getVersion()).isEqualTo(initialVersion + 1);
+		CardChangedEventDto event = outboxPublisher.events.get(0);
+		assertThat(event.getAvailableAmount()).isEqualTo(700);
+		assertThat(event.getVersion()).isEqualTo(initialVersion + 1);
+	}
+
+	@Test
+	void chargeTakesTheWholeAvailableAmount() {
+		assertThat(charge(CARD_NUMBER, 1000)).isTrue();
+
+		assertThat(find(CARD_NUMBER).getAvailableAmount()).isZero();
+	}
+
+	@Test
+	void chargeAboveTheAvailableAmountIsDeclined() {
+		assertThat(charge(CARD_NUMBER, 1001)).isFalse();
+
+		Cards cards = find(CARD_NUMBER);
+		assertThat(cards.getAvailableAmount()).isEqualTo(1000);
+		assertThat(cards.getVersion()).isEqualTo(initialVersion);
+		assertThat(outboxPublisher.events).isEmpty();
+	}
+
+	@Test
+	void chargeOfAnUnknownCardIsNotFound() {
+		assertThatExceptionOfType(ResourceNotFoundException.class).isThrownBy(() -> charge("999999999999", 10));
+	}
+
+	@Test
+	void chargeKeepsTheOtherCardsCached() {
+		// loads the card into both regions
+		find(OTHER_CARD_NUMBER);
+		charge(CARD_NUMBER, 300);
+		CacheRegionStatistics cards = regionStatistics("cards");
+		CacheRegionStatistics naturalIds = regionStatistics("cards-natural-id");
+		long cardHits = cards.getHitCount();
+		long cardMisses = cards.getMissCount();
+		long naturalIdHits = naturalIds.getHitCount();
+
+		find(OTHER_CARD_NUMBER);
+
+		assertThat(cards.getHitCount()).isEqualTo(cardHits + 1);
+		assertThat(cards.getMissCount()).isEqualTo(cardMisses);
+		assertThat(naturalIds.getHitCount()).isEqualTo(naturalIdHits + 1);
+	}
+
+	private boolean charge(String cardNumber, int amount) {
+		return transaction.execute(status -> cardsService.chargeCard(cardNumber, amount));
+	}
+
+	// each call is a new session, so the card comes from the second-level cache or the database
+	private Cards find(String cardNumber) {
+		return transaction.execute(status -> cardsRepository.findByCardNumber(cardNumber).orElseThrow());
+	}
+
+	private CacheRegionStatistics regionStatistics(String regionName) {
+		return entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getCacheRegionStatistics(regionName);
+	}
+
+	private static Cards card(String cardNumber, String mobileNumber) {
+		Cards cards = new Cards();
+		cards.setMobileNumber(mobileNumber);
+		cards.setCardNumber(cardNumber);
+		cards.setCardType("Credit Card");
+		cards.setTotalLimit(1000);
+		cards.setAmountUsed(0);
+		cards.setAvailableAmount(1000);
+		return cards;
+	}
+
+	private static class RecordingOutboxPublisher extends OutboxPublisher {
+
+		private final List<CardChangedEventDto> events = new ArrayList<>();
+
+		RecordingOutboxPublisher() {
+			super(null, null);
+		}
+
+		@Override
+		public void append(String destination, String key, Object event) {
+			events.add((CardChangedEventDto) event);
+		}
+	}
+}
@@ -0,0 +1,5 @@
+package com.demoproject.common.audit;
+
+public enum AuditAction {
+    INSERT, UPDATE, DELETE
+}
@@ -0,0 +1,75 @@
+package com.demoproject.common.audit;
+
+import com.demoproject.common.dto.AuditLogDto;
+import com.demoproject.common.dto.ErrorResponseDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+// entityType defaults to digibank.audit.default-entity-type, the main entity of the service
+@Tag(
+        name = "REST APIs for the audit trail in DigiBank",
+        description = "REST APIs in DigiBank to read the recorded mutations of the entities of this service"
+)
+@RestController
+@RequestMapping(path = "/api", produces = {MediaType.APPLICATION_JSON_VALUE})
+@Validated
+public class AuditController {
+
+    private final IAuditService iAuditService;
+
+    public AuditController(IAuditService iAuditService) {
+        this.iAuditService = iAuditService;
+    }
+
+    @Operation(
+            summary = "Fetch Audit Trail REST API",
+            description = "REST API to fetch the latest recorded mutations of an entity, newest first. Mutations " +
+                    "are written to the audit log asynchronously and show up within a flush interval"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @GetMapping("/audit")
+    public ResponseEntity<List<AuditLogDto>> fetchAuditTrail(@RequestParam(defaultValue = "${digibank.audit.default-entity-type}")
+                                                             @NotEmpty(message = "Entity type can not be null or empty")
+                                                             String entityType,
+                                                             @RequestParam
+                                                             @NotEmpty(message = "Entity id can not be null or empty")
+                                                             String entityId,
+                                                             @RequestParam(defaultValue = "50")
+                                                             @Min(value = 1, message = "Size should be at least 1")
+                                                             @Max(value = 1000, message = "Size should be at most 1000")
+                                                             int size) {
+        List<AuditLogDto> auditTrail = iAuditService.fetchAuditTrail(entityType, entityId, size);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(auditTrail);
+    }
+}
@@ -0,0 +1,22 @@
+package com.demoproject.common.audit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/*One mutation waiting in the AuditLog queue. before and after only hold the properties the mutation touched:
+null before for an insert, null after for a delete.*/
+@Getter
+@AllArgsConstructor
+public class AuditEvent {
+    private final String entityType;
+    private final String entityId;
+    private final AuditAction action;
+    private final String actor;
+    private final String correlationId;
+    private final LocalDateTime occurredAt;
+    private final Map<String, Object> before;
+    private final Map<String, Object> after;
+}
@@ -0,0 +1,99 @@
+package com.demoproject.common.audit;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/*Feeds the AuditLog from Hibernate's post-commit events, so only mutations that actually committed are recorded
+and nothing runs on the flush path. Bulk HQL and plain JDBC writes raise no events; the services record those
+themselves (AuditLog.recordAfterCommit).*/
+public class AuditEventListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private final AuditLog auditLog;
+
+    public AuditEventListener(AuditLog auditLog, EntityManagerFactory entityManagerFactory) {
+        this.auditLog = auditLog;
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        EntityPersister persister = event.getPersister();
+        auditLog.record(persister.getMappedClass().getSimpleName(), event.getId(), AuditAction.INSERT,
+                null, state(persister, event.getState()));
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        EntityPersister persister = event.getPersister();
+        String[] propertyNames = persister.getPropertyNames();
+        Object[] oldState = event.getOldState();
+        Object[] state = event.getState();
+        Map<String, Object> before = new LinkedHashMap<>();
+        Map<String, Object> after = new LinkedHashMap<>();
+        for (int i = 0; i < propertyNames.length; i++) {
+            Object oldValue = oldState == null ? null : oldState[i];
+            if (oldState == null || !Objects.equals(oldValue, state[i])) {
+                before.put(propertyNames[i], oldValue);
+                after.put(propertyNames[i], state[i]);
+            }
+        }
+        if (!after.isEmpty()) {
+            auditLog.record(persister.getMappedClass().getSimpleName(), event.getId(), AuditAction.UPDATE,
+                    oldState == null ? null : before, after);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        EntityPersister persister = event.getPersister();
+        auditLog.record(persister.getMappedClass().getSimpleName(), event.getId(), AuditAction.DELETE,
+                state(persister, event.getDeletedState()), null);
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // rolled back, nothing happened
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // rolled back, nothing happened
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // rolled back, nothing happened
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return true;
+    }
+
+    private static Map<String, Object> state(EntityPersister persister, Object[] values) {
+        String[] propertyNames = persister.getPropertyNames();
+        Map<String, Object> state = new LinkedHashMap<>();
+        for (int i = 0; i < propertyNames.length; i++) {
+            state.put(propertyNames[i], values[i]);
+        }
+        return state;
+    }
+}
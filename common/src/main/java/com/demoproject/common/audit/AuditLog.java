@@ -0,0 +1,214 @@
+package com.demoproject.common.audit;
+
+import com.demoproject.common.config.ObservabilityAutoConfiguration;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*Append-only audit trail of every committed mutation. Recording only puts the event on a bounded queue, so the
+request pays for a few map entries and no I/O; a scheduled writer drains the queue into audit_log as JDBC batches,
+serializing the states to JSON on its own thread. When the writer falls behind far enough to fill the queue, a
+recording waits up to enqueue-timeout and is then dropped and counted, so a slow database never stalls requests.
+Events still queued when the instance dies are lost. A write that fails because the database is unavailable keeps
+its batch and retries for as long as it takes; any other failure is retried max-attempts times, then the batch is
+written row by row and a row that still fails (a state too long for its column, say) is logged in full and skipped,
+so one bad event cannot hold up the ones behind it.*/
+public class AuditLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLog.class);
+
+    private final AuditLogRepository auditLogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final AuditorAware<String> auditorAware;
+    private final BlockingQueue<AuditEvent> queue;
+    private final List<AuditEvent> batch;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicLong dropped = new AtomicLong();
+    private final int batchSize;
+    private final long enqueueTimeoutMs;
+    private final int maxAttempts;
+    private int failedAttempts;
+
+    public AuditLog(AuditLogRepository auditLogRepository,
+                    TransactionTemplate transactionTemplate,
+                    ObjectMapper objectMapper,
+                    AuditorAware<String> auditorAware,
+                    int queueCapacity,
+                    int batchSize,
+                    long enqueueTimeoutMs,
+                    int maxAttempts) {
+        this.auditLogRepository = auditLogRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.auditorAware = auditorAware;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batch = new ArrayList<>(batchSize);
+        this.batchSize = batchSize;
+        this.enqueueTimeoutMs = enqueueTimeoutMs;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * @param entityType - Simple name of the entity class
+     * @param entityId - Id of the entity
+     * @param action - What happened to it
+     * @param before - Changed properties before the mutation, null for an insert
+     * @param after - Changed properties after the mutation, null for a delete
+     */
+    public void record(String entityType, Object entityId, AuditAction action,
+                       Map<String, Object> before, Map<String, Object> after) {
+        AuditEvent event = new AuditEvent(entityType, String.valueOf(entityId), action,
+                auditorAware.getCurrentAuditor().orElse(null), correlationId(), LocalDateTime.now(), before, after);
+        boolean accepted;
+        try {
+            accepted = queue.offer(event, enqueueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (!accepted) {
+            logger.error("Audit queue full, dropped {} of {} {} ({} dropped since startup)",
+                    action, entityType, entityId, dropped.incrementAndGet());
+        }
+    }
+
+    /*For mutations Hibernate does not see (bulk updates and deletes): recorded once the transaction commits,
+    like the ones AuditEventListener picks up*/
+    public void recordAfterCommit(String entityType, Object entityId, AuditAction action,
+                                  Map<String, Object> before, Map<String, Object> after) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(entityType, entityId, action, before, after);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record(entityType, entityId, action, before, after);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${digibank.audit.flush-interval-ms:200}")
+    public void flush() {
+        if (flushLock.tryLock()) {
+            try {
+                drain();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushLock.lock();
+        try {
+            drain();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            if (batch.isEmpty()) {
+                queue.drainTo(batch, batchSize);
+            }
+            if (batch.isEmpty() || !writeBatch()) {
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * @return false when the batch has to be kept and retried on the next run
+     */
+    private boolean writeBatch() {
+        try {
+            write(batch);
+            failedAttempts = 0;
+            return true;
+        } catch (RuntimeException ex) {
+            if (isDatabaseUnavailable(ex)) {
+                logger.error("Writing {} audit events failed, retrying on the next run", batch.size(), ex);
+                return false;
+            }
+            failedAttempts++;
+            if (failedAttempts < maxAttempts) {
+                logger.error("Writing {} audit events failed (attempt {} of {}), retrying on the next run",
+                        batch.size(), failedAttempts, maxAttempts, ex);
+                return false;
+            }
+            logger.error("Writing {} audit events failed {} times, writing them one by one",
+                    batch.size(), failedAttempts, ex);
+            failedAttempts = 0;
+            for (AuditEvent event : batch) {
+                writeOne(event);
+            }
+            return true;
+        }
+    }
+
+    private void writeOne(AuditEvent event) {
+        try {
+            write(List.of(event));
+        } catch (RuntimeException ex) {
+            logger.error("Skipping audit event {} of {} {} by {} at {} (correlation id {}), before {}, after {}",
+                    event.getAction(), event.getEntityType(), event.getEntityId(), event.getActor(),
+                    event.getOccurredAt(), event.getCorrelationId(), event.getBefore(), event.getAfter(), ex);
+        }
+    }
+
+    private void write(List<AuditEvent> events) {
+        transactionTemplate.executeWithoutResult(status -> auditLogRepository.insertAll(events, this::toJson));
+    }
+
+    // an outage rather than a problem with the events: writing them one by one would only skip all of them
+    private static boolean isDatabaseUnavailable(RuntimeException ex) {
+        return ex instanceof TransientDataAccessException || ex instanceof DataAccessResourceFailureException
+                || ex instanceof CannotCreateTransactionException;
+    }
+
+    private String toJson(Map<String, Object> state) {
+        try {
+            return objectMapper.writeValueAsString(state);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Audit state is not serializable", ex);
+        }
+    }
+
+    private static String correlationId() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes instanceof ServletRequestAttributes servletRequestAttributes) {
+            HttpServletRequest request = servletRequestAttributes.getRequest();
+            return request.getHeader(ObservabilityAutoConfiguration.CORRELATION_ID_HEADER);
+        }
+        return null;
+    }
+}
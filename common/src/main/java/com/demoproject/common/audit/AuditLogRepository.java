@@ -0,0 +1,54 @@
+package com.demoproject.common.audit;
+
+import com.demoproject.common.dto.AuditLogDto;
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/*Append-only: rows are inserted in JDBC batches and never updated or deleted by the application. Reads go through
+(entity_type, entity_id, audit_id), newest first.*/
+@AllArgsConstructor
+public class AuditLogRepository {
+
+    private static final String INSERT_EVENT =
+            "insert into audit_log (entity_type, entity_id, action, actor, correlation_id, occurred_at, " +
+            "before_state, after_state) values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_BY_ENTITY =
+            "select audit_id, entity_type, entity_id, action, actor, correlation_id, occurred_at, " +
+            "before_state, after_state from audit_log where entity_type = ? and entity_id = ? " +
+            "order by audit_id desc limit ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param events - Audit events in the order they were recorded
+     * @param toJson - Serializes the before and after states
+     */
+    public void insertAll(List<AuditEvent> events, Function<Map<String, Object>, String> toJson) {
+        jdbcTemplate.batchUpdate(INSERT_EVENT, events, events.size(), (ps, event) -> {
+            ps.setString(1, event.getEntityType());
+            ps.setString(2, event.getEntityId());
+            ps.setString(3, event.getAction().name());
+            ps.setString(4, event.getActor());
+            ps.setString(5, event.getCorrelationId());
+            ps.setTimestamp(6, Timestamp.valueOf(event.getOccurredAt()));
+            ps.setString(7, event.getBefore() == null ? null : toJson.apply(event.getBefore()));
+            ps.setString(8, event.getAfter() == null ? null : toJson.apply(event.getAfter()));
+        });
+    }
+
+    /**
+     * @return the latest size mutations of the entity, newest first
+     */
+    public List<AuditLogDto> findByEntity(String entityType, String entityId, int size) {
+        return jdbcTemplate.query(SELECT_BY_ENTITY, (rs, rowNum) -> new AuditLogDto(
+                rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5),
+                rs.getString(6), rs.getTimestamp(7).toLocalDateTime(), rs.getString(8), rs.getString(9)),
+                entityType, entityId, size);
+    }
+}
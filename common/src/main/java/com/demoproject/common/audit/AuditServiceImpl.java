@@ -0,0 +1,23 @@
+package com.demoproject.common.audit;
+
+import com.demoproject.common.dto.AuditLogDto;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+public class AuditServiceImpl implements IAuditService {
+
+    private final AuditLogRepository auditLogRepository;
+
+    /**
+     * @param entityType - Entity name, e.g. Customer
+     * @param entityId - Id of the entity
+     * @param size - Maximum number of entries
+     * @return the latest recorded mutations of the entity, newest first
+     */
+    @Override
+    public List<AuditLogDto> fetchAuditTrail(String entityType, String entityId, int size) {
+        return auditLogRepository.findByEntity(entityType, entityId, size);
+    }
+}
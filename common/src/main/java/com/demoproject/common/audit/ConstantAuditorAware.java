@@ -0,0 +1,24 @@
+package com.demoproject.common.audit;
+
+import org.springframework.data.domain.AuditorAware;
+
+import java.util.Optional;
+
+/*The services write as themselves rather than as a user. Spring Data asks for the auditor on every insert and
+update, so the Optional is built once.*/
+public class ConstantAuditorAware implements AuditorAware<String> {
+
+    private final Optional<String> auditor;
+
+    public ConstantAuditorAware(String auditor) {
+        this.auditor = Optional.of(auditor);
+    }
+
+    /**
+     * @return Returns the current auditor of the application.
+     */
+    @Override
+    public Optional<String> getCurrentAuditor() {
+        return auditor;
+    }
+}
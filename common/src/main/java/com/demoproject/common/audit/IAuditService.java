@@ -0,0 +1,17 @@
+package com.demoproject.common.audit;
+
+import com.demoproject.common.dto.AuditLogDto;
+
+import java.util.List;
+
+public interface IAuditService {
+
+    /**
+     *
+     * @param entityType - Entity name, e.g. Customer
+     * @param entityId - Id of the entity
+     * @param size - Maximum number of entries
+     * @return the latest recorded mutations of the entity, newest first
+     */
+    List<AuditLogDto> fetchAuditTrail(String entityType, String entityId, int size);
+}
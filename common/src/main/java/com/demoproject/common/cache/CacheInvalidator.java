@@ -0,0 +1,123 @@
+package com.demoproject.common.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/*Evicts an entry on this replica and, through the InvalidationBus, on all others. Inside a transaction the
+eviction waits for the commit: evicting earlier would let a concurrent read load and cache the old row again.
+Hibernate keeps its own second-level cache in step with writes made through it, but only on the replica that made
+them, and not at all for plain JDBC writes; those go over the same bus under the entity:, natural-id: and
+queries names.*/
+public class CacheInvalidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidator.class);
+
+    private static final String ENTITY_PREFIX = "entity:";
+    private static final String NATURAL_ID_PREFIX = "natural-id:";
+    private static final String QUERIES = "queries";
+    private static final String ALL = "*";
+
+    private final InvalidationBus invalidationBus;
+    private final CacheManager cacheManager;
+    private final org.hibernate.Cache secondLevelCache;
+    private final Map<String, Class<?>> entityClasses = new HashMap<>();
+
+    public CacheInvalidator(InvalidationBus invalidationBus, CacheManager cacheManager,
+                            EntityManagerFactory entityManagerFactory) {
+        this.invalidationBus = invalidationBus;
+        this.cacheManager = cacheManager;
+        this.secondLevelCache = entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class);
+        for (EntityType<?> entityType : entityManagerFactory.getMetamodel().getEntities()) {
+            entityClasses.put(entityType.getName(), entityType.getJavaType());
+        }
+        invalidationBus.subscribe(this::evictLocal);
+    }
+
+    /**
+     * @param cacheName - Cache the entry lives in
+     * @param key - Cache key, the mobile number
+     */
+    public void invalidateAfterCommit(String cacheName, String key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(cacheName, key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(cacheName, key);
+            }
+        });
+    }
+
+    /**
+     * @param entityClass - Cached entity
+     * @param id - Id of the row written
+     */
+    public void evictEntityAfterCommit(Class<?> entityClass, Object id) {
+        invalidateAfterCommit(ENTITY_PREFIX + entityClass.getSimpleName(), String.valueOf(id));
+    }
+
+    // For bulk writes that do not know which rows they touched
+    public void evictEntityRegionAfterCommit(Class<?> entityClass) {
+        invalidateAfterCommit(ENTITY_PREFIX + entityClass.getSimpleName(), ALL);
+    }
+
+    public void evictNaturalIdsAfterCommit(Class<?> entityClass) {
+        invalidateAfterCommit(NATURAL_ID_PREFIX + entityClass.getSimpleName(), ALL);
+    }
+
+    // Cached query results are ids: needed when a write adds or removes a row a cached query could return
+    public void evictQueriesAfterCommit() {
+        invalidateAfterCommit(QUERIES, ALL);
+    }
+
+    private void invalidate(String cacheName, String key) {
+        // local first, so this replica reads its own write even when the bus is down
+        evictLocal(cacheName, key);
+        try {
+            invalidationBus.publish(cacheName, key);
+        } catch (RuntimeException ex) {
+            logger.warn("Could not publish invalidation of {} in {}, other replicas keep it until it expires",
+                    key, cacheName, ex);
+        }
+    }
+
+    private void evictLocal(String cacheName, String key) {
+        if (cacheName.equals(QUERIES)) {
+            secondLevelCache.evictDefaultQueryRegion();
+            return;
+        }
+        if (cacheName.startsWith(ENTITY_PREFIX) || cacheName.startsWith(NATURAL_ID_PREFIX)) {
+            evictSecondLevel(cacheName, key);
+            return;
+        }
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void evictSecondLevel(String cacheName, String key) {
+        Class<?> entityClass = entityClasses.get(cacheName.substring(cacheName.indexOf(':') + 1));
+        if (entityClass == null) {
+            return;
+        }
+        if (cacheName.startsWith(NATURAL_ID_PREFIX)) {
+            secondLevelCache.evictNaturalIdData(entityClass);
+        } else if (ALL.equals(key)) {
+            secondLevelCache.evictEntityData(entityClass);
+        } else {
+            secondLevelCache.evictEntityData(entityClass, Long.valueOf(key));
+        }
+    }
+}
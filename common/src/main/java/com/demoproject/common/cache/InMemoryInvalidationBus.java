@@ -0,0 +1,23 @@
+package com.demoproject.common.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+// Single JVM only: tests and local runs with one replica
+public class InMemoryInvalidationBus implements InvalidationBus {
+
+    private final List<BiConsumer<String, String>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(String cacheName, String key) {
+        for (BiConsumer<String, String> listener : listeners) {
+            listener.accept(cacheName, key);
+        }
+    }
+
+    @Override
+    public void subscribe(BiConsumer<String, String> listener) {
+        listeners.add(listener);
+    }
+}
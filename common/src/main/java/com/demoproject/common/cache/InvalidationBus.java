@@ -0,0 +1,21 @@
+package com.demoproject.common.cache;
+
+import java.util.function.BiConsumer;
+
+/*Carries cache invalidations to every replica of the service. The default is InMemoryInvalidationBus, which only
+reaches this JVM; digibank.cache.invalidation.bus=redis switches to Redis pub/sub (see
+CacheInvalidationAutoConfiguration).
+MobileNumberIndex uses it as well, to hand newly registered mobile numbers to the other replicas.*/
+public interface InvalidationBus {
+
+    /**
+     * @param cacheName - Cache the entry lives in
+     * @param key - Cache key, the mobile number
+     */
+    void publish(String cacheName, String key);
+
+    /**
+     * @param listener - Called with the cache name and key of every invalidation, this replica's own included
+     */
+    void subscribe(BiConsumer<String, String> listener);
+}
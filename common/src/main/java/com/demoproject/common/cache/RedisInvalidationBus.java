@@ -0,0 +1,43 @@
+package com.demoproject.common.cache;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.BiConsumer;
+
+/*Redis pub/sub: one channel per service, message "<cacheName>:<key>". Pub/sub is fire-and-forget, a replica that
+is disconnected while an invalidation goes out keeps its entry until the cache TTL expires it.*/
+public class RedisInvalidationBus implements InvalidationBus {
+
+    private static final char SEPARATOR = ':';
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ChannelTopic channel;
+
+    public RedisInvalidationBus(StringRedisTemplate redisTemplate, RedisMessageListenerContainer listenerContainer,
+                                String channel) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.channel = new ChannelTopic(channel);
+    }
+
+    @Override
+    public void publish(String cacheName, String key) {
+        redisTemplate.convertAndSend(channel.getTopic(), cacheName + SEPARATOR + key);
+    }
+
+    @Override
+    public void subscribe(BiConsumer<String, String> listener) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            // keys never contain the separator, cache names may ("entity:Customer")
+            int separator = body.lastIndexOf(SEPARATOR);
+            if (separator > 0) {
+                listener.accept(body.substring(0, separator), body.substring(separator + 1));
+            }
+        }, channel);
+    }
+}
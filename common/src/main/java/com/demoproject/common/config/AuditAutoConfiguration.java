@@ -0,0 +1,53 @@
+package com.demoproject.common.config;
+
+import com.demoproject.common.audit.AuditController;
+import com.demoproject.common.audit.AuditEventListener;
+import com.demoproject.common.audit.AuditLog;
+import com.demoproject.common.audit.AuditLogRepository;
+import com.demoproject.common.audit.AuditServiceImpl;
+import com.demoproject.common.audit.IAuditService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/*Append-only audit trail of accounts, cards and loans: every service has the audit_log table in its schema.sql and
+its own AuditorAware (auditAwareImpl) naming the actor*/
+@AutoConfiguration
+public class AuditAutoConfiguration {
+
+    @Bean
+    public AuditLogRepository auditLogRepository(JdbcTemplate jdbcTemplate) {
+        return new AuditLogRepository(jdbcTemplate);
+    }
+
+    @Bean
+    public AuditLog auditLog(AuditLogRepository auditLogRepository, TransactionTemplate transactionTemplate,
+                             ObjectMapper objectMapper, AuditorAware<String> auditorAware,
+                             @Value("${digibank.audit.queue-capacity:65536}") int queueCapacity,
+                             @Value("${digibank.audit.batch-size:500}") int batchSize,
+                             @Value("${digibank.audit.enqueue-timeout-ms:10}") long enqueueTimeoutMs,
+                             @Value("${digibank.audit.max-attempts:3}") int maxAttempts) {
+        return new AuditLog(auditLogRepository, transactionTemplate, objectMapper, auditorAware,
+                queueCapacity, batchSize, enqueueTimeoutMs, maxAttempts);
+    }
+
+    @Bean
+    public AuditEventListener auditEventListener(AuditLog auditLog, EntityManagerFactory entityManagerFactory) {
+        return new AuditEventListener(auditLog, entityManagerFactory);
+    }
+
+    @Bean
+    public IAuditService auditService(AuditLogRepository auditLogRepository) {
+        return new AuditServiceImpl(auditLogRepository);
+    }
+
+    @Bean
+    public AuditController auditController(IAuditService auditService) {
+        return new AuditController(auditService);
+    }
+}
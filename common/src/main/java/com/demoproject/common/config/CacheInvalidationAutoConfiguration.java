@@ -0,0 +1,53 @@
+package com.demoproject.common.config;
+
+import com.demoproject.common.cache.CacheInvalidator;
+import com.demoproject.common.cache.InMemoryInvalidationBus;
+import com.demoproject.common.cache.InvalidationBus;
+import com.demoproject.common.cache.RedisInvalidationBus;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/*Caches are Caffeine (spring.cache.caffeine.spec), local to each replica; CacheInvalidator keeps the replicas
+in step over the bus selected by digibank.cache.invalidation.bus. Runs before CacheAutoConfiguration so that
+@EnableCaching has registered its interceptor when Boot checks for it.*/
+@AutoConfiguration(before = CacheAutoConfiguration.class)
+@EnableCaching
+public class CacheInvalidationAutoConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "digibank.cache.invalidation", name = "bus", havingValue = "in-memory", matchIfMissing = true)
+    public InvalidationBus inMemoryInvalidationBus() {
+        return new InMemoryInvalidationBus();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "digibank.cache.invalidation", name = "bus", havingValue = "redis")
+    public RedisMessageListenerContainer invalidationListenerContainer(RedisConnectionFactory redisConnectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "digibank.cache.invalidation", name = "bus", havingValue = "redis")
+    public InvalidationBus redisInvalidationBus(StringRedisTemplate redisTemplate,
+                                                RedisMessageListenerContainer invalidationListenerContainer,
+                                                @Value("${digibank.cache.invalidation.channel}") String channel) {
+        return new RedisInvalidationBus(redisTemplate, invalidationListenerContainer, channel);
+    }
+
+    @Bean
+    public CacheInvalidator cacheInvalidator(InvalidationBus invalidationBus, CacheManager cacheManager,
+                                             EntityManagerFactory entityManagerFactory) {
+        return new CacheInvalidator(invalidationBus, cacheManager, entityManagerFactory);
+    }
+}
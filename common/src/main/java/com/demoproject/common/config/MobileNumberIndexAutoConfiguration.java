@@ -0,0 +1,31 @@
+package com.demoproject.common.config;
+
+import com.demoproject.common.cache.InvalidationBus;
+import com.demoproject.common.index.MobileNumberIndex;
+import com.demoproject.common.index.MobileNumberScanRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/*Off-heap existence check over the mobile numbers of the table named in digibank.mobile-number-index.table,
+kept in step across replicas over the cache invalidation bus*/
+@AutoConfiguration(after = CacheInvalidationAutoConfiguration.class)
+@ConditionalOnProperty(prefix = "digibank.mobile-number-index", name = "table")
+public class MobileNumberIndexAutoConfiguration {
+
+    @Bean
+    public MobileNumberScanRepository mobileNumberScanRepository(JdbcTemplate jdbcTemplate,
+                                                                 @Value("${digibank.mobile-number-index.table}") String table) {
+        return new MobileNumberScanRepository(jdbcTemplate, table);
+    }
+
+    @Bean
+    public MobileNumberIndex mobileNumberIndex(MobileNumberScanRepository mobileNumberScanRepository,
+                                               InvalidationBus invalidationBus,
+                                               @Value("${digibank.mobile-number-index.expected-entries:10000000}") long expectedEntries,
+                                               @Value("${digibank.mobile-number-index.false-positive-rate:0.01}") double falsePositiveRate) {
+        return new MobileNumberIndex(mobileNumberScanRepository, invalidationBus, expectedEntries, falsePositiveRate);
+    }
+}
@@ -0,0 +1,77 @@
+package com.demoproject.common.config;
+
+import com.demoproject.common.logging.CorrelationIdMdcFilter;
+import com.demoproject.common.metrics.ErrorMetrics;
+import com.demoproject.common.metrics.InvocationMetrics;
+import com.demoproject.common.tracing.AdaptiveSampler;
+import io.micrometer.common.KeyValue;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.observation.ObservationFilter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+/*Instrumentation shared by accounts, cards and loans, registered through AutoConfiguration.imports so it applies
+without the services scanning com.demoproject.common.
+Spans for incoming requests, Feign calls and JDBC statements come from Micrometer Tracing over OpenTelemetry; they
+are exported over OTLP once management.otlp.tracing.endpoint is set. The gateway starts the trace, its sampling
+decision travels in the traceparent header and is followed here; requests that reach a service directly are
+sampled by AdaptiveSampler. Every server span carries the digibank-correlation-id, so a correlation id from a log
+line finds its trace.
+The exception tag of the custom meters is kept bounded: past max-exception-tags distinct values further ones are
+not registered at all, so an unexpected stream of new exception types cannot grow the registry. Percentile
+histograms are switched on per meter in management.metrics.distribution.percentiles-histogram.
+Ordered before Spring Boot's tracing auto-configuration, whose otelSampler backs off when this one exists.*/
+@AutoConfiguration(beforeName = "org.springframework.boot.actuate.autoconfigure.tracing.OpenTelemetryAutoConfiguration")
+public class ObservabilityAutoConfiguration {
+
+    public static final String CORRELATION_ID_HEADER = "digibank-correlation-id";
+
+    @Bean
+    public Sampler otelSampler(@Value("${digibank.tracing.max-traces-per-second:50}") double maxTracesPerSecond) {
+        return Sampler.parentBased(new AdaptiveSampler(maxTracesPerSecond));
+    }
+
+    // high cardinality: a span tag only, never a metric tag
+    @Bean
+    public ObservationFilter correlationIdObservationFilter() {
+        return context -> {
+            if (context instanceof ServerRequestObservationContext serverContext) {
+                String correlationId = serverContext.getCarrier().getHeader(CORRELATION_ID_HEADER);
+                if (correlationId != null) {
+                    context.addHighCardinalityKeyValue(KeyValue.of("digibank.correlation_id", correlationId));
+                }
+            }
+            return context;
+        };
+    }
+
+    @Bean
+    public CorrelationIdMdcFilter correlationIdMdcFilter() {
+        return new CorrelationIdMdcFilter();
+    }
+
+    @Bean
+    public ErrorMetrics errorMetrics(MeterRegistry meterRegistry) {
+        return new ErrorMetrics(meterRegistry);
+    }
+
+    @Bean
+    public InvocationMetrics invocationMetrics(MeterRegistry meterRegistry) {
+        return new InvocationMetrics(meterRegistry);
+    }
+
+    @Bean
+    public MeterFilter invocationExceptionTagLimit(@Value("${digibank.metrics.max-exception-tags:30}") int maxTags) {
+        return MeterFilter.maximumAllowableTags(InvocationMetrics.INVOCATIONS, "exception", maxTags,
+                MeterFilter.deny());
+    }
+
+    @Bean
+    public MeterFilter errorExceptionTagLimit(@Value("${digibank.metrics.max-exception-tags:30}") int maxTags) {
+        return MeterFilter.maximumAllowableTags(ErrorMetrics.ERRORS, "exception", maxTags, MeterFilter.deny());
+    }
+}
@@ -0,0 +1,79 @@
+package com.demoproject.common.config;
+
+import com.demoproject.common.event.EventBroker;
+import com.demoproject.common.event.InMemoryEventBroker;
+import com.demoproject.common.event.InMemoryFunctionBindings;
+import com.demoproject.common.event.OutboxPublisher;
+import com.demoproject.common.event.OutboxRelay;
+import com.demoproject.common.event.OutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+/*Transactional outbox of the services: every service has the outbox_event table in its schema.sql. The relay hands
+committed rows to the broker selected by digibank.events.broker, stream (RabbitMQ, the default) or in-memory.*/
+@AutoConfiguration
+public class OutboxAutoConfiguration {
+
+    /*Default: events leave the JVM over RabbitMQ through the bindings in spring.cloud.stream.bindings; a destination
+    the broker does not accept stays in the outbox and is retried by the relay*/
+    @Bean
+    @ConditionalOnProperty(prefix = "digibank.events", name = "broker", havingValue = "stream", matchIfMissing = true)
+    public EventBroker streamEventBroker(StreamBridge streamBridge) {
+        return (destination, key, payload) -> {
+            Message<String> message = MessageBuilder.withPayload(payload)
+                    .setHeader(MessageHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .setHeader("partitionKey", key)
+                    .build();
+            if (!streamBridge.send(destination, message)) {
+                throw new IllegalStateException("Broker did not accept event for " + destination);
+            }
+        };
+    }
+
+    // tests and single-JVM runs, delivers to the consumers of this JVM only, see InMemoryFunctionBindings
+    @Bean
+    @ConditionalOnProperty(prefix = "digibank.events", name = "broker", havingValue = "in-memory")
+    public InMemoryEventBroker inMemoryEventBroker() {
+        return new InMemoryEventBroker();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "digibank.events", name = "broker", havingValue = "in-memory")
+    public InMemoryFunctionBindings inMemoryFunctionBindings(InMemoryEventBroker inMemoryEventBroker,
+                                                             ConfigurableListableBeanFactory beanFactory,
+                                                             Environment environment, ObjectMapper objectMapper) {
+        return new InMemoryFunctionBindings(inMemoryEventBroker, beanFactory, environment, objectMapper);
+    }
+
+    @Bean
+    public OutboxRepository outboxRepository(JdbcTemplate jdbcTemplate) {
+        return new OutboxRepository(jdbcTemplate);
+    }
+
+    @Bean
+    public OutboxPublisher outboxPublisher(OutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        return new OutboxPublisher(outboxRepository, objectMapper);
+    }
+
+    @Bean
+    public OutboxRelay outboxRelay(OutboxRepository outboxRepository, EventBroker eventBroker,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${digibank.events.relay-batch-size:100}") int batchSize,
+                                   @Value("${digibank.events.retention:7d}") Duration retention) {
+        return new OutboxRelay(outboxRepository, eventBroker, transactionTemplate, batchSize, retention);
+    }
+}
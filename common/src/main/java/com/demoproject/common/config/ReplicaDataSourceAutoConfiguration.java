@@ -0,0 +1,77 @@
+package com.demoproject.common.config;
+
+import com.demoproject.common.datasource.ReplicaRoutingDataSource;
+import com.demoproject.common.datasource.ReplicationLagGuard;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/*The replica routing is only active with digibank.datasource.replica.enabled=true. ReplicationLagGuard is always
+there, the services call it either way and without the replica it never finds a transaction to pin. Runs before
+DataSourceAutoConfiguration, which backs off from the routing dataSource bean.*/
+@AutoConfiguration(before = DataSourceAutoConfiguration.class)
+public class ReplicaDataSourceAutoConfiguration {
+
+    @Bean
+    public ReplicationLagGuard replicationLagGuard(
+            @Value("${digibank.datasource.replica.max-lag:2s}") Duration maxLag) {
+        return new ReplicationLagGuard(maxLag);
+    }
+
+    /*spring.datasource stays the primary (writes), digibank.datasource.replica describes the read replica. Both pools
+    stay beans so actuator keeps publishing hikaricp.* metrics for each of them.*/
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "digibank.datasource.replica", name = "enabled", havingValue = "true")
+    static class ReplicaRoutingConfiguration {
+
+        private static final String REPLICA_PREFIX = "digibank.datasource.replica";
+
+        @Bean
+        @ConfigurationProperties("spring.datasource.hikari")
+        public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+            return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        }
+
+        @Bean
+        public HikariDataSource replicaDataSource(Environment environment) {
+            Binder binder = Binder.get(environment);
+            DataSourceProperties replicaProperties = binder.bind(REPLICA_PREFIX, DataSourceProperties.class)
+                    .orElseGet(DataSourceProperties::new);
+            if (!StringUtils.hasText(replicaProperties.getUrl())) {
+                throw new IllegalStateException(REPLICA_PREFIX + ".url must be set when the replica is enabled");
+            }
+            HikariDataSource replicaDataSource = replicaProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class).build();
+            binder.bind(REPLICA_PREFIX + ".hikari", Bindable.ofInstance(replicaDataSource));
+            return replicaDataSource;
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource) {
+            ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource();
+            routingDataSource.setTargetDataSources(Map.of(
+                    ReplicaRoutingDataSource.Route.PRIMARY, primaryDataSource,
+                    ReplicaRoutingDataSource.Route.REPLICA, replicaDataSource));
+            routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+            routingDataSource.afterPropertiesSet();
+            return new LazyConnectionDataSourceProxy(routingDataSource);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.demoproject.common.config;
+
+import com.demoproject.common.cache.SecondLevelCacheEndpoint;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/*Hibernate second-level cache on JCache, backed by Caffeine. Every region in digibank.l2cache.regions is created
+up front with its own size and TTL, the query results region included (defaults when it is not listed). The update timestamps region is created
+unbounded and without expiry: Hibernate compares cached query results against it, so an evicted timestamp would
+let a stale query result look fresh.
+The regions themselves, named after each service's entities, come from its application.yml.*/
+@AutoConfiguration(before = HibernateJpaAutoConfiguration.class)
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheAutoConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(SecondLevelCacheProperties properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        for (Map.Entry<String, SecondLevelCacheProperties.Region> region : properties.getRegions().entrySet()) {
+            cacheManager.createCache(region.getKey(), bounded(region.getValue(), properties.getDefaults()));
+        }
+        if (cacheManager.getCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME) == null) {
+            cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                    bounded(properties.getDefaults(), properties.getDefaults()));
+        }
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+    }
+
+    @Bean
+    public SecondLevelCacheEndpoint secondLevelCacheEndpoint(EntityManagerFactory entityManagerFactory) {
+        return new SecondLevelCacheEndpoint(entityManagerFactory);
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(SecondLevelCacheProperties.Region region,
+                                                                 SecondLevelCacheProperties.Region defaults) {
+        Long maxSize = region.getMaxSize() != null ? region.getMaxSize() : defaults.getMaxSize();
+        Duration ttl = region.getTtl() != null ? region.getTtl() : defaults.getTtl();
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        return configuration;
+    }
+}
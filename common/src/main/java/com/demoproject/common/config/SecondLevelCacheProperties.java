@@ -0,0 +1,30 @@
+package com.demoproject.common.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*Bounds of the Hibernate second-level cache regions. Every region has to be listed under regions (Hibernate is set
+to fail on a region it cannot find), a region entry without max-size or ttl takes it from defaults.*/
+@ConfigurationProperties(prefix = "digibank.l2cache")
+@Getter
+@Setter
+public class SecondLevelCacheProperties {
+    private Region defaults = new Region(10000L, Duration.ofMinutes(10));
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Region {
+        private Long maxSize;
+        private Duration ttl;
+    }
+}
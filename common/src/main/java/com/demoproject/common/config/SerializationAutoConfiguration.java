@@ -0,0 +1,31 @@
+package com.demoproject.common.config;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+
+/*Jackson settings shared by the services, applied to the ObjectMapper Spring Boot builds (and so to the HTTP
+converter, the Feign decoder, the outbox and the exports). The hot DTOs have hand-written serializers registered as
+@JsonComponent in each service; Blackbird replaces reflection with generated accessors for everything else.
+Buffers are left to Jackson's default, recycled per thread, which always hits with Tomcat's fixed worker pool.*/
+@AutoConfiguration
+public class SerializationAutoConfiguration {
+
+    // picked up by JacksonAutoConfiguration like every Module bean
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    /*Off: a flush after every value (the converter flushes once per response) and keeping a reference to the
+    request body in parse error locations. Output is unchanged.*/
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer serializationTuning() {
+        return builder -> builder
+                .featuresToDisable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE,
+                        JsonParser.Feature.INCLUDE_SOURCE_IN_LOCATION);
+    }
+}
@@ -0,0 +1,27 @@
+package com.demoproject.common.config;
+
+import com.demoproject.common.web.PreSerializedResponses;
+import com.demoproject.common.web.PreSerializingJackson2HttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/*Web plumbing shared by the services. The converter replaces Spring Boot's Jackson converter in place (Boot backs off
+from a MappingJackson2HttpMessageConverter bean and HttpMessageConverters keeps the position of the default), so it
+has to be defined before HttpMessageConvertersAutoConfiguration runs.*/
+@AutoConfiguration(after = JacksonAutoConfiguration.class, before = HttpMessageConvertersAutoConfiguration.class)
+public class WebAutoConfiguration {
+
+    @Bean
+    public PreSerializedResponses preSerializedResponses(ObjectMapper objectMapper) {
+        return new PreSerializedResponses(objectMapper);
+    }
+
+    @Bean
+    public PreSerializingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(
+            ObjectMapper objectMapper, PreSerializedResponses preSerializedResponses) {
+        return new PreSerializingJackson2HttpMessageConverter(objectMapper, preSerializedResponses);
+    }
+}
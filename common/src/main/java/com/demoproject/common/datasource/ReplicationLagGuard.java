@@ -0,0 +1,73 @@
+package com.demoproject.common.datasource;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*Read-your-writes guard for the replica routing. Every write remembers its key (mobile number) for max-lag,
+and a read of that key inside the window is pinned to the primary instead of a possibly stale replica.
+The window is tracked per instance, so it holds as long as the client keeps talking to the same instance.*/
+public class ReplicationLagGuard {
+
+    private static final int SWEEP_THRESHOLD = 10_000;
+
+    private final ConcurrentHashMap<String, Long> recentWrites = new ConcurrentHashMap<>();
+    private final long maxLagNanos;
+
+    public ReplicationLagGuard(Duration maxLag) {
+        this.maxLagNanos = maxLag.toNanos();
+    }
+
+    /**
+     * @param key - Key of the written data, recorded once the surrounding transaction commits
+     */
+    public void recordWrite(String key) {
+        if (key == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remember(key);
+                }
+            });
+        } else {
+            remember(key);
+        }
+    }
+
+    /**
+     * @param key - Key about to be read in the current read-only transaction
+     */
+    public void pinToPrimaryIfRecentlyWritten(String key) {
+        if (key == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Long deadline = recentWrites.get(key);
+        if (deadline == null) {
+            return;
+        }
+        if (deadline - System.nanoTime() < 0) {
+            recentWrites.remove(key, deadline);
+            return;
+        }
+        ReplicaRoutingDataSource.pinToPrimary();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                ReplicaRoutingDataSource.unpin();
+            }
+        });
+    }
+
+    private void remember(String key) {
+        long now = System.nanoTime();
+        recentWrites.put(key, now + maxLagNanos);
+        if (recentWrites.size() > SWEEP_THRESHOLD) {
+            recentWrites.values().removeIf(deadline -> deadline - now < 0);
+        }
+    }
+}
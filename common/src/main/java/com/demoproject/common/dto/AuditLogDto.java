@@ -0,0 +1,47 @@
+package com.demoproject.common.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Schema(name = "AuditLog",
+        description = "Schema to hold one recorded mutation of an entity"
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogDto {
+
+    @Schema(description = "Position in the audit log, increasing", example = "1042")
+    private Long auditId;
+
+    @Schema(description = "Entity that was changed", example = "Cards")
+    private String entityType;
+
+    @Schema(description = "Id of the changed entity", example = "51")
+    private String entityId;
+
+    @Schema(description = "INSERT, UPDATE or DELETE", example = "UPDATE")
+    private String action;
+
+    @Schema(description = "Who made the change", example = "CARDS_MS")
+    private String actor;
+
+    @Schema(description = "Correlation id of the request that made the change")
+    private String correlationId;
+
+    @Schema(description = "When the change was committed")
+    private LocalDateTime occurredAt;
+
+    @JsonRawValue
+    @Schema(description = "Changed properties before the change, JSON")
+    private String before;
+
+    @JsonRawValue
+    @Schema(description = "Changed properties after the change, JSON")
+    private String after;
+}
@@ -0,0 +1,19 @@
+package com.demoproject.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Published by accounts through its outbox when a customer is deleted, consumed by cards and loans
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerDeletedEventDto {
+
+    private String mobileNumber;
+
+    // consumers only delete rows created up to this instant, a customer re-created afterwards is left alone
+    private LocalDateTime deletedAt;
+}
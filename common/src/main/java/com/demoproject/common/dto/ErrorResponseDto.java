@@ -1,4 +1,4 @@
-package com.demoproject.accounts.dto;
+package com.demoproject.common.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
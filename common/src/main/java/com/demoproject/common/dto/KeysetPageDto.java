@@ -0,0 +1,28 @@
+package com.demoproject.common.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(
+        name = "KeysetPage",
+        description = "Schema to hold one page of a list and the cursor of the next page"
+)
+public class KeysetPageDto<T> {
+
+    @Schema(
+            description = "Rows of this page in ascending id order"
+    )
+    private List<T> items;
+
+    @Schema(
+            description = "Pass as 'after' to get the next page, null on the last page", example = "1050"
+    )
+    private Long nextCursor;
+}
@@ -1,8 +1,9 @@
-package com.demoproject.accounts.entity;
+package com.demoproject.common.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -13,7 +14,6 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 
@@ -45,12 +45,18 @@ public class BaseEntity {
 
     @LastModifiedDate
     @Column(insertable = false)
-    private LocalDate updatedAt;
+    private LocalDateTime updatedAt;
 
     @LastModifiedBy
     @Column(insertable = false)
     private String updatedBy;
 
+    /*Optimistic locking: every UPDATE carries "where version = ?" and bumps it, so two concurrent
+    read-modify-write updates of the same row can no longer silently overwrite each other*/
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
 /*
     Note: "insertable=false and updatable=false control whether Hibernate includes a column in INSERT or
      UPDATE SQL. They are commonly used for immutable fields, audit columns, or database-managed values."
@@ -0,0 +1,62 @@
+package com.demoproject.common.entity;
+
+import jakarta.persistence.AttributeConverter;
+
+import java.util.Arrays;
+
+/*Keeps a fixed-width digit string (mobile, card and loan numbers) in a BIGINT column: 8 bytes in the row and in
+every index on it instead of a varchar, compared as one number instead of character by character. The entity and
+the DTOs keep their String; the width is restored on read, so leading zeros survive the round trip.*/
+public abstract class DigitsConverter implements AttributeConverter<String, Long> {
+
+    private final int width;
+
+    protected DigitsConverter(int width) {
+        this.width = width;
+    }
+
+    @Override
+    public Long convertToDatabaseColumn(String digits) {
+        return digits == null || digits.isEmpty() ? null : parse(digits);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Long value) {
+        return value == null ? null : format(value, width);
+    }
+
+    /**
+     * @param digits - Up to 18 decimal digits
+     * @return the digits as a number, leading zeros dropped
+     */
+    public static long parse(String digits) {
+        if (digits.length() > 18) {
+            throw new IllegalArgumentException("More than 18 digits: " + digits);
+        }
+        long value = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            char c = digits.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("Not a number: " + digits);
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * @param value - Number read from the column
+     * @param width - Number of digits, left-padded with zeros
+     */
+    public static String format(long value, int width) {
+        String digits = Long.toString(value);
+        if (digits.length() >= width) {
+            return digits;
+        }
+        char[] padded = new char[width];
+        int padding = width - digits.length();
+        Arrays.fill(padded, 0, padding, '0');
+        digits.getChars(0, digits.length(), padded, padding);
+        return new String(padded);
+    }
+}
@@ -0,0 +1,17 @@
+package com.demoproject.common.entity;
+
+import jakarta.persistence.Converter;
+
+@Converter
+public class MobileNumberConverter extends DigitsConverter {
+
+    public static final int WIDTH = 10;
+
+    public MobileNumberConverter() {
+        super(WIDTH);
+    }
+
+    public static String format(long mobileNumber) {
+        return format(mobileNumber, WIDTH);
+    }
+}
@@ -0,0 +1,16 @@
+package com.demoproject.common.event;
+
+/*Transport behind the outbox relay, selected by digibank.events.broker (see OutboxAutoConfiguration). The default,
+stream, sends through StreamBridge and the RabbitMQ binder to the other services; in-memory only reaches consumers in
+the same JVM and refuses the rest.*/
+public interface EventBroker {
+
+    /**
+     * @param destination - Logical destination, e.g. customer-deleted
+     * @param key - Routing/partition key, the mobile number
+     * @param payload - JSON payload
+     * @throws RuntimeException when the broker did not accept the event, the relay parks the destination and retries
+     * it on the next run
+     */
+    void publish(String destination, String key, String payload);
+}
@@ -0,0 +1,39 @@
+package com.demoproject.common.event;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+/*Delivers events to subscribers in the same JVM, for tests and single-process local runs; InMemoryFunctionBindings
+subscribes the function beans. An event for a destination nobody in this JVM subscribed to is refused rather than
+dropped: its consumers live in another service, so the row stays unpublished and the relay parks that destination
+until the stream broker is configured and can deliver it.*/
+public class InMemoryEventBroker implements EventBroker {
+
+    private final Map<String, List<BiConsumer<String, String>>> subscribers = new ConcurrentHashMap<>();
+
+    /**
+     * @param destination - Destination to listen on
+     * @param subscriber - Called with the key and payload of every event published to the destination
+     */
+    public void subscribe(String destination, BiConsumer<String, String> subscriber) {
+        subscribers.computeIfAbsent(destination, d -> new CopyOnWriteArrayList<>()).add(subscriber);
+    }
+
+    /**
+     * @throws IllegalStateException when nobody in this JVM subscribed to the destination
+     */
+    @Override
+    public void publish(String destination, String key, String payload) {
+        List<BiConsumer<String, String>> destinationSubscribers = subscribers.get(destination);
+        if (destinationSubscribers == null || destinationSubscribers.isEmpty()) {
+            throw new IllegalStateException("No in-memory subscriber for " + destination
+                    + ", set digibank.events.broker=stream to deliver its events to other services");
+        }
+        for (BiConsumer<String, String> subscriber : destinationSubscribers) {
+            subscriber.accept(key, payload);
+        }
+    }
+}
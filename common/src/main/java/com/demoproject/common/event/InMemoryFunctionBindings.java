@@ -0,0 +1,75 @@
+package com.demoproject.common.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Method;
+import java.util.function.Consumer;
+
+/*Binds the Consumer beans of spring.cloud.function.definition to the InMemoryEventBroker the way spring-cloud-stream
+binds them to the message broker: bean customerDeleted listens on the destination of
+spring.cloud.stream.bindings.customerDeleted-in-0 and gets the JSON payload read as its input type. Only consumers in
+this JVM are reached, so a service whose events are consumed by another one still needs the stream broker.*/
+public class InMemoryFunctionBindings implements SmartInitializingSingleton {
+
+    private final InMemoryEventBroker eventBroker;
+    private final ConfigurableListableBeanFactory beanFactory;
+    private final Environment environment;
+    private final ObjectMapper objectMapper;
+
+    public InMemoryFunctionBindings(InMemoryEventBroker eventBroker, ConfigurableListableBeanFactory beanFactory,
+                                    Environment environment, ObjectMapper objectMapper) {
+        this.eventBroker = eventBroker;
+        this.beanFactory = beanFactory;
+        this.environment = environment;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        String definition = environment.getProperty("spring.cloud.function.definition", "");
+        for (String functionName : StringUtils.tokenizeToStringArray(definition, ";")) {
+            String destination = environment.getProperty(
+                    "spring.cloud.stream.bindings." + functionName + "-in-0.destination");
+            if (destination == null || !beanFactory.containsBean(functionName)) {
+                continue;
+            }
+            bind(destination, functionName);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void bind(String destination, String functionName) {
+        Class<?> inputType = inputType(functionName);
+        Consumer<Object> consumer = beanFactory.getBean(functionName, Consumer.class);
+        eventBroker.subscribe(destination, (key, payload) -> {
+            try {
+                consumer.accept(objectMapper.readValue(payload, inputType));
+            } catch (JsonProcessingException ex) {
+                throw new IllegalArgumentException("Could not read " + destination + " event as "
+                        + inputType.getSimpleName(), ex);
+            }
+        });
+    }
+
+    private Class<?> inputType(String functionName) {
+        BeanDefinition beanDefinition = beanFactory.getMergedBeanDefinition(functionName);
+        Method factoryMethod = beanDefinition instanceof RootBeanDefinition rootBeanDefinition
+                ? rootBeanDefinition.getResolvedFactoryMethod() : null;
+        ResolvableType functionType = factoryMethod != null
+                ? ResolvableType.forMethodReturnType(factoryMethod)
+                : ResolvableType.forClass(beanFactory.getType(functionName));
+        Class<?> inputType = functionType.as(Consumer.class).getGeneric(0).resolve();
+        if (inputType == null) {
+            throw new IllegalStateException("Cannot bind " + functionName + ", it is not a Consumer of a concrete type");
+        }
+        return inputType;
+    }
+}
@@ -0,0 +1,17 @@
+package com.demoproject.common.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter @ToString @AllArgsConstructor
+public class OutboxEvent {
+
+    private long eventId;
+
+    private String destination;
+
+    private String eventKey;
+
+    private String payload;
+}
@@ -0,0 +1,58 @@
+package com.demoproject.common.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/*Transactional outbox: the event row is inserted in the same transaction as the business change, so an event
+exists if and only if the change committed. OutboxRelay hands committed rows to the broker afterwards.*/
+@AllArgsConstructor
+public class OutboxPublisher {
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param destination - Logical destination of the event
+     * @param key - Routing key, the mobile number
+     * @param event - Event DTO, serialized as JSON
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String destination, String key, Object event) {
+        try {
+            outboxRepository.insert(destination, key, objectMapper.writeValueAsString(event), LocalDateTime.now());
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize " + event.getClass().getSimpleName(), ex);
+        }
+    }
+
+    /**
+     * @param destination - Logical destination of the events
+     * @param events - Event DTOs, serialized as JSON and inserted as one JDBC batch
+     * @param keyOf - Routing key of an event
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T> void appendAll(String destination, List<T> events, Function<T, String> keyOf) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<String> keys = new ArrayList<>(events.size());
+        List<String> payloads = new ArrayList<>(events.size());
+        try {
+            for (T event : events) {
+                keys.add(keyOf.apply(event));
+                payloads.add(objectMapper.writeValueAsString(event));
+            }
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize " + events.get(0).getClass().getSimpleName(), ex);
+        }
+        outboxRepository.insertAll(destination, keys, payloads, LocalDateTime.now());
+    }
+}
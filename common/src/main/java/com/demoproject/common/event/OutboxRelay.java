@@ -0,0 +1,90 @@
+package com.demoproject.common.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*Polls committed outbox rows in event_id order and publishes them. Delivery is at-least-once: a crash between
+publish and markPublished, or two instances relaying at once, sends an event twice, so consumers must be
+idempotent. A failed publish parks its destination for the rest of the run: later events of that destination are
+left in the outbox so that they are not sent ahead of it, the other destinations carry on. The parked events are
+retried every run and only the first failure of a destination in a row is logged as a warning.*/
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxRepository outboxRepository;
+    private final EventBroker eventBroker;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration retention;
+    private final Set<String> failingDestinations = ConcurrentHashMap.newKeySet();
+
+    public OutboxRelay(OutboxRepository outboxRepository, EventBroker eventBroker,
+                       TransactionTemplate transactionTemplate, int batchSize, Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.eventBroker = eventBroker;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${digibank.events.relay-interval-ms:500}")
+    public void relay() {
+        Set<String> parked = new HashSet<>();
+        long lastEventId = 0;
+        List<OutboxEvent> events;
+        do {
+            events = outboxRepository.findUnpublished(lastEventId, batchSize);
+            List<Long> published = new ArrayList<>(events.size());
+            for (OutboxEvent event : events) {
+                lastEventId = event.getEventId();
+                if (parked.contains(event.getDestination())) {
+                    continue;
+                }
+                try {
+                    eventBroker.publish(event.getDestination(), event.getEventKey(), event.getPayload());
+                    published.add(event.getEventId());
+                } catch (RuntimeException ex) {
+                    parked.add(event.getDestination());
+                    if (failingDestinations.add(event.getDestination())) {
+                        logger.warn("Publishing outbox event to {} failed, retrying on the next run",
+                                event.getDestination(), ex);
+                    } else {
+                        logger.debug("Publishing outbox event to {} failed again, retrying on the next run: {}",
+                                event.getDestination(), ex.getMessage());
+                    }
+                }
+            }
+            markPublished(published);
+        } while (events.size() == batchSize);
+        for (String destination : failingDestinations) {
+            if (!parked.contains(destination) && failingDestinations.remove(destination)) {
+                logger.info("Publishing outbox events to {} recovered", destination);
+            }
+        }
+    }
+
+    @Scheduled(cron = "${digibank.events.purge-cron:0 0 3 * * *}")
+    public void purge() {
+        Integer purged = transactionTemplate.execute(
+                status -> outboxRepository.deletePublishedBefore(LocalDateTime.now().minus(retention)));
+        logger.info("Purged {} published outbox events", purged);
+    }
+
+    private void markPublished(List<Long> eventIds) {
+        if (!eventIds.isEmpty()) {
+            transactionTemplate.executeWithoutResult(
+                    status -> outboxRepository.markPublished(eventIds, LocalDateTime.now()));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.demoproject.common.event;
+
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/*Plain JDBC, the outbox is written inside the JPA transaction of the business change (JdbcTemplate joins it)
+and read by the relay without going through entities*/
+@AllArgsConstructor
+public class OutboxRepository {
+
+    private static final String INSERT_EVENT =
+            "insert into outbox_event (destination, event_key, payload, created_at) values (?, ?, ?, ?)";
+
+    private static final String SELECT_UNPUBLISHED =
+            "select event_id, destination, event_key, payload from outbox_event " +
+            "where published_at is null and event_id > ? order by event_id limit ?";
+
+    private static final String MARK_PUBLISHED =
+            "update outbox_event set published_at = ? where event_id = ?";
+
+    private static final String DELETE_PUBLISHED =
+            "delete from outbox_event where published_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(String destination, String eventKey, String payload, LocalDateTime createdAt) {
+        jdbcTemplate.update(INSERT_EVENT, destination, eventKey, payload, Timestamp.valueOf(createdAt));
+    }
+
+    public void insertAll(String destination, List<String> eventKeys, List<String> payloads, LocalDateTime createdAt) {
+        Timestamp createdAtTimestamp = Timestamp.valueOf(createdAt);
+        jdbcTemplate.batchUpdate(INSERT_EVENT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setString(1, destination);
+                ps.setString(2, eventKeys.get(i));
+                ps.setString(3, payloads.get(i));
+                ps.setTimestamp(4, createdAtTimestamp);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return payloads.size();
+            }
+        });
+    }
+
+    /**
+     * @param afterEventId - Last event id already read in this run, 0 for the first page
+     * @param limit - Page size
+     */
+    public List<OutboxEvent> findUnpublished(long afterEventId, int limit) {
+        return jdbcTemplate.query(SELECT_UNPUBLISHED, (rs, rowNum) -> new OutboxEvent(
+                rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4)), afterEventId, limit);
+    }
+
+    public void markPublished(List<Long> eventIds, LocalDateTime publishedAt) {
+        Timestamp publishedAtTimestamp = Timestamp.valueOf(publishedAt);
+        jdbcTemplate.batchUpdate(MARK_PUBLISHED, eventIds, eventIds.size(),
+                (ps, eventId) -> {
+                    ps.setTimestamp(1, publishedAtTimestamp);
+                    ps.setLong(2, eventId);
+                });
+    }
+
+    public int deletePublishedBefore(LocalDateTime publishedBefore) {
+        return jdbcTemplate.update(DELETE_PUBLISHED, Timestamp.valueOf(publishedBefore));
+    }
+}
@@ -0,0 +1,102 @@
+package com.demoproject.common.exception;
+
+import com.demoproject.common.dto.ErrorResponseDto;
+import com.demoproject.common.metrics.ErrorMetrics;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*Exception mapping shared by the services. Each service's GlobalExceptionHandler extends it as its @ControllerAdvice
+and adds handlers for exceptions only it throws; the @ExceptionHandler methods declared here are inherited.*/
+public abstract class CommonExceptionHandler extends ResponseEntityExceptionHandler {
+
+    private static final String CONCURRENT_MODIFICATION_MESSAGE =
+            "The record was modified concurrently. Please reload and try again";
+
+    private final ErrorMetrics errorMetrics;
+
+    protected CommonExceptionHandler(ErrorMetrics errorMetrics) {
+        this.errorMetrics = errorMetrics;
+    }
+
+    @ExceptionHandler(ResourceAlreadyExistsException.class)
+    public ResponseEntity<ErrorResponseDto> handleResourceAlreadyExistsException(ResourceAlreadyExistsException ex,
+                                                                                 WebRequest webRequest) {
+        return errorResponse(ex, webRequest, HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ErrorResponseDto> handleResourceNotFoundException(ResourceNotFoundException ex,
+                                                                            WebRequest webRequest) {
+        return errorResponse(ex, webRequest, HttpStatus.NOT_FOUND, ex.getMessage());
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDto> handleOptimisticLockingFailureException(ObjectOptimisticLockingFailureException ex,
+                                                                                   WebRequest webRequest) {
+        return errorResponse(ex, webRequest, HttpStatus.CONFLICT, CONCURRENT_MODIFICATION_MESSAGE);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponseDto> handleGlobalException(Exception ex, WebRequest webRequest) {
+        return errorResponse(ex, webRequest, HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage());
+    }
+
+    @Override
+    protected ResponseEntity<Object> handleMethodArgumentNotValid
+            (MethodArgumentNotValidException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
+        Map<String, String> validationErrors = new HashMap<>();
+        List<ObjectError> validationErrorList = ex.getBindingResult().getAllErrors();
+
+        validationErrorList.forEach((error) -> {
+            String fieldName = ((FieldError) error).getField();
+            String validationMsg = error.getDefaultMessage();
+            validationErrors.put(fieldName, validationMsg);
+        });
+        errorMetrics.record(ex, HttpStatus.BAD_REQUEST);
+        return new ResponseEntity<>(validationErrors, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * @param ex - Exception being handled, counted in digibank.errors
+     * @param webRequest - Request that failed, its path goes into the body
+     * @param status - Status of the error response
+     * @param message - Error message of the body
+     * @return error response for the handlers of the services
+     */
+    protected ResponseEntity<ErrorResponseDto> errorResponse(Exception ex, WebRequest webRequest, HttpStatus status,
+                                                             String message) {
+        errorMetrics.record(ex, status);
+        /*Not-found and already-exists are answered at probe rates, so the exceptions are stackless and this is all
+        the work left per error: the path the request already resolved, the message and one timestamp. The bodies are
+        not precomputed or registered in PreSerializedResponses: every one carries the probed path, a message naming
+        the probed value and the time of the error, so no two probes share a body that could be built ahead*/
+        return new ResponseEntity<>(
+                errorResponseDto(webRequest.getDescription(false), status, message, LocalDateTime.now()), status);
+    }
+
+    /**
+     * @param apiPath - Path of the failed request
+     * @param status - Status of the error response
+     * @param message - Error message
+     * @param errorTime - When the error happened
+     * @return error body; overridden by services whose error body names the fields differently
+     */
+    protected ErrorResponseDto errorResponseDto(String apiPath, HttpStatus status, String message,
+                                                LocalDateTime errorTime) {
+        return new ErrorResponseDto(apiPath, status, message, errorTime);
+    }
+}
@@ -0,0 +1,17 @@
+package com.demoproject.common.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/*Base of CustomerAlreadyExistsException, CardAlreadyExistsException and LoanAlreadyExistsException, mapped to a
+400 by CommonExceptionHandler. Stackless like ResourceNotFoundException: a duplicate create is an expected answer,
+not a failure to debug.*/
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class ResourceAlreadyExistsException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ResourceAlreadyExistsException(String message) {
+        super(message, null, false, false);
+    }
+}
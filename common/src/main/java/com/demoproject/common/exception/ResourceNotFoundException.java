@@ -0,0 +1,22 @@
+package com.demoproject.common.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/*Thrown on the normal lookup path for every unknown number, so it is stackless: filling in a stack trace walks the
+whole servlet, Spring and proxy stack and costs more than the lookup it reports. CommonExceptionHandler turns it
+into a 404 and never needs the trace.*/
+@ResponseStatus(value = HttpStatus.NOT_FOUND)
+public class ResourceNotFoundException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ResourceNotFoundException(String resourceName, String fieldName, String fieldValue) {
+        this(resourceName + " not found with the given input data " + fieldName + ": " + fieldValue);
+    }
+
+    // for services that keep their own wording of the message
+    protected ResourceNotFoundException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,48 @@
+package com.demoproject.common.export;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+public enum ExportFormat {
+
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * @param format - "ndjson" or "csv", lowercase as the controllers validate it
+     * @return the matching export format
+     */
+    public static ExportFormat of(String format) {
+        return valueOf(format.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * @param mediaType - Content-Type of an uploaded file
+     * @return the format with the same type and subtype, parameters such as charset are ignored
+     */
+    public static ExportFormat of(MediaType mediaType) {
+        for (ExportFormat format : values()) {
+            if (MediaType.parseMediaType(format.contentType).equalsTypeAndSubtype(mediaType)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported content type " + mediaType);
+    }
+}
@@ -0,0 +1,106 @@
+package com.demoproject.common.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+/*Writes export rows one at a time straight to the response stream, nothing is collected in memory.
+close() flushes but leaves the response stream open, the servlet container owns it.*/
+public abstract class ExportWriter<T> implements Closeable {
+
+    /**
+     * @param format - Output format
+     * @param outputStream - Response output stream
+     * @param jsonWriter - Jackson writer for the row type, used for NDJSON
+     * @param csvHeader - Column names, used for CSV
+     * @param csvColumns - Column values of a row in csvHeader order, used for CSV
+     */
+    public static <T> ExportWriter<T> open(ExportFormat format, OutputStream outputStream, ObjectWriter jsonWriter,
+                                           String[] csvHeader, Function<T, Object[]> csvColumns) throws IOException {
+        return format == ExportFormat.CSV
+                ? new CsvWriter<>(outputStream, csvHeader, csvColumns)
+                : new NdJsonWriter<>(outputStream, jsonWriter);
+    }
+
+    public abstract void write(T row) throws IOException;
+
+    private static final class NdJsonWriter<T> extends ExportWriter<T> {
+
+        private final JsonGenerator generator;
+        private final ObjectWriter jsonWriter;
+
+        private NdJsonWriter(OutputStream outputStream, ObjectWriter jsonWriter) throws IOException {
+            // no flush per row, the generator buffer decides when bytes go out
+            this.jsonWriter = jsonWriter.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            this.generator = jsonWriter.getFactory().createGenerator(outputStream)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        public void write(T row) throws IOException {
+            jsonWriter.writeValue(generator, row);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static final class CsvWriter<T> extends ExportWriter<T> {
+
+        private final Writer writer;
+        private final Function<T, Object[]> csvColumns;
+
+        private CsvWriter(OutputStream outputStream, String[] csvHeader, Function<T, Object[]> csvColumns) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            this.csvColumns = csvColumns;
+            writeLine(csvHeader);
+        }
+
+        @Override
+        public void write(T row) throws IOException {
+            writeLine(csvColumns.apply(row));
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+
+        private void writeLine(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeValue(values[i]);
+            }
+            writer.write('\n');
+        }
+
+        // RFC 4180: quote values containing a separator, quote or line break and double embedded quotes
+        private void writeValue(Object value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            String text = value.toString();
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                writer.write(text);
+                return;
+            }
+            writer.write('"');
+            writer.write(text.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.demoproject.common.index;
+
+import com.demoproject.common.cache.InvalidationBus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.util.concurrent.TimeUnit;
+
+/*Answers "is this mobile number taken?" without a query when the answer is no, which it is for almost every
+create request. Mobile numbers are packed into longs and kept in an OffHeapBloomFilter: a "no" is certain,
+a "maybe" still goes to the database. The filter is filled from a scan of digibank.mobile-number-index.table
+(customer, cards or loans) when the application is ready (until then every number is a "maybe"), numbers written
+here or on another replica are added as they come, over the InvalidationBus. A Bloom filter cannot forget a number, so after a delete the number stays a "maybe" and costs the
+lookup every number used to cost, until the next restart rebuilds the filter.
+A replica that has not heard of a number yet is caught by the unique index on the table's mobile_number.*/
+public class MobileNumberIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(MobileNumberIndex.class);
+
+    private static final String INDEX_TOPIC = "mobile-number-index";
+
+    private final OffHeapBloomFilter filter;
+    private final MobileNumberScanRepository mobileNumberScanRepository;
+    private final InvalidationBus invalidationBus;
+    private volatile boolean ready;
+
+    public MobileNumberIndex(MobileNumberScanRepository mobileNumberScanRepository,
+                             InvalidationBus invalidationBus,
+                             long expectedEntries,
+                             double falsePositiveRate) {
+        this.filter = new OffHeapBloomFilter(expectedEntries, falsePositiveRate);
+        this.mobileNumberScanRepository = mobileNumberScanRepository;
+        this.invalidationBus = invalidationBus;
+        invalidationBus.subscribe((topic, mobileNumber) -> {
+            if (INDEX_TOPIC.equals(topic)) {
+                addLocal(mobileNumber);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        long rows = mobileNumberScanRepository.forEachMobileNumber(filter::put);
+        ready = true;
+        logger.info("Mobile number index built from {} rows in {} ms, {} KB off-heap", rows,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), filter.sizeInBytes() / 1024);
+    }
+
+    /**
+     * @param mobileNumber - Mobile Number to look up
+     * @return false only when the number is certainly not in the table
+     */
+    public boolean mightExist(String mobileNumber) {
+        if (!ready) {
+            return true;
+        }
+        long packed = pack(mobileNumber);
+        return packed < 0 || filter.mightContain(packed);
+    }
+
+    /**
+     * @param mobileNumber - Mobile Number that was just written to the table, added here and on every other replica
+     */
+    public void add(String mobileNumber) {
+        addLocal(mobileNumber);
+        try {
+            invalidationBus.publish(INDEX_TOPIC, mobileNumber);
+        } catch (RuntimeException ex) {
+            logger.warn("Could not publish mobile number {} to the other replicas", mobileNumber, ex);
+        }
+    }
+
+    private void addLocal(String mobileNumber) {
+        long packed = pack(mobileNumber);
+        if (packed >= 0) {
+            filter.put(packed);
+        }
+    }
+
+    // Digits only, at most 18 of them, without allocating; -1 for anything else, which is then always a "maybe"
+    private static long pack(String mobileNumber) {
+        if (mobileNumber == null || mobileNumber.isEmpty() || mobileNumber.length() > 18) {
+            return -1;
+        }
+        long packed = 0;
+        for (int i = 0; i < mobileNumber.length(); i++) {
+            char c = mobileNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            packed = packed * 10 + (c - '0');
+        }
+        return packed;
+    }
+}
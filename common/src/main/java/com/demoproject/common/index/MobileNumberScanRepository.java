@@ -0,0 +1,39 @@
+package com.demoproject.common.index;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.function.LongConsumer;
+
+// Forward-only scan behind the MobileNumberIndex rebuild, one BIGINT column read as a primitive, no entities
+public class MobileNumberScanRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String selectMobileNumbers;
+
+    /**
+     * @param jdbcTemplate - JdbcTemplate of the service
+     * @param table - Table with the mobile_number column, from digibank.mobile-number-index.table
+     */
+    public MobileNumberScanRepository(JdbcTemplate jdbcTemplate, String table) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.selectMobileNumbers = "select mobile_number from " + table;
+    }
+
+    /**
+     * @param consumer - Called with every mobile number in the table
+     * @return number of rows scanned
+     */
+    public long forEachMobileNumber(LongConsumer consumer) {
+        long[] rows = new long[1];
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(selectMobileNumbers);
+            ps.setFetchSize(1000);
+            return ps;
+        }, rs -> {
+            consumer.accept(rs.getLong(1));
+            rows[0]++;
+        });
+        return rows[0];
+    }
+}
@@ -0,0 +1,77 @@
+package com.demoproject.common.index;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/*Bloom filter over long keys with its bit array in a direct buffer, outside the Java heap: it costs the GC nothing
+to scan and its size is fixed when it is created, about 1.2 bytes per expected key at a 1% false positive rate.
+Bits are set with an atomic OR, so concurrent puts never lose each other's bits. Keys cannot be removed.*/
+public class OffHeapBloomFilter {
+
+    private static final VarHandle WORDS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final ByteBuffer words;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedEntries - Number of keys the filter is sized for
+     * @param falsePositiveRate - Target false positive rate at expectedEntries, e.g. 0.01
+     */
+    public OffHeapBloomFilter(long expectedEntries, double falsePositiveRate) {
+        if (expectedEntries <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("expectedEntries must be positive and falsePositiveRate in (0, 1)");
+        }
+        long bits = (long) Math.ceil(-expectedEntries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        long wordCount = (bits + 63) / 64;
+        if (wordCount * Long.BYTES > Integer.MAX_VALUE - Long.BYTES) {
+            throw new IllegalArgumentException("Bloom filter for " + expectedEntries + " entries exceeds 2 GB");
+        }
+        this.bitCount = wordCount * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedEntries * Math.log(2)));
+        // atomic access modes need 8-byte aligned words
+        this.words = ByteBuffer.allocateDirect((int) (wordCount * Long.BYTES) + Long.BYTES).alignedSlice(Long.BYTES);
+    }
+
+    public void put(long key) {
+        long h1 = mix(key);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            int offset = (int) (bit >>> 6) << 3;
+            long mask = 1L << bit;
+            if (((long) WORDS.getAcquire(words, offset) & mask) == 0) {
+                WORDS.getAndBitwiseOr(words, offset, mask);
+            }
+        }
+    }
+
+    /**
+     * @return false when the key was certainly never put, true when it probably was
+     */
+    public boolean mightContain(long key) {
+        long h1 = mix(key);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if (((long) WORDS.getAcquire(words, (int) (bit >>> 6) << 3) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long sizeInBytes() {
+        return bitCount / 8;
+    }
+
+    // SplitMix64 finalizer; the second probe hash is derived from the first (Kirsch-Mitzenmacher double hashing)
+    private static long mix(long z) {
+        z += 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,38 @@
+package com.demoproject.common.logging;
+
+import com.demoproject.common.config.ObservabilityAutoConfiguration;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/*Puts the digibank-correlation-id of the request into the MDC, so every log line written while serving it carries
+the id as correlationId next to the traceId and spanId that tracing adds. The async appender copies the MDC into
+the event on the request thread. Registered by ObservabilityAutoConfiguration.*/
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdMdcFilter extends OncePerRequestFilter {
+
+    public static final String MDC_KEY = "correlationId";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String correlationId = request.getHeader(ObservabilityAutoConfiguration.CORRELATION_ID_HEADER);
+        if (correlationId == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        MDC.put(MDC_KEY, correlationId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+}
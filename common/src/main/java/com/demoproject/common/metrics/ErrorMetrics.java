@@ -0,0 +1,40 @@
+package com.demoproject.common.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatus;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*Counts the errors GlobalExceptionHandler turns into responses, by exception type and status. http.server.requests
+only tags exceptions that escape the handler, which none do.
+Counters are cached per status and exception class: a burst of 404s is a map lookup and an increment each, not a
+builder, a tag list and a registry lookup. Registered by ObservabilityAutoConfiguration.*/
+public class ErrorMetrics {
+
+    public static final String ERRORS = "digibank.errors";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<HttpStatus, Map<Class<?>, Counter>> counters = new EnumMap<>(HttpStatus.class);
+
+    public ErrorMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (HttpStatus status : HttpStatus.values()) {
+            counters.put(status, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * @param ex - Exception being handled
+     * @param status - Status of the error response
+     */
+    public void record(Throwable ex, HttpStatus status) {
+        counters.get(status).computeIfAbsent(ex.getClass(), type -> Counter.builder(ERRORS)
+                        .tag("exception", type.getSimpleName())
+                        .tag("status", String.valueOf(status.value()))
+                        .register(meterRegistry))
+                .increment();
+    }
+}
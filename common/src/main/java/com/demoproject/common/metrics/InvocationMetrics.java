@@ -0,0 +1,128 @@
+package com.demoproject.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*Every call into the service layer (the I*Service interfaces of accounts, cards and loans), the Spring Data
+repositories and the Feign clients is timed under one meter, digibank.invocations, tagged with the layer, so a slow request can be split into database, downstream and the rest (serialization, filters) by
+comparing with http.server.requests.
+Tags are bounded: type and method come from a fixed set of interfaces, exception is the simple class name and is
+capped by ObservabilityAutoConfiguration. The meters of a method are looked up once and cached, the hot path does
+no registry lookup, failures included: the timer of each exception type is built on its first throw only.
+Ordered first, so the time of a @Transactional service method includes its commit.*/
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class InvocationMetrics {
+
+    public static final String INVOCATIONS = "digibank.invocations";
+    public static final String ACTIVE = "digibank.invocations.active";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, MethodMeters> meters = new ConcurrentHashMap<>();
+    // overloads share their tags and so their gauge
+    private final Map<Tags, AtomicInteger> activeCounts = new ConcurrentHashMap<>();
+
+    public InvocationMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(* com.demoproject..service.I*Service.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "service");
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "repository");
+    }
+
+    @Around("execution(* com.demoproject..service.client.*FeignClient.*(..))")
+    public Object timeClient(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "client");
+    }
+
+    /**
+     * @param joinPoint - Intercepted call
+     * @param layer - service, repository or client
+     * @return result of the call
+     */
+    private Object time(ProceedingJoinPoint joinPoint, String layer) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        MethodMeters methodMeters = meters.computeIfAbsent(signature.getMethod(),
+                method -> new MethodMeters(layer, typeName(joinPoint, method), method.getName()));
+        methodMeters.active.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            methodMeters.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable ex) {
+            methodMeters.failure(ex).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        } finally {
+            methodMeters.active.decrementAndGet();
+        }
+    }
+
+    /*Our interface (IAccountsService, CardsRepository) rather than the proxied implementation class or
+    CrudRepository, which declares save*/
+    private static String typeName(ProceedingJoinPoint joinPoint, Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        for (Class<?> type : ClassUtils.getAllInterfacesForClass(joinPoint.getThis().getClass())) {
+            if (type.getName().startsWith("com.demoproject.")
+                    && (declaringClass.isAssignableFrom(type) || type.isAssignableFrom(declaringClass))) {
+                return type.getSimpleName();
+            }
+        }
+        return declaringClass.getSimpleName();
+    }
+
+    /*Exceptions mapped to a 4xx status (not found, already exists) are the caller's error, anything else ours*/
+    private static String outcome(Throwable ex) {
+        ResponseStatus responseStatus = AnnotatedElementUtils.findMergedAnnotation(ex.getClass(), ResponseStatus.class);
+        return responseStatus != null && responseStatus.code().is4xxClientError() ? "CLIENT_ERROR" : "SERVER_ERROR";
+    }
+
+    private class MethodMeters {
+
+        private final Tags tags;
+        private final AtomicInteger active;
+        private final Timer success;
+        private final Map<Class<?>, Timer> failures = new ConcurrentHashMap<>();
+
+        MethodMeters(String layer, String type, String method) {
+            this.tags = Tags.of("layer", layer, "type", type, "method", method);
+            this.active = activeCounts.computeIfAbsent(tags,
+                    key -> meterRegistry.gauge(ACTIVE, key, new AtomicInteger()));
+            this.success = Timer.builder(INVOCATIONS)
+                    .tags(tags)
+                    .tag("outcome", "SUCCESS")
+                    .tag("exception", "none")
+                    .register(meterRegistry);
+        }
+
+        Timer failure(Throwable ex) {
+            return failures.computeIfAbsent(ex.getClass(), type -> Timer.builder(INVOCATIONS)
+                    .tags(tags)
+                    .tag("outcome", outcome(ex))
+                    .tag("exception", type.getSimpleName())
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.demoproject.common.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/*Drop-in replacement for @Pattern(regexp = "(^$|[0-9]{n})") on mobile, card and loan numbers, checked by
+DigitStringValidator with a loop over the characters instead of a regex match per request.
+Same outcome as the pattern: null and the empty string are valid, so @NotEmpty still decides whether the value is
+required, anything else must be exactly length ASCII digits.*/
+@Documented
+@Constraint(validatedBy = DigitStringValidator.class)
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER, ElementType.ANNOTATION_TYPE,
+        ElementType.TYPE_USE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DigitString {
+
+    int length();
+
+    String message();
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,32 @@
+package com.demoproject.common.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class DigitStringValidator implements ConstraintValidator<DigitString, CharSequence> {
+
+    private int length;
+
+    @Override
+    public void initialize(DigitString constraint) {
+        this.length = constraint.length();
+    }
+
+    @Override
+    public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+        if (value == null || value.isEmpty()) {
+            return true;
+        }
+        if (value.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            // [0-9] of the pattern it replaces, not Character.isDigit, which also accepts non-ASCII digits
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,78 @@
+package com.demoproject.common.web;
+
+import com.demoproject.common.entity.BaseEntity;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/*Builds the ETag of a fetch response from what changes whenever the data behind it changes: the @Version and the
+last modification time of each entity, or the tag of an upstream response it embeds. The body is never hashed, so
+the tag costs a few multiplications and the controller can hand it to ResponseEntity.eTag(...); Spring then
+answers a matching If-None-Match with 304 Not Modified without serializing the body.
+The tag is weak: the same data may go out gzip-compressed or not, and Tomcat does not compress responses that
+carry a strong ETag.*/
+public final class EntityTag {
+
+    // FNV-1a, 64 bit
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private long hash = OFFSET_BASIS;
+
+    /**
+     * @param entities - Entities the response is mapped from
+     * @return weak ETag of the entities
+     */
+    public static String of(BaseEntity... entities) {
+        EntityTag entityTag = new EntityTag();
+        for (BaseEntity entity : entities) {
+            entityTag.add(entity);
+        }
+        return entityTag.toString();
+    }
+
+    public EntityTag add(BaseEntity entity) {
+        // updatedAt is not written on insert, a row deleted and created again starts over at version 0
+        LocalDateTime lastModified = entity.getUpdatedAt() != null ? entity.getUpdatedAt() : entity.getCreatedAt();
+        return add(entity.getVersion()).add(lastModified);
+    }
+
+    public EntityTag add(LocalDateTime value) {
+        if (value == null) {
+            return add((Long) null);
+        }
+        return add(value.toEpochSecond(ZoneOffset.UTC)).add((long) value.getNano());
+    }
+
+    public EntityTag add(Long value) {
+        if (value == null) {
+            // keeps "absent" apart from any value, and the parts after it in their positions
+            hash = (hash ^ 0xff) * PRIME;
+            return this;
+        }
+        long bits = value;
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash = (hash ^ (bits & 0xff)) * PRIME;
+            bits >>>= 8;
+        }
+        return this;
+    }
+
+    /**
+     * @param value - ETag of an embedded response, null when it had none
+     */
+    public EntityTag add(String value) {
+        if (value == null) {
+            return add((Long) null);
+        }
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * PRIME;
+        }
+        return add((long) value.length());
+    }
+
+    @Override
+    public String toString() {
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+}
@@ -0,0 +1,67 @@
+package com.demoproject.common.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/*Response bodies that never change between requests (the ResponseDto status messages, the contact info) are
+registered here once and serialized with the application's ObjectMapper. PreSerializingJackson2HttpMessageConverter
+then writes the stored bytes whenever a controller returns one of these exact instances, instead of walking the
+object with Jackson again. Lookups are by identity, so an equal but separately built object is serialized normally.
+Registered objects must not be mutated, except by a config refresh: the contact info is rebound in place on
+/actuator/refresh or a bus refresh, after which every body is serialized again.*/
+public class PreSerializedResponses {
+
+    private static final Logger logger = LoggerFactory.getLogger(PreSerializedResponses.class);
+
+    private final ObjectMapper objectMapper;
+    // copy on write, registration only happens at startup and on refresh
+    private volatile Map<Object, byte[]> bodies = new IdentityHashMap<>();
+
+    public PreSerializedResponses(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @param responseBodies - Bodies to serialize now and write as bytes from then on
+     */
+    public synchronized void register(Object... responseBodies) {
+        Map<Object, byte[]> updated = new IdentityHashMap<>(bodies);
+        for (Object body : responseBodies) {
+            updated.put(body, serialize(body));
+        }
+        bodies = updated;
+    }
+
+    /**
+     * @param body - Body returned by a controller
+     * @return the serialized body, null when the body was not registered
+     */
+    public byte[] find(Object body) {
+        return bodies.get(body);
+    }
+
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public synchronized void reserialize() {
+        Map<Object, byte[]> updated = new IdentityHashMap<>(bodies.size());
+        for (Object body : bodies.keySet()) {
+            updated.put(body, serialize(body));
+        }
+        bodies = updated;
+        logger.info("Serialized {} constant response bodies again after a refresh", updated.size());
+    }
+
+    private byte[] serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize constant response body " + body.getClass().getName(), ex);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.demoproject.common.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/*Takes the place of Spring Boot's MappingJackson2HttpMessageConverter. Bodies registered in PreSerializedResponses are
+copied to the response as stored, with their Content-Length, everything else is serialized by Jackson as before.
+The stored bytes are UTF-8, a request for another charset falls back to Jackson.*/
+public class PreSerializingJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final PreSerializedResponses preSerializedResponses;
+
+    public PreSerializingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                      PreSerializedResponses preSerializedResponses) {
+        super(objectMapper);
+        this.preSerializedResponses = preSerializedResponses;
+    }
+
+    @Override
+    protected Long getContentLength(Object object, MediaType contentType) throws IOException {
+        byte[] body = isUtf8(contentType) ? preSerializedResponses.find(object) : null;
+        return body != null ? (long) body.length : super.getContentLength(object, contentType);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        byte[] body = isUtf8(outputMessage.getHeaders().getContentType()) ? preSerializedResponses.find(object) : null;
+        if (body == null) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        outputMessage.getBody().write(body);
+    }
+
+    private static boolean isUtf8(MediaType contentType) {
+        Charset charset = contentType != null ? contentType.getCharset() : null;
+        return charset == null || StandardCharsets.UTF_8.equals(charset);
+    }
+}
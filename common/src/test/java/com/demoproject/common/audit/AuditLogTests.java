@@ -0,0 +1,118 @@
+package com.demoproject.common.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditLogTests {
+
+	private static final String POISON = "poison";
+
+	private final RecordingRepository repository = new RecordingRepository();
+
+	private final AuditLog auditLog = new AuditLog(repository, new TransactionTemplate(new NoOpTransactionManager()),
+			new ObjectMapper(), () -> Optional.of("TEST"), 100, 10, 10, 3);
+
+	@Test
+	void writesQueuedEventsInOneBatch() {
+		record("1");
+		record("2");
+
+		auditLog.flush();
+
+		assertThat(repository.written).containsExactly("1", "2");
+		assertThat(repository.batches).isEqualTo(1);
+	}
+
+	@Test
+	void failingBatchIsRetriedThenWrittenRowByRowSkippingThePoisonRow() {
+		record("1");
+		record(POISON);
+		record("3");
+
+		auditLog.flush();
+		auditLog.flush();
+		assertThat(repository.written).isEmpty();
+
+		auditLog.flush();
+		assertThat(repository.written).containsExactly("1", "3");
+
+		record("4");
+		auditLog.flush();
+		assertThat(repository.written).containsExactly("1", "3", "4");
+	}
+
+	@Test
+	void batchIsKeptForAsLongAsTheDatabaseIsUnavailable() {
+		record("1");
+		repository.unavailable = true;
+
+		for (int i = 0; i < 5; i++) {
+			auditLog.flush();
+		}
+		assertThat(repository.written).isEmpty();
+
+		repository.unavailable = false;
+		auditLog.flush();
+		assertThat(repository.written).containsExactly("1");
+	}
+
+	private void record(String entityId) {
+		auditLog.record("Cards", entityId, AuditAction.UPDATE, Map.of("amountUsed", 0), Map.of("amountUsed", 100));
+	}
+
+	private static class RecordingRepository extends AuditLogRepository {
+
+		private final List<String> written = new ArrayList<>();
+		private int batches;
+		private boolean unavailable;
+
+		RecordingRepository() {
+			super(null);
+		}
+
+		@Override
+		public void insertAll(List<AuditEvent> events, Function<Map<String, Object>, String> toJson) {
+			if (unavailable) {
+				throw new QueryTimeoutException("database unavailable");
+			}
+			for (AuditEvent event : events) {
+				if (POISON.equals(event.getEntityId())) {
+					throw new DataIntegrityViolationException("value too long for before_state");
+				}
+			}
+			batches++;
+			events.forEach(event -> written.add(event.getEntityId()));
+		}
+	}
+
+	private static class NoOpTransactionManager implements PlatformTransactionManager {
+
+		@Override
+		public TransactionStatus getTransaction(TransactionDefinition definition) {
+			return new SimpleTransactionStatus();
+		}
+
+		@Override
+		public void commit(TransactionStatus status) {
+		}
+
+		@Override
+		public void rollback(TransactionStatus status) {
+		}
+	}
+}
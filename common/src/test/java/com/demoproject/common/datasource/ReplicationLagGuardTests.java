@@ -0,0 +1,112 @@
+package com.demoproject.common.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicationLagGuardTests {
+
+	private static final String MOBILE_NUMBER = "4354437687";
+
+	private final ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource();
+
+	@BeforeEach
+	void startReadOnlyTransaction() {
+		TransactionSynchronizationManager.initSynchronization();
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+	}
+
+	@AfterEach
+	void endTransaction() {
+		complete();
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+	}
+
+	@Test
+	void readWithoutARecentWriteGoesToTheReplica() {
+		new ReplicationLagGuard(Duration.ofSeconds(2)).pinToPrimaryIfRecentlyWritten(MOBILE_NUMBER);
+
+		assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.Route.REPLICA);
+	}
+
+	@Test
+	void readOfARecentlyWrittenKeyIsPinnedToThePrimaryUntilTheTransactionEnds() {
+		ReplicationLagGuard guard = writeOutsideATransaction(Duration.ofSeconds(2));
+
+		guard.pinToPrimaryIfRecentlyWritten(MOBILE_NUMBER);
+
+		assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.Route.PRIMARY);
+		complete();
+		TransactionSynchronizationManager.initSynchronization();
+		assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.Route.REPLICA);
+	}
+
+	@Test
+	void readOfAnotherKeyStillGoesToTheReplica() {
+		ReplicationLagGuard guard = writeOutsideATransaction(Duration.ofSeconds(2));
+
+		guard.pinToPrimaryIfRecentlyWritten("9999999999");
+
+		assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.Route.REPLICA);
+	}
+
+	@Test
+	void writeOlderThanTheMaxLagNoLongerPins() throws InterruptedException {
+		ReplicationLagGuard guard = writeOutsideATransaction(Duration.ofMillis(1));
+		Thread.sleep(5);
+
+		guard.pinToPrimaryIfRecentlyWritten(MOBILE_NUMBER);
+
+		assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.Route.REPLICA);
+	}
+
+	@Test
+	void writeInATransactionCountsOnlyOnceItCommits() {
+		ReplicationLagGuard guard = new ReplicationLagGuard(Duration.ofSeconds(2));
+		guard.recordWrite(MOBILE_NUMBER);
+
+		guard.pinToPrimaryIfRecentlyWritten(MOBILE_NUMBER);
+		assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.Route.REPLICA);
+
+		TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		guard.pinToPrimaryIfRecentlyWritten(MOBILE_NUMBER);
+		assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.Route.PRIMARY);
+	}
+
+	@Test
+	void readOutsideATransactionIsNeverPinned() {
+		ReplicationLagGuard guard = writeOutsideATransaction(Duration.ofSeconds(2));
+		complete();
+
+		guard.pinToPrimaryIfRecentlyWritten(MOBILE_NUMBER);
+
+		TransactionSynchronizationManager.initSynchronization();
+		assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.Route.REPLICA);
+	}
+
+	private ReplicationLagGuard writeOutsideATransaction(Duration maxLag) {
+		complete();
+		ReplicationLagGuard guard = new ReplicationLagGuard(maxLag);
+		guard.recordWrite(MOBILE_NUMBER);
+		TransactionSynchronizationManager.initSynchronization();
+		return guard;
+	}
+
+	// runs afterCompletion like a transaction manager would and ends the synchronization
+	private static void complete() {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationManager.clearSynchronization();
+		synchronizations.forEach(synchronization ->
+				synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+	}
+}
@@ -0,0 +1,55 @@
+package com.demoproject.common.entity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DigitsConverterTests {
+
+	private final MobileNumberConverter converter = new MobileNumberConverter();
+
+	@Test
+	void storesTheDigitsAsANumber() {
+		assertThat(converter.convertToDatabaseColumn("4354437687")).isEqualTo(4354437687L);
+	}
+
+	@Test
+	void leadingZerosSurviveTheRoundTrip() {
+		Long stored = converter.convertToDatabaseColumn("0012345678");
+
+		assertThat(stored).isEqualTo(12345678L);
+		assertThat(converter.convertToEntityAttribute(stored)).isEqualTo("0012345678");
+	}
+
+	@Test
+	void allZerosArePaddedToTheFullWidth() {
+		assertThat(converter.convertToEntityAttribute(converter.convertToDatabaseColumn("0000000000")))
+				.isEqualTo("0000000000");
+	}
+
+	@Test
+	void valueWiderThanTheWidthIsNotTruncated() {
+		assertThat(DigitsConverter.format(123456789012L, 10)).isEqualTo("123456789012");
+	}
+
+	@Test
+	void nullAndEmptyAreStoredAsNull() {
+		assertThat(converter.convertToDatabaseColumn(null)).isNull();
+		assertThat(converter.convertToDatabaseColumn("")).isNull();
+		assertThat(converter.convertToEntityAttribute(null)).isNull();
+	}
+
+	@Test
+	void rejectsNonDigits() {
+		assertThatThrownBy(() -> DigitsConverter.parse("43544-7687")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> DigitsConverter.parse("+435443768")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void parsesUpToEighteenDigits() {
+		assertThat(DigitsConverter.parse("999999999999999999")).isEqualTo(999_999_999_999_999_999L);
+		assertThatThrownBy(() -> DigitsConverter.parse("1234567890123456789"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
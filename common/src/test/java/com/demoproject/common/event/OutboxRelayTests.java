@@ -0,0 +1,160 @@
+package com.demoproject.common.event;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class OutboxRelayTests {
+
+	private static final String CUSTOMER_DELETED = "customer-deleted";
+
+	private static final String CARD_CHANGED = "card-changed";
+
+	private final RecordingRepository repository = new RecordingRepository();
+
+	private final InMemoryEventBroker broker = new InMemoryEventBroker();
+
+	private final OutboxRelay relay = new OutboxRelay(repository, broker,
+			new TransactionTemplate(new NoOpTransactionManager()), 2, Duration.ofDays(7));
+
+	private final List<String> received = new ArrayList<>();
+
+	@Test
+	void relaysEveryCommittedEventInOrderAndMarksItPublished() {
+		broker.subscribe(CUSTOMER_DELETED, (key, payload) -> received.add(payload));
+		repository.insert(CUSTOMER_DELETED, "4354437687", "1", LocalDateTime.now());
+		repository.insert(CUSTOMER_DELETED, "4354437687", "2", LocalDateTime.now());
+		repository.insert(CUSTOMER_DELETED, "9999999999", "3", LocalDateTime.now());
+
+		relay.relay();
+
+		assertThat(received).containsExactly("1", "2", "3");
+		assertThat(repository.findUnpublished(0, 10)).isEmpty();
+	}
+
+	@Test
+	void brokerRefusesADestinationNobodySubscribedTo() {
+		assertThatIllegalStateException().isThrownBy(() -> broker.publish(CUSTOMER_DELETED, "4354437687", "1"));
+	}
+
+	@Test
+	void eventWithoutSubscriberIsKeptUntilItCanBeDelivered() {
+		repository.insert(CUSTOMER_DELETED, "4354437687", "1", LocalDateTime.now());
+
+		relay.relay();
+		relay.relay();
+		assertThat(repository.findUnpublished(0, 10)).hasSize(1);
+
+		broker.subscribe(CUSTOMER_DELETED, (key, payload) -> received.add(payload));
+		relay.relay();
+
+		assertThat(received).containsExactly("1");
+		assertThat(repository.findUnpublished(0, 10)).isEmpty();
+	}
+
+	@Test
+	void refusedEventParksItsDestinationSoLaterEventsAreNotSentAheadOfIt() {
+		broker.subscribe(CARD_CHANGED, (key, payload) -> received.add(payload));
+		repository.insert(CARD_CHANGED, "4354437687", "1", LocalDateTime.now());
+		repository.insert(CUSTOMER_DELETED, "4354437687", "2", LocalDateTime.now());
+		repository.insert(CUSTOMER_DELETED, "4354437687", "3", LocalDateTime.now());
+		repository.insert(CARD_CHANGED, "4354437687", "4", LocalDateTime.now());
+
+		relay.relay();
+
+		assertThat(received).containsExactly("1", "4");
+		assertThat(repository.findUnpublished(0, 10)).extracting(OutboxEvent::getPayload).containsExactly("2", "3");
+	}
+
+	@Test
+	void moreParkedEventsThanABatchDoNotHoldBackTheOtherDestinations() {
+		broker.subscribe(CARD_CHANGED, (key, payload) -> received.add(payload));
+		for (int i = 1; i <= 5; i++) {
+			repository.insert(CUSTOMER_DELETED, "4354437687", "deleted-" + i, LocalDateTime.now());
+		}
+		repository.insert(CARD_CHANGED, "4354437687", "changed", LocalDateTime.now());
+
+		relay.relay();
+
+		assertThat(received).containsExactly("changed");
+		assertThat(repository.findUnpublished(0, 10)).hasSize(5);
+	}
+
+	@Test
+	void eventIsDeliveredAgainWhenMarkingItPublishedFails() {
+		broker.subscribe(CUSTOMER_DELETED, (key, payload) -> received.add(payload));
+		repository.insert(CUSTOMER_DELETED, "4354437687", "1", LocalDateTime.now());
+		repository.markPublishedFails = true;
+
+		try {
+			relay.relay();
+		} catch (QueryTimeoutException ex) {
+			// the instance dies between publishing and marking
+		}
+		repository.markPublishedFails = false;
+		relay.relay();
+
+		assertThat(received).containsExactly("1", "1");
+		assertThat(repository.findUnpublished(0, 10)).isEmpty();
+	}
+
+	private static class RecordingRepository extends OutboxRepository {
+
+		private final List<OutboxEvent> events = new ArrayList<>();
+		private final List<Long> published = new ArrayList<>();
+		private boolean markPublishedFails;
+
+		RecordingRepository() {
+			super(null);
+		}
+
+		@Override
+		public void insert(String destination, String eventKey, String payload, LocalDateTime createdAt) {
+			events.add(new OutboxEvent(events.size() + 1, destination, eventKey, payload));
+		}
+
+		@Override
+		public List<OutboxEvent> findUnpublished(long afterEventId, int limit) {
+			return events.stream()
+					.filter(event -> event.getEventId() > afterEventId && !published.contains(event.getEventId()))
+					.limit(limit)
+					.toList();
+		}
+
+		@Override
+		public void markPublished(List<Long> eventIds, LocalDateTime publishedAt) {
+			if (markPublishedFails) {
+				throw new QueryTimeoutException("markPublished");
+			}
+			published.addAll(eventIds);
+		}
+	}
+
+	private static class NoOpTransactionManager implements PlatformTransactionManager {
+
+		@Override
+		public TransactionStatus getTransaction(TransactionDefinition definition) {
+			return new SimpleTransactionStatus();
+		}
+
+		@Override
+		public void commit(TransactionStatus status) {
+		}
+
+		@Override
+		public void rollback(TransactionStatus status) {
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package com.demoproject.common.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OffHeapBloomFilterTests {
+
+	private static final long FIRST_MOBILE_NUMBER = 4354437687L;
+
+	@Test
+	void everyKeyPutIsFound() {
+		OffHeapBloomFilter filter = new OffHeapBloomFilter(10_000, 0.01);
+		for (long key = FIRST_MOBILE_NUMBER; key < FIRST_MOBILE_NUMBER + 10_000; key++) {
+			filter.put(key);
+		}
+
+		for (long key = FIRST_MOBILE_NUMBER; key < FIRST_MOBILE_NUMBER + 10_000; key++) {
+			assertThat(filter.mightContain(key)).isTrue();
+		}
+	}
+
+	@Test
+	void emptyFilterContainsNothing() {
+		OffHeapBloomFilter filter = new OffHeapBloomFilter(1_000, 0.01);
+
+		assertThat(filter.mightContain(FIRST_MOBILE_NUMBER)).isFalse();
+		assertThat(filter.mightContain(0L)).isFalse();
+		assertThat(filter.mightContain(-1L)).isFalse();
+	}
+
+	@Test
+	void falsePositiveRateStaysNearTheTargetAtExpectedEntries() {
+		OffHeapBloomFilter filter = new OffHeapBloomFilter(100_000, 0.01);
+		for (long key = FIRST_MOBILE_NUMBER; key < FIRST_MOBILE_NUMBER + 100_000; key++) {
+			filter.put(key);
+		}
+
+		int falsePositives = 0;
+		for (long key = 9_000_000_000L; key < 9_000_100_000L; key++) {
+			if (filter.mightContain(key)) {
+				falsePositives++;
+			}
+		}
+
+		// 1% of 100,000 is 1,000; twice that leaves room for the variance of the hash
+		assertThat(falsePositives).isLessThan(2_000);
+	}
+
+	@Test
+	void sizeIsAboutOnePointTwoBytesPerEntryAtOnePercent() {
+		OffHeapBloomFilter filter = new OffHeapBloomFilter(1_000_000, 0.01);
+
+		assertThat(filter.sizeInBytes()).isBetween(1_190_000L, 1_210_000L);
+	}
+
+	@Test
+	void concurrentPutsLoseNoBits() throws InterruptedException {
+		OffHeapBloomFilter filter = new OffHeapBloomFilter(40_000, 0.01);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		CountDownLatch start = new CountDownLatch(1);
+		for (int t = 0; t < 4; t++) {
+			long from = FIRST_MOBILE_NUMBER + t * 10_000L;
+			executor.execute(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				for (long key = from; key < from + 10_000; key++) {
+					filter.put(key);
+				}
+			});
+		}
+		start.countDown();
+		executor.shutdown();
+		assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+		for (long key = FIRST_MOBILE_NUMBER; key < FIRST_MOBILE_NUMBER + 40_000; key++) {
+			assertThat(filter.mightContain(key)).isTrue();
+		}
+	}
+
+	@Test
+	void rejectsInvalidSizing() {
+		assertThatThrownBy(() -> new OffHeapBloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new OffHeapBloomFilter(1_000, 0)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new OffHeapBloomFilter(1_000, 1)).isInstanceOf(IllegalArgumentException.class);
+	}
+}
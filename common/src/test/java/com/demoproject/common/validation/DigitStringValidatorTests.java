@@ -0,0 +1,60 @@
+package com.demoproject.common.validation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DigitStringValidatorTests {
+
+	private static final Pattern REPLACED_PATTERN = Pattern.compile("(^$|[0-9]{10})");
+
+	@DigitString(length = 10, message = "Mobile Number must be 10 digits")
+	private String mobileNumber;
+
+	private final DigitStringValidator validator = new DigitStringValidator();
+
+	@BeforeEach
+	void initialize() throws NoSuchFieldException {
+		validator.initialize(DigitStringValidatorTests.class.getDeclaredField("mobileNumber")
+				.getAnnotation(DigitString.class));
+	}
+
+	@Test
+	void acceptsExactlyLengthDigits() {
+		assertThat(validator.isValid("4354437687", null)).isTrue();
+		assertThat(validator.isValid("0000000000", null)).isTrue();
+	}
+
+	@Test
+	void leavesNullAndEmptyToNotEmpty() {
+		assertThat(validator.isValid(null, null)).isTrue();
+		assertThat(validator.isValid("", null)).isTrue();
+	}
+
+	@Test
+	void rejectsAnyOtherLength() {
+		assertThat(validator.isValid("435443768", null)).isFalse();
+		assertThat(validator.isValid("43544376870", null)).isFalse();
+	}
+
+	@Test
+	void rejectsNonAsciiDigitsAndOtherCharacters() {
+		assertThat(validator.isValid("435443768a", null)).isFalse();
+		assertThat(validator.isValid(" 435443768", null)).isFalse();
+		assertThat(validator.isValid("+435443768", null)).isFalse();
+		// Arabic-Indic digits pass Character.isDigit but not [0-9]
+		assertThat(validator.isValid("\u0664\u0663\u0665\u0664\u0664\u0663\u0667\u0666\u0668\u0667", null)).isFalse();
+	}
+
+	@Test
+	void agreesWithThePatternItReplaces() {
+		String[] values = {"", "4354437687", "435443768", "43544376870", "435443768a", "4354 37687", "\n4354437687",
+				"4354437687\n", "\uff14\uff13\uff15\uff14\uff14\uff13\uff17\uff16\uff18\uff17"};
+		for (String value : values) {
+			assertThat(validator.isValid(value, null)).isEqualTo(REPLACED_PATTERN.matcher(value).matches());
+		}
+	}
+}
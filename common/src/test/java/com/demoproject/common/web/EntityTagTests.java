@@ -0,0 +1,74 @@
+package com.demoproject.common.web;
+
+import com.demoproject.common.entity.BaseEntity;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntityTagTests {
+
+	private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+	@Test
+	void isAWeakQuotedTag() {
+		assertThat(EntityTag.of(entity(0L, null))).matches("W/\"[0-9a-f]+\"");
+	}
+
+	@Test
+	void sameVersionAndModificationTimeGiveTheSameTag() {
+		assertThat(EntityTag.of(entity(3L, CREATED_AT.plusDays(1))))
+				.isEqualTo(EntityTag.of(entity(3L, CREATED_AT.plusDays(1))));
+	}
+
+	@Test
+	void changesWithTheVersion() {
+		assertThat(EntityTag.of(entity(4L, CREATED_AT.plusDays(1))))
+				.isNotEqualTo(EntityTag.of(entity(3L, CREATED_AT.plusDays(1))));
+	}
+
+	@Test
+	void changesWithTheModificationTimeDownToTheNanosecond() {
+		assertThat(EntityTag.of(entity(3L, CREATED_AT.plusNanos(1))))
+				.isNotEqualTo(EntityTag.of(entity(3L, CREATED_AT)));
+	}
+
+	@Test
+	void neverUpdatedEntityIsTaggedByItsCreationTime() {
+		BaseEntity recreated = entity(0L, null);
+		recreated.setCreatedAt(CREATED_AT.plusDays(1));
+
+		assertThat(EntityTag.of(recreated)).isNotEqualTo(EntityTag.of(entity(0L, null)));
+	}
+
+	@Test
+	void absentValueDiffersFromZeroAndKeepsPositions() {
+		assertThat(new EntityTag().add((Long) null).toString()).isNotEqualTo(new EntityTag().add(0L).toString());
+		assertThat(new EntityTag().add((Long) null).add(1L).toString())
+				.isNotEqualTo(new EntityTag().add(1L).add((Long) null).toString());
+	}
+
+	@Test
+	void embeddedTagsAreDelimitedByTheirLength() {
+		assertThat(new EntityTag().add("ab").add("c").toString())
+				.isNotEqualTo(new EntityTag().add("a").add("bc").toString());
+		assertThat(new EntityTag().add((String) null).toString()).isNotEqualTo(new EntityTag().add("").toString());
+	}
+
+	@Test
+	void ofSeveralEntitiesDependsOnTheirOrder() {
+		BaseEntity customer = entity(1L, null);
+		BaseEntity account = entity(2L, null);
+
+		assertThat(EntityTag.of(customer, account)).isNotEqualTo(EntityTag.of(account, customer));
+	}
+
+	private static BaseEntity entity(Long version, LocalDateTime updatedAt) {
+		BaseEntity entity = new BaseEntity();
+		entity.setVersion(version);
+		entity.setCreatedAt(CREATED_AT);
+		entity.setUpdatedAt(updatedAt);
+		return entity;
+	}
+}
@@ -0,0 +1,20 @@
+package com.demoproject.gatewayserver.config;
+
+import com.demoproject.gatewayserver.tracing.AdaptiveSampler;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/*Traces start here: the server span of the incoming request, a span for RequestTraceFilter and one per routed call
+to accounts, cards or loans, which receive the context in the traceparent header. The sampling decision is made
+once, for the root span, and the services follow it. Spans are exported over OTLP once
+management.otlp.tracing.endpoint is set.*/
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public Sampler otelSampler(@Value("${digibank.tracing.max-traces-per-second:50}") double maxTracesPerSecond) {
+        return Sampler.parentBased(new AdaptiveSampler(maxTracesPerSecond));
+    }
+}
@@ -1,6 +1,9 @@
 package com.demoproject.gatewayserver.filters;
 
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.handler.TracingObservationHandler;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.observation.ServerRequestObservationContext;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 
@@ -10,6 +13,7 @@ import java.util.List;
 public class FilterUtility {
 
     public static final String CORRELATION_ID = "digibank-correlation-id";
+    public static final String CORRELATION_ID_TAG = "digibank.correlation_id";
 
     public String getCorrelationId(HttpHeaders requestHeaders) {
         if (requestHeaders.get(CORRELATION_ID) != null) {
@@ -27,4 +31,15 @@ public class FilterUtility {
     public ServerWebExchange setCorrelationId(ServerWebExchange exchange, String correlationId) {
         return this.setRequestHeader(exchange, CORRELATION_ID, correlationId);
     }
+
+    /**
+     * @return span of the incoming request, null when the request is not traced
+     */
+    public Span getServerSpan(ServerWebExchange exchange) {
+        return ServerRequestObservationContext.findCurrent(exchange.getAttributes())
+                .map(context -> context.<TracingObservationHandler.TracingContext>get(
+                        TracingObservationHandler.TracingContext.class))
+                .map(TracingObservationHandler.TracingContext::getSpan)
+                .orElse(null);
+    }
 }
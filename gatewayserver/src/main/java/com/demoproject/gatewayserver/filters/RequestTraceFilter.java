@@ -1,5 +1,7 @@
 package com.demoproject.gatewayserver.filters;
 
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,21 +22,38 @@ public class RequestTraceFilter implements GlobalFilter {
     @Autowired
     FilterUtility filterUtility;
 
+    @Autowired
+    Tracer tracer;
+
     /**
      * @param exchange
      * @param chain
      * @return
      */
+    /*A request without a correlation id gets the trace id as one, so the id in the logs of every service is also the
+    trace to look up. Either way the server span and this filter's span are tagged with it.*/
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-        HttpHeaders requestHeaders = exchange.getRequest().getHeaders();
-        if (isCorrelationIdPresent(requestHeaders)) {
-            logger.debug("digiBank-correlation-id found in RequestTraceFilter : {}",
-                    filterUtility.getCorrelationId(requestHeaders));
-        } else {
-            String correlationID = generateCorrelationId();
-            exchange = filterUtility.setCorrelationId(exchange, correlationID);
-            logger.debug("digiBank-correlation-id generated in RequestTraceFilter : {}", correlationID);
+        Span serverSpan = filterUtility.getServerSpan(exchange);
+        Span span = (serverSpan == null ? tracer.nextSpan() : tracer.nextSpan(serverSpan))
+                .name("request-trace-filter").start();
+        try {
+            HttpHeaders requestHeaders = exchange.getRequest().getHeaders();
+            String correlationID;
+            if (isCorrelationIdPresent(requestHeaders)) {
+                correlationID = filterUtility.getCorrelationId(requestHeaders);
+                logger.debug("digiBank-correlation-id found in RequestTraceFilter : {}", correlationID);
+            } else {
+                correlationID = serverSpan != null ? serverSpan.context().traceId() : generateCorrelationId();
+                exchange = filterUtility.setCorrelationId(exchange, correlationID);
+                logger.debug("digiBank-correlation-id generated in RequestTraceFilter : {}", correlationID);
+            }
+            span.tag(FilterUtility.CORRELATION_ID_TAG, correlationID);
+            if (serverSpan != null) {
+                serverSpan.tag(FilterUtility.CORRELATION_ID_TAG, correlationID);
+            }
+        } finally {
+            span.end();
         }
         return chain.filter(exchange);
     }
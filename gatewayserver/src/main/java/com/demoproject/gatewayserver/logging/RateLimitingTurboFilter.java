@@ -0,0 +1,73 @@
+package com.demoproject.gatewayserver.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*Per-logger sampling for hot paths, configured in logback-spring.xml. Each logger under one of the configured
+prefixes may write maxEventsPerSecond events per second, later ones in the same second are dropped before a
+LoggingEvent is even created. WARN and ERROR always pass, and so do isDebugEnabled()-style checks, which carry no
+message and must not use up the budget. Runs on every logging call, so the per-logger window is found with one map
+lookup and decided with two atomics.
+A copy of com.demoproject.common.logging.RateLimitingTurboFilter: common brings spring-boot-starter-web, JPA and its
+auto-configurations along, which would turn this WebFlux gateway into a servlet application. Change both together.*/
+public class RateLimitingTurboFilter extends TurboFilter {
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final Window UNLIMITED = new Window();
+
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+    private List<String> loggers = List.of();
+    private int maxEventsPerSecond = 100;
+
+    public void setLoggers(String loggers) {
+        this.loggers = Arrays.stream(loggers.split(",")).map(String::trim).filter(name -> !name.isEmpty()).toList();
+    }
+
+    public void setMaxEventsPerSecond(int maxEventsPerSecond) {
+        this.maxEventsPerSecond = maxEventsPerSecond;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (format == null || level.isGreaterOrEqual(Level.WARN)
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        Window window = windows.computeIfAbsent(logger.getName(), this::windowFor);
+        return window == UNLIMITED || window.tryAcquire(maxEventsPerSecond) ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private Window windowFor(String loggerName) {
+        for (String prefix : loggers) {
+            if (loggerName.startsWith(prefix)) {
+                return new Window();
+            }
+        }
+        return UNLIMITED;
+    }
+
+    private static class Window {
+
+        private final AtomicLong start = new AtomicLong(System.nanoTime());
+        private final AtomicInteger events = new AtomicInteger();
+
+        boolean tryAcquire(int max) {
+            long now = System.nanoTime();
+            long windowStart = start.get();
+            if (now - windowStart >= WINDOW_NANOS && start.compareAndSet(windowStart, now)) {
+                events.set(0);
+            }
+            return events.incrementAndGet() <= max;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.demoproject.gatewayserver.tracing;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/*Head sampling that follows the load: every trace is kept while fewer than targetPerSecond start per second, above
+that the kept share drops to targetPerSecond / the rate seen over the previous second, so the exported volume stays
+near the target however busy the instance is. Quiet periods are traced completely. Used behind
+Sampler.parentBased, so only root spans decide and a trace is kept or dropped as a whole across services.
+A copy of com.demoproject.common.tracing.AdaptiveSampler: common brings spring-boot-starter-web, JPA and its
+auto-configurations along, which would turn this WebFlux gateway into a servlet application. Change both together.*/
+public class AdaptiveSampler implements Sampler {
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final SamplingResult SAMPLE = SamplingResult.create(SamplingDecision.RECORD_AND_SAMPLE);
+    private static final SamplingResult DROP = SamplingResult.create(SamplingDecision.DROP);
+
+    private final double targetPerSecond;
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final LongAdder started = new LongAdder();
+    private volatile double probability = 1.0;
+
+    public AdaptiveSampler(double targetPerSecond) {
+        this.targetPerSecond = targetPerSecond;
+    }
+
+    @Override
+    public SamplingResult shouldSample(Context parentContext, String traceId, String name, SpanKind spanKind,
+                                       Attributes attributes, List<LinkData> parentLinks) {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+            double perSecond = started.sumThenReset() * (double) WINDOW_NANOS / (now - start);
+            probability = perSecond <= targetPerSecond ? 1.0 : targetPerSecond / perSecond;
+        }
+        started.increment();
+        double current = probability;
+        return current >= 1.0 || ThreadLocalRandom.current().nextDouble() < current ? SAMPLE : DROP;
+    }
+
+    @Override
+    public String getDescription() {
+        return "AdaptiveSampler{targetPerSecond=" + targetPerSecond + "}";
+    }
+}
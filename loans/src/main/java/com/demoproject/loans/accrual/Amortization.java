@@ -0,0 +1,55 @@
+package com.demoproject.loans.accrual;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/*Interest and installment arithmetic shared by loan creation and the nightly accrual batch.
+Amounts are whole currency units like the rest of the loans table, accrued interest is in cents.*/
+public final class Amortization {
+
+    private static final long BPS_DAYS_PER_CENT = 10_000L * 365 / 100;
+
+    private Amortization() {
+        // restrict instantiation
+    }
+
+    /**
+     * @param outstandingAmount - Outstanding principal
+     * @param interestRateBps - Annual interest rate in basis points
+     * @param days - Number of days to accrue
+     * @return simple interest for the given days in cents, rounded half up
+     */
+    public static long dailyInterestCents(int outstandingAmount, int interestRateBps, long days) {
+        return ((long) outstandingAmount * interestRateBps * days + BPS_DAYS_PER_CENT / 2) / BPS_DAYS_PER_CENT;
+    }
+
+    /**
+     * @param principal - Principal to amortize
+     * @param interestRateBps - Annual interest rate in basis points
+     * @param termMonths - Number of monthly installments
+     * @return level monthly installment that pays off the principal over the term, rounded up
+     */
+    public static int monthlyInstallment(int principal, int interestRateBps, int termMonths) {
+        if (principal <= 0 || termMonths <= 0) {
+            return 0;
+        }
+        if (interestRateBps == 0) {
+            return (principal + termMonths - 1) / termMonths;
+        }
+        double monthlyRate = interestRateBps / 10_000.0 / 12;
+        return (int) Math.ceil(principal * monthlyRate / (1 - Math.pow(1 + monthlyRate, -termMonths)));
+    }
+
+    /**
+     * @param termMonths - Full term of the loan
+     * @param startEpochDay - Epoch day the loan was created
+     * @param runEpochDay - Epoch day of the accrual run
+     * @return months of the term still ahead, whole months since the start counted as paid; at least 1, so a loan
+     * past its term is due in full with the next installment
+     */
+    public static int remainingTermMonths(int termMonths, long startEpochDay, long runEpochDay) {
+        long elapsed = ChronoUnit.MONTHS.between(LocalDate.ofEpochDay(startEpochDay),
+                LocalDate.ofEpochDay(runEpochDay));
+        return (int) Math.max(1, termMonths - Math.max(0, elapsed));
+    }
+}
@@ -0,0 +1,199 @@
+package com.demoproject.loans.accrual;
+
+import com.demoproject.common.cache.CacheInvalidator;
+import com.demoproject.loans.entity.Loans;
+import com.demoproject.loans.repository.LoanAccrualRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*Nightly interest accrual and amortization for every loan. The loan id range is split fork-join style until a
+range is small enough for one worker, each worker then walks its range in keyset pages, computes on the page's
+primitive columns and writes the page back as one JDBC batch in its own transaction.
+Every worker holds one connection of the primary pool, so by default parallelism is the number of cores capped at the
+Hikari maximum-pool-size minus pool-headroom connections, which are left to request traffic.
+The accrual columns are in no DTO or event, so a run bumps no version, publishes no loan-changed event and leaves the
+loans cache alone; only the Hibernate entity region, which does hold the columns, is evicted.*/
+@Component
+public class LoanAccrualEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoanAccrualEngine.class);
+
+    private final LoanAccrualRepository loanAccrualRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheInvalidator cacheInvalidator;
+    private final ForkJoinPool pool;
+    private final ReentrantLock runLock = new ReentrantLock();
+    private final int chunkSize;
+    private final long leafRange;
+
+    public LoanAccrualEngine(LoanAccrualRepository loanAccrualRepository,
+                             TransactionTemplate transactionTemplate,
+                             CacheInvalidator cacheInvalidator,
+                             DataSource dataSource,
+                             @Value("${digibank.accrual.parallelism:0}") int parallelism,
+                             @Value("${digibank.accrual.pool-headroom:2}") int poolHeadroom,
+                             @Value("${digibank.accrual.chunk-size:1000}") int chunkSize,
+                             @Value("${digibank.accrual.chunks-per-task:8}") int chunksPerTask) {
+        this.loanAccrualRepository = loanAccrualRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.cacheInvalidator = cacheInvalidator;
+        this.pool = new ForkJoinPool(parallelism(parallelism, maximumPoolSize(dataSource), poolHeadroom));
+        this.chunkSize = chunkSize;
+        this.leafRange = (long) chunkSize * chunksPerTask;
+    }
+
+    @Scheduled(cron = "${digibank.accrual.cron:0 30 1 * * *}")
+    public void accrueNightly() {
+        accrue(LocalDate.now());
+    }
+
+    /**
+     * @param runDate - Date to accrue interest up to
+     * @return number of loans accrued, -1 when a run is already in progress
+     */
+    public long accrue(LocalDate runDate) {
+        if (!runLock.tryLock()) {
+            logger.warn("Loan accrual for {} skipped, a run is already in progress", runDate);
+            return -1;
+        }
+        try {
+            long[] range = loanAccrualRepository.findLoanIdRange();
+            if (range == null) {
+                return 0;
+            }
+            long started = System.nanoTime();
+            long accrued = pool.invoke(new AccrualTask(range[0] - 1, range[1], runDate));
+            long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            logger.info("Accrued {} loans for {} in {} ms ({} loans/s, parallelism {})",
+                    accrued, runDate, elapsedMillis, accrued * 1000 / elapsedMillis, pool.getParallelism());
+            return accrued;
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    /**
+     * @param configured - digibank.accrual.parallelism, 0 for the default
+     * @param maximumPoolSize - Maximum size of the primary pool, 0 when it is not a Hikari pool
+     * @param poolHeadroom - Connections the default leaves to request traffic
+     * @return the configured parallelism, or the number of cores capped at maximumPoolSize - poolHeadroom
+     */
+    static int parallelism(int configured, int maximumPoolSize, int poolHeadroom) {
+        if (configured > 0) {
+            if (maximumPoolSize > 0 && configured > maximumPoolSize - poolHeadroom) {
+                logger.warn("digibank.accrual.parallelism {} leaves fewer than {} of {} connections to requests",
+                        configured, poolHeadroom, maximumPoolSize);
+            }
+            return configured;
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        return maximumPoolSize > 0 ? Math.max(1, Math.min(cores, maximumPoolSize - poolHeadroom)) : cores;
+    }
+
+    /**
+     * @param updateCounts - Update counts of the batch that wrote a page
+     * @return number of loans the batch accrued, -1 when the driver answered with SUCCESS_NO_INFO
+     * (e.g. MySQL with rewriteBatchedStatements), which says neither whether nor which loans were updated
+     */
+    static int accruedCount(int[] updateCounts) {
+        int rows = 0;
+        for (int updated : updateCounts) {
+            if (updated == Statement.SUCCESS_NO_INFO) {
+                return -1;
+            }
+            rows += updated;
+        }
+        return rows;
+    }
+
+    // through the routing and tracing proxies to the primary pool, the one the accrual writes to
+    private static int maximumPoolSize(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class)
+                    ? dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize() : 0;
+        } catch (SQLException ex) {
+            return 0;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private long accrueRange(long afterLoanId, long toLoanId, LocalDate runDate) {
+        LoanChunk chunk = new LoanChunk(chunkSize);
+        long runEpochDay = runDate.toEpochDay();
+        long accrued = 0;
+        long cursor = afterLoanId;
+        while (cursor < toLoanId) {
+            long after = cursor;
+            Integer written = transactionTemplate.execute(status -> {
+                if (loanAccrualRepository.readPage(after, toLoanId, runDate, chunk) == 0) {
+                    return 0;
+                }
+                chunk.accrue(runEpochDay);
+                int rows = accruedCount(loanAccrualRepository.writePage(chunk, runDate));
+                if (rows < 0) {
+                    // the batch did not say which loans it updated, the ones that now carry the run date are counted
+                    rows = loanAccrualRepository.countAccrued(chunk, runDate);
+                }
+                if (rows > 0) {
+                    // JDBC writes bypass Hibernate; one region eviction per page instead of one message per loan
+                    cacheInvalidator.evictEntityRegionAfterCommit(Loans.class);
+                }
+                return rows;
+            });
+            if (chunk.size == 0) {
+                break;
+            }
+            accrued += written;
+            cursor = chunk.lastLoanId();
+        }
+        return accrued;
+    }
+
+    /*Splits (afterLoanId, toLoanId] in halves until a half spans at most leafRange ids. Gaps in the id sequence
+    only make a leaf cheaper, the keyset page query never returns more than chunkSize rows.*/
+    private class AccrualTask extends RecursiveTask<Long> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long afterLoanId;
+        private final long toLoanId;
+        private final LocalDate runDate;
+
+        AccrualTask(long afterLoanId, long toLoanId, LocalDate runDate) {
+            this.afterLoanId = afterLoanId;
+            this.toLoanId = toLoanId;
+            this.runDate = runDate;
+        }
+
+        @Override
+        protected Long compute() {
+            if (toLoanId - afterLoanId <= leafRange) {
+                return accrueRange(afterLoanId, toLoanId, runDate);
+            }
+            long mid = afterLoanId + (toLoanId - afterLoanId) / 2;
+            AccrualTask lower = new AccrualTask(afterLoanId, mid, runDate);
+            lower.fork();
+            long upper = new AccrualTask(mid, toLoanId, runDate).compute();
+            return lower.join() + upper;
+        }
+    }
+}
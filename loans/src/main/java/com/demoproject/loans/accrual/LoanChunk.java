@@ -0,0 +1,54 @@
+package com.demoproject.loans.accrual;
+
+/*One keyset page of loans held as parallel primitive columns. A worker allocates one chunk and reuses it for
+every page it reads, so memory stays at chunk size times parallelism however many loans there are.*/
+public class LoanChunk {
+
+    public static final long NEVER_ACCRUED = -1;
+
+    public final long[] loanIds;
+    public final int[] outstandingAmounts;
+    public final int[] interestRatesBps;
+    public final int[] termMonths;
+    public final long[] accruedInterestCents;
+    public final long[] lastAccrualEpochDays;
+    public final long[] createdEpochDays;
+    public final int[] monthlyInstallments;
+    public int size;
+
+    public LoanChunk(int capacity) {
+        this.loanIds = new long[capacity];
+        this.outstandingAmounts = new int[capacity];
+        this.interestRatesBps = new int[capacity];
+        this.termMonths = new int[capacity];
+        this.accruedInterestCents = new long[capacity];
+        this.lastAccrualEpochDays = new long[capacity];
+        this.createdEpochDays = new long[capacity];
+        this.monthlyInstallments = new int[capacity];
+    }
+
+    public int capacity() {
+        return loanIds.length;
+    }
+
+    public long lastLoanId() {
+        return loanIds[size - 1];
+    }
+
+    /**
+     * @param runEpochDay - Epoch day of the accrual run
+     * Accrues interest for the days since each loan's last accrual (since it was created if it never accrued)
+     * and re-amortizes the outstanding amount over the months left of the loan term
+     */
+    public void accrue(long runEpochDay) {
+        for (int i = 0; i < size; i++) {
+            long accruedUpTo = lastAccrualEpochDays[i] == NEVER_ACCRUED
+                    ? createdEpochDays[i] : lastAccrualEpochDays[i];
+            long days = Math.max(0, runEpochDay - accruedUpTo);
+            accruedInterestCents[i] += Amortization.dailyInterestCents(outstandingAmounts[i], interestRatesBps[i], days);
+            int remainingMonths = Amortization.remainingTermMonths(termMonths[i], createdEpochDays[i], runEpochDay);
+            monthlyInstallments[i] = Amortization.monthlyInstallment(outstandingAmounts[i], interestRatesBps[i],
+                    remainingMonths);
+        }
+    }
+}
@@ -1,18 +1,12 @@
 package com.demoproject.loans.audit;
 
-import org.springframework.data.domain.AuditorAware;
+import com.demoproject.common.audit.ConstantAuditorAware;
 import org.springframework.stereotype.Component;
 
-import java.util.Optional;
-
 @Component("auditAwareImpl")
-public class AuditAwareImpl implements AuditorAware<String> {
+public class AuditAwareImpl extends ConstantAuditorAware {
 
-    /**
-     * @return Returns the current auditor of the application.
-     */
-    @Override
-    public Optional<String> getCurrentAuditor() {
-        return Optional.of("LOANS_MS");
+    public AuditAwareImpl() {
+        super("LOANS_MS");
     }
 }
@@ -7,6 +7,10 @@ public class LoansConstants {
 
     public static final String  HOME_LOAN = "Home Loan";
     public static final int  NEW_LOAN_LIMIT = 1_00_000;
+    public static final String  LOAN_CHANGED_DESTINATION = "loan-changed";
+    public static final String  LOANS_CACHE = "loans";
+    public static final int  HOME_LOAN_INTEREST_RATE_BPS = 850;
+    public static final int  HOME_LOAN_TERM_MONTHS = 240;
     public static final String  STATUS_201 = "201";
     public static final String  MESSAGE_201 = "Loan created successfully";
     public static final String  STATUS_200 = "200";
@@ -14,6 +18,7 @@ public class LoansConstants {
     public static final String  STATUS_417 = "417";
     public static final String  MESSAGE_417_UPDATE= "Update operation failed. Please try again or contact Dev team";
     public static final String  MESSAGE_417_DELETE= "Delete operation failed. Please try again or contact Dev team";
+    public static final String  MESSAGE_417_REPAY= "Repayment declined. Amount exceeds the outstanding amount of the loan";
     // public static final String  STATUS_500 = "500";
     // public static final String  MESSAGE_500 = "An error occurred. Please try again or contact Dev team";
 }
@@ -1,10 +1,15 @@
 package com.demoproject.loans.controller;
 
+import com.demoproject.common.dto.KeysetPageDto;
+import com.demoproject.common.export.ExportFormat;
+import com.demoproject.common.validation.DigitString;
+import com.demoproject.common.web.PreSerializedResponses;
 import com.demoproject.loans.constants.LoansConstants;
-import com.demoproject.loans.dto.ErrorResponseDto;
 import com.demoproject.loans.dto.LoansContactInfoDto;
 import com.demoproject.loans.dto.LoansDto;
-import com.demoproject.loans.dto.ResponseDto;
+import com.demoproject.loans.dto.LoansErrorResponseDto;
+import com.demoproject.loans.dto.LoansFilterDto;
+import com.demoproject.loans.dto.LoansResponseDto;
 import com.demoproject.loans.service.ILoansService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,20 +17,26 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
 @Tag(
         name = "CRUD REST APIs for Loans in Bank",
         description = "CRUD REST APIs in Bank to CREATE, UPDATE, FETCH AND DELETE loan details"
@@ -37,11 +48,29 @@ import org.springframework.web.bind.annotation.*;
 public class LoansController {
 
     private static final Logger logger = LoggerFactory.getLogger(LoansController.class);
+
+    // written as pre-serialized bytes, see PreSerializedResponses
+    private static final LoansResponseDto CREATED =
+            new LoansResponseDto(LoansConstants.STATUS_201, LoansConstants.MESSAGE_201);
+    private static final LoansResponseDto PROCESSED =
+            new LoansResponseDto(LoansConstants.STATUS_200, LoansConstants.MESSAGE_200);
+    private static final LoansResponseDto UPDATE_FAILED =
+            new LoansResponseDto(LoansConstants.STATUS_417, LoansConstants.MESSAGE_417_UPDATE);
+    private static final LoansResponseDto REPAY_DECLINED =
+            new LoansResponseDto(LoansConstants.STATUS_417, LoansConstants.MESSAGE_417_REPAY);
+    private static final LoansResponseDto DELETE_FAILED =
+            new LoansResponseDto(LoansConstants.STATUS_417, LoansConstants.MESSAGE_417_DELETE);
+
     private final ILoansService iLoansService;
+    private final LoansContactInfoDto loansContactInfoDto;
 
     @Autowired
-    public LoansController(ILoansService iLoansService) {
+    public LoansController(ILoansService iLoansService, LoansContactInfoDto loansContactInfoDto,
+                           PreSerializedResponses preSerializedResponses) {
         this.iLoansService = iLoansService;
+        this.loansContactInfoDto = loansContactInfoDto;
+        preSerializedResponses.register(CREATED, PROCESSED, UPDATE_FAILED, REPAY_DECLINED, DELETE_FAILED,
+                loansContactInfoDto);
     }
 
     @Value("${build.version}")
@@ -50,9 +79,6 @@ public class LoansController {
     @Autowired
     private Environment environment;
 
-    @Autowired
-    private LoansContactInfoDto loansContactInfoDto;
-
     @Operation(
             summary = "Create Loan REST API",
             description = "REST API to create new loan inside EazyBank"
@@ -66,19 +92,19 @@ public class LoansController {
                     responseCode = "500",
                     description = "HTTP Status Internal Server Error",
                     content = @Content(
-                            schema = @Schema(implementation = ErrorResponseDto.class)
+                            schema = @Schema(implementation = LoansErrorResponseDto.class)
                     )
             )
     }
     )
     @PostMapping("/create")
-    public ResponseEntity<ResponseDto> createLoan(@RequestParam
-                                                  @Pattern(regexp="(^$|[0-9]{10})",message = "Mobile number must be 10 digits")
-                                                  String mobileNumber) {
+    public ResponseEntity<LoansResponseDto> createLoan(@RequestParam
+                                                       @DigitString(length = 10, message = "Mobile number must be 10 digits")
+                                                       String mobileNumber) {
         iLoansService.createLoan(mobileNumber);
         return ResponseEntity
                 .status(HttpStatus.CREATED)
-                .body(new ResponseDto(LoansConstants.STATUS_201, LoansConstants.MESSAGE_201));
+                .body(CREATED);
     }
 
     @Operation(
@@ -94,7 +120,7 @@ public class LoansController {
                     responseCode = "500",
                     description = "HTTP Status Internal Server Error",
                     content = @Content(
-                            schema = @Schema(implementation = ErrorResponseDto.class)
+                            schema = @Schema(implementation = LoansErrorResponseDto.class)
                     )
             )
     }
@@ -102,11 +128,11 @@ public class LoansController {
     @GetMapping("/fetch")
     public ResponseEntity<LoansDto> fetchLoanDetails(@RequestHeader("digibank-correlation-id") String correlationId,
                                                      @RequestParam
-                                                     @Pattern(regexp="(^$|[0-9]{10})",message = "Mobile number must be 10 digits")
+                                                     @DigitString(length = 10, message = "Mobile number must be 10 digits")
                                                      String mobileNumber) {
         logger.debug("digiBank-correlation-id found: {} ", correlationId);
         LoansDto loansDto = iLoansService.fetchLoan(mobileNumber);
-        return ResponseEntity.status(HttpStatus.OK).body(loansDto);
+        return ResponseEntity.status(HttpStatus.OK).eTag(loansDto.getEntityTag()).body(loansDto);
     }
 
     @Operation(
@@ -126,22 +152,62 @@ public class LoansController {
                     responseCode = "500",
                     description = "HTTP Status Internal Server Error",
                     content = @Content(
-                            schema = @Schema(implementation = ErrorResponseDto.class)
+                            schema = @Schema(implementation = LoansErrorResponseDto.class)
                     )
             )
     }
     )
     @PutMapping("/update")
-    public ResponseEntity<ResponseDto> updateLoanDetails(@Valid @RequestBody LoansDto loansDto) {
+    public ResponseEntity<LoansResponseDto> updateLoanDetails(@Valid @RequestBody LoansDto loansDto) {
         boolean isUpdated = iLoansService.updateLoan(loansDto);
         if(isUpdated) {
             return ResponseEntity
                     .status(HttpStatus.OK)
-                    .body(new ResponseDto(LoansConstants.STATUS_200, LoansConstants.MESSAGE_200));
+                    .body(PROCESSED);
         }else{
             return ResponseEntity
                     .status(HttpStatus.EXPECTATION_FAILED)
-                    .body(new ResponseDto(LoansConstants.STATUS_417, LoansConstants.MESSAGE_417_UPDATE));
+                    .body(UPDATE_FAILED);
+        }
+    }
+
+    @Operation(
+            summary = "Repay Loan REST API",
+            description = "REST API to repay an amount against a loan as one versioned balance update"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "417",
+                    description = "Expectation Failed"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = LoansErrorResponseDto.class)
+                    )
+            )
+    })
+    @PostMapping("/repay")
+    public ResponseEntity<LoansResponseDto> repayLoan(@RequestParam
+                                                       @DigitString(length = 12, message = "Loan number must be 12 digits")
+                                                       String loanNumber,
+                                                       @RequestParam
+                                                       @Positive(message = "Amount should be greater than zero")
+                                                       int amount) {
+        boolean isRepaid = iLoansService.repayLoan(loanNumber, amount);
+        if(isRepaid) {
+            return ResponseEntity
+                    .status(HttpStatus.OK)
+                    .body(PROCESSED);
+        }else{
+            return ResponseEntity
+                    .status(HttpStatus.EXPECTATION_FAILED)
+                    .body(REPAY_DECLINED);
         }
     }
 
@@ -162,27 +228,108 @@ public class LoansController {
                     responseCode = "500",
                     description = "HTTP Status Internal Server Error",
                     content = @Content(
-                            schema = @Schema(implementation = ErrorResponseDto.class)
+                            schema = @Schema(implementation = LoansErrorResponseDto.class)
                     )
             )
     }
     )
     @DeleteMapping("/delete")
-    public ResponseEntity<ResponseDto> deleteLoanDetails(@RequestParam
-                                                         @Pattern(regexp="(^$|[0-9]{10})",message = "Mobile number must be 10 digits")
-                                                         String mobileNumber) {
+    public ResponseEntity<LoansResponseDto> deleteLoanDetails(@RequestParam
+                                                              @DigitString(length = 10, message = "Mobile number must be 10 digits")
+                                                              String mobileNumber) {
         boolean isDeleted = iLoansService.deleteLoan(mobileNumber);
         if(isDeleted) {
             return ResponseEntity
                     .status(HttpStatus.OK)
-                    .body(new ResponseDto(LoansConstants.STATUS_200, LoansConstants.MESSAGE_200));
+                    .body(PROCESSED);
         }else{
             return ResponseEntity
                     .status(HttpStatus.EXPECTATION_FAILED)
-                    .body(new ResponseDto(LoansConstants.STATUS_417, LoansConstants.MESSAGE_417_DELETE));
+                    .body(DELETE_FAILED);
         }
     }
 
+    @Operation(
+            summary = "List Loan Details REST API",
+            description = "REST API to list Loans page by page, filtered by loan type, creation date and outstanding amount"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = LoansErrorResponseDto.class)
+                    )
+            )
+    }
+    )
+    @GetMapping("/list")
+    public ResponseEntity<KeysetPageDto<LoansDto>> listLoans(@Valid LoansFilterDto filter) {
+        KeysetPageDto<LoansDto> page = iLoansService.listLoans(filter);
+        return ResponseEntity.status(HttpStatus.OK).body(page);
+    }
+
+    @Operation(
+            summary = "Export Loan Details REST API",
+            description = "REST API to stream all Loan details as NDJSON or CSV, one row per line"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = LoansErrorResponseDto.class)
+                    )
+            )
+    }
+    )
+    @GetMapping(value = "/export", produces = MediaType.ALL_VALUE)
+    public void exportLoans(@RequestParam(defaultValue = "ndjson")
+                            @Pattern(regexp = "(ndjson|csv)", message = "Format must be ndjson or csv")
+                            String format,
+                            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"loans." + exportFormat.getExtension() + "\"");
+        iLoansService.exportLoans(exportFormat, response.getOutputStream());
+    }
+
+    @Operation(
+            summary = "Snapshot Loan Details REST API",
+            description = "REST API to stream all Loans as NDJSON loan-changed events, used by accounts to " +
+                    "rebuild its customer details view"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "HTTP Status OK"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = LoansErrorResponseDto.class)
+                    )
+            )
+    }
+    )
+    @GetMapping(value = "/snapshot", produces = MediaType.ALL_VALUE)
+    public void snapshotLoans(HttpServletResponse response) throws IOException {
+        response.setContentType(ExportFormat.NDJSON.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        iLoansService.snapshotLoans(response.getOutputStream());
+    }
+
     @Operation(
             summary = "Get Build information",
             description = "Get Build information that is deployed into cards microservice"
@@ -196,7 +343,7 @@ public class LoansController {
                     responseCode = "500",
                     description = "HTTP Status Internal Server Error",
                     content = @Content(
-                            schema = @Schema(implementation = ErrorResponseDto.class)
+                            schema = @Schema(implementation = LoansErrorResponseDto.class)
                     )
             )
     }
@@ -221,7 +368,7 @@ public class LoansController {
                     responseCode = "500",
                     description = "HTTP Status Internal Server Error",
                     content = @Content(
-                            schema = @Schema(implementation = ErrorResponseDto.class)
+                            schema = @Schema(implementation = LoansErrorResponseDto.class)
                     )
             )
     }
@@ -246,7 +393,7 @@ public class LoansController {
                     responseCode = "500",
                     description = "HTTP Status Internal Server Error",
                     content = @Content(
-                            schema = @Schema(implementation = ErrorResponseDto.class)
+                            schema = @Schema(implementation = LoansErrorResponseDto.class)
                     )
             )
     }
@@ -0,0 +1,39 @@
+package com.demoproject.loans.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*Published through the outbox when a loan is created, updated, repaid or deleted, and streamed by /api/snapshot.
+A loan moved to another mobile number is also published as deleted under the number it left.
+Holds the loan as accounts shows it in customer details; loanId then version give the order of a customer's events.
+The nightly accrual neither bumps the version nor publishes an event, it changes nothing accounts shows.*/
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanChangedEventDto {
+
+    private Long loanId;
+
+    private Long version;
+
+    private boolean deleted;
+
+    private String mobileNumber;
+
+    private String loanNumber;
+
+    private String loanType;
+
+    private int totalLoan;
+
+    private int amountPaid;
+
+    private int outstandingAmount;
+
+    // Snapshot rows, see LoansRepository.streamAllForSnapshot
+    public LoanChangedEventDto(Long loanId, Long version, String mobileNumber, String loanNumber, String loanType,
+                               int totalLoan, int amountPaid, int outstandingAmount) {
+        this(loanId, version, false, mobileNumber, loanNumber, loanType, totalLoan, amountPaid, outstandingAmount);
+    }
+}
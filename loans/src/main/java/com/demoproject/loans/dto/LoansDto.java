@@ -1,27 +1,32 @@
 package com.demoproject.loans.dto;
 
+import com.demoproject.common.validation.DigitString;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotEmpty;
-import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Schema(name = "Loans",
         description = "Schema to hold Loan Information"
 )
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class LoansDto {
 
     @NotEmpty(message = "Mobile Number can not be a null or empty")
-    @Pattern(regexp="(^$|[0-9]{10})",message = "Mobile Number must be 10 digits")
+    @DigitString(length = 10, message = "Mobile Number must be 10 digits")
     @Schema(
             description = "Mobile Number of Customer", example = "4365327698"
     )
     private String mobileNumber;
 
     @NotEmpty(message = "Loan Number can not be a null or empty")
-    @Pattern(regexp="(^$|[0-9]{12})",message = "LoanNumber must be 12 digits")
+    @DigitString(length = 12, message = "LoanNumber must be 12 digits")
     @Schema(
             description = "Loan Number of the customer", example = "548732457654"
     )
@@ -50,4 +55,20 @@ public class LoansDto {
             description = "Total outstanding amount against a loan", example = "99000"
     )
     private int outstandingAmount;
+
+    @Schema(
+            description = "Version of the loan when it was read; an update carrying an older version is rejected " +
+                    "with 409 Conflict", example = "3"
+    )
+    private Long version;
+
+    // weak ETag of the fetch response (EntityTag), sent as a header and never as part of the body
+    @JsonIgnore
+    private String entityTag;
+
+    // Export rows, see LoansRepository.streamAllForExport
+    public LoansDto(String mobileNumber, String loanNumber, String loanType, int totalLoan, int amountPaid,
+                    int outstandingAmount) {
+        this(mobileNumber, loanNumber, loanType, totalLoan, amountPaid, outstandingAmount, null, null);
+    }
 }
@@ -0,0 +1,39 @@
+package com.demoproject.loans.dto;
+
+import com.demoproject.common.dto.ErrorResponseDto;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+
+/*The shared error body under the field names loans has always sent: statusCode and errorTime instead of errorCode
+and errorTimestamp*/
+@Schema(
+        name = "ErrorResponse",
+        description = "Schema to hold error response information"
+)
+public class LoansErrorResponseDto extends ErrorResponseDto {
+
+    public LoansErrorResponseDto(String apiPath, HttpStatus statusCode, String errorMessage, LocalDateTime errorTime) {
+        super(apiPath, statusCode, errorMessage, errorTime);
+    }
+
+    @Override
+    @JsonProperty("statusCode")
+    @Schema(
+            description = "Error code representing the error happened"
+    )
+    public HttpStatus getErrorCode() {
+        return super.getErrorCode();
+    }
+
+    @Override
+    @JsonProperty("errorTime")
+    @Schema(
+            description = "Time representing when the error happened"
+    )
+    public LocalDateTime getErrorTimestamp() {
+        return super.getErrorTimestamp();
+    }
+}
@@ -0,0 +1,59 @@
+package com.demoproject.loans.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+@Data
+@Schema(
+        name = "LoansFilter",
+        description = "Schema to hold the filters and cursor of a loan list request"
+)
+public class LoansFilterDto {
+
+    @Schema(
+            description = "Type of the loan", example = "Home Loan"
+    )
+    private String loanType;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    @Schema(
+            description = "Loans created on or after this date", example = "2025-01-01"
+    )
+    private LocalDate createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    @Schema(
+            description = "Loans created on or before this date", example = "2025-12-31"
+    )
+    private LocalDate createdTo;
+
+    @PositiveOrZero(message = "Minimum outstanding amount should be equal or greater than zero")
+    @Schema(
+            description = "Loans with at least this outstanding amount", example = "1000"
+    )
+    private Integer outstandingMin;
+
+    @PositiveOrZero(message = "Maximum outstanding amount should be equal or greater than zero")
+    @Schema(
+            description = "Loans with at most this outstanding amount", example = "50000"
+    )
+    private Integer outstandingMax;
+
+    @Schema(
+            description = "nextCursor of the previous page, omit for the first page", example = "1050"
+    )
+    private Long after;
+
+    @Min(value = 1, message = "Page size should be at least 1")
+    @Max(value = 500, message = "Page size should be at most 500")
+    @Schema(
+            description = "Number of loans per page", example = "50"
+    )
+    private int size = 50;
+}
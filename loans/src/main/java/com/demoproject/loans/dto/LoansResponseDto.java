@@ -0,0 +1,26 @@
+package com.demoproject.loans.dto;
+
+import com.demoproject.common.dto.ResponseDto;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/*The shared status body under the field names loans has always sent: statusMessage instead of statusMsg*/
+@Schema(
+        name = "Response",
+        description = "Schema to hold successful response information"
+)
+public class LoansResponseDto extends ResponseDto {
+
+    public LoansResponseDto(String statusCode, String statusMessage) {
+        super(statusCode, statusMessage);
+    }
+
+    @Override
+    @JsonProperty("statusMessage")
+    @Schema(
+            description = "Status message in the response"
+    )
+    public String getStatusMsg() {
+        return super.getStatusMsg();
+    }
+}
@@ -0,0 +1,18 @@
+package com.demoproject.loans.entity;
+
+import com.demoproject.common.entity.DigitsConverter;
+import jakarta.persistence.Converter;
+
+@Converter
+public class LoanNumberConverter extends DigitsConverter {
+
+    public static final int WIDTH = 12;
+
+    public LoanNumberConverter() {
+        super(WIDTH);
+    }
+
+    public static String format(long loanNumber) {
+        return format(loanNumber, WIDTH);
+    }
+}
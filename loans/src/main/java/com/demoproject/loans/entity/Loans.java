@@ -1,21 +1,42 @@
 package com.demoproject.loans.entity;
 
+import com.demoproject.common.entity.BaseEntity;
+import com.demoproject.common.entity.MobileNumberConverter;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
+import java.time.LocalDate;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "loans")
+@NaturalIdCache(region = "loans-natural-id")
 @Getter @Setter @ToString @AllArgsConstructor @NoArgsConstructor
 public class Loans extends BaseEntity{
 
+    // pooled sequence instead of IDENTITY so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "loans_seq")
+    @SequenceGenerator(name = "loans_seq", sequenceName = "loans_seq", allocationSize = 50)
     private Long loanId;
 
+    @Convert(converter = MobileNumberConverter.class)
     private String mobileNumber;
 
+    // natural id, so findByLoanNumber is served from the natural-id and entity caches
+    @NaturalId
+    @Convert(converter = LoanNumberConverter.class)
     private String loanNumber;
 
     private String loanType;
@@ -26,4 +47,21 @@ public class Loans extends BaseEntity{
 
     private int outstandingAmount;
 
+    // Annual interest rate in basis points (850 = 8.50%)
+    private int interestRateBps;
+
+    private int termMonths;
+
+    /*Written by the nightly accrual batch only. Interest is accrued in cents so the daily amount on small
+    balances does not round away to zero. The accrual bumps no version, so updates of the entity must not write
+    these columns back*/
+    @Column(updatable = false)
+    private long accruedInterestCents;
+
+    @Column(updatable = false)
+    private int monthlyInstallment;
+
+    @Column(updatable = false)
+    private LocalDate lastAccrualDate;
+
 }
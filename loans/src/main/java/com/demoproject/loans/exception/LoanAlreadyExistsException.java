@@ -1,10 +1,11 @@
 package com.demoproject.loans.exception;
 
-import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.annotation.ResponseStatus;
+import com.demoproject.common.exception.ResourceAlreadyExistsException;
+
+public class LoanAlreadyExistsException extends ResourceAlreadyExistsException {
+
+    private static final long serialVersionUID = 1L;
 
-@ResponseStatus(value = HttpStatus.BAD_REQUEST)
-public class LoanAlreadyExistsException extends RuntimeException{
     public LoanAlreadyExistsException(String message) {
         super(message);
     }
@@ -1,11 +1,12 @@
 package com.demoproject.loans.exception;
 
-import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.annotation.ResponseStatus;
+/*Keeps the not-found message loans has always sent, with the value quoted. Still a common ResourceNotFoundException, so
+CommonExceptionHandler maps it to a 404 and it stays stackless.*/
+public class ResourceNotFoundException extends com.demoproject.common.exception.ResourceNotFoundException {
+
+    private static final long serialVersionUID = 1L;
 
-@ResponseStatus(value = HttpStatus.NOT_FOUND)
-public class ResourceNotFoundException extends RuntimeException{
     public ResourceNotFoundException(String resourceName, String fieldName, String fieldValue) {
-        super(String.format("%s not found with the given input data %s : '%s'", resourceName, fieldName, fieldValue));
+        super(resourceName + " not found with the given input data " + fieldName + " : '" + fieldValue + "'");
     }
 }
@@ -0,0 +1,26 @@
+package com.demoproject.loans.functions;
+
+import com.demoproject.common.dto.CustomerDeletedEventDto;
+import com.demoproject.loans.service.ILoansService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Consumer;
+
+/*Spring Cloud Function beans. With spring-cloud-stream on the classpath they are bound to the destinations in
+spring.cloud.stream.bindings (customerDeleted-in-0 -> customer-deleted); without it they are plain beans.*/
+@Configuration
+public class LoansFunctions {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoansFunctions.class);
+
+    @Bean
+    public Consumer<CustomerDeletedEventDto> customerDeleted(ILoansService iLoansService) {
+        return event -> {
+            int deleted = iLoansService.deleteLoansOfCustomer(event.getMobileNumber(), event.getDeletedAt());
+            logger.debug("Deleted {} loans of deleted customer {}", deleted, event.getMobileNumber());
+        };
+    }
+}
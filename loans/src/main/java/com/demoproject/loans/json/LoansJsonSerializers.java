@@ -0,0 +1,67 @@
+package com.demoproject.loans.json;
+
+import com.demoproject.loans.dto.LoansDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/*Hand-written serializer for LoansDto, the body of fetchLoanDetails and the loan listing. It writes the same
+properties in the same order as Jackson's bean serializer, nulls included, but with field names encoded once and
+without per-property lookups. A field added to LoansDto has to be added here as well.*/
+@JsonComponent
+public class LoansJsonSerializers {
+
+    public static class LoansDtoSerializer extends StdSerializer<LoansDto> {
+
+        private static final long serialVersionUID = 1L;
+
+        private static final SerializedString MOBILE_NUMBER = new SerializedString("mobileNumber");
+        private static final SerializedString LOAN_NUMBER = new SerializedString("loanNumber");
+        private static final SerializedString LOAN_TYPE = new SerializedString("loanType");
+        private static final SerializedString TOTAL_LOAN = new SerializedString("totalLoan");
+        private static final SerializedString AMOUNT_PAID = new SerializedString("amountPaid");
+        private static final SerializedString OUTSTANDING_AMOUNT = new SerializedString("outstandingAmount");
+        private static final SerializedString VERSION = new SerializedString("version");
+
+        public LoansDtoSerializer() {
+            super(LoansDto.class);
+        }
+
+        @Override
+        public void serialize(LoansDto value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            write(value, gen);
+        }
+
+        private static void write(LoansDto value, JsonGenerator gen) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(MOBILE_NUMBER);
+            gen.writeString(value.getMobileNumber());
+            gen.writeFieldName(LOAN_NUMBER);
+            gen.writeString(value.getLoanNumber());
+            gen.writeFieldName(LOAN_TYPE);
+            gen.writeString(value.getLoanType());
+            gen.writeFieldName(TOTAL_LOAN);
+            gen.writeNumber(value.getTotalLoan());
+            gen.writeFieldName(AMOUNT_PAID);
+            gen.writeNumber(value.getAmountPaid());
+            gen.writeFieldName(OUTSTANDING_AMOUNT);
+            gen.writeNumber(value.getOutstandingAmount());
+            gen.writeFieldName(VERSION);
+            writeNumber(value.getVersion(), gen);
+            gen.writeEndObject();
+        }
+    }
+
+    // a null wrapper is written as null, like Jackson's own NumberSerializer, instead of failing on unboxing
+    private static void writeNumber(Long value, JsonGenerator gen) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.longValue());
+        }
+    }
+}
@@ -1,10 +1,19 @@
 package com.demoproject.loans.mapper;
 
+import com.demoproject.loans.dto.LoanChangedEventDto;
 import com.demoproject.loans.dto.LoansDto;
 import com.demoproject.loans.entity.Loans;
 
 public class LoansMapper {
 
+    public static final String[] EXPORT_CSV_HEADER =
+            {"mobileNumber", "loanNumber", "loanType", "totalLoan", "amountPaid", "outstandingAmount"};
+
+    public static Object[] mapToCsvColumns(LoansDto loansDto) {
+        return new Object[]{loansDto.getMobileNumber(), loansDto.getLoanNumber(), loansDto.getLoanType(),
+                loansDto.getTotalLoan(), loansDto.getAmountPaid(), loansDto.getOutstandingAmount()};
+    }
+
     public static LoansDto mapToLoansDto(Loans loans, LoansDto loansDto) {
         loansDto.setLoanNumber(loans.getLoanNumber());
         loansDto.setLoanType(loans.getLoanType());
@@ -12,6 +21,7 @@ public class LoansMapper {
         loansDto.setTotalLoan(loans.getTotalLoan());
         loansDto.setAmountPaid(loans.getAmountPaid());
         loansDto.setOutstandingAmount(loans.getOutstandingAmount());
+        loansDto.setVersion(loans.getVersion());
         return loansDto;
     }
 
@@ -24,4 +34,16 @@ public class LoansMapper {
         loans.setOutstandingAmount(loansDto.getOutstandingAmount());
         return loans;
     }
+
+    /**
+     * @param loans - Loan after the change has been flushed
+     * @param deleted - true when the loan is being deleted
+     */
+    public static LoanChangedEventDto mapToLoanChangedEventDto(Loans loans, boolean deleted) {
+        // the removed row gets no new version, the delete event is ordered one past the last one
+        long version = deleted ? loans.getVersion() + 1 : loans.getVersion();
+        return new LoanChangedEventDto(loans.getLoanId(), version, deleted, loans.getMobileNumber(),
+                loans.getLoanNumber(), loans.getLoanType(), loans.getTotalLoan(), loans.getAmountPaid(),
+                loans.getOutstandingAmount());
+    }
 }
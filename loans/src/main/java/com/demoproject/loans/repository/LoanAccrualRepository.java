@@ -0,0 +1,129 @@
+package com.demoproject.loans.repository;
+
+import com.demoproject.loans.accrual.LoanChunk;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collections;
+
+/*Plain JDBC on purpose: the accrual batch walks every loan each night, so rows are read straight into the
+primitive columns of a LoanChunk and written back as JDBC batches without creating managed entities.
+Pages are keyset-paginated on the primary key ("loan_id > last seen id"), never OFFSET, so every page is an
+index range scan no matter how deep into the table the batch is.*/
+@Repository
+public class LoanAccrualRepository {
+
+    private static final String SELECT_ID_RANGE = "select min(loan_id), max(loan_id) from loans";
+
+    // Loans already accrued for the run date are skipped, which makes a re-run after a failure resume where it stopped
+    private static final String SELECT_PAGE =
+            "select loan_id, outstanding_amount, interest_rate_bps, term_months, accrued_interest_cents, " +
+            "last_accrual_date, created_at " +
+            "from loans where loan_id > ? and loan_id <= ? and (last_accrual_date is null or last_accrual_date < ?) " +
+            "order by loan_id limit ?";
+
+    /*Leaves version, updated_at and updated_by alone: the accrual columns are in no DTO or event, so a version bump
+    would only invalidate every client's ETag and the loans cache. Loans maps these columns updatable = false,
+    an entity update can therefore not write back stale values over an accrual it did not see.*/
+    private static final String UPDATE_ACCRUAL =
+            "update loans set accrued_interest_cents = ?, monthly_installment = ?, last_accrual_date = ? " +
+            "where loan_id = ? and (last_accrual_date is null or last_accrual_date < ?)";
+
+    private static final String COUNT_ACCRUED =
+            "select count(*) from loans where last_accrual_date = ? and loan_id in (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    public LoanAccrualRepository(JdbcTemplate jdbcTemplate,
+                                 @Value("${digibank.accrual.chunk-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * @return lowest and highest loan id, or null when there are no loans
+     */
+    public long[] findLoanIdRange() {
+        return jdbcTemplate.query(SELECT_ID_RANGE, rs -> {
+            rs.next();
+            long min = rs.getLong(1);
+            return rs.wasNull() ? null : new long[]{min, rs.getLong(2)};
+        });
+    }
+
+    /**
+     * @param afterLoanId - Exclusive lower bound, the last loan id of the previous page
+     * @param toLoanId - Inclusive upper bound of the range being walked
+     * @param runDate - Date of the accrual run
+     * @param chunk - Reused page buffer, filled up to its capacity
+     * @return number of loans read into the chunk
+     */
+    public int readPage(long afterLoanId, long toLoanId, LocalDate runDate, LoanChunk chunk) {
+        chunk.size = 0;
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_PAGE);
+            ps.setFetchSize(fetchSize);
+            ps.setLong(1, afterLoanId);
+            ps.setLong(2, toLoanId);
+            ps.setDate(3, Date.valueOf(runDate));
+            ps.setInt(4, chunk.capacity());
+            return ps;
+        }, rs -> {
+            int i = chunk.size++;
+            chunk.loanIds[i] = rs.getLong(1);
+            chunk.outstandingAmounts[i] = rs.getInt(2);
+            chunk.interestRatesBps[i] = rs.getInt(3);
+            chunk.termMonths[i] = rs.getInt(4);
+            chunk.accruedInterestCents[i] = rs.getLong(5);
+            Date lastAccrualDate = rs.getDate(6);
+            chunk.lastAccrualEpochDays[i] = lastAccrualDate == null
+                    ? LoanChunk.NEVER_ACCRUED : lastAccrualDate.toLocalDate().toEpochDay();
+            chunk.createdEpochDays[i] = rs.getTimestamp(7).toLocalDateTime().toLocalDate().toEpochDay();
+        });
+        return chunk.size;
+    }
+
+    /**
+     * @return number of rows updated per loan, 0 when another run accrued the loan in the meantime
+     */
+    public int[] writePage(LoanChunk chunk, LocalDate runDate) {
+        Date runDateValue = Date.valueOf(runDate);
+        return jdbcTemplate.batchUpdate(UPDATE_ACCRUAL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, chunk.accruedInterestCents[i]);
+                ps.setInt(2, chunk.monthlyInstallments[i]);
+                ps.setDate(3, runDateValue);
+                ps.setLong(4, chunk.loanIds[i]);
+                ps.setDate(5, runDateValue);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return chunk.size;
+            }
+        });
+    }
+
+    /**
+     * @return number of the chunk's loans accrued for the run date, for drivers that report no batch update counts.
+     * The page only holds loans that were not accrued for the run date when it was read
+     */
+    public int countAccrued(LoanChunk chunk, LocalDate runDate) {
+        Object[] args = new Object[chunk.size + 1];
+        args[0] = Date.valueOf(runDate);
+        for (int i = 0; i < chunk.size; i++) {
+            args[i + 1] = chunk.loanIds[i];
+        }
+        String placeholders = String.join(", ", Collections.nCopies(chunk.size, "?"));
+        Integer accrued = jdbcTemplate.queryForObject(String.format(COUNT_ACCRUED, placeholders), Integer.class, args);
+        return accrued == null ? 0 : accrued;
+    }
+}
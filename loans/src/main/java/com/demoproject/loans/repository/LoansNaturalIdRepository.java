@@ -0,0 +1,10 @@
+package com.demoproject.loans.repository;
+
+import com.demoproject.loans.entity.Loans;
+
+import java.util.Optional;
+
+public interface LoansNaturalIdRepository {
+
+    Optional<Loans> findByLoanNumber(String loanNumber);
+}
@@ -0,0 +1,22 @@
+package com.demoproject.loans.repository;
+
+import com.demoproject.loans.entity.Loans;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+// Loan number -> id from the natural-id cache, id -> loan from the entity cache; a query only on a miss
+@Transactional(readOnly = true)
+public class LoansNaturalIdRepositoryImpl implements LoansNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Loans> findByLoanNumber(String loanNumber) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(Loans.class).loadOptional(loanNumber);
+    }
+}
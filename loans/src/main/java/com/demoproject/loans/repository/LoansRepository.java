@@ -1,13 +1,53 @@
 package com.demoproject.loans.repository;
 
+import com.demoproject.loans.dto.LoanChangedEventDto;
+import com.demoproject.loans.dto.LoansDto;
 import com.demoproject.loans.entity.Loans;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface LoansRepository extends JpaRepository<Loans, Long> {
+public interface LoansRepository extends JpaRepository<Loans, Long>, JpaSpecificationExecutor<Loans>,
+        LoansNaturalIdRepository {
+    // cached as the loan id, the loan comes from the entity cache
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Loans> findByMobileNumber(String mobileNumber);
-    Optional<Loans> findByLoanNumber(String loanNumber);
+    // Idempotent: redelivered events find nothing left to delete, rows created after deletedAt are kept
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Loans l where l.mobileNumber = :mobileNumber and l.createdAt <= :deletedAt")
+    int deleteByMobileNumberCreatedUpTo(@Param("mobileNumber") String mobileNumber,
+                                        @Param("deletedAt") LocalDateTime deletedAt);
+
+    // Cursor behind /api/export, rows are LoansDto rather than managed entities. Consume inside a transaction and close it
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.demoproject.loans.dto.LoansDto(l.mobileNumber, l.loanNumber, l.loanType, " +
+            "l.totalLoan, l.amountPaid, l.outstandingAmount) " +
+            "from Loans l order by l.loanId")
+    Stream<LoansDto> streamAllForExport();
+
+    // Cursor behind /api/snapshot, rows are loan-changed events so the snapshot and the event stream share one format
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.demoproject.loans.dto.LoanChangedEventDto(l.loanId, l.version, l.mobileNumber, " +
+            "l.loanNumber, l.loanType, l.totalLoan, l.amountPaid, l.outstandingAmount) " +
+            "from Loans l order by l.loanId")
+    Stream<LoanChangedEventDto> streamAllForSnapshot();
 }
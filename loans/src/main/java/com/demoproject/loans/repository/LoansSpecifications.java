@@ -0,0 +1,47 @@
+package com.demoproject.loans.repository;
+
+import com.demoproject.loans.dto.LoansFilterDto;
+import com.demoproject.loans.entity.Loans;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class LoansSpecifications {
+
+    private LoansSpecifications() {
+        // restrict instantiation
+    }
+
+    /**
+     * @param filter - Filters of a list request, null filters are left out of the where clause
+     * @return the conjunction of the given filters
+     */
+    public static Specification<Loans> matching(LoansFilterDto filter) {
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getLoanType() != null) {
+                predicates.add(criteriaBuilder.equal(root.get("loanType"), filter.getLoanType()));
+            }
+            if (filter.getCreatedFrom() != null) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.<LocalDateTime>get("createdAt"),
+                        filter.getCreatedFrom().atStartOfDay()));
+            }
+            if (filter.getCreatedTo() != null) {
+                predicates.add(criteriaBuilder.lessThan(root.<LocalDateTime>get("createdAt"),
+                        filter.getCreatedTo().plusDays(1).atStartOfDay()));
+            }
+            if (filter.getOutstandingMin() != null) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.<Integer>get("outstandingAmount"),
+                        filter.getOutstandingMin()));
+            }
+            if (filter.getOutstandingMax() != null) {
+                predicates.add(criteriaBuilder.lessThanOrEqualTo(root.<Integer>get("outstandingAmount"),
+                        filter.getOutstandingMax()));
+            }
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
@@ -1,6 +1,13 @@
 package com.demoproject.loans.service;
 
+import com.demoproject.common.dto.KeysetPageDto;
+import com.demoproject.common.export.ExportFormat;
 import com.demoproject.loans.dto.LoansDto;
+import com.demoproject.loans.dto.LoansFilterDto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 
 public interface ILoansService {
     /**
@@ -29,4 +36,42 @@ public interface ILoansService {
      * @return boolean indicating if the delete of loan details is successful or not
      */
     boolean deleteLoan(String mobileNumber);
+
+    /**
+     *
+     * @param loanNumber - Input Loan Number
+     * @param amount - Amount to be repaid
+     * @return boolean indicating if the repay was applied, false when it exceeds the outstanding amount
+     */
+    boolean repayLoan(String loanNumber, int amount);
+
+    /**
+     *
+     * @param mobileNumber - Mobile Number of the deleted Customer
+     * @param deletedAt - When the customer was deleted
+     * @return number of loans deleted, 0 when the event was already applied
+     */
+    int deleteLoansOfCustomer(String mobileNumber, LocalDateTime deletedAt);
+
+    /**
+     *
+     * @param filter - Filters, cursor and page size
+     * @return one page of loans in ascending id order and the cursor of the next page
+     */
+    KeysetPageDto<LoansDto> listLoans(LoansFilterDto filter);
+
+    /**
+     *
+     * @param exportFormat - NDJSON or CSV
+     * @param outputStream - Stream the rows are written to, left open
+     * Streams all loans, one row at a time
+     */
+    void exportLoans(ExportFormat exportFormat, OutputStream outputStream) throws IOException;
+
+    /**
+     *
+     * @param outputStream - Stream the loans are written to as NDJSON loan-changed events, left open
+     * Snapshot of all loans in the shape of the loan-changed events, used to rebuild consumer projections
+     */
+    void snapshotLoans(OutputStream outputStream) throws IOException;
 }
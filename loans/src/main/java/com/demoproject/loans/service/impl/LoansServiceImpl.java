@@ -1,36 +1,87 @@
 package com.demoproject.loans.service.impl;
 
+import com.demoproject.common.audit.AuditAction;
+import com.demoproject.common.audit.AuditLog;
+import com.demoproject.common.cache.CacheInvalidator;
+import com.demoproject.common.datasource.ReplicationLagGuard;
+import com.demoproject.common.dto.KeysetPageDto;
+import com.demoproject.common.event.OutboxPublisher;
+import com.demoproject.common.export.ExportFormat;
+import com.demoproject.common.export.ExportWriter;
+import com.demoproject.common.index.MobileNumberIndex;
+import com.demoproject.common.web.EntityTag;
+import com.demoproject.loans.accrual.Amortization;
 import com.demoproject.loans.constants.LoansConstants;
+import com.demoproject.loans.dto.LoanChangedEventDto;
 import com.demoproject.loans.dto.LoansDto;
+import com.demoproject.loans.dto.LoansFilterDto;
 import com.demoproject.loans.entity.Loans;
 import com.demoproject.loans.exception.LoanAlreadyExistsException;
 import com.demoproject.loans.exception.ResourceNotFoundException;
 import com.demoproject.loans.mapper.LoansMapper;
 import com.demoproject.loans.repository.LoansRepository;
+import com.demoproject.loans.repository.LoansSpecifications;
 import com.demoproject.loans.service.ILoansService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor
 public class LoansServiceImpl implements ILoansService {
 
     private LoansRepository loansRepository;
+    private ReplicationLagGuard replicationLagGuard;
+    private ObjectMapper objectMapper;
+    private OutboxPublisher outboxPublisher;
+    private CacheInvalidator cacheInvalidator;
+    private MobileNumberIndex mobileNumberIndex;
+    private AuditLog auditLog;
 
 
     /**
      * @param mobileNumber - Mobile Number of the Customer
      */
     @Override
+    @Transactional
     public void createLoan(String mobileNumber) {
-        Optional<Loans> optionalLoans= loansRepository.findByMobileNumber(mobileNumber);
-        if(optionalLoans.isPresent()){
+        // a number without a loan is answered by the index, only a "maybe" costs the lookup
+        if (mobileNumberIndex.mightExist(mobileNumber)) {
+            Optional<Loans> optionalLoans= loansRepository.findByMobileNumber(mobileNumber);
+            if(optionalLoans.isPresent()){
+                throw new LoanAlreadyExistsException("Loan already registered with given mobileNumber "+mobileNumber);
+            }
+        }
+        Loans savedLoan;
+        try {
+            savedLoan = loansRepository.saveAndFlush(createNewLoan(mobileNumber));
+        } catch (DataIntegrityViolationException ex) {
+            // the loan was created on another replica whose index update has not arrived here yet
             throw new LoanAlreadyExistsException("Loan already registered with given mobileNumber "+mobileNumber);
         }
-        loansRepository.save(createNewLoan(mobileNumber));
+        mobileNumberIndex.add(mobileNumber);
+        publishLoanChanged(savedLoan, false);
+        // a cached empty findByMobileNumber result on another replica would hide the new loan
+        cacheInvalidator.evictQueriesAfterCommit();
+        replicationLagGuard.recordWrite(mobileNumber);
     }
 
     /**
@@ -38,11 +89,16 @@ public class LoansServiceImpl implements ILoansService {
      * @return Loan Details based on a given mobileNumber
      */
     @Override
+    @Cacheable(cacheNames = LoansConstants.LOANS_CACHE, key = "#mobileNumber")
+    @Transactional(readOnly = true)
     public LoansDto fetchLoan(String mobileNumber) {
+        replicationLagGuard.pinToPrimaryIfRecentlyWritten(mobileNumber);
         Loans loans = loansRepository.findByMobileNumber(mobileNumber).orElseThrow(
                 () -> new ResourceNotFoundException("Loan", "mobileNumber", mobileNumber)
         );
-        return LoansMapper.mapToLoansDto(loans, new LoansDto());
+        LoansDto loansDto = LoansMapper.mapToLoansDto(loans, new LoansDto());
+        loansDto.setEntityTag(EntityTag.of(loans));
+        return loansDto;
     }
 
     /**
@@ -50,11 +106,44 @@ public class LoansServiceImpl implements ILoansService {
      * @return boolean indicating if the update of card details is successful or not
      */
     @Override
+    @Transactional
     public boolean updateLoan(LoansDto loansDto) {
         Loans loans = loansRepository.findByLoanNumber(loansDto.getLoanNumber()).orElseThrow(
                 () -> new ResourceNotFoundException("Loan", "LoanNumber", loansDto.getLoanNumber()));
+        // the version the client read, Hibernate only compares against the one it loaded itself
+        if (loansDto.getVersion() != null && !loansDto.getVersion().equals(loans.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Loans.class, loans.getLoanId());
+        }
+        String previousMobileNumber = loans.getMobileNumber();
+        boolean mobileNumberChanged = !previousMobileNumber.equals(loansDto.getMobileNumber());
+        // one loan per mobile number, checked as on create
+        if (mobileNumberChanged && mobileNumberIndex.mightExist(loansDto.getMobileNumber())
+                && loansRepository.findByMobileNumber(loansDto.getMobileNumber()).isPresent()) {
+            throw new LoanAlreadyExistsException("Loan already registered with given mobileNumber "
+                    + loansDto.getMobileNumber());
+        }
+        // old and new mobile number, the update can reassign the loan
+        cacheInvalidator.invalidateAfterCommit(LoansConstants.LOANS_CACHE, loans.getMobileNumber());
+        cacheInvalidator.invalidateAfterCommit(LoansConstants.LOANS_CACHE, loansDto.getMobileNumber());
         LoansMapper.mapToLoans(loansDto, loans);
-        loansRepository.save(loans);
+        // flush before publishing, the event must carry the incremented version
+        Loans savedLoan;
+        try {
+            savedLoan = loansRepository.saveAndFlush(loans);
+        } catch (DataIntegrityViolationException ex) {
+            // the number was given a loan on another replica whose index update has not arrived here yet
+            throw new LoanAlreadyExistsException("Loan already registered with given mobileNumber "
+                    + loansDto.getMobileNumber());
+        }
+        if (mobileNumberChanged) {
+            mobileNumberIndex.add(loansDto.getMobileNumber());
+            // the loan left the previous number, whose customer details would otherwise keep showing it
+            publishLoanRemoved(savedLoan, previousMobileNumber);
+        }
+        publishLoanChanged(savedLoan, false);
+        cacheInvalidator.evictEntityAfterCommit(Loans.class, savedLoan.getLoanId());
+        cacheInvalidator.evictQueriesAfterCommit();
+        replicationLagGuard.recordWrite(loansDto.getMobileNumber());
         return  true;
     }
 
@@ -63,14 +152,145 @@ public class LoansServiceImpl implements ILoansService {
      * @return boolean indicating if the delete of loan details is successful or not
      */
     @Override
+    @Transactional
     public boolean deleteLoan(String mobileNumber) {
         Loans loans = loansRepository.findByMobileNumber(mobileNumber).orElseThrow(
                 () -> new ResourceNotFoundException("Loan", "mobileNumber", mobileNumber)
         );
         loansRepository.deleteById(loans.getLoanId());
+        publishLoanChanged(loans, true);
+        cacheInvalidator.invalidateAfterCommit(LoansConstants.LOANS_CACHE, mobileNumber);
+        cacheInvalidator.evictEntityAfterCommit(Loans.class, loans.getLoanId());
+        cacheInvalidator.evictNaturalIdsAfterCommit(Loans.class);
+        cacheInvalidator.evictQueriesAfterCommit();
+        replicationLagGuard.recordWrite(mobileNumber);
         return true;
     }
 
+    /**
+     * @param loanNumber - Input Loan Number
+     * @param amount - Amount to be repaid
+     * @return boolean indicating if the repayment was applied, false when it exceeds the outstanding amount
+     */
+    @Override
+    @Transactional
+    public boolean repayLoan(String loanNumber, int amount) {
+        Loans loans = loansRepository.findByLoanNumber(loanNumber).orElseThrow(
+                () -> new ResourceNotFoundException("Loan", "LoanNumber", loanNumber));
+        if (loans.getOutstandingAmount() < amount) {
+            return false;
+        }
+        /*A versioned update of this one loan instead of a bulk UPDATE: Hibernate empties the whole loans and
+        loans-natural-id regions on every bulk statement, this only replaces the repaid loan's entry. A repayment
+        racing another write of the loan fails its version check and is answered with a 409.*/
+        loans.setAmountPaid(loans.getAmountPaid() + amount);
+        loans.setOutstandingAmount(loans.getOutstandingAmount() - amount);
+        // flushed here so that the event carries the version the repayment produces
+        Loans savedLoan = loansRepository.saveAndFlush(loans);
+        publishLoanChanged(savedLoan, false);
+        cacheInvalidator.invalidateAfterCommit(LoansConstants.LOANS_CACHE, savedLoan.getMobileNumber());
+        cacheInvalidator.evictEntityAfterCommit(Loans.class, savedLoan.getLoanId());
+        return true;
+    }
+
+    /**
+     * @param mobileNumber - Mobile Number of the deleted Customer
+     * @param deletedAt - When the customer was deleted
+     * @return number of loans deleted, 0 when the event was already applied
+     */
+    @Override
+    @Transactional
+    public int deleteLoansOfCustomer(String mobileNumber, LocalDateTime deletedAt) {
+        // the bulk delete raises no Hibernate events, the loan is read first so that the audit log gets its state
+        Optional<Loans> optionalLoans = loansRepository.findByMobileNumber(mobileNumber);
+        // the customer is already gone from accounts together with its customer_details_view row, nothing to publish
+        int deleted = loansRepository.deleteByMobileNumberCreatedUpTo(mobileNumber, deletedAt);
+        if (deleted > 0) {
+            optionalLoans.ifPresent(loans -> auditLog.recordAfterCommit(Loans.class.getSimpleName(),
+                    loans.getLoanId(), AuditAction.DELETE, auditState(loans), null));
+            cacheInvalidator.invalidateAfterCommit(LoansConstants.LOANS_CACHE, mobileNumber);
+            cacheInvalidator.evictEntityRegionAfterCommit(Loans.class);
+            cacheInvalidator.evictNaturalIdsAfterCommit(Loans.class);
+            cacheInvalidator.evictQueriesAfterCommit();
+            replicationLagGuard.recordWrite(mobileNumber);
+        }
+        return deleted;
+    }
+
+    /**
+     * @param filter - Filters, cursor and page size
+     * @return one page of loans in ascending id order and the cursor of the next page
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPageDto<LoansDto> listLoans(LoansFilterDto filter) {
+        ScrollPosition position = filter.getAfter() == null
+                ? ScrollPosition.keyset()
+                : ScrollPosition.forward(Map.of("loanId", filter.getAfter()));
+        Window<Loans> window = loansRepository.findBy(LoansSpecifications.matching(filter),
+                query -> query.sortBy(Sort.by("loanId")).limit(filter.getSize()).scroll(position));
+        List<LoansDto> items = window.stream().map(loans -> LoansMapper.mapToLoansDto(loans, new LoansDto())).toList();
+        Long nextCursor = window.hasNext() ? window.getContent().get(window.size() - 1).getLoanId() : null;
+        return new KeysetPageDto<>(items, nextCursor);
+    }
+
+    /**
+     * @param exportFormat - NDJSON or CSV
+     * @param outputStream - Stream the rows are written to, left open
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportLoans(ExportFormat exportFormat, OutputStream outputStream) throws IOException {
+        try (Stream<LoansDto> rows = loansRepository.streamAllForExport();
+             ExportWriter<LoansDto> writer = ExportWriter.open(exportFormat, outputStream,
+                     objectMapper.writerFor(LoansDto.class), LoansMapper.EXPORT_CSV_HEADER, LoansMapper::mapToCsvColumns)) {
+            Iterator<LoansDto> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+            }
+        }
+    }
+
+    /**
+     * @param outputStream - Stream the loans are written to as NDJSON loan-changed events, left open
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void snapshotLoans(OutputStream outputStream) throws IOException {
+        try (Stream<LoanChangedEventDto> rows = loansRepository.streamAllForSnapshot();
+             ExportWriter<LoanChangedEventDto> writer = ExportWriter.open(ExportFormat.NDJSON, outputStream,
+                     objectMapper.writerFor(LoanChangedEventDto.class), null, null)) {
+            Iterator<LoanChangedEventDto> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+            }
+        }
+    }
+
+    private static Map<String, Object> auditState(Loans loans) {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("mobileNumber", loans.getMobileNumber());
+        state.put("loanNumber", loans.getLoanNumber());
+        state.put("loanType", loans.getLoanType());
+        state.put("totalLoan", loans.getTotalLoan());
+        state.put("amountPaid", loans.getAmountPaid());
+        state.put("outstandingAmount", loans.getOutstandingAmount());
+        state.put("version", loans.getVersion());
+        return state;
+    }
+
+    private void publishLoanChanged(Loans loans, boolean deleted) {
+        outboxPublisher.append(LoansConstants.LOAN_CHANGED_DESTINATION, loans.getMobileNumber(),
+                LoansMapper.mapToLoanChangedEventDto(loans, deleted));
+    }
+
+    // a tombstone of the loan keyed by a mobile number it no longer belongs to, same id and version as its move
+    private void publishLoanRemoved(Loans loans, String mobileNumber) {
+        LoanChangedEventDto removed = LoansMapper.mapToLoanChangedEventDto(loans, true);
+        removed.setMobileNumber(mobileNumber);
+        outboxPublisher.append(LoansConstants.LOAN_CHANGED_DESTINATION, mobileNumber, removed);
+    }
+
     /**
      * @param mobileNumber - Mobile Number of the Customer
      * @return the new loan details
@@ -84,6 +304,10 @@ public class LoansServiceImpl implements ILoansService {
         newLoan.setTotalLoan(LoansConstants.NEW_LOAN_LIMIT);
         newLoan.setAmountPaid(0);
         newLoan.setOutstandingAmount(LoansConstants.NEW_LOAN_LIMIT);
+        newLoan.setInterestRateBps(LoansConstants.HOME_LOAN_INTEREST_RATE_BPS);
+        newLoan.setTermMonths(LoansConstants.HOME_LOAN_TERM_MONTHS);
+        newLoan.setMonthlyInstallment(Amortization.monthlyInstallment(LoansConstants.NEW_LOAN_LIMIT,
+                LoansConstants.HOME_LOAN_INTEREST_RATE_BPS, LoansConstants.HOME_LOAN_TERM_MONTHS));
         return newLoan;
     }
 }
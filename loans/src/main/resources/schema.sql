@@ -1,14 +1,75 @@
+CREATE SEQUENCE IF NOT EXISTS `loans_seq` START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS `loans` (
-    `loan_id` int NOT NULL AUTO_INCREMENT,
-    `mobile_number` varchar(15) NOT NULL,
-    `loan_number` varchar(100) NOT NULL,
+    `loan_id` int NOT NULL,
+    `mobile_number` bigint NOT NULL,
+    `loan_number` bigint NOT NULL,
     `loan_type` varchar(100) NOT NULL,
     `total_loan` int NOT NULL,
     `amount_paid` int NOT NULL,
     `outstanding_amount` int NOT NULL,
-    `created_at` date NOT NULL,
+    `interest_rate_bps` int NOT NULL DEFAULT 0,
+    `term_months` int NOT NULL DEFAULT 0,
+    `accrued_interest_cents` bigint NOT NULL DEFAULT 0,
+    `monthly_installment` int NOT NULL DEFAULT 0,
+    `last_accrual_date` date DEFAULT NULL,
+    `created_at` timestamp NOT NULL,
     `created_by` varchar(20) NOT NULL,
-    `updated_at` date DEFAULT NULL,
+    `updated_at` timestamp DEFAULT NULL,
     `updated_by` varchar(20) DEFAULT NULL,
+    `version` bigint NOT NULL DEFAULT 0,
     PRIMARY KEY (`loan_id`)
-    );
\ No newline at end of file
+    );
+
+-- Moves the sequence past the ids already in the table (numbered by AUTO_INCREMENT before the sequence), plus
+-- one allocation of 50 so Hibernate's pooled optimizer starts above them; never back below a block handed out
+ALTER SEQUENCE `loans_seq` RESTART WITH GREATEST(
+    (SELECT COALESCE(MAX(`loan_id`), 0) + 50 FROM `loans`), NEXT VALUE FOR `loans_seq`);
+
+-- created_at/updated_at were DATE columns that dropped the time of day; a no-op once they are TIMESTAMP
+ALTER TABLE `loans` ALTER COLUMN `created_at` SET DATA TYPE timestamp;
+ALTER TABLE `loans` ALTER COLUMN `updated_at` SET DATA TYPE timestamp;
+
+-- Mobile and loan numbers are stored as BIGINT (see DigitsConverter). Converts tables created with the earlier
+-- varchar columns, does nothing once they are BIGINT
+ALTER TABLE `loans` ALTER COLUMN `mobile_number` SET DATA TYPE bigint;
+ALTER TABLE `loans` ALTER COLUMN `loan_number` SET DATA TYPE bigint;
+
+-- loan_number is the natural id, behind repayments and updates that miss the natural-id cache
+CREATE UNIQUE INDEX IF NOT EXISTS `ux_loans_loan_number` ON `loans` (`loan_number`);
+-- one loan per mobile number, enforced here for creates on a replica whose mobile number index lags behind
+CREATE UNIQUE INDEX IF NOT EXISTS `ux_loans_mobile_number` ON `loans` (`mobile_number`);
+
+-- Keyset list filters. With an equality filter the trailing loan_id gives the page order straight from the index,
+-- range filters use it to narrow the scan
+CREATE INDEX IF NOT EXISTS `idx_loans_loan_type` ON `loans` (`loan_type`, `loan_id`);
+CREATE INDEX IF NOT EXISTS `idx_loans_created_at` ON `loans` (`created_at`, `loan_id`);
+CREATE INDEX IF NOT EXISTS `idx_loans_outstanding_amount` ON `loans` (`outstanding_amount`, `loan_id`);
+
+CREATE TABLE IF NOT EXISTS `outbox_event` (
+    `event_id` bigint NOT NULL AUTO_INCREMENT,
+    `destination` varchar(100) NOT NULL,
+    `event_key` varchar(100) NOT NULL,
+    `payload` varchar(2000) NOT NULL,
+    `created_at` timestamp NOT NULL,
+    `published_at` timestamp DEFAULT NULL,
+    PRIMARY KEY (`event_id`)
+    );
+
+CREATE INDEX IF NOT EXISTS `idx_outbox_event_published_at` ON `outbox_event` (`published_at`, `event_id`);
+
+-- Append-only audit trail (see AuditLog). Rows are only ever inserted; reads are per entity, newest first
+CREATE TABLE IF NOT EXISTS `audit_log` (
+    `audit_id` bigint NOT NULL AUTO_INCREMENT,
+    `entity_type` varchar(50) NOT NULL,
+    `entity_id` varchar(50) NOT NULL,
+    `action` varchar(10) NOT NULL,
+    `actor` varchar(20) DEFAULT NULL,
+    `correlation_id` varchar(100) DEFAULT NULL,
+    `occurred_at` timestamp NOT NULL,
+    `before_state` varchar(4000) DEFAULT NULL,
+    `after_state` varchar(4000) DEFAULT NULL,
+    PRIMARY KEY (`audit_id`)
+    );
+
+CREATE INDEX IF NOT EXISTS `idx_audit_log_entity` ON `audit_log` (`entity_type`, `entity_id`, `audit_id`);
@@ -0,0 +1,85 @@
+package com.demoproject.loans.accrual;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AmortizationTests {
+
+	private static final long JAN_15 = LocalDate.of(2024, 1, 15).toEpochDay();
+
+	@Test
+	void dailyInterestOfAYearIsTheAnnualRate() {
+		assertThat(Amortization.dailyInterestCents(100000, 1000, 365)).isEqualTo(1_000_000L);
+	}
+
+	@Test
+	void dailyInterestIsRoundedHalfUp() {
+		assertThat(Amortization.dailyInterestCents(100000, 1000, 1)).isEqualTo(2740L);
+		assertThat(Amortization.dailyInterestCents(100000, 1000, 0)).isZero();
+	}
+
+	@Test
+	void monthlyInstallmentWithoutInterestSplitsThePrincipalRoundedUp() {
+		assertThat(Amortization.monthlyInstallment(1200, 0, 12)).isEqualTo(100);
+		assertThat(Amortization.monthlyInstallment(1000, 0, 3)).isEqualTo(334);
+	}
+
+	@Test
+	void monthlyInstallmentIsTheAnnuityPaymentRoundedUp() {
+		assertThat(Amortization.monthlyInstallment(100000, 1200, 12)).isEqualTo(8885);
+	}
+
+	@Test
+	void monthlyInstallmentOfAPaidOffLoanIsZero() {
+		assertThat(Amortization.monthlyInstallment(0, 1200, 12)).isZero();
+		assertThat(Amortization.monthlyInstallment(1000, 1200, 0)).isZero();
+	}
+
+	@Test
+	void remainingTermCountsWholeMonthsSinceTheStart() {
+		assertThat(Amortization.remainingTermMonths(12, JAN_15, JAN_15)).isEqualTo(12);
+		assertThat(Amortization.remainingTermMonths(12, JAN_15, LocalDate.of(2024, 3, 14).toEpochDay())).isEqualTo(11);
+		assertThat(Amortization.remainingTermMonths(12, JAN_15, LocalDate.of(2024, 3, 15).toEpochDay())).isEqualTo(10);
+	}
+
+	@Test
+	void remainingTermOfALoanPastItsTermIsOneMonth() {
+		assertThat(Amortization.remainingTermMonths(12, JAN_15, LocalDate.of(2026, 1, 15).toEpochDay())).isEqualTo(1);
+	}
+
+	@Test
+	void accrueOfANeverAccruedLoanCountsTheDaysSinceItWasCreated() {
+		LoanChunk chunk = new LoanChunk(1);
+		chunk.size = 1;
+		chunk.outstandingAmounts[0] = 100000;
+		chunk.interestRatesBps[0] = 1000;
+		chunk.termMonths[0] = 12;
+		chunk.lastAccrualEpochDays[0] = LoanChunk.NEVER_ACCRUED;
+		chunk.createdEpochDays[0] = JAN_15;
+
+		chunk.accrue(JAN_15 + 365);
+
+		assertThat(chunk.accruedInterestCents[0]).isEqualTo(1_000_000L);
+	}
+
+	@Test
+	void accrueCountsTheDaysSinceTheLastAccrualAndAmortizesOverTheRemainingTerm() {
+		LoanChunk chunk = new LoanChunk(1);
+		chunk.size = 1;
+		chunk.outstandingAmounts[0] = 1100;
+		chunk.interestRatesBps[0] = 0;
+		chunk.termMonths[0] = 12;
+		chunk.accruedInterestCents[0] = 7;
+		chunk.createdEpochDays[0] = JAN_15;
+		long runDay = LocalDate.of(2024, 2, 20).toEpochDay();
+		chunk.lastAccrualEpochDays[0] = runDay - 1;
+
+		chunk.accrue(runDay);
+
+		assertThat(chunk.accruedInterestCents[0]).isEqualTo(7L);
+		assertThat(chunk.monthlyInstallments[0]).isEqualTo(100);
+	}
+}
@@ -0,0 +1,49 @@
+package com.demoproject.loans.accrual;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoanAccrualEngineTests {
+
+	private static final int CORES = Runtime.getRuntime().availableProcessors();
+
+	@Test
+	void defaultParallelismLeavesTheHeadroomOfThePool() {
+		assertThat(LoanAccrualEngine.parallelism(0, 3, 2)).isEqualTo(1);
+		assertThat(LoanAccrualEngine.parallelism(0, CORES + 2, 2)).isEqualTo(CORES);
+		assertThat(LoanAccrualEngine.parallelism(0, CORES + 10, 2)).isEqualTo(CORES);
+	}
+
+	@Test
+	void defaultParallelismIsAtLeastOneWorker() {
+		assertThat(LoanAccrualEngine.parallelism(0, 2, 2)).isEqualTo(1);
+		assertThat(LoanAccrualEngine.parallelism(0, 1, 2)).isEqualTo(1);
+	}
+
+	@Test
+	void defaultParallelismWithoutAHikariPoolIsTheNumberOfCores() {
+		assertThat(LoanAccrualEngine.parallelism(0, 0, 2)).isEqualTo(CORES);
+	}
+
+	@Test
+	void configuredParallelismIsKeptEvenAboveThePool() {
+		assertThat(LoanAccrualEngine.parallelism(12, 10, 2)).isEqualTo(12);
+		assertThat(LoanAccrualEngine.parallelism(3, 10, 2)).isEqualTo(3);
+	}
+
+	@Test
+	void accruedCountSumsTheUpdateCountsOfThePage() {
+		assertThat(LoanAccrualEngine.accruedCount(new int[]{1, 1, 0, 1})).isEqualTo(3);
+		assertThat(LoanAccrualEngine.accruedCount(new int[0])).isZero();
+	}
+
+	@Test
+	void accruedCountIsUnknownWhenTheDriverReportsNoInfo() {
+		assertThat(LoanAccrualEngine.accruedCount(
+				new int[]{Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO})).isEqualTo(-1);
+		assertThat(LoanAccrualEngine.accruedCount(new int[]{1, Statement.SUCCESS_NO_INFO, 1})).isEqualTo(-1);
+	}
+}
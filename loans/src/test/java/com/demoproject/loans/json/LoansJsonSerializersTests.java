@@ -0,0 +1,23 @@
+package com.demoproject.loans.json;
+
+import com.demoproject.loans.dto.LoansDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoansJsonSerializersTests {
+
+	private final ObjectMapper beanMapper = new ObjectMapper();
+
+	private final ObjectMapper handWrittenMapper = new ObjectMapper().registerModule(new SimpleModule()
+			.addSerializer(new LoansJsonSerializers.LoansDtoSerializer()));
+
+	@Test
+	void writesNullsLikeTheBeanSerializer() throws Exception {
+		LoansDto loansDto = new LoansDto();
+
+		assertThat(handWrittenMapper.writeValueAsString(loansDto)).isEqualTo(beanMapper.writeValueAsString(loansDto));
+	}
+}
@@ -0,0 +1,112 @@
+package com.demoproject.loans.repository;
+
+import com.demoproject.loans.audit.AuditAwareImpl;
+import com.demoproject.loans.dto.LoanChangedEventDto;
+import com.demoproject.loans.dto.LoansDto;
+import com.demoproject.loans.entity.Loans;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+		"spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@Import(AuditAwareImpl.class)
+class LoansRepositoryTests {
+
+	private static final String LOAN_NUMBER = "548732457654";
+
+	@Autowired
+	private LoansRepository loansRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private long initialVersion;
+
+	@BeforeEach
+	void saveLoan() {
+		Loans loans = new Loans();
+		loans.setMobileNumber("4354437687");
+		loans.setLoanNumber(LOAN_NUMBER);
+		loans.setLoanType("Home Loan");
+		loans.setTotalLoan(100000);
+		loans.setAmountPaid(0);
+		loans.setOutstandingAmount(100000);
+		loans.setInterestRateBps(850);
+		loans.setTermMonths(120);
+		initialVersion = loansRepository.saveAndFlush(loans).getVersion();
+	}
+
+	@Test
+	void customerDeletedEventIsAppliedOnlyOnce() {
+		LocalDateTime deletedAt = LocalDateTime.now();
+
+		assertThat(loansRepository.deleteByMobileNumberCreatedUpTo("4354437687", deletedAt)).isEqualTo(1);
+		// redelivered by the outbox relay
+		assertThat(loansRepository.deleteByMobileNumberCreatedUpTo("4354437687", deletedAt)).isZero();
+	}
+
+	@Test
+	void customerDeletedEventKeepsALoanCreatedAfterTheDeletion() {
+		int deleted = loansRepository.deleteByMobileNumberCreatedUpTo("4354437687", LocalDateTime.now().minusMinutes(1));
+
+		assertThat(deleted).isZero();
+		assertThat(loansRepository.findByLoanNumber(LOAN_NUMBER)).isPresent();
+	}
+
+	@Test
+	void savingTheLoanDoesNotWriteBackTheAccrualColumns() {
+		Loans loans = loansRepository.findByLoanNumber(LOAN_NUMBER).orElseThrow();
+		// the nightly accrual writes with plain JDBC and bumps no version
+		jdbcTemplate.update("update loans set accrued_interest_cents = 1234 where loan_id = ?", loans.getLoanId());
+
+		loans.setLoanType("Car Loan");
+		loansRepository.saveAndFlush(loans);
+
+		assertThat(jdbcTemplate.queryForObject("select accrued_interest_cents from loans where loan_id = ?",
+				Long.class, loans.getLoanId())).isEqualTo(1234L);
+	}
+
+	@Test
+	void streamAllForExportProjectsEveryLoan() {
+		List<LoansDto> rows;
+		try (Stream<LoansDto> stream = loansRepository.streamAllForExport()) {
+			rows = stream.toList();
+		}
+
+		assertThat(rows).hasSize(1);
+		LoansDto row = rows.get(0);
+		assertThat(row.getMobileNumber()).isEqualTo("4354437687");
+		assertThat(row.getLoanNumber()).isEqualTo(LOAN_NUMBER);
+		assertThat(row.getLoanType()).isEqualTo("Home Loan");
+		assertThat(row.getTotalLoan()).isEqualTo(100000);
+		assertThat(row.getAmountPaid()).isZero();
+		assertThat(row.getOutstandingAmount()).isEqualTo(100000);
+	}
+
+	@Test
+	void streamAllForSnapshotProjectsEveryLoanAsAnEvent() {
+		List<LoanChangedEventDto> rows;
+		try (Stream<LoanChangedEventDto> stream = loansRepository.streamAllForSnapshot()) {
+			rows = stream.toList();
+		}
+
+		assertThat(rows).hasSize(1);
+		LoanChangedEventDto row = rows.get(0);
+		assertThat(row.getVersion()).isEqualTo(initialVersion);
+		assertThat(row.isDeleted()).isFalse();
+		assertThat(row.getLoanNumber()).isEqualTo(LOAN_NUMBER);
+		assertThat(row.getOutstandingAmount()).isEqualTo(100000);
+	}
+}
@@ -0,0 +1,163 @@
+package com.demoproject.loans.service;
+
+import com.demoproject.loans.audit.AuditAwareImpl;
+import com.demoproject.loans.dto.LoanChangedEventDto;
+import com.demoproject.loans.entity.Loans;
+import com.demoproject.loans.exception.ResourceNotFoundException;
+import com.demoproject.loans.repository.LoansRepository;
+import com.demoproject.loans.service.impl.LoansServiceImpl;
+import com.demoproject.common.cache.CacheInvalidator;
+import com.demoproject.common.cache.InMemoryInvalidationBus;
+import com.demoproject.common.event.OutboxPublisher;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+// Commits for real: the second-level cache only holds what committed
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=create"
+})
+@Import(AuditAwareImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LoansRepaymentTests {
+
+	private static final String LOAN_NUMBER = "548732457654";
+	private static final String OTHER_LOAN_NUMBER = "548732457655";
+
+	@Autowired
+	private LoansRepository loansRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private final RecordingOutboxPublisher outboxPublisher = new RecordingOutboxPublisher();
+
+	private TransactionTemplate transaction;
+
+	private LoansServiceImpl loansService;
+
+	private long initialVersion;
+
+	@BeforeEach
+	void saveLoans() {
+		transaction = new TransactionTemplate(transactionManager);
+		CacheInvalidator cacheInvalidator = new CacheInvalidator(new InMemoryInvalidationBus(),
+				new ConcurrentMapCacheManager(), entityManagerFactory);
+		loansService = new LoansServiceImpl(loansRepository, null, null, outboxPublisher, cacheInvalidator, null, null);
+		initialVersion = transaction.execute(status -> {
+			loansRepository.save(loan(OTHER_LOAN_NUMBER, "4354437688"));
+			return loansRepository.save(loan(LOAN_NUMBER, "4354437687")).getVersion();
+		});
+	}
+
+	@AfterEach
+	void deleteLoans() {
+		transaction.executeWithoutResult(status -> loansRepository.deleteAll());
+	}
+
+	@Test
+	void repaymentMovesTheBalanceAndBumpsTheVersion() {
+		assertThat(repay(LOAN_NUMBER, 2500)).isTrue();
+
+		Loans loans = find(LOAN_NUMBER);
+		assertThat(loans.getAmountPaid()).isEqualTo(2500);
+		assertThat(loans.getOutstandingAmount()).isEqualTo(97500);
+		assertThat(loans.getVersion()).isEqualTo(initialVersion + 1);
+		LoanChangedEventDto event = outboxPublisher.events.get(0);
+		assertThat(event.getOutstandingAmount()).isEqualTo(97500);
+		assertThat(event.getVersion()).isEqualTo(initialVersion + 1);
+	}
+
+	@Test
+	void repaymentAboveTheOutstandingAmountIsDeclined() {
+		assertThat(repay(LOAN_NUMBER, 100001)).isFalse();
+
+		Loans loans = find(LOAN_NUMBER);
+		assertThat(loans.getOutstandingAmount()).isEqualTo(100000);
+		assertThat(loans.getVersion()).isEqualTo(initialVersion);
+		assertThat(outboxPublisher.events).isEmpty();
+	}
+
+	@Test
+	void repaymentOfAnUnknownLoanIsNotFound() {
+		assertThatExceptionOfType(ResourceNotFoundException.class).isThrownBy(() -> repay("999999999999", 10));
+	}
+
+	@Test
+	void repaymentKeepsTheOtherLoansCached() {
+		// loads the loan into both regions
+		find(OTHER_LOAN_NUMBER);
+		repay(LOAN_NUMBER, 2500);
+		CacheRegionStatistics loans = regionStatistics("loans");
+		CacheRegionStatistics naturalIds = regionStatistics("loans-natural-id");
+		long loanHits = loans.getHitCount();
+		long loanMisses = loans.getMissCount();
+		long naturalIdHits = naturalIds.getHitCount();
+
+		find(OTHER_LOAN_NUMBER);
+
+		assertThat(loans.getHitCount()).isEqualTo(loanHits + 1);
+		assertThat(loans.getMissCount()).isEqualTo(loanMisses);
+		assertThat(naturalIds.getHitCount()).isEqualTo(naturalIdHits + 1);
+	}
+
+	private boolean repay(String loanNumber, int amount) {
+		return transaction.execute(status -> loansService.repayLoan(loanNumber, amount));
+	}
+
+	// each call is a new session, so the loan comes from the second-level cache or the database
+	private Loans find(String loanNumber) {
+		return transaction.execute(status -> loansRepository.findByLoanNumber(loanNumber).orElseThrow());
+	}
+
+	private CacheRegionStatistics regionStatistics(String regionName) {
+		return entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getCacheRegionStatistics(regionName);
+	}
+
+	private static Loans loan(String loanNumber, String mobileNumber) {
+		Loans loans = new Loans();
+		loans.setMobileNumber(mobileNumber);
+		loans.setLoanNumber(loanNumber);
+		loans.setLoanType("Home Loan");
+		loans.setTotalLoan(100000);
+		loans.setAmountPaid(0);
+		loans.setOutstandingAmount(100000);
+		loans.setInterestRateBps(850);
+		loans.setTermMonths(120);
+		return loans;
+	}
+	private static class RecordingOutboxPublisher extends OutboxPublisher {
+
+		private final List<LoanChangedEventDto> events = new ArrayList<>();
+
+		RecordingOutboxPublisher() {
+			super(null, null);
+		}
+
+		@Override
+		public void append(String destination, String key, Object event) {
+			events.add((LoanChangedEventDto) event);
+		}
+	}
+}